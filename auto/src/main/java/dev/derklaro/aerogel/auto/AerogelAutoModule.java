@@ -24,9 +24,14 @@
 
 package dev.derklaro.aerogel.auto;
 
+import dev.derklaro.aerogel.Injector;
 import dev.derklaro.aerogel.auto.internal.AerogelAutoModuleImpl;
 import dev.derklaro.aerogel.registry.Registry;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import org.apiguardian.api.API;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -84,4 +89,77 @@ public interface AerogelAutoModule {
    */
   @NotNull
   LazyBindingCollection deserializeBindings(@NotNull InputStream dataStream, @Nullable ClassLoader loader);
+
+  /**
+   * Deserializes the bindings that are contained in the given data buffer. Data in the indexed auto config format is
+   * read without copying it out of the buffer, only the index of the data is read eagerly while the single entries are
+   * decoded once the bindings of them are constructed or installed. Data in the legacy format is decoded eagerly. The
+   * content of the given buffer must not be modified after calling this method.
+   *
+   * @param data   the data buffer to decode, starting at the current position of it.
+   * @param loader the class loader to use when decoding types.
+   * @return the deserialized bindings contained in the given buffer.
+   * @throws IllegalStateException in case something goes wrong during binding deserialization.
+   */
+  @NotNull
+  @API(status = API.Status.EXPERIMENTAL, since = "3.0")
+  LazyBindingCollection deserializeBindings(@NotNull ByteBuffer data, @Nullable ClassLoader loader);
+
+  /**
+   * Deserializes the bindings that are contained in the given file. The file is mapped into memory and decoded in the
+   * same way as described in {@link #deserializeBindings(ByteBuffer, ClassLoader)}. The file must not be modified while
+   * the returned bindings are in use.
+   *
+   * @param dataFile the path to the file to decode.
+   * @param loader   the class loader to use when decoding types.
+   * @return the deserialized bindings contained in the given file.
+   * @throws IllegalStateException in case the file cannot be mapped or something goes wrong during deserialization.
+   */
+  @NotNull
+  @API(status = API.Status.EXPERIMENTAL, since = "3.0")
+  LazyBindingCollection deserializeBindings(@NotNull Path dataFile, @Nullable ClassLoader loader);
+
+  /**
+   * Deserializes the bindings of all resources with the given name that are visible to the given class loader. The
+   * resources are located using {@link ClassLoader#getResources(String)} and decoded concurrently using the given
+   * executor. The bindings in the resulting collection are ordered in the same way as the resources were returned from
+   * the class loader.
+   *
+   * @param resourceName the name of the resources to deserialize, for example {@code auto-config.aero}.
+   * @param loader       the class loader to locate the resources with and to use when decoding types.
+   * @param executor     the executor to decode the resources on.
+   * @return a future completed with the deserialized bindings of all located resources.
+   * @throws NullPointerException if the given resource name or executor is null.
+   */
+  @NotNull
+  @API(status = API.Status.EXPERIMENTAL, since = "3.0")
+  CompletableFuture<LazyBindingCollection> deserializeAllBindings(
+    @NotNull String resourceName,
+    @Nullable ClassLoader loader,
+    @NotNull Executor executor);
+
+  /**
+   * Deserializes the bindings of all resources with the given name that are visible to the given class loader and
+   * installs them into the given injector. The resources are decoded and the bindings in them are constructed
+   * concurrently using the given executor, the constructed bindings are installed in one batch once all of them were
+   * constructed. If any resource cannot be decoded or any binding cannot be constructed, no binding is installed.
+   * <p>
+   * Bindings are installed in the order the resources were returned from the class loader, and in the order in which
+   * they are stored in each resource. If multiple bindings are present for the same key, the binding that is installed
+   * first (and therefore the binding from the resource that comes first in the class path) takes precedence.
+   *
+   * @param injector     the injector to construct the bindings for and install into.
+   * @param resourceName the name of the resources to deserialize, for example {@code auto-config.aero}.
+   * @param loader       the class loader to locate the resources with and to use when decoding types.
+   * @param executor     the executor to decode the resources and construct the bindings on.
+   * @return a future completed with the given injector once all bindings were installed.
+   * @throws NullPointerException if the given injector, resource name or executor is null.
+   */
+  @NotNull
+  @API(status = API.Status.EXPERIMENTAL, since = "3.0")
+  CompletableFuture<Injector> installAllBindings(
+    @NotNull Injector injector,
+    @NotNull String resourceName,
+    @Nullable ClassLoader loader,
+    @NotNull Executor executor);
 }
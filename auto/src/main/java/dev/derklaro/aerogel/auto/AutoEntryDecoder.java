@@ -26,8 +26,10 @@
 
 import java.io.DataInput;
 import java.io.IOException;
+import java.util.Collection;
 import org.apiguardian.api.API;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * A decoder for auto entries. A decoder can either be registered automatically via SPI or manually by registering it
@@ -60,4 +62,22 @@ public interface AutoEntryDecoder {
    */
   @NotNull
   LazyBindingCollection decodeEntry(@NotNull DataInput dataInput, @NotNull ClassLoader loader) throws IOException;
+
+  /**
+   * Decodes the names of the raw types that are bound by an entry, without loading any class. The names must be in the
+   * format returned by {@link Class#getName()}. The data of the entry is the same data that is passed to
+   * {@link #decodeEntry(DataInput, ClassLoader)}, this method must read all the data of the entry as well.
+   * <p>
+   * The names are used to defer the decoding of the entry until a binding for one of the types is requested. If this
+   * method returns null, the types bound by the entry are unknown and the entry is decoded directly instead.
+   *
+   * @param dataInput the data input to read the necessary information from to decode the bound type names.
+   * @return the names of the raw types bound by the entry, null if the bound types are unknown.
+   * @throws IOException if an I/O error occurs while reading from the given data input.
+   */
+  @Nullable
+  @API(status = API.Status.EXPERIMENTAL, since = "3.0")
+  default Collection<String> decodeBoundTypeNames(@NotNull DataInput dataInput) throws IOException {
+    return null;
+  }
 }
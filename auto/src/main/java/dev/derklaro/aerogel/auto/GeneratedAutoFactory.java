@@ -0,0 +1,60 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.auto;
+
+import dev.derklaro.aerogel.Injector;
+import dev.derklaro.aerogel.binding.GeneratedFactory;
+import dev.derklaro.aerogel.binding.UninstalledBinding;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A factory that was generated by the auto annotation processor for a type annotated with
+ * {@link dev.derklaro.aerogel.auto.annotation.Provides} or a method annotated with
+ * {@link dev.derklaro.aerogel.auto.annotation.Factory}. Generated factories call the construction target directly and
+ * know the keys and scope of the binding, which allows the runtime to bind to them without any reflective inspection of
+ * the construction target.
+ *
+ * @param <T> the type of values constructed by this factory.
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "3.0")
+public interface GeneratedAutoFactory<T> extends GeneratedFactory<T> {
+
+  /**
+   * Id of the codec to use when serializing or deserializing references to generated factories.
+   */
+  String CODEC_ID = "generated_factory";
+
+  /**
+   * Constructs the binding that targets this factory for the given injector.
+   *
+   * @param injector the injector to construct the binding for.
+   * @return the uninstalled binding that targets this factory.
+   */
+  @NotNull
+  UninstalledBinding<?> constructBinding(@NotNull Injector injector);
+}
@@ -47,6 +47,20 @@ public interface LazyBindingCollection {
    */
   void installBindings(@NotNull Injector injector);
 
+  /**
+   * Installs the bindings that are located in this collection into the given injector, deferring the loading of the
+   * classes used by the bindings and the construction of the bindings until a binding for one of the bound types is
+   * requested from the injector for the first time. Bindings can only be deferred if their bound types are known
+   * without loading any class (for example bindings that were decoded from data in the indexed auto config format).
+   * All other bindings are installed directly, the same way as {@link #installBindings(Injector)} does.
+   *
+   * @param injector the injector to install the bindings into.
+   */
+  @API(status = API.Status.EXPERIMENTAL, since = "3.0")
+  default void installBindingsDeferred(@NotNull Injector injector) {
+    this.installBindings(injector);
+  }
+
   /**
    * Constructs all bindings for the given injector and returns them for further handling by the caller. There is no
    * guarantee that the returned list is mutable.
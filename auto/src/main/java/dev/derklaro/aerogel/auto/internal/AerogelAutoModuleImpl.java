@@ -24,17 +24,30 @@
 
 package dev.derklaro.aerogel.auto.internal;
 
+import dev.derklaro.aerogel.Injector;
 import dev.derklaro.aerogel.auto.AerogelAutoModule;
 import dev.derklaro.aerogel.auto.AutoEntryDecoder;
 import dev.derklaro.aerogel.auto.LazyBindingCollection;
+import dev.derklaro.aerogel.auto.internal.format.AutoConfigFormat;
+import dev.derklaro.aerogel.auto.internal.format.ByteBufferInputStream;
+import dev.derklaro.aerogel.auto.internal.format.IndexedAutoConfig;
 import dev.derklaro.aerogel.auto.internal.util.AutoDecodingUtil;
 import dev.derklaro.aerogel.registry.Registry;
+import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -72,6 +85,78 @@ public AerogelAutoModuleImpl() {
     @NotNull InputStream dataStream,
     @Nullable ClassLoader loader
   ) {
+    ClassLoader classLoader = resolveClassLoader(loader);
+    InputStream inputStream = dataStream.markSupported() ? dataStream : new BufferedInputStream(dataStream);
+    try (DataInputStream dataInput = new DataInputStream(inputStream)) {
+      // peek the first bytes of the stream to detect the format of the data
+      inputStream.mark(Integer.BYTES);
+      byte[] header = inputStream.readNBytes(Integer.BYTES);
+      inputStream.reset();
+
+      if (AutoConfigFormat.indexedFormat(header)) {
+        ByteBuffer data = ByteBuffer.wrap(inputStream.readAllBytes());
+        return this.deserializeIndexedBindings(data, classLoader);
+      } else {
+        return this.deserializeLegacyBindings(dataInput, classLoader);
+      }
+    } catch (IOException exception) {
+      throw new IllegalStateException("Unable to decode bindings from data input", exception);
+    }
+  }
+
+  @Override
+  public @NotNull LazyBindingCollection deserializeBindings(@NotNull ByteBuffer data, @Nullable ClassLoader loader) {
+    ClassLoader classLoader = resolveClassLoader(loader);
+    try {
+      if (AutoConfigFormat.indexedFormat(data)) {
+        return this.deserializeIndexedBindings(data, classLoader);
+      } else {
+        // legacy data cannot be accessed randomly, fall back to a sequential read
+        InputStream inputStream = new ByteBufferInputStream(data.slice());
+        try (DataInputStream dataInput = new DataInputStream(inputStream)) {
+          return this.deserializeLegacyBindings(dataInput, classLoader);
+        }
+      }
+    } catch (IOException exception) {
+      throw new IllegalStateException("Unable to decode bindings from data buffer", exception);
+    }
+  }
+
+  @Override
+  public @NotNull LazyBindingCollection deserializeBindings(@NotNull Path dataFile, @Nullable ClassLoader loader) {
+    try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+      // the mapping stays valid after the channel was closed
+      ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return this.deserializeBindings(data, loader);
+    } catch (IOException exception) {
+      throw new IllegalStateException("Unable to map auto config file " + dataFile, exception);
+    }
+  }
+
+  @Override
+  public @NotNull CompletableFuture<LazyBindingCollection> deserializeAllBindings(
+    @NotNull String resourceName,
+    @Nullable ClassLoader loader,
+    @NotNull Executor executor
+  ) {
+    ClassLoader classLoader = resolveClassLoader(loader);
+    AutoConfigResourceLoader resourceLoader = new AutoConfigResourceLoader(this, classLoader, executor);
+    return resourceLoader.decodeResources(resourceName).thenApply(CombinedLazyBindingCollection::of);
+  }
+
+  @Override
+  public @NotNull CompletableFuture<Injector> installAllBindings(
+    @NotNull Injector injector,
+    @NotNull String resourceName,
+    @Nullable ClassLoader loader,
+    @NotNull Executor executor
+  ) {
+    ClassLoader classLoader = resolveClassLoader(loader);
+    AutoConfigResourceLoader resourceLoader = new AutoConfigResourceLoader(this, classLoader, executor);
+    return resourceLoader.installResources(injector, resourceName);
+  }
+
+  private static @NotNull ClassLoader resolveClassLoader(@Nullable ClassLoader loader) {
     ClassLoader classLoader = loader;
     if (classLoader == null) {
       ClassLoader ctxLoader = Thread.currentThread().getContextClassLoader();
@@ -83,32 +168,37 @@ public AerogelAutoModuleImpl() {
       }
     }
 
-    try (DataInputStream dataInput = new DataInputStream(dataStream)) {
-      return this.deserializeBindings(dataInput, classLoader, null);
-    } catch (IOException exception) {
-      throw new IllegalStateException("Unable to decode bindings from data input", exception);
+    return classLoader;
+  }
+
+  private @NotNull LazyBindingCollection deserializeIndexedBindings(
+    @NotNull ByteBuffer data,
+    @NotNull ClassLoader classLoader
+  ) throws IOException {
+    // only the index is read here, the entries are decoded once the bindings are requested
+    IndexedAutoConfig config = IndexedAutoConfig.read(data);
+    int entryCount = config.entryCount();
+    List<LazyBindingCollection> collections = new ArrayList<>(entryCount);
+    for (int entryIndex = 0; entryIndex < entryCount; entryIndex++) {
+      collections.add(new IndexedEntryLazyBindingCollection(config, entryIndex, classLoader, this.decoderRegistry));
     }
+
+    return CombinedLazyBindingCollection.of(collections);
   }
 
-  private @NotNull LazyBindingCollection deserializeBindings(
+  private @NotNull LazyBindingCollection deserializeLegacyBindings(
     @NotNull DataInputStream dataInput,
-    @NotNull ClassLoader classLoader,
-    @Nullable LazyBindingCollection previousResult
+    @NotNull ClassLoader classLoader
   ) throws IOException {
-    String decoderId = dataInput.readUTF();
-    AutoEntryDecoder decoder = this.decoderRegistry
-      .get(decoderId)
-      .orElseThrow(() -> new IllegalStateException("Decoder for bindings with id " + decoderId + " is not registered"));
-
-    // decode the entry and combine it with the previous result (if any)
-    LazyBindingCollection decoded = decoder.decodeEntry(dataInput, classLoader);
-    LazyBindingCollection combined = previousResult == null ? decoded : previousResult.combine(decoded);
-
-    // continue reading if there are more bindings to deserialize
-    if (dataInput.available() > 0) {
-      return this.deserializeBindings(dataInput, classLoader, combined);
-    } else {
-      return combined;
-    }
+    List<LazyBindingCollection> collections = new ArrayList<>();
+    do {
+      String decoderId = dataInput.readUTF();
+      AutoEntryDecoder decoder = this.decoderRegistry
+        .get(decoderId)
+        .orElseThrow(() -> new IllegalStateException("Decoder for bindings with id " + decoderId + " is not registered"));
+      collections.add(decoder.decodeEntry(dataInput, classLoader));
+    } while (dataInput.available() > 0);
+
+    return CombinedLazyBindingCollection.of(collections);
   }
 }
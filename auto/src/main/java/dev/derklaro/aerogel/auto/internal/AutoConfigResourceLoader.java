@@ -0,0 +1,140 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.auto.internal;
+
+import dev.derklaro.aerogel.Injector;
+import dev.derklaro.aerogel.auto.AerogelAutoModule;
+import dev.derklaro.aerogel.auto.LazyBindingCollection;
+import dev.derklaro.aerogel.binding.UninstalledBinding;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.jetbrains.annotations.NotNull;
+
+final class AutoConfigResourceLoader {
+
+  private final AerogelAutoModule autoModule;
+  private final ClassLoader classLoader;
+  private final Executor executor;
+
+  public AutoConfigResourceLoader(
+    @NotNull AerogelAutoModule autoModule,
+    @NotNull ClassLoader classLoader,
+    @NotNull Executor executor
+  ) {
+    this.autoModule = autoModule;
+    this.classLoader = classLoader;
+    this.executor = executor;
+  }
+
+  public @NotNull CompletableFuture<List<LazyBindingCollection>> decodeResources(@NotNull String resourceName) {
+    List<URL> resources;
+    try {
+      resources = this.findResources(resourceName);
+    } catch (IOException exception) {
+      return CompletableFuture.failedFuture(
+        new IllegalStateException("Unable to locate auto config resources named " + resourceName, exception));
+    }
+
+    // decode all resources concurrently, the result keeps the order in which the resources were found
+    List<CompletableFuture<LazyBindingCollection>> decodeFutures = new ArrayList<>(resources.size());
+    for (URL resource : resources) {
+      decodeFutures.add(CompletableFuture.supplyAsync(() -> this.decodeResource(resource), this.executor));
+    }
+
+    return CompletableFuture
+      .allOf(decodeFutures.toArray(CompletableFuture[]::new))
+      .thenApply(ignored -> {
+        List<LazyBindingCollection> collections = new ArrayList<>(decodeFutures.size());
+        for (CompletableFuture<LazyBindingCollection> decodeFuture : decodeFutures) {
+          collections.add(decodeFuture.join());
+        }
+        return collections;
+      });
+  }
+
+  public @NotNull CompletableFuture<Injector> installResources(
+    @NotNull Injector injector,
+    @NotNull String resourceName
+  ) {
+    return this.decodeResources(resourceName).thenCompose(collections -> {
+      // construct the bindings of all resources concurrently
+      List<CompletableFuture<List<UninstalledBinding<?>>>> constructFutures = new ArrayList<>(collections.size());
+      for (LazyBindingCollection collection : collections) {
+        constructFutures.add(CompletableFuture.supplyAsync(() -> collection.constructBindings(injector), this.executor));
+      }
+
+      // install the bindings in one batch, in the order of the resources and the entries in them. the first binding
+      // that is installed for a key takes precedence, resources that come first in the class path win conflicts
+      return CompletableFuture
+        .allOf(constructFutures.toArray(CompletableFuture[]::new))
+        .thenApply(ignored -> {
+          for (CompletableFuture<List<UninstalledBinding<?>>> constructFuture : constructFutures) {
+            for (UninstalledBinding<?> binding : constructFuture.join()) {
+              injector.installBinding(binding);
+            }
+          }
+          return injector;
+        });
+    });
+  }
+
+  private @NotNull List<URL> findResources(@NotNull String resourceName) throws IOException {
+    // class loaders might return the same resource multiple times (for example when a parent class loader has
+    // access to the same jar), only decode each of them once
+    Map<String, URL> resources = new LinkedHashMap<>();
+    Enumeration<URL> resourceUrls = this.classLoader.getResources(resourceName);
+    while (resourceUrls.hasMoreElements()) {
+      URL resourceUrl = resourceUrls.nextElement();
+      resources.putIfAbsent(resourceUrl.toExternalForm(), resourceUrl);
+    }
+
+    return new ArrayList<>(resources.values());
+  }
+
+  private @NotNull LazyBindingCollection decodeResource(@NotNull URL resource) {
+    try {
+      if ("file".equals(resource.getProtocol())) {
+        // resources from directories can be mapped into memory directly
+        Path resourcePath = Path.of(resource.toURI());
+        return this.autoModule.deserializeBindings(resourcePath, this.classLoader);
+      }
+
+      InputStream resourceStream = resource.openStream();
+      return this.autoModule.deserializeBindings(resourceStream, this.classLoader);
+    } catch (IOException | URISyntaxException | RuntimeException exception) {
+      throw new IllegalStateException("Unable to decode auto config resource " + resource, exception);
+    }
+  }
+}
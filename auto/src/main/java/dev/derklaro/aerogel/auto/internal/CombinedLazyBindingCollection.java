@@ -28,31 +28,77 @@
 import dev.derklaro.aerogel.auto.LazyBindingCollection;
 import dev.derklaro.aerogel.binding.UninstalledBinding;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import org.jetbrains.annotations.NotNull;
 
 public final class CombinedLazyBindingCollection implements LazyBindingCollection {
 
-  private final LazyBindingCollection left;
-  private final LazyBindingCollection right;
+  // kept flat to prevent deep nesting (and stack overflows) when combining a lot of collections
+  private final List<LazyBindingCollection> collections;
 
   public CombinedLazyBindingCollection(@NotNull LazyBindingCollection left, @NotNull LazyBindingCollection right) {
-    this.left = left;
-    this.right = right;
+    this(flatten(left, right));
+  }
+
+  private CombinedLazyBindingCollection(@NotNull List<LazyBindingCollection> collections) {
+    this.collections = collections;
+  }
+
+  public static @NotNull LazyBindingCollection of(@NotNull List<LazyBindingCollection> collections) {
+    if (collections.size() == 1) {
+      return collections.get(0);
+    } else {
+      return new CombinedLazyBindingCollection(List.copyOf(collections));
+    }
+  }
+
+  private static @NotNull List<LazyBindingCollection> flatten(
+    @NotNull LazyBindingCollection left,
+    @NotNull LazyBindingCollection right
+  ) {
+    List<LazyBindingCollection> collections = new ArrayList<>();
+    for (LazyBindingCollection collection : Arrays.asList(left, right)) {
+      if (collection instanceof CombinedLazyBindingCollection) {
+        collections.addAll(((CombinedLazyBindingCollection) collection).collections);
+      } else {
+        collections.add(collection);
+      }
+    }
+
+    return Collections.unmodifiableList(collections);
   }
 
   @Override
   public void installBindings(@NotNull Injector injector) {
-    this.left.installBindings(injector);
-    this.right.installBindings(injector);
+    for (LazyBindingCollection collection : this.collections) {
+      collection.installBindings(injector);
+    }
+  }
+
+  @Override
+  public void installBindingsDeferred(@NotNull Injector injector) {
+    // indexed entries are installed behind a single deferred binding to keep the amount of dynamic bindings low
+    List<IndexedEntryLazyBindingCollection> indexedEntries = new ArrayList<>();
+    for (LazyBindingCollection collection : this.collections) {
+      if (collection instanceof IndexedEntryLazyBindingCollection) {
+        indexedEntries.add((IndexedEntryLazyBindingCollection) collection);
+      } else {
+        collection.installBindingsDeferred(injector);
+      }
+    }
+
+    DeferredAutoBinding.install(injector, indexedEntries);
   }
 
   @Override
   public @NotNull List<UninstalledBinding<?>> constructBindings(@NotNull Injector injector) {
     List<UninstalledBinding<?>> bindings = new ArrayList<>();
-    bindings.addAll(this.left.constructBindings(injector));
-    bindings.addAll(this.right.constructBindings(injector));
+    for (LazyBindingCollection collection : this.collections) {
+      bindings.addAll(collection.constructBindings(injector));
+    }
+
     return Collections.unmodifiableList(bindings);
   }
 
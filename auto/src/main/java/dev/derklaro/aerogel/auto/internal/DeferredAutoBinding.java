@@ -0,0 +1,185 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.auto.internal;
+
+import dev.derklaro.aerogel.Injector;
+import dev.derklaro.aerogel.binding.RawTypeNamedDynamicBinding;
+import dev.derklaro.aerogel.binding.UninstalledBinding;
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+final class DeferredAutoBinding implements RawTypeNamedDynamicBinding {
+
+  private final Injector injector;
+  private final String rawTypeName;
+  private final List<DeferredEntry> entries;
+
+  private DeferredAutoBinding(
+    @NotNull Injector injector,
+    @NotNull String rawTypeName,
+    @NotNull List<DeferredEntry> entries
+  ) {
+    this.injector = injector;
+    this.rawTypeName = rawTypeName;
+    this.entries = entries;
+  }
+
+  public static void install(
+    @NotNull Injector injector,
+    @NotNull List<IndexedEntryLazyBindingCollection> entries
+  ) {
+    Map<String, List<DeferredEntry>> entriesByTypeName = new HashMap<>();
+    for (IndexedEntryLazyBindingCollection entry : entries) {
+      Set<String> boundTypeNames = entry.boundTypeNames();
+      if (boundTypeNames == null) {
+        // the bound types of the entry are unknown, it cannot be deferred
+        entry.installBindings(injector);
+        continue;
+      }
+
+      DeferredEntry deferredEntry = new DeferredEntry(entry);
+      for (String boundTypeName : boundTypeNames) {
+        entriesByTypeName.computeIfAbsent(boundTypeName, name -> new ArrayList<>(1)).add(deferredEntry);
+      }
+    }
+
+    // install one binding per type name, which allows the injector to index the bindings by the type name
+    for (Map.Entry<String, List<DeferredEntry>> entry : entriesByTypeName.entrySet()) {
+      injector.installBinding(new DeferredAutoBinding(injector, entry.getKey(), entry.getValue()));
+    }
+  }
+
+  private @Nullable DeferredMatch findMatch(@NotNull BindingKey<?> key) {
+    Type rawType = key.withRawType().type();
+    if (!((Class<?>) rawType).getName().equals(this.rawTypeName)) {
+      return null;
+    }
+
+    // the names of the types might match, but the types (for example when loaded by a different loader) or the
+    // qualifier of the keys might differ from the requested key
+    for (DeferredEntry entry : this.entries) {
+      for (UninstalledBinding<?> binding : entry.bindings(this.injector)) {
+        if (binding.keys().contains(key)) {
+          return new DeferredMatch(entry, binding);
+        }
+      }
+    }
+
+    return null;
+  }
+
+  @Override
+  public @NotNull String rawTypeName() {
+    return this.rawTypeName;
+  }
+
+  @Override
+  public boolean supports(@NotNull BindingKey<?> key) {
+    // only constructs the bindings of the entries, they are installed once a binding is actually requested
+    return this.findMatch(key) != null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public @NotNull <T> Optional<UninstalledBinding<T>> tryMatch(@NotNull BindingKey<T> key) {
+    DeferredMatch match = this.findMatch(key);
+    if (match == null) {
+      return Optional.empty();
+    }
+
+    match.entry.install(this.injector);
+    return Optional.of((UninstalledBinding<T>) match.binding);
+  }
+
+  private static final class DeferredMatch {
+
+    private final DeferredEntry entry;
+    private final UninstalledBinding<?> binding;
+
+    public DeferredMatch(@NotNull DeferredEntry entry, @NotNull UninstalledBinding<?> binding) {
+      this.entry = entry;
+      this.binding = binding;
+    }
+  }
+
+  private static final class DeferredEntry {
+
+    private final IndexedEntryLazyBindingCollection entry;
+
+    private volatile List<UninstalledBinding<?>> bindings;
+    private volatile boolean installed;
+    // guarded by this, set while the bindings are being installed by the thread holding the lock
+    private boolean installing;
+
+    public DeferredEntry(@NotNull IndexedEntryLazyBindingCollection entry) {
+      this.entry = entry;
+    }
+
+    public @NotNull List<UninstalledBinding<?>> bindings(@NotNull Injector injector) {
+      List<UninstalledBinding<?>> bindings = this.bindings;
+      if (bindings == null) {
+        synchronized (this) {
+          bindings = this.bindings;
+          if (bindings == null) {
+            bindings = this.entry.constructBindings(injector);
+            this.bindings = bindings;
+          }
+        }
+      }
+
+      return bindings;
+    }
+
+    public void install(@NotNull Injector injector) {
+      if (!this.installed) {
+        synchronized (this) {
+          // the installation of a binding might request a key of this entry on the same thread, which re-enters
+          // this method as the lock is reentrant. the bindings must not be installed a second time in that case
+          if (!this.installed && !this.installing) {
+            this.installing = true;
+            try {
+              // install all bindings of the entry, this ensures that all keys of a binding share the same installation
+              for (UninstalledBinding<?> binding : this.bindings(injector)) {
+                injector.installBinding(binding);
+              }
+
+              this.installed = true;
+            } finally {
+              this.installing = false;
+            }
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.auto.internal;
+
+import dev.derklaro.aerogel.Injector;
+import dev.derklaro.aerogel.auto.AutoEntryDecoder;
+import dev.derklaro.aerogel.auto.LazyBindingCollection;
+import dev.derklaro.aerogel.auto.internal.format.IndexedAutoConfig;
+import dev.derklaro.aerogel.auto.internal.format.IndexedEntryInput;
+import dev.derklaro.aerogel.binding.UninstalledBinding;
+import dev.derklaro.aerogel.registry.Registry;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+final class IndexedEntryLazyBindingCollection implements LazyBindingCollection {
+
+  private final IndexedAutoConfig config;
+  private final int entryIndex;
+  private final ClassLoader classLoader;
+  private final Registry<String, AutoEntryDecoder> decoderRegistry;
+
+  private volatile LazyBindingCollection decoded;
+
+  public IndexedEntryLazyBindingCollection(
+    @NotNull IndexedAutoConfig config,
+    int entryIndex,
+    @NotNull ClassLoader classLoader,
+    @NotNull Registry<String, AutoEntryDecoder> decoderRegistry
+  ) {
+    this.config = config;
+    this.entryIndex = entryIndex;
+    this.classLoader = classLoader;
+    this.decoderRegistry = decoderRegistry;
+  }
+
+  private @NotNull LazyBindingCollection decoded() {
+    LazyBindingCollection decoded = this.decoded;
+    if (decoded == null) {
+      synchronized (this) {
+        decoded = this.decoded;
+        if (decoded == null) {
+          decoded = this.decodeEntry();
+          this.decoded = decoded;
+        }
+      }
+    }
+
+    return decoded;
+  }
+
+  private @NotNull AutoEntryDecoder decoder(@NotNull String decoderId) {
+    return this.decoderRegistry
+      .get(decoderId)
+      .orElseThrow(() -> new IllegalStateException("Decoder for bindings with id " + decoderId + " is not registered"));
+  }
+
+  private @NotNull LazyBindingCollection decodeEntry() {
+    try {
+      IndexedEntryInput entryInput = this.config.entryInput(this.entryIndex);
+      List<LazyBindingCollection> collections = new ArrayList<>();
+      do {
+        AutoEntryDecoder decoder = this.decoder(entryInput.readUTF());
+        collections.add(decoder.decodeEntry(entryInput, this.classLoader));
+      } while (entryInput.hasRemaining());
+
+      return CombinedLazyBindingCollection.of(collections);
+    } catch (IOException exception) {
+      throw new IllegalStateException("Unable to decode bindings from data input", exception);
+    }
+  }
+
+  public @Nullable Set<String> boundTypeNames() {
+    // return null if the entry was already decoded, in that case deferring the installation has no benefit
+    if (this.decoded != null) {
+      return null;
+    }
+
+    try {
+      IndexedEntryInput entryInput = this.config.entryInput(this.entryIndex);
+      Set<String> boundTypeNames = new HashSet<>();
+      do {
+        AutoEntryDecoder decoder = this.decoder(entryInput.readUTF());
+        Collection<String> decodedTypeNames = decoder.decodeBoundTypeNames(entryInput);
+        if (decodedTypeNames == null) {
+          return null;
+        }
+
+        boundTypeNames.addAll(decodedTypeNames);
+      } while (entryInput.hasRemaining());
+
+      return boundTypeNames;
+    } catch (IOException exception) {
+      throw new IllegalStateException("Unable to decode bindings from data input", exception);
+    }
+  }
+
+  @Override
+  public void installBindings(@NotNull Injector injector) {
+    this.decoded().installBindings(injector);
+  }
+
+  @Override
+  public void installBindingsDeferred(@NotNull Injector injector) {
+    DeferredAutoBinding.install(injector, List.of(this));
+  }
+
+  @Override
+  public @NotNull List<UninstalledBinding<?>> constructBindings(@NotNull Injector injector) {
+    return this.decoded().constructBindings(injector);
+  }
+
+  @Override
+  public @NotNull LazyBindingCollection combine(@NotNull LazyBindingCollection other) {
+    return new CombinedLazyBindingCollection(this, other);
+  }
+}
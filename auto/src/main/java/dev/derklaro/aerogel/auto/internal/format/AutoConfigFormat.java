@@ -0,0 +1,119 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.auto.internal.format;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Constants and utilities for the indexed (version 2) auto config format. The format is laid out as follows, all
+ * unsigned numbers are encoded as variable length integers (7 bits per byte, least significant group first):
+ * <ol>
+ *   <li>the magic number ({@link #MAGIC}), followed by the format version.
+ *   <li>the string table: the amount of strings, followed by the length and UTF-8 bytes of each string.
+ *   <li>the entry index: the amount of entries, followed by the offset and length of each entry.
+ *   <li>the entry data, offsets in the entry index are relative to the start of this section.
+ * </ol>
+ * The data of an entry is written by auto entry processors. Strings written by them are replaced with their index in
+ * the string table and integral numbers are encoded as zigzag variable length integers.
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+public final class AutoConfigFormat {
+
+  /**
+   * The magic number that prefixes files in the indexed format. Legacy files start with the length of the first decoder
+   * id which never reaches a value that is as high as the first two bytes of the magic number.
+   */
+  public static final int MAGIC = 0x4145524F; // AERO
+  public static final int VERSION_INDEXED = 2;
+
+  private AutoConfigFormat() {
+    throw new UnsupportedOperationException();
+  }
+
+  public static boolean indexedFormat(@NotNull ByteBuffer buffer) {
+    return buffer.remaining() >= Integer.BYTES && buffer.getInt(buffer.position()) == MAGIC;
+  }
+
+  public static boolean indexedFormat(@NotNull byte[] header) {
+    return header.length >= Integer.BYTES
+      && ((header[0] & 0xFF) << 24 | (header[1] & 0xFF) << 16 | (header[2] & 0xFF) << 8 | (header[3] & 0xFF)) == MAGIC;
+  }
+
+  public static void writeVarInt(@NotNull GrowableByteArray target, int value) {
+    while ((value & ~0x7F) != 0) {
+      target.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    target.write(value);
+  }
+
+  public static void writeVarLong(@NotNull GrowableByteArray target, long value) {
+    while ((value & ~0x7FL) != 0) {
+      target.write((int) (value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    target.write((int) value);
+  }
+
+  public static int readVarInt(@NotNull ByteBuffer buffer) throws IOException {
+    try {
+      int value = 0;
+      for (int shift = 0; shift < 35; shift += 7) {
+        byte current = buffer.get();
+        value |= (current & 0x7F) << shift;
+        if ((current & 0x80) == 0) {
+          return value;
+        }
+      }
+    } catch (BufferUnderflowException exception) {
+      throw new EOFException();
+    }
+
+    throw new IOException("Variable length integer is too long");
+  }
+
+  public static long readVarLong(@NotNull ByteBuffer buffer) throws IOException {
+    try {
+      long value = 0;
+      for (int shift = 0; shift < 70; shift += 7) {
+        byte current = buffer.get();
+        value |= (long) (current & 0x7F) << shift;
+        if ((current & 0x80) == 0) {
+          return value;
+        }
+      }
+    } catch (BufferUnderflowException exception) {
+      throw new EOFException();
+    }
+
+    throw new IOException("Variable length long is too long");
+  }
+}
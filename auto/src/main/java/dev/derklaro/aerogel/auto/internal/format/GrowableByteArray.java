@@ -0,0 +1,69 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.auto.internal.format;
+
+import java.util.Arrays;
+import org.jetbrains.annotations.NotNull;
+
+public final class GrowableByteArray {
+
+  private byte[] buffer = new byte[256];
+  private int size;
+
+  private void ensureCapacity(int additionalBytes) {
+    int requiredCapacity = this.size + additionalBytes;
+    if (requiredCapacity > this.buffer.length) {
+      int newCapacity = Math.max(requiredCapacity, this.buffer.length << 1);
+      this.buffer = Arrays.copyOf(this.buffer, newCapacity);
+    }
+  }
+
+  public void write(int value) {
+    this.ensureCapacity(1);
+    this.buffer[this.size++] = (byte) value;
+  }
+
+  public void write(@NotNull byte[] bytes, int offset, int length) {
+    this.ensureCapacity(length);
+    System.arraycopy(bytes, offset, this.buffer, this.size, length);
+    this.size += length;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  public void truncate(int size) {
+    this.size = Math.min(this.size, size);
+  }
+
+  public void writeTo(@NotNull GrowableByteArray target, int length) {
+    target.write(this.buffer, 0, Math.min(this.size, length));
+  }
+
+  public @NotNull byte[] toByteArray() {
+    return Arrays.copyOf(this.buffer, this.size);
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.auto.internal.format;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A reader for auto config data in the indexed format described in {@link AutoConfigFormat}. Only the header, the
+ * offsets of the strings and the entry index are read when constructing this reader. Strings and entries are decoded
+ * when they are accessed, entries can be accessed in any order and concurrently.
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+public final class IndexedAutoConfig {
+
+  private final ByteBuffer buffer;
+
+  private final int[] stringOffsets;
+  private final int[] stringLengths;
+  private final String[] decodedStrings;
+
+  private final int[] entryOffsets;
+  private final int[] entryLengths;
+
+  private IndexedAutoConfig(
+    @NotNull ByteBuffer buffer,
+    @NotNull int[] stringOffsets,
+    @NotNull int[] stringLengths,
+    @NotNull int[] entryOffsets,
+    @NotNull int[] entryLengths
+  ) {
+    this.buffer = buffer;
+    this.stringOffsets = stringOffsets;
+    this.stringLengths = stringLengths;
+    this.decodedStrings = new String[stringOffsets.length];
+    this.entryOffsets = entryOffsets;
+    this.entryLengths = entryLengths;
+  }
+
+  public static @NotNull IndexedAutoConfig read(@NotNull ByteBuffer data) throws IOException {
+    ByteBuffer buffer = data.slice();
+    if (!AutoConfigFormat.indexedFormat(buffer)) {
+      throw new IOException("Data is not in the indexed auto config format");
+    }
+
+    // validate the format version
+    buffer.position(Integer.BYTES);
+    int version = AutoConfigFormat.readVarInt(buffer);
+    if (version != AutoConfigFormat.VERSION_INDEXED) {
+      throw new IOException("Unsupported auto config format version " + version);
+    }
+
+    // read the string offsets, the strings are decoded when they are requested
+    int stringCount = AutoConfigFormat.readVarInt(buffer);
+    int[] stringOffsets = new int[stringCount];
+    int[] stringLengths = new int[stringCount];
+    for (int index = 0; index < stringCount; index++) {
+      int stringLength = AutoConfigFormat.readVarInt(buffer);
+      stringOffsets[index] = buffer.position();
+      stringLengths[index] = stringLength;
+      skip(buffer, stringLength);
+    }
+
+    // read the entry index, the entry offsets are relative to the data section start
+    int entryCount = AutoConfigFormat.readVarInt(buffer);
+    int[] entryOffsets = new int[entryCount];
+    int[] entryLengths = new int[entryCount];
+    for (int index = 0; index < entryCount; index++) {
+      entryOffsets[index] = AutoConfigFormat.readVarInt(buffer);
+      entryLengths[index] = AutoConfigFormat.readVarInt(buffer);
+    }
+
+    // validate that all entries are located within the data section
+    int dataStart = buffer.position();
+    for (int index = 0; index < entryCount; index++) {
+      entryOffsets[index] += dataStart;
+      if (entryOffsets[index] < dataStart || entryOffsets[index] + entryLengths[index] > buffer.limit()) {
+        throw new IOException("Entry " + index + " exceeds the auto config data");
+      }
+    }
+
+    return new IndexedAutoConfig(buffer, stringOffsets, stringLengths, entryOffsets, entryLengths);
+  }
+
+  private static void skip(@NotNull ByteBuffer buffer, int bytes) throws IOException {
+    if (bytes < 0 || bytes > buffer.remaining()) {
+      throw new IOException("Unexpected end of auto config data");
+    }
+
+    buffer.position(buffer.position() + bytes);
+  }
+
+  public int entryCount() {
+    return this.entryOffsets.length;
+  }
+
+  public @NotNull IndexedEntryInput entryInput(int entryIndex) {
+    // duplicate the buffer to allow concurrent reads of different entries
+    ByteBuffer entryBuffer = this.buffer.duplicate();
+    entryBuffer.position(this.entryOffsets[entryIndex]);
+    entryBuffer.limit(this.entryOffsets[entryIndex] + this.entryLengths[entryIndex]);
+    return new IndexedEntryInput(entryBuffer.slice(), this);
+  }
+
+  @NotNull
+  String string(int stringIndex) throws IOException {
+    if (stringIndex < 0 || stringIndex >= this.decodedStrings.length) {
+      throw new IOException("String index " + stringIndex + " is out of bounds");
+    }
+
+    // strings are immutable, racing decodes just result in the same value
+    String string = this.decodedStrings[stringIndex];
+    if (string == null) {
+      byte[] stringBytes = new byte[this.stringLengths[stringIndex]];
+      ByteBuffer stringBuffer = this.buffer.duplicate();
+      stringBuffer.position(this.stringOffsets[stringIndex]);
+      stringBuffer.get(stringBytes);
+
+      string = new String(stringBytes, StandardCharsets.UTF_8);
+      this.decodedStrings[stringIndex] = string;
+    }
+
+    return string;
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.auto.internal.format;
+
+import java.io.DataOutput;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Writes auto entries in the indexed format described in {@link AutoConfigFormat}. Each entry is started by a call to
+ * {@link #startEntry()}, the data of the entry must be written into the returned output and the entry must be
+ * completed by calling {@link #finishEntry()}. Starting a new entry while another one is in progress discards the
+ * data written for the incomplete entry.
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+public final class IndexedAutoConfigWriter {
+
+  private final GrowableByteArray entryData = new GrowableByteArray();
+  private final IndexedEntryOutput entryOutput = new IndexedEntryOutput(this.entryData, this);
+
+  // stringTable - the strings in the order of their index
+  // stringIndexes - the index of each string in the string table, used for deduplication
+  private final List<String> stringTable = new ArrayList<>();
+  private final Map<String, Integer> stringIndexes = new HashMap<>();
+
+  // entryOffsets - the start offset of each completed entry in the entry data
+  // entryStart - the start offset of the entry that is currently written, -1 if no entry is in progress
+  private final List<Integer> entryOffsets = new ArrayList<>();
+  private int entryStart = -1;
+
+  public @NotNull DataOutput startEntry() {
+    if (this.entryStart != -1) {
+      // discard the incomplete entry
+      this.entryData.truncate(this.entryStart);
+    }
+
+    this.entryStart = this.entryData.size();
+    return this.entryOutput;
+  }
+
+  public void finishEntry() {
+    if (this.entryStart == -1) {
+      throw new IllegalStateException("No entry in progress");
+    }
+
+    // only record entries that actually contain data
+    if (this.entryData.size() > this.entryStart) {
+      this.entryOffsets.add(this.entryStart);
+    }
+
+    this.entryStart = -1;
+  }
+
+  public int entryCount() {
+    return this.entryOffsets.size();
+  }
+
+  int stringIndex(@NotNull String value) {
+    return this.stringIndexes.computeIfAbsent(value, string -> {
+      this.stringTable.add(string);
+      return this.stringTable.size() - 1;
+    });
+  }
+
+  public @NotNull byte[] toByteArray() {
+    GrowableByteArray target = new GrowableByteArray();
+
+    // header: magic & format version
+    target.write((AutoConfigFormat.MAGIC >>> 24) & 0xFF);
+    target.write((AutoConfigFormat.MAGIC >>> 16) & 0xFF);
+    target.write((AutoConfigFormat.MAGIC >>> 8) & 0xFF);
+    target.write(AutoConfigFormat.MAGIC & 0xFF);
+    AutoConfigFormat.writeVarInt(target, AutoConfigFormat.VERSION_INDEXED);
+
+    // string table
+    AutoConfigFormat.writeVarInt(target, this.stringTable.size());
+    for (String string : this.stringTable) {
+      byte[] stringBytes = string.getBytes(StandardCharsets.UTF_8);
+      AutoConfigFormat.writeVarInt(target, stringBytes.length);
+      target.write(stringBytes, 0, stringBytes.length);
+    }
+
+    // entry index, incomplete entries are excluded from the data
+    int entryCount = this.entryOffsets.size();
+    int dataLength = this.entryStart == -1 ? this.entryData.size() : this.entryStart;
+    AutoConfigFormat.writeVarInt(target, entryCount);
+    for (int index = 0; index < entryCount; index++) {
+      int entryOffset = this.entryOffsets.get(index);
+      int entryEnd = index + 1 < entryCount ? this.entryOffsets.get(index + 1) : dataLength;
+      AutoConfigFormat.writeVarInt(target, entryOffset);
+      AutoConfigFormat.writeVarInt(target, entryEnd - entryOffset);
+    }
+
+    // entry data
+    this.entryData.writeTo(target, dataLength);
+    return target.toByteArray();
+  }
+}
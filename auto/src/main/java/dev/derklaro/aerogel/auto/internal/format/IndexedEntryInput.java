@@ -0,0 +1,134 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.auto.internal.format;
+
+import java.io.DataInput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.jetbrains.annotations.NotNull;
+
+public final class IndexedEntryInput implements DataInput {
+
+  private final ByteBuffer buffer;
+  private final IndexedAutoConfig config;
+
+  public IndexedEntryInput(@NotNull ByteBuffer buffer, @NotNull IndexedAutoConfig config) {
+    this.buffer = buffer;
+    this.config = config;
+  }
+
+  private @NotNull ByteBuffer require(int bytes) throws EOFException {
+    if (this.buffer.remaining() < bytes) {
+      throw new EOFException();
+    }
+
+    return this.buffer;
+  }
+
+  public boolean hasRemaining() {
+    return this.buffer.hasRemaining();
+  }
+
+  @Override
+  public void readFully(@NotNull byte[] b) throws IOException {
+    this.readFully(b, 0, b.length);
+  }
+
+  @Override
+  public void readFully(@NotNull byte[] b, int off, int len) throws IOException {
+    this.require(len).get(b, off, len);
+  }
+
+  @Override
+  public int skipBytes(int n) {
+    int skipped = Math.max(0, Math.min(n, this.buffer.remaining()));
+    this.buffer.position(this.buffer.position() + skipped);
+    return skipped;
+  }
+
+  @Override
+  public boolean readBoolean() throws IOException {
+    return this.require(1).get() != 0;
+  }
+
+  @Override
+  public byte readByte() throws IOException {
+    return this.require(1).get();
+  }
+
+  @Override
+  public int readUnsignedByte() throws IOException {
+    return this.require(1).get() & 0xFF;
+  }
+
+  @Override
+  public short readShort() throws IOException {
+    return this.require(Short.BYTES).getShort();
+  }
+
+  @Override
+  public int readUnsignedShort() throws IOException {
+    return this.require(Short.BYTES).getShort() & 0xFFFF;
+  }
+
+  @Override
+  public char readChar() throws IOException {
+    return this.require(Character.BYTES).getChar();
+  }
+
+  @Override
+  public int readInt() throws IOException {
+    int encoded = AutoConfigFormat.readVarInt(this.buffer);
+    return (encoded >>> 1) ^ -(encoded & 1);
+  }
+
+  @Override
+  public long readLong() throws IOException {
+    long encoded = AutoConfigFormat.readVarLong(this.buffer);
+    return (encoded >>> 1) ^ -(encoded & 1);
+  }
+
+  @Override
+  public float readFloat() throws IOException {
+    return this.require(Float.BYTES).getFloat();
+  }
+
+  @Override
+  public double readDouble() throws IOException {
+    return this.require(Double.BYTES).getDouble();
+  }
+
+  @Override
+  public @NotNull String readLine() {
+    throw new UnsupportedOperationException("readLine is not supported by the indexed auto config format");
+  }
+
+  @Override
+  public @NotNull String readUTF() throws IOException {
+    int stringIndex = AutoConfigFormat.readVarInt(this.buffer);
+    return this.config.string(stringIndex);
+  }
+}
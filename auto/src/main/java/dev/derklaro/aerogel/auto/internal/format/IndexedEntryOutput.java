@@ -0,0 +1,124 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.auto.internal.format;
+
+import java.io.DataOutput;
+import org.jetbrains.annotations.NotNull;
+
+final class IndexedEntryOutput implements DataOutput {
+
+  private final GrowableByteArray target;
+  private final IndexedAutoConfigWriter writer;
+
+  public IndexedEntryOutput(@NotNull GrowableByteArray target, @NotNull IndexedAutoConfigWriter writer) {
+    this.target = target;
+    this.writer = writer;
+  }
+
+  @Override
+  public void write(int b) {
+    this.target.write(b);
+  }
+
+  @Override
+  public void write(@NotNull byte[] b) {
+    this.target.write(b, 0, b.length);
+  }
+
+  @Override
+  public void write(@NotNull byte[] b, int off, int len) {
+    this.target.write(b, off, len);
+  }
+
+  @Override
+  public void writeBoolean(boolean v) {
+    this.target.write(v ? 1 : 0);
+  }
+
+  @Override
+  public void writeByte(int v) {
+    this.target.write(v);
+  }
+
+  @Override
+  public void writeShort(int v) {
+    this.target.write(v >>> 8);
+    this.target.write(v);
+  }
+
+  @Override
+  public void writeChar(int v) {
+    this.writeShort(v);
+  }
+
+  @Override
+  public void writeInt(int v) {
+    // zigzag encoding to keep small negative numbers short as well
+    AutoConfigFormat.writeVarInt(this.target, (v << 1) ^ (v >> 31));
+  }
+
+  @Override
+  public void writeLong(long v) {
+    AutoConfigFormat.writeVarLong(this.target, (v << 1) ^ (v >> 63));
+  }
+
+  @Override
+  public void writeFloat(float v) {
+    this.writeFixedInt(Float.floatToIntBits(v));
+  }
+
+  @Override
+  public void writeDouble(double v) {
+    long bits = Double.doubleToLongBits(v);
+    this.writeFixedInt((int) (bits >>> 32));
+    this.writeFixedInt((int) bits);
+  }
+
+  @Override
+  public void writeBytes(@NotNull String s) {
+    for (int index = 0; index < s.length(); index++) {
+      this.target.write(s.charAt(index));
+    }
+  }
+
+  @Override
+  public void writeChars(@NotNull String s) {
+    for (int index = 0; index < s.length(); index++) {
+      this.writeChar(s.charAt(index));
+    }
+  }
+
+  private void writeFixedInt(int v) {
+    this.writeShort(v >>> 16);
+    this.writeShort(v);
+  }
+
+  @Override
+  public void writeUTF(@NotNull String s) {
+    // strings are deduplicated into the string table of the file
+    int stringIndex = this.writer.stringIndex(s);
+    AutoConfigFormat.writeVarInt(this.target, stringIndex);
+  }
+}
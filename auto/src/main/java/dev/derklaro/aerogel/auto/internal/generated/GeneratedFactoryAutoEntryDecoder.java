@@ -0,0 +1,74 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.auto.internal.generated;
+
+import dev.derklaro.aerogel.auto.AutoEntryDecoder;
+import dev.derklaro.aerogel.auto.GeneratedAutoFactory;
+import dev.derklaro.aerogel.auto.LazyBindingCollection;
+import dev.derklaro.aerogel.auto.internal.util.AutoDecodingUtil;
+import java.io.DataInput;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collection;
+import org.jetbrains.annotations.NotNull;
+
+public final class GeneratedFactoryAutoEntryDecoder implements AutoEntryDecoder {
+
+  private static final MethodType FACTORY_CONSTRUCTOR_TYPE = MethodType.methodType(void.class);
+
+  @Override
+  public @NotNull String id() {
+    return GeneratedAutoFactory.CODEC_ID;
+  }
+
+  @Override
+  public @NotNull LazyBindingCollection decodeEntry(
+    @NotNull DataInput dataInput,
+    @NotNull ClassLoader loader
+  ) throws IOException {
+    Class<?> factoryType = AutoDecodingUtil.decodeType(dataInput, loader);
+    AutoDecodingUtil.decodeTypeNames(dataInput); // bound types, known by the factory itself
+    if (!GeneratedAutoFactory.class.isAssignableFrom(factoryType)) {
+      throw new IllegalStateException("Class " + factoryType.getName() + " is not a generated auto factory");
+    }
+
+    try {
+      // generated factories are public and have a public no-args constructor
+      MethodHandle constructor = MethodHandles.publicLookup().findConstructor(factoryType, FACTORY_CONSTRUCTOR_TYPE);
+      GeneratedAutoFactory<?> factory = (GeneratedAutoFactory<?>) constructor.invoke();
+      return new GeneratedFactoryLazyBindingCollection(factory);
+    } catch (Throwable throwable) {
+      throw new IllegalStateException("Unable to construct generated auto factory " + factoryType.getName(), throwable);
+    }
+  }
+
+  @Override
+  public @NotNull Collection<String> decodeBoundTypeNames(@NotNull DataInput dataInput) throws IOException {
+    dataInput.readUTF(); // factory type
+    return AutoDecodingUtil.decodeTypeNames(dataInput);
+  }
+}
@@ -30,6 +30,7 @@
 import dev.derklaro.aerogel.auto.internal.util.AutoDecodingUtil;
 import java.io.DataInput;
 import java.io.IOException;
+import java.util.Collection;
 import org.jetbrains.annotations.NotNull;
 
 public final class ProvidesAutoEntryDecoder implements AutoEntryDecoder {
@@ -48,4 +49,10 @@ public final class ProvidesAutoEntryDecoder implements AutoEntryDecoder {
     Class<?>[] providedTypes = AutoDecodingUtil.decodeTypes(dataInput, loader);
     return new ProvidesLazyBindingCollection(implementation, providedTypes);
   }
+
+  @Override
+  public @NotNull Collection<String> decodeBoundTypeNames(@NotNull DataInput dataInput) throws IOException {
+    dataInput.readUTF(); // implementation
+    return AutoDecodingUtil.decodeTypeNames(dataInput);
+  }
 }
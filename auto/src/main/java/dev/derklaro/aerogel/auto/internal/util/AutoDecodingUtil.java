@@ -26,6 +26,8 @@
 
 import java.io.DataInput;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -48,6 +50,16 @@ private AutoDecodingUtil() {
     return types;
   }
 
+  public static @NotNull List<String> decodeTypeNames(@NotNull DataInput dataInput) throws IOException {
+    int typeCount = dataInput.readInt();
+    List<String> typeNames = new ArrayList<>(typeCount);
+    for (int i = 0; i < typeCount; i++) {
+      typeNames.add(dataInput.readUTF());
+    }
+
+    return typeNames;
+  }
+
   public static @NotNull Class<?> decodeType(
     @NotNull DataInput dataInput,
     @Nullable ClassLoader loader
@@ -11,6 +11,7 @@
   uses dev.derklaro.aerogel.auto.AutoEntryDecoder;
   provides dev.derklaro.aerogel.auto.AutoEntryDecoder with
     dev.derklaro.aerogel.auto.internal.factory.FactoryAutoEntryDecoder,
+    dev.derklaro.aerogel.auto.internal.generated.GeneratedFactoryAutoEntryDecoder,
     dev.derklaro.aerogel.auto.internal.provides.ProvidesAutoEntryDecoder;
 
   uses dev.derklaro.aerogel.auto.processing.AutoEntryProcessorFactory;
@@ -24,9 +24,12 @@
 
 package dev.derklaro.aerogel.auto.processing.internal;
 
+import dev.derklaro.aerogel.auto.internal.format.IndexedAutoConfigWriter;
 import dev.derklaro.aerogel.auto.processing.AutoEntryProcessor;
 import dev.derklaro.aerogel.auto.processing.AutoEntryProcessorFactory;
+import dev.derklaro.aerogel.auto.processing.internal.generated.GeneratedFactoryEmitter;
 import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -57,10 +60,13 @@ public final class AutoEntryAnnotationProcessor extends AbstractProcessor {
   // options that are used by this processor
   private static final String OPTION_NAME_OUTPUT_FILE = "aerogelAutoFileName";
   private static final String OPTION_NAME_EMIT_OUTPUT_FILE_IF_EMPTY = "aerogelEmitAutoFileIfEmpty";
-  private static final Set<String> SUPPORTED_OPTIONS = new HashSet<>(2, 1.0f) {
+  private static final String OPTION_NAME_OUTPUT_FILE_VERSION = "aerogelAutoFileVersion";
+  private static final Set<String> SUPPORTED_OPTIONS = new HashSet<>(4, 1.0f) {
     {
       this.add(OPTION_NAME_OUTPUT_FILE);
       this.add(OPTION_NAME_EMIT_OUTPUT_FILE_IF_EMPTY);
+      this.add(OPTION_NAME_OUTPUT_FILE_VERSION);
+      this.add(GeneratedFactoryEmitter.OPTION_NAME_GENERATE_FACTORIES);
     }
   };
 
@@ -69,8 +75,8 @@ public final class AutoEntryAnnotationProcessor extends AbstractProcessor {
   private final Set<String> supportedAnnotationTypes = new HashSet<>();
   private final List<AutoEntryProcessor> loadedProcessors = new ArrayList<>();
 
-  // dataHolderStream - holds the data that was actually written
-  // dataWriterStream - the target stream for data written during the encoding process
+  // dataHolderStream - holds the data that was actually written in the legacy format
+  // dataWriterStream - the target stream for data written during the encoding process in the legacy format
   private final ByteArrayOutputStream dataHolderStream = new ByteArrayOutputStream();
   private final DataOutputStream dataWriterStream = new DataOutputStream(this.dataHolderStream);
 
@@ -79,6 +85,9 @@ public final class AutoEntryAnnotationProcessor extends AbstractProcessor {
   private String outputFileName;
   private boolean emitOutputFileIfEmpty;
 
+  // the writer for the indexed output format, null if the legacy format should be emitted
+  private IndexedAutoConfigWriter indexedWriter;
+
   @Override
   public synchronized void init(@NotNull ProcessingEnvironment processingEnv) {
     super.init(processingEnv);
@@ -87,6 +96,9 @@ public synchronized void init(@NotNull ProcessingEnvironment processingEnv) {
     Map<String, String> options = processingEnv.getOptions();
     this.outputFileName = options.getOrDefault(OPTION_NAME_OUTPUT_FILE, "auto-config.aero");
     this.emitOutputFileIfEmpty = Boolean.parseBoolean(options.get(OPTION_NAME_EMIT_OUTPUT_FILE_IF_EMPTY));
+    if (!"1".equals(options.get(OPTION_NAME_OUTPUT_FILE_VERSION))) {
+      this.indexedWriter = new IndexedAutoConfigWriter();
+    }
 
     // load factories for auto entry processors and register those which are constructable
     // ignore all services that cannot be loaded (for example due to a failed precondition)
@@ -122,8 +134,13 @@ public boolean process(@NotNull Set<? extends TypeElement> annotations, @NotNull
     if (roundEnv.processingOver()) {
       try {
         // processing is done, emit the final output file if needed
-        byte[] serializedData = this.dataHolderStream.toByteArray();
-        if (serializedData.length > 0 || this.emitOutputFileIfEmpty) {
+        boolean hasEntries = this.indexedWriter != null
+          ? this.indexedWriter.entryCount() > 0
+          : this.dataHolderStream.size() > 0;
+        if (hasEntries || this.emitOutputFileIfEmpty) {
+          byte[] serializedData = this.indexedWriter != null
+            ? this.indexedWriter.toByteArray()
+            : this.dataHolderStream.toByteArray();
           Filer filer = this.processingEnv.getFiler();
           JavaFileManager.Location outputLocation = StandardLocation.CLASS_OUTPUT;
           FileObject outputFile = filer.createResource(outputLocation, "", this.outputFileName);
@@ -152,7 +169,7 @@ public boolean process(@NotNull Set<? extends TypeElement> annotations, @NotNull
         try {
           Set<? extends Element> annotatedElements = roundEnv.getElementsAnnotatedWith(processor.handledAnnotation());
           if (!annotatedElements.isEmpty()) {
-            processor.emitEntries(this.dataWriterStream, annotatedElements);
+            this.emitEntries(processor, annotatedElements);
           }
         } catch (Exception exception) {
           this.processingEnv.getMessager().printMessage(
@@ -167,6 +184,22 @@ public boolean process(@NotNull Set<? extends TypeElement> annotations, @NotNull
     return false;
   }
 
+  private void emitEntries(
+    @NotNull AutoEntryProcessor processor,
+    @NotNull Set<? extends Element> annotatedElements
+  ) throws IOException {
+    if (this.indexedWriter == null) {
+      processor.emitEntries(this.dataWriterStream, annotatedElements);
+    } else {
+      // emit one entry per element, this allows the runtime to decode each element separately
+      for (Element annotatedElement : annotatedElements) {
+        DataOutput entryOutput = this.indexedWriter.startEntry();
+        processor.emitEntries(entryOutput, Collections.singleton(annotatedElement));
+        this.indexedWriter.finishEntry();
+      }
+    }
+  }
+
   @Override
   public @NotNull Set<String> getSupportedAnnotationTypes() {
     // accept all annotation types to be able to emit an empty file if
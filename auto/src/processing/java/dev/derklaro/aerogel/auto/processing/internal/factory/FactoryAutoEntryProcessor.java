@@ -26,6 +26,7 @@
 
 import dev.derklaro.aerogel.auto.annotation.Factory;
 import dev.derklaro.aerogel.auto.processing.AutoEntryProcessor;
+import dev.derklaro.aerogel.auto.processing.internal.generated.GeneratedFactoryEmitter;
 import dev.derklaro.aerogel.auto.processing.internal.util.AutoTypeEncoder;
 import java.io.DataOutput;
 import java.io.IOException;
@@ -39,13 +40,19 @@
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeKind;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 final class FactoryAutoEntryProcessor implements AutoEntryProcessor {
 
   private final AutoTypeEncoder typeEncoder;
+  private final GeneratedFactoryEmitter factoryEmitter;
 
-  public FactoryAutoEntryProcessor(@NotNull AutoTypeEncoder typeEncoder) {
+  public FactoryAutoEntryProcessor(
+    @NotNull AutoTypeEncoder typeEncoder,
+    @Nullable GeneratedFactoryEmitter factoryEmitter
+  ) {
     this.typeEncoder = typeEncoder;
+    this.factoryEmitter = factoryEmitter;
   }
 
   @Override
@@ -75,6 +82,11 @@ public void emitEntries(
         throw new IllegalStateException("@Factory method is not static: " + annotatedElement);
       }
 
+      // emit a generated factory for the annotated method if enabled and possible
+      if (this.factoryEmitter != null && this.factoryEmitter.emitFactoryMethodFactory(output, annotatedMethod)) {
+        continue;
+      }
+
       // write the factory codec id, method name and defining class
       String methodName = annotatedMethod.getSimpleName().toString();
       String definingClassBinaryName = this.typeEncoder.getBinaryName(annotatedMethod.getEnclosingElement().asType());
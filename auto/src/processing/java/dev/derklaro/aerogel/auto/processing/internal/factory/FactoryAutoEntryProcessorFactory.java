@@ -26,6 +26,7 @@
 
 import dev.derklaro.aerogel.auto.processing.AutoEntryProcessor;
 import dev.derklaro.aerogel.auto.processing.AutoEntryProcessorFactory;
+import dev.derklaro.aerogel.auto.processing.internal.generated.GeneratedFactoryEmitter;
 import dev.derklaro.aerogel.auto.processing.internal.util.AutoTypeEncoder;
 import javax.annotation.processing.ProcessingEnvironment;
 import org.jetbrains.annotations.NotNull;
@@ -35,6 +36,7 @@ public final class FactoryAutoEntryProcessorFactory implements AutoEntryProcesso
   @Override
   public @NotNull AutoEntryProcessor constructProcessor(@NotNull ProcessingEnvironment environment) {
     AutoTypeEncoder typeEncoder = AutoTypeEncoder.forProcessingEnvironment(environment);
-    return new FactoryAutoEntryProcessor(typeEncoder);
+    GeneratedFactoryEmitter factoryEmitter = GeneratedFactoryEmitter.forProcessingEnvironment(environment);
+    return new FactoryAutoEntryProcessor(typeEncoder, factoryEmitter);
   }
 }
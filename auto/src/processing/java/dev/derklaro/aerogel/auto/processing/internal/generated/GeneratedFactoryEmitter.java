@@ -0,0 +1,277 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.auto.processing.internal.generated;
+
+import dev.derklaro.aerogel.auto.GeneratedAutoFactory;
+import dev.derklaro.aerogel.auto.processing.internal.util.AutoTypeEncoder;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.JavaFileObject;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public final class GeneratedFactoryEmitter {
+
+  public static final String OPTION_NAME_GENERATE_FACTORIES = "aerogelGenerateFactories";
+
+  private static final String INJECT_ANNOTATION_NAME = "jakarta.inject.Inject";
+  private static final String FACTORY_NAME_SUFFIX = "$$AerogelFactory";
+
+  private final Filer filer;
+  private final Types typeUtil;
+  private final Elements elementUtil;
+  private final AutoTypeEncoder typeEncoder;
+
+  // the names of the factories that were generated by this emitter, used to prevent name clashes
+  private final Set<String> generatedFactoryNames = new HashSet<>();
+
+  public GeneratedFactoryEmitter(@NotNull Filer filer, @NotNull Types typeUtil, @NotNull Elements elementUtil) {
+    this.filer = filer;
+    this.typeUtil = typeUtil;
+    this.elementUtil = elementUtil;
+    this.typeEncoder = new AutoTypeEncoder(typeUtil, elementUtil);
+  }
+
+  @Contract(pure = true)
+  public static @Nullable GeneratedFactoryEmitter forProcessingEnvironment(@NotNull ProcessingEnvironment environment) {
+    boolean generateFactories = Boolean.parseBoolean(environment.getOptions().get(OPTION_NAME_GENERATE_FACTORIES));
+    return generateFactories
+      ? new GeneratedFactoryEmitter(environment.getFiler(), environment.getTypeUtils(), environment.getElementUtils())
+      : null;
+  }
+
+  private static boolean invocable(@NotNull ExecutableElement executable) {
+    return !executable.getModifiers().contains(Modifier.PRIVATE)
+      && executable.getTypeParameters().isEmpty()
+      && executable.getThrownTypes().isEmpty();
+  }
+
+  private static @Nullable ExecutableElement findInjectableConstructor(@NotNull TypeElement type) {
+    ExecutableElement noArgsConstructor = null;
+    ExecutableElement injectConstructor = null;
+    for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      if (GeneratedSourceTypes.annotationPresent(constructor, INJECT_ANNOTATION_NAME)) {
+        if (injectConstructor != null) {
+          // duplicate injectable constructors are reported by the runtime
+          return null;
+        }
+
+        injectConstructor = constructor;
+      } else if (constructor.getParameters().isEmpty()) {
+        noArgsConstructor = constructor;
+      }
+    }
+
+    return injectConstructor != null ? injectConstructor : noArgsConstructor;
+  }
+
+  public boolean emitProvidesFactory(
+    @NotNull DataOutput output,
+    @NotNull TypeElement implementation,
+    @NotNull List<? extends TypeMirror> providedTypes
+  ) throws IOException {
+    // generic and abstract types cannot be constructed directly
+    if (implementation.getKind() != ElementKind.CLASS
+      || implementation.getModifiers().contains(Modifier.ABSTRACT)
+      || !implementation.getTypeParameters().isEmpty()) {
+      return false;
+    }
+
+    ExecutableElement constructor = findInjectableConstructor(implementation);
+    if (constructor == null || !invocable(constructor)) {
+      return false;
+    }
+
+    try {
+      PackageElement targetPackage = this.elementUtil.getPackageOf(implementation);
+      GeneratedSourceTypes sourceTypes = new GeneratedSourceTypes(this.typeUtil, this.elementUtil, targetPackage);
+
+      String implementationName = sourceTypes.sourceName(implementation.asType());
+      GeneratedFactorySource source = new GeneratedFactorySource(
+        targetPackage.getQualifiedName().toString(),
+        this.factoryName(implementation, null),
+        implementationName,
+        implementationName + ".class",
+        "new " + implementationName);
+      this.addParameters(source, sourceTypes, constructor.getParameters());
+
+      // bind all provided types, using an object builder as the provided types must not be related to each other
+      List<String> boundTypeNames = new ArrayList<>(providedTypes.size());
+      for (int index = 0; index < providedTypes.size(); index++) {
+        String providedTypeName = sourceTypes.erasedSourceName(providedTypes.get(index));
+        source.addBindCall(index == 0
+          ? "bind(BindingKey.<java.lang.Object>of(" + providedTypeName + ".class))"
+          : "andBind(" + providedTypeName + ".class)");
+        boundTypeNames.add(this.typeEncoder.getBinaryName(providedTypes.get(index)));
+      }
+
+      TypeElement scope = sourceTypes.findScope(implementation);
+      source.scope(scope == null ? null : scope.getQualifiedName().toString());
+      this.emitFactory(output, source, implementation, boundTypeNames);
+      return true;
+    } catch (UnsupportedTypeException exception) {
+      return false;
+    }
+  }
+
+  public boolean emitFactoryMethodFactory(
+    @NotNull DataOutput output,
+    @NotNull ExecutableElement factoryMethod
+  ) throws IOException {
+    if (!invocable(factoryMethod)) {
+      return false;
+    }
+
+    try {
+      TypeElement definingType = (TypeElement) factoryMethod.getEnclosingElement();
+      PackageElement targetPackage = this.elementUtil.getPackageOf(definingType);
+      GeneratedSourceTypes sourceTypes = new GeneratedSourceTypes(this.typeUtil, this.elementUtil, targetPackage);
+
+      // generic return types need to be cast to a class of the generic type
+      TypeMirror returnType = factoryMethod.getReturnType();
+      String returnTypeName = sourceTypes.boxedSourceName(returnType);
+      String returnTypeLiteral = sourceTypes.erasedSourceName(returnType) + ".class";
+      if (sourceTypes.parameterized(returnType)) {
+        returnTypeLiteral = "(java.lang.Class<" + returnTypeName + ">) (java.lang.Class<?>) " + returnTypeLiteral;
+      }
+
+      String definingTypeName = sourceTypes.erasedSourceName(definingType.asType());
+      GeneratedFactorySource source = new GeneratedFactorySource(
+        targetPackage.getQualifiedName().toString(),
+        this.factoryName(definingType, factoryMethod.getSimpleName().toString()),
+        returnTypeName,
+        returnTypeLiteral,
+        definingTypeName + '.' + factoryMethod.getSimpleName());
+      this.addParameters(source, sourceTypes, factoryMethod.getParameters());
+
+      TypeElement qualifier = sourceTypes.findQualifier(factoryMethod);
+      source.addBindCall("bind(" + this.keyExpression(sourceTypes, returnType, qualifier) + ")");
+
+      // resolve the scope from the method first, fall back to the returned type unless it is abstract
+      TypeElement scope = sourceTypes.findScope(factoryMethod);
+      if (scope == null && returnType.getKind() == TypeKind.DECLARED) {
+        Element returnedElement = this.typeUtil.asElement(returnType);
+        if (returnedElement.getKind() == ElementKind.CLASS && !returnedElement.getModifiers().contains(Modifier.ABSTRACT)) {
+          scope = sourceTypes.findScope(returnedElement);
+        }
+      }
+
+      source.scope(scope == null ? null : scope.getQualifiedName().toString());
+      List<String> boundTypeNames = List.of(this.typeEncoder.getBinaryName(returnType));
+      this.emitFactory(output, source, definingType, boundTypeNames);
+      return true;
+    } catch (UnsupportedTypeException exception) {
+      return false;
+    }
+  }
+
+  private void addParameters(
+    @NotNull GeneratedFactorySource source,
+    @NotNull GeneratedSourceTypes sourceTypes,
+    @NotNull List<? extends VariableElement> parameters
+  ) throws UnsupportedTypeException {
+    for (VariableElement parameter : parameters) {
+      TypeMirror parameterType = parameter.asType();
+      TypeElement qualifier = sourceTypes.findQualifier(parameter);
+      String keyExpression = this.keyExpression(sourceTypes, parameterType, qualifier);
+      source.addParameter(keyExpression, sourceTypes.boxedSourceName(parameterType));
+    }
+  }
+
+  private @NotNull String keyExpression(
+    @NotNull GeneratedSourceTypes sourceTypes,
+    @NotNull TypeMirror type,
+    @Nullable TypeElement qualifier
+  ) throws UnsupportedTypeException {
+    String typeName = sourceTypes.sourceName(type);
+    String keyExpression = sourceTypes.parameterized(type)
+      ? "BindingKey.of(new TypeToken<" + typeName + ">() {})"
+      : "BindingKey.of(" + typeName + ".class)";
+    return qualifier == null
+      ? keyExpression
+      : keyExpression + ".withQualifier(" + qualifier.getQualifiedName() + ".class)";
+  }
+
+  private @NotNull String factoryName(@NotNull TypeElement type, @Nullable String methodName) {
+    // use the binary name of the type as the prefix to prevent clashes between nested types
+    String binaryName = this.elementUtil.getBinaryName(type).toString();
+    String packageName = this.elementUtil.getPackageOf(type).getQualifiedName().toString();
+    String baseName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+    if (methodName != null) {
+      baseName = baseName + "$$" + methodName;
+    }
+
+    // overloaded factory methods would result in the same name, append a counter to them
+    String factoryName = baseName + FACTORY_NAME_SUFFIX;
+    for (int counter = 1; !this.generatedFactoryNames.add(packageName + '.' + factoryName); counter++) {
+      factoryName = baseName + '$' + counter + FACTORY_NAME_SUFFIX;
+    }
+
+    return factoryName;
+  }
+
+  private void emitFactory(
+    @NotNull DataOutput output,
+    @NotNull GeneratedFactorySource source,
+    @NotNull Element originatingElement,
+    @NotNull List<String> boundTypeNames
+  ) throws IOException {
+    String factoryName = source.qualifiedName();
+    JavaFileObject sourceFile = this.filer.createSourceFile(factoryName, originatingElement);
+    try (Writer writer = sourceFile.openWriter()) {
+      writer.write(source.render());
+    }
+
+    // write the generated factory codec id and the binary name of the factory
+    output.writeUTF(GeneratedAutoFactory.CODEC_ID);
+    output.writeUTF(factoryName);
+
+    // write the binary names of the bound types, allows the runtime to defer loading the factory
+    output.writeInt(boundTypeNames.size());
+    for (String boundTypeName : boundTypeNames) {
+      output.writeUTF(boundTypeName);
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.auto.processing.internal.generated;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+final class GeneratedFactorySource {
+
+  private static final String INDENT = "  ";
+
+  private final String packageName;
+  private final String simpleName;
+  private final String constructedTypeName;
+  private final String constructedTypeLiteral;
+  private final String invocationTarget;
+
+  private final List<String> bindCalls = new ArrayList<>();
+  private final List<String> parameterKeys = new ArrayList<>();
+  private final List<String> parameterTypes = new ArrayList<>();
+
+  public GeneratedFactorySource(
+    @NotNull String packageName,
+    @NotNull String simpleName,
+    @NotNull String constructedTypeName,
+    @NotNull String constructedTypeLiteral,
+    @NotNull String invocationTarget
+  ) {
+    this.packageName = packageName;
+    this.simpleName = simpleName;
+    this.constructedTypeName = constructedTypeName;
+    this.constructedTypeLiteral = constructedTypeLiteral;
+    this.invocationTarget = invocationTarget;
+  }
+
+  public @NotNull String qualifiedName() {
+    return this.packageName.isEmpty() ? this.simpleName : this.packageName + '.' + this.simpleName;
+  }
+
+  public void addBindCall(@NotNull String bindCall) {
+    this.bindCalls.add(bindCall);
+  }
+
+  public void addParameter(@NotNull String keyExpression, @NotNull String castTypeName) {
+    this.parameterKeys.add(keyExpression);
+    this.parameterTypes.add(castTypeName);
+  }
+
+  public void scope(@Nullable String scopeTypeName) {
+    if (scopeTypeName != null) {
+      this.bindCalls.add("scopedWith(" + scopeTypeName + ".class)");
+    }
+  }
+
+  public @NotNull String render() {
+    StringBuilder source = new StringBuilder();
+    if (!this.packageName.isEmpty()) {
+      source.append("package ").append(this.packageName).append(";\n\n");
+    }
+
+    source
+      .append("import dev.derklaro.aerogel.Injector;\n")
+      .append("import dev.derklaro.aerogel.auto.GeneratedAutoFactory;\n")
+      .append("import dev.derklaro.aerogel.binding.ProviderWithContext;\n")
+      .append("import dev.derklaro.aerogel.binding.UninstalledBinding;\n")
+      .append("import dev.derklaro.aerogel.binding.key.BindingKey;\n")
+      .append("import io.leangen.geantyref.TypeToken;\n")
+      .append("import java.util.List;\n\n")
+      .append("// generated by the aerogel auto annotation processor, do not edit\n")
+      .append("@java.lang.SuppressWarnings(\"unchecked\")\n")
+      .append("public final class ").append(this.simpleName)
+      .append(" implements GeneratedAutoFactory<").append(this.constructedTypeName).append("> {\n\n");
+
+    // the keys of the parameters, in the order in which they are passed to the target
+    source.append(INDENT).append("private static final List<BindingKey<?>> PARAMETER_KEYS = List.<BindingKey<?>>of(");
+    for (int index = 0; index < this.parameterKeys.size(); index++) {
+      source.append(index == 0 ? "\n" : ",\n").append(INDENT).append(INDENT).append(this.parameterKeys.get(index));
+    }
+    source.append(");\n\n");
+
+    source
+      .append(INDENT).append("@java.lang.Override\n")
+      .append(INDENT).append("public java.lang.Class<? extends ").append(this.constructedTypeName)
+      .append("> constructedType() {\n")
+      .append(INDENT).append(INDENT).append("return ").append(this.constructedTypeLiteral).append(";\n")
+      .append(INDENT).append("}\n\n");
+
+    source
+      .append(INDENT).append("@java.lang.Override\n")
+      .append(INDENT).append("public List<BindingKey<?>> parameterKeys() {\n")
+      .append(INDENT).append(INDENT).append("return PARAMETER_KEYS;\n")
+      .append(INDENT).append("}\n\n");
+
+    // the invoker passes the parameter values directly to the construction target
+    source
+      .append(INDENT).append("@java.lang.Override\n")
+      .append(INDENT).append("public ProviderWithContext<").append(this.constructedTypeName)
+      .append("> createInvoker(ProviderWithContext<?>[] parameterProviders) {\n");
+    for (int index = 0; index < this.parameterTypes.size(); index++) {
+      source.append(INDENT).append(INDENT)
+        .append("ProviderWithContext<?> param").append(index)
+        .append(" = parameterProviders[").append(index).append("];\n");
+    }
+    source.append(INDENT).append(INDENT).append("return context -> ").append(this.invocationTarget).append('(');
+    for (int index = 0; index < this.parameterTypes.size(); index++) {
+      source
+        .append(index == 0 ? "\n" : ",\n")
+        .append(INDENT).append(INDENT).append(INDENT)
+        .append('(').append(this.parameterTypes.get(index)).append(") param").append(index).append(".get(context)");
+    }
+    source.append(");\n").append(INDENT).append("}\n\n");
+
+    source
+      .append(INDENT).append("@java.lang.Override\n")
+      .append(INDENT).append("public UninstalledBinding<?> constructBinding(Injector injector) {\n")
+      .append(INDENT).append(INDENT).append("return injector.createBindingBuilder()\n");
+    for (String bindCall : this.bindCalls) {
+      source.append(INDENT).append(INDENT).append(INDENT).append('.').append(bindCall).append('\n');
+    }
+    source
+      .append(INDENT).append(INDENT).append(INDENT).append(".toGeneratedFactory(this);\n")
+      .append(INDENT).append("}\n")
+      .append("}\n");
+    return source.toString();
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.auto.processing.internal.generated;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+final class GeneratedSourceTypes {
+
+  private static final String SCOPE_ANNOTATION_NAME = "jakarta.inject.Scope";
+  private static final String QUALIFIER_ANNOTATION_NAME = "jakarta.inject.Qualifier";
+
+  private final Types typeUtil;
+  private final Elements elementUtil;
+  private final PackageElement targetPackage;
+
+  public GeneratedSourceTypes(
+    @NotNull Types typeUtil,
+    @NotNull Elements elementUtil,
+    @NotNull PackageElement targetPackage
+  ) {
+    this.typeUtil = typeUtil;
+    this.elementUtil = elementUtil;
+    this.targetPackage = targetPackage;
+  }
+
+  static boolean annotationPresent(@NotNull Element element, @NotNull String annotationTypeName) {
+    for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+      if (annotationType.getQualifiedName().contentEquals(annotationTypeName)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private static boolean visibleAtRuntime(@NotNull TypeElement annotationType) {
+    Retention retention = annotationType.getAnnotation(Retention.class);
+    return retention != null && retention.value() == RetentionPolicy.RUNTIME;
+  }
+
+  private static boolean hasProperties(@NotNull TypeElement annotationType) {
+    return !ElementFilter.methodsIn(annotationType.getEnclosedElements()).isEmpty();
+  }
+
+  public boolean accessible(@NotNull TypeElement type) {
+    boolean samePackage = this.elementUtil.getPackageOf(type).equals(this.targetPackage);
+    for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+      // types from other packages must be public, types from the same package must only be non-private
+      TypeElement currentType = (TypeElement) current;
+      if (currentType.getModifiers().contains(Modifier.PRIVATE)
+        || (!samePackage && !currentType.getModifiers().contains(Modifier.PUBLIC))) {
+        return false;
+      }
+
+      // only top level and static member types can be referenced by their name
+      NestingKind nestingKind = currentType.getNestingKind();
+      if (nestingKind == NestingKind.MEMBER) {
+        boolean staticType = currentType.getModifiers().contains(Modifier.STATIC)
+          || currentType.getKind() != ElementKind.CLASS
+          || currentType.getEnclosingElement().getKind() == ElementKind.INTERFACE;
+        if (!staticType) {
+          return false;
+        }
+      } else if (nestingKind != NestingKind.TOP_LEVEL) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  public boolean parameterized(@NotNull TypeMirror type) {
+    switch (type.getKind()) {
+      case ARRAY:
+        return this.parameterized(((ArrayType) type).getComponentType());
+      case DECLARED:
+        return !((DeclaredType) type).getTypeArguments().isEmpty();
+      default:
+        return false;
+    }
+  }
+
+  public @NotNull String sourceName(@NotNull TypeMirror type) throws UnsupportedTypeException {
+    switch (type.getKind()) {
+      case BOOLEAN:
+      case BYTE:
+      case SHORT:
+      case INT:
+      case LONG:
+      case CHAR:
+      case FLOAT:
+      case DOUBLE:
+        return type.getKind().name().toLowerCase(Locale.ROOT);
+      case ARRAY:
+        return this.sourceName(((ArrayType) type).getComponentType()) + "[]";
+      case DECLARED:
+        return this.declaredSourceName((DeclaredType) type);
+      case WILDCARD:
+        return this.wildcardSourceName((WildcardType) type);
+      default:
+        // type variables, intersection types and erroneous types cannot be referenced
+        throw new UnsupportedTypeException();
+    }
+  }
+
+  public @NotNull String boxedSourceName(@NotNull TypeMirror type) throws UnsupportedTypeException {
+    if (type.getKind().isPrimitive()) {
+      TypeElement boxedType = this.typeUtil.boxedClass(this.typeUtil.getPrimitiveType(type.getKind()));
+      return boxedType.getQualifiedName().toString();
+    } else {
+      return this.sourceName(type);
+    }
+  }
+
+  public @NotNull String erasedSourceName(@NotNull TypeMirror type) throws UnsupportedTypeException {
+    TypeMirror erasedType = this.typeUtil.erasure(type);
+    return this.sourceName(erasedType);
+  }
+
+  private @NotNull String declaredSourceName(@NotNull DeclaredType type) throws UnsupportedTypeException {
+    TypeElement typeElement = (TypeElement) type.asElement();
+    if (!this.accessible(typeElement)) {
+      throw new UnsupportedTypeException();
+    }
+
+    // inner types of parameterized types would need the type arguments of the enclosing type as well
+    TypeMirror enclosingType = type.getEnclosingType();
+    if (enclosingType.getKind() == TypeKind.DECLARED && !((DeclaredType) enclosingType).getTypeArguments().isEmpty()) {
+      throw new UnsupportedTypeException();
+    }
+
+    List<? extends TypeMirror> typeArguments = type.getTypeArguments();
+    String typeName = typeElement.getQualifiedName().toString();
+    if (typeArguments.isEmpty()) {
+      return typeName;
+    }
+
+    StringJoiner argumentJoiner = new StringJoiner(", ", typeName + "<", ">");
+    for (TypeMirror typeArgument : typeArguments) {
+      argumentJoiner.add(this.sourceName(typeArgument));
+    }
+
+    return argumentJoiner.toString();
+  }
+
+  private @NotNull String wildcardSourceName(@NotNull WildcardType type) throws UnsupportedTypeException {
+    TypeMirror extendsBound = type.getExtendsBound();
+    TypeMirror superBound = type.getSuperBound();
+    if (extendsBound != null) {
+      return "? extends " + this.sourceName(extendsBound);
+    } else if (superBound != null) {
+      return "? super " + this.sourceName(superBound);
+    } else {
+      return "?";
+    }
+  }
+
+  public @Nullable TypeElement findQualifier(@NotNull Element element) throws UnsupportedTypeException {
+    return this.findMetaAnnotated(element, QUALIFIER_ANNOTATION_NAME);
+  }
+
+  public @Nullable TypeElement findScope(@NotNull Element element) throws UnsupportedTypeException {
+    return this.findMetaAnnotated(element, SCOPE_ANNOTATION_NAME);
+  }
+
+  private @Nullable TypeElement findMetaAnnotated(
+    @NotNull Element element,
+    @NotNull String metaAnnotationName
+  ) throws UnsupportedTypeException {
+    TypeElement match = null;
+    for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+      if (visibleAtRuntime(annotationType) && annotationPresent(annotationType, metaAnnotationName)) {
+        // duplicate annotations are reported by the runtime, annotations with properties need
+        // to be matched by instance which cannot be expressed in the generated source
+        if (match != null || hasProperties(annotationType) || !this.accessible(annotationType)) {
+          throw new UnsupportedTypeException();
+        }
+
+        match = annotationType;
+      }
+    }
+
+    return match;
+  }
+}
@@ -26,6 +26,7 @@
 
 import dev.derklaro.aerogel.auto.annotation.Provides;
 import dev.derklaro.aerogel.auto.processing.AutoEntryProcessor;
+import dev.derklaro.aerogel.auto.processing.internal.generated.GeneratedFactoryEmitter;
 import dev.derklaro.aerogel.auto.processing.internal.util.AutoTypeEncoder;
 import dev.derklaro.aerogel.auto.processing.internal.util.AutoTypeEncodingUtil;
 import java.io.DataOutput;
@@ -37,13 +38,19 @@
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.TypeMirror;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 final class ProvidesAutoEntryProcessor implements AutoEntryProcessor {
 
   private final AutoTypeEncoder typeEncoder;
+  private final GeneratedFactoryEmitter factoryEmitter;
 
-  public ProvidesAutoEntryProcessor(@NotNull AutoTypeEncoder typeEncoder) {
+  public ProvidesAutoEntryProcessor(
+    @NotNull AutoTypeEncoder typeEncoder,
+    @Nullable GeneratedFactoryEmitter factoryEmitter
+  ) {
     this.typeEncoder = typeEncoder;
+    this.factoryEmitter = factoryEmitter;
   }
 
   @Override
@@ -69,6 +76,12 @@ public void emitEntries(
         throw new IllegalStateException("Provided types in @Provides annotation is empty on " + annotatedElement);
       }
 
+      // emit a generated factory for the annotated type if enabled and possible
+      TypeElement implementation = (TypeElement) annotatedElement;
+      if (this.factoryEmitter != null && this.factoryEmitter.emitProvidesFactory(output, implementation, providedTypes)) {
+        continue;
+      }
+
       // write the provides codec id and binary name of the annotated type (implementation)
       String annotatedTypeBinaryName = this.typeEncoder.getBinaryName(annotatedElement.asType());
       output.writeUTF(Provides.CODEC_ID);
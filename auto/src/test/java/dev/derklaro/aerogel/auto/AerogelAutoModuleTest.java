@@ -24,11 +24,30 @@
 
 package dev.derklaro.aerogel.auto;
 
+import dev.derklaro.aerogel.Injector;
 import dev.derklaro.aerogel.auto.annotation.Factory;
 import dev.derklaro.aerogel.auto.annotation.Provides;
+import dev.derklaro.aerogel.auto.internal.format.IndexedAutoConfigWriter;
 import dev.derklaro.aerogel.registry.Registry;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class AerogelAutoModuleTest {
 
@@ -36,8 +55,74 @@ public class AerogelAutoModuleTest {
   void testDecodersAreDetectedViaSPI() {
     AerogelAutoModule module = AerogelAutoModule.newInstance();
     Registry.WithKeyMapping<String, AutoEntryDecoder> decoderRegistry = module.decoderRegistry();
-    Assertions.assertEquals(2, decoderRegistry.entryCount());
+    Assertions.assertEquals(3, decoderRegistry.entryCount());
     Assertions.assertTrue(decoderRegistry.get(Factory.CODEC_ID).isPresent());
     Assertions.assertTrue(decoderRegistry.get(Provides.CODEC_ID).isPresent());
+    Assertions.assertTrue(decoderRegistry.get(GeneratedAutoFactory.CODEC_ID).isPresent());
+  }
+
+  @Test
+  void testAllResourcesAreInstalledInClassPathOrder(@TempDir Path tempDir) throws Exception {
+    Path first = writeProvidesEntries(tempDir.resolve("first"), ArrayList.class, List.class, Collection.class);
+    Path second = writeProvidesEntries(tempDir.resolve("second"), LinkedList.class, List.class);
+    Path third = writeProvidesEntries(tempDir.resolve("third"), TreeSet.class, Set.class);
+
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    URL[] resourceRoots = {first.toUri().toURL(), second.toUri().toURL(), third.toUri().toURL()};
+    try (URLClassLoader loader = new URLClassLoader(resourceRoots, AerogelAutoModuleTest.class.getClassLoader())) {
+      AerogelAutoModule module = AerogelAutoModule.newInstance();
+      LazyBindingCollection bindings = module.deserializeAllBindings("test-bindings.aero", loader, executor).get();
+      Assertions.assertEquals(3, bindings.constructBindings(Injector.newInjector()).size());
+
+      Injector injector = Injector.newInjector();
+      CompletableFuture<Injector> future = module.installAllBindings(injector, "test-bindings.aero", loader, executor);
+      Assertions.assertSame(injector, future.get());
+
+      // the binding from the first resource takes precedence
+      Assertions.assertInstanceOf(ArrayList.class, injector.instance(List.class));
+      Assertions.assertInstanceOf(ArrayList.class, injector.instance(Collection.class));
+      Assertions.assertInstanceOf(TreeSet.class, injector.instance(Set.class));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testNoBindingsAreInstalledIfAResourceFails(@TempDir Path tempDir) throws Exception {
+    Path valid = writeProvidesEntries(tempDir.resolve("valid"), ArrayList.class, List.class);
+    Path invalid = tempDir.resolve("invalid");
+    Files.createDirectories(invalid);
+    Files.write(invalid.resolve("test-bindings.aero"), new byte[]{0, 4, 'a', 'b', 'c', 'd'});
+
+    URL[] resourceRoots = {valid.toUri().toURL(), invalid.toUri().toURL()};
+    try (URLClassLoader loader = new URLClassLoader(resourceRoots, AerogelAutoModuleTest.class.getClassLoader())) {
+      Injector injector = Injector.newInjector();
+      AerogelAutoModule module = AerogelAutoModule.newInstance();
+      CompletableFuture<Injector> future = module.installAllBindings(injector, "test-bindings.aero", loader, Runnable::run);
+
+      ExecutionException exception = Assertions.assertThrows(ExecutionException.class, future::get);
+      Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+      Assertions.assertEquals(0, injector.bindingRegistry().entryCount());
+    }
+  }
+
+  private static Path writeProvidesEntries(
+    Path directory,
+    Class<?> implementation,
+    Class<?>... providedTypes
+  ) throws IOException {
+    IndexedAutoConfigWriter writer = new IndexedAutoConfigWriter();
+    DataOutput output = writer.startEntry();
+    output.writeUTF(Provides.CODEC_ID);
+    output.writeUTF(implementation.getName());
+    output.writeInt(providedTypes.length);
+    for (Class<?> providedType : providedTypes) {
+      output.writeUTF(providedType.getName());
+    }
+    writer.finishEntry();
+
+    Files.createDirectories(directory);
+    Files.write(directory.resolve("test-bindings.aero"), writer.toByteArray());
+    return directory;
   }
 }
@@ -0,0 +1,171 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.auto;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.Compiler;
+import com.google.testing.compile.JavaFileObjects;
+import dev.derklaro.aerogel.Injector;
+import dev.derklaro.aerogel.auto.annotation.Factory;
+import dev.derklaro.aerogel.auto.annotation.Provides;
+import dev.derklaro.aerogel.auto.util.CompilationClassLoader;
+import dev.derklaro.aerogel.auto.util.CompilationUtil;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class GeneratedFactoryAutoEntryProcessorTest {
+
+  private static final JavaFileObject MARKED_SOURCE = JavaFileObjects.forSourceLines(
+    "some.testing.pkg.Marked",
+    "package some.testing.pkg;",
+    "@jakarta.inject.Qualifier",
+    "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)",
+    "public @interface Marked {}");
+  private static final JavaFileObject SERVICE_SOURCE = JavaFileObjects.forSourceLines(
+    "some.testing.pkg.Service",
+    "package some.testing.pkg;",
+    "public interface Service {",
+    "  String value();",
+    "}");
+  private static final JavaFileObject SERVICE_IMPL_SOURCE = JavaFileObjects.forSourceLines(
+    "some.testing.pkg.ServiceImpl",
+    "package some.testing.pkg;",
+    "@jakarta.inject.Singleton",
+    "@dev.derklaro.aerogel.auto.annotation.Provides(Service.class)",
+    "class ServiceImpl implements Service {",
+    "  private final String value;",
+    "  @jakarta.inject.Inject",
+    "  ServiceImpl(@Marked String value, java.util.List<String> suffixes, int count) {",
+    "    this.value = value + suffixes.get(0) + count;",
+    "  }",
+    "  public String value() {",
+    "    return this.value;",
+    "  }",
+    "}");
+  private static final JavaFileObject FACTORIES_SOURCE = JavaFileObjects.forSourceLines(
+    "some.testing.pkg.Factories",
+    "package some.testing.pkg;",
+    "public final class Factories {",
+    "  @Marked",
+    "  @dev.derklaro.aerogel.auto.annotation.Factory",
+    "  public static String marked() {",
+    "    return \"Hello\";",
+    "  }",
+    "  @dev.derklaro.aerogel.auto.annotation.Factory",
+    "  static java.util.List<String> suffixes() {",
+    "    return java.util.List.of(\", World\");",
+    "  }",
+    "  @dev.derklaro.aerogel.auto.annotation.Factory",
+    "  static int count(java.util.List<String> suffixes) {",
+    "    return suffixes.size();",
+    "  }",
+    "}");
+
+  @Test
+  void testGeneratedFactoriesAreEmittedAndBound() throws Exception {
+    Compiler compiler = CompilationUtil.javacCompilerWithFactoryGeneration();
+    Compilation compileResult = compiler.compile(MARKED_SOURCE, SERVICE_SOURCE, SERVICE_IMPL_SOURCE, FACTORIES_SOURCE);
+    Assertions.assertEquals(Compilation.Status.SUCCESS, compileResult.status());
+    Assertions.assertTrue(compileResult.generatedSourceFile("some.testing.pkg.ServiceImpl$$AerogelFactory").isPresent());
+    Assertions.assertTrue(compileResult.generatedSourceFile("some.testing.pkg.Factories$$count$$AerogelFactory").isPresent());
+
+    Optional<JavaFileObject> bindings = compileResult.generatedFile(StandardLocation.CLASS_OUTPUT, "auto-config.aero");
+    Assertions.assertTrue(bindings.isPresent());
+    try (DataInputStream dataInput = new DataInputStream(bindings.get().openInputStream())) {
+      Set<String> boundTypeNames = new HashSet<>();
+      for (int entry = 0; entry < 4; entry++) {
+        Assertions.assertEquals(GeneratedAutoFactory.CODEC_ID, dataInput.readUTF());
+        Assertions.assertTrue(dataInput.readUTF().endsWith("$$AerogelFactory"));
+        Assertions.assertEquals(1, dataInput.readInt());
+        boundTypeNames.add(dataInput.readUTF());
+      }
+      Assertions.assertEquals(0, dataInput.available());
+      Assertions.assertEquals(
+        Set.of("some.testing.pkg.Service", "java.lang.String", "java.util.List", "int"),
+        boundTypeNames);
+    }
+
+    Injector injector = Injector.newInjector();
+    ClassLoader loader = new CompilationClassLoader(compileResult);
+    try (InputStream dataInput = bindings.get().openInputStream()) {
+      AerogelAutoModule.newInstance().deserializeBindings(dataInput, loader).installBindings(injector);
+    }
+
+    Class<?> serviceType = loader.loadClass("some.testing.pkg.Service");
+    Object service = injector.instance(serviceType);
+    Assertions.assertSame(service, injector.instance(serviceType));
+    Assertions.assertEquals("Hello, World1", serviceType.getMethod("value").invoke(service));
+  }
+
+  @Test
+  void testUnsupportedTargetsFallBackToRegularEntries() throws IOException {
+    JavaFileObject namedFactorySource = JavaFileObjects.forSourceLines(
+      "some.testing.pkg.NamedFactory",
+      "package some.testing.pkg;",
+      "public final class NamedFactory {",
+      "  @dev.derklaro.aerogel.auto.annotation.Factory",
+      "  public static String named(@jakarta.inject.Named(\"test\") String value) {",
+      "    return value;",
+      "  }",
+      "}");
+    JavaFileObject privateConstructorSource = JavaFileObjects.forSourceLines(
+      "some.testing.pkg.PrivateConstructor",
+      "package some.testing.pkg;",
+      "@dev.derklaro.aerogel.auto.annotation.Provides(Object.class)",
+      "public final class PrivateConstructor {",
+      "  private PrivateConstructor() {",
+      "  }",
+      "}");
+
+    Compiler compiler = CompilationUtil.javacCompilerWithFactoryGeneration();
+    Compilation compileResult = compiler.compile(namedFactorySource, privateConstructorSource);
+    Assertions.assertEquals(Compilation.Status.SUCCESS, compileResult.status());
+    Assertions.assertTrue(compileResult.generatedSourceFiles().isEmpty());
+
+    Optional<JavaFileObject> bindings = compileResult.generatedFile(StandardLocation.CLASS_OUTPUT, "auto-config.aero");
+    Assertions.assertTrue(bindings.isPresent());
+    try (DataInputStream dataInput = new DataInputStream(bindings.get().openInputStream())) {
+      Assertions.assertEquals(Factory.CODEC_ID, dataInput.readUTF());
+      Assertions.assertEquals("named", dataInput.readUTF());
+      Assertions.assertEquals("some.testing.pkg.NamedFactory", dataInput.readUTF());
+      Assertions.assertEquals(1, dataInput.readInt());
+      Assertions.assertEquals("java.lang.String", dataInput.readUTF());
+
+      Assertions.assertEquals(Provides.CODEC_ID, dataInput.readUTF());
+      Assertions.assertEquals("some.testing.pkg.PrivateConstructor", dataInput.readUTF());
+      Assertions.assertEquals(1, dataInput.readInt());
+      Assertions.assertEquals("java.lang.Object", dataInput.readUTF());
+      Assertions.assertEquals(0, dataInput.available());
+    }
+  }
+}
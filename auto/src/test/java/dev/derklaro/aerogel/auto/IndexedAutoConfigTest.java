@@ -0,0 +1,239 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.auto;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.Compiler;
+import com.google.testing.compile.JavaFileObjects;
+import dev.derklaro.aerogel.Injector;
+import dev.derklaro.aerogel.auto.annotation.Provides;
+import dev.derklaro.aerogel.auto.internal.format.AutoConfigFormat;
+import dev.derklaro.aerogel.auto.internal.format.IndexedAutoConfig;
+import dev.derklaro.aerogel.auto.internal.format.IndexedAutoConfigWriter;
+import dev.derklaro.aerogel.auto.internal.format.IndexedEntryInput;
+import dev.derklaro.aerogel.auto.util.CompilationClassLoader;
+import dev.derklaro.aerogel.auto.util.CompilationUtil;
+import dev.derklaro.aerogel.binding.DynamicBinding;
+import dev.derklaro.aerogel.binding.RawTypeNamedDynamicBinding;
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import jakarta.inject.Named;
+import java.io.ByteArrayInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class IndexedAutoConfigTest {
+
+  private static final JavaFileObject SERVICE_SOURCE = JavaFileObjects.forSourceLines(
+    "some.testing.pkg.Service",
+    "package some.testing.pkg;",
+    "public interface Service {}");
+  private static final JavaFileObject SERVICE_IMPL_SOURCE = JavaFileObjects.forSourceLines(
+    "some.testing.pkg.ServiceImpl",
+    "package some.testing.pkg;",
+    "@dev.derklaro.aerogel.auto.annotation.Provides(Service.class)",
+    "public class ServiceImpl implements Service {}");
+  private static final JavaFileObject OTHER_SERVICE_IMPL_SOURCE = JavaFileObjects.forSourceLines(
+    "some.testing.pkg.OtherServiceImpl",
+    "package some.testing.pkg;",
+    "@dev.derklaro.aerogel.auto.annotation.Provides(Runnable.class)",
+    "public class OtherServiceImpl implements Service, Runnable {",
+    "  public void run() {}",
+    "}");
+
+  @Test
+  void testWriterDeduplicatesStringsAndEncodesIntegersCompact() throws IOException {
+    IndexedAutoConfigWriter writer = new IndexedAutoConfigWriter();
+    for (int entry = 0; entry < 3; entry++) {
+      DataOutput output = writer.startEntry();
+      output.writeUTF("some.testing.pkg.ServiceImpl");
+      output.writeInt(entry - 1);
+      output.writeLong(Long.MIN_VALUE);
+      output.writeDouble(12.5D);
+      writer.finishEntry();
+    }
+
+    // empty and incomplete entries are not recorded
+    writer.startEntry();
+    writer.finishEntry();
+    writer.startEntry().writeUTF("incomplete");
+
+    IndexedAutoConfig config = IndexedAutoConfig.read(ByteBuffer.wrap(writer.toByteArray()));
+    Assertions.assertEquals(3, config.entryCount());
+
+    // read the entries in reverse order to ensure that they can be accessed randomly
+    for (int entry = 2; entry >= 0; entry--) {
+      IndexedEntryInput input = config.entryInput(entry);
+      Assertions.assertEquals("some.testing.pkg.ServiceImpl", input.readUTF());
+      Assertions.assertEquals(entry - 1, input.readInt());
+      Assertions.assertEquals(Long.MIN_VALUE, input.readLong());
+      Assertions.assertEquals(12.5D, input.readDouble());
+      Assertions.assertFalse(input.hasRemaining());
+    }
+
+    // string index (1 byte) + int (1 byte) + long (10 bytes) + double (8 bytes)
+    IndexedEntryInput input = config.entryInput(0);
+    Assertions.assertEquals(20, input.skipBytes(Integer.MAX_VALUE));
+  }
+
+  @Test
+  void testReaderRejectsInvalidData() {
+    ByteBuffer legacyData = ByteBuffer.wrap(new byte[]{0, 1, 'a'});
+    Assertions.assertThrows(IOException.class, () -> IndexedAutoConfig.read(legacyData));
+
+    ByteBuffer unknownVersion = ByteBuffer.allocate(5).putInt(AutoConfigFormat.MAGIC).put((byte) 3).flip();
+    Assertions.assertThrows(IOException.class, () -> IndexedAutoConfig.read(unknownVersion));
+
+    ByteBuffer truncatedIndex = ByteBuffer.allocate(8).putInt(AutoConfigFormat.MAGIC).put(new byte[]{2, 0, 1, 5}).flip();
+    Assertions.assertThrows(IOException.class, () -> IndexedAutoConfig.read(truncatedIndex));
+  }
+
+  @Test
+  void testProcessorEmitsIndexedFormatByDefault(@TempDir Path tempDir) throws Exception {
+    Compiler compiler = CompilationUtil.javacCompilerWithAerogelProcessor().withOptions();
+    Compilation compileResult = compiler.compile(SERVICE_SOURCE, SERVICE_IMPL_SOURCE, OTHER_SERVICE_IMPL_SOURCE);
+    Assertions.assertEquals(Compilation.Status.SUCCESS, compileResult.status());
+
+    Optional<JavaFileObject> bindings = compileResult.generatedFile(StandardLocation.CLASS_OUTPUT, "auto-config.aero");
+    Assertions.assertTrue(bindings.isPresent());
+
+    byte[] data;
+    try (InputStream inputStream = bindings.get().openInputStream()) {
+      data = inputStream.readAllBytes();
+    }
+
+    // one entry per annotated element
+    Assertions.assertTrue(AutoConfigFormat.indexedFormat(data));
+    IndexedAutoConfig config = IndexedAutoConfig.read(ByteBuffer.wrap(data));
+    Assertions.assertEquals(2, config.entryCount());
+    for (int entry = 0; entry < config.entryCount(); entry++) {
+      Assertions.assertEquals(Provides.CODEC_ID, config.entryInput(entry).readUTF());
+    }
+
+    Path dataFile = tempDir.resolve("auto-config.aero");
+    Files.write(dataFile, data);
+
+    ClassLoader loader = new CompilationClassLoader(compileResult);
+    AerogelAutoModule autoModule = AerogelAutoModule.newInstance();
+    this.assertBindingsInstalled(loader, injector -> autoModule.deserializeBindings(new ByteArrayInputStream(data), loader));
+    this.assertBindingsInstalled(loader, injector -> autoModule.deserializeBindings(ByteBuffer.wrap(data), loader));
+    this.assertBindingsInstalled(loader, injector -> autoModule.deserializeBindings(dataFile, loader));
+  }
+
+  @Test
+  void testDeferredInstallationLoadsClassesOnFirstRequest() throws Exception {
+    Compiler compiler = CompilationUtil.javacCompilerWithAerogelProcessor().withOptions();
+    Compilation compileResult = compiler.compile(SERVICE_SOURCE, SERVICE_IMPL_SOURCE, OTHER_SERVICE_IMPL_SOURCE);
+    Assertions.assertEquals(Compilation.Status.SUCCESS, compileResult.status());
+
+    Optional<JavaFileObject> bindings = compileResult.generatedFile(StandardLocation.CLASS_OUTPUT, "auto-config.aero");
+    Assertions.assertTrue(bindings.isPresent());
+
+    Injector injector = Injector.newInjector();
+    CompilationClassLoader loader = new CompilationClassLoader(compileResult);
+    try (InputStream inputStream = bindings.get().openInputStream()) {
+      AerogelAutoModule.newInstance().deserializeBindings(inputStream, loader).installBindingsDeferred(injector);
+    }
+
+    // no class should be loaded before a binding is requested
+    Assertions.assertEquals(2, injector.dynamicBindingRegistry().entryCount());
+    Assertions.assertFalse(loader.loaded("some.testing.pkg.ServiceImpl"));
+    Assertions.assertFalse(loader.loaded("some.testing.pkg.OtherServiceImpl"));
+
+    // the deferred bindings are indexed by the bound type names, lookups of other types must not decode entries
+    Set<String> rawTypeNames = injector.dynamicBindingRegistry().entries().stream()
+      .map(binding -> ((RawTypeNamedDynamicBinding) binding).rawTypeName())
+      .collect(Collectors.toSet());
+    Assertions.assertEquals(Set.of("some.testing.pkg.Service", "java.lang.Runnable"), rawTypeNames);
+    Assertions.assertFalse(injector.existingBinding(BindingKey.of(CharSequence.class)).isPresent());
+    Assertions.assertFalse(loader.loaded("some.testing.pkg.ServiceImpl"));
+    Assertions.assertFalse(loader.loaded("some.testing.pkg.OtherServiceImpl"));
+
+    // checking if a key is supported must not install the bindings of the entry
+    Class<?> serviceType = loader.loadClass("some.testing.pkg.Service");
+    BindingKey<?> serviceKey = BindingKey.of(serviceType);
+    DynamicBinding serviceBinding = injector.dynamicBindingRegistry().get(serviceKey).orElseThrow();
+    Assertions.assertTrue(serviceBinding.supports(serviceKey));
+    Assertions.assertFalse(serviceBinding.supports(BindingKey.of(serviceType).withQualifier(Named.class)));
+    Assertions.assertFalse(injector.bindingRegistry().getDirect(serviceKey).isPresent());
+
+    Object service = injector.instance(serviceType);
+    Assertions.assertEquals("some.testing.pkg.ServiceImpl", service.getClass().getName());
+    Assertions.assertTrue(injector.bindingRegistry().getDirect(serviceKey).isPresent());
+    Assertions.assertFalse(loader.loaded("some.testing.pkg.OtherServiceImpl"));
+
+    Runnable runnable = injector.instance(Runnable.class);
+    Assertions.assertEquals("some.testing.pkg.OtherServiceImpl", runnable.getClass().getName());
+  }
+
+  @Test
+  void testLegacyFormatIsDecodedFromBuffer() throws Exception {
+    Compiler compiler = CompilationUtil.javacCompilerWithAerogelProcessor();
+    Compilation compileResult = compiler.compile(SERVICE_SOURCE, SERVICE_IMPL_SOURCE, OTHER_SERVICE_IMPL_SOURCE);
+    Assertions.assertEquals(Compilation.Status.SUCCESS, compileResult.status());
+
+    Optional<JavaFileObject> bindings = compileResult.generatedFile(StandardLocation.CLASS_OUTPUT, "auto-config.aero");
+    Assertions.assertTrue(bindings.isPresent());
+
+    byte[] data;
+    try (InputStream inputStream = bindings.get().openInputStream()) {
+      data = inputStream.readAllBytes();
+    }
+
+    Assertions.assertFalse(AutoConfigFormat.indexedFormat(data));
+    ClassLoader loader = new CompilationClassLoader(compileResult);
+    AerogelAutoModule autoModule = AerogelAutoModule.newInstance();
+    this.assertBindingsInstalled(loader, injector -> autoModule.deserializeBindings(ByteBuffer.wrap(data), loader));
+  }
+
+  private void assertBindingsInstalled(
+    ClassLoader loader,
+    Function<Injector, LazyBindingCollection> bindingsDecoder
+  ) throws ClassNotFoundException {
+    Injector injector = Injector.newInjector();
+    LazyBindingCollection bindings = bindingsDecoder.apply(injector);
+    Assertions.assertEquals(2, bindings.constructBindings(injector).size());
+    bindings.installBindings(injector);
+
+    Class<?> serviceType = loader.loadClass("some.testing.pkg.Service");
+    Object service = injector.instance(serviceType);
+    Assertions.assertEquals("some.testing.pkg.ServiceImpl", service.getClass().getName());
+
+    Runnable runnable = injector.instance(Runnable.class);
+    Assertions.assertEquals("some.testing.pkg.OtherServiceImpl", runnable.getClass().getName());
+  }
+}
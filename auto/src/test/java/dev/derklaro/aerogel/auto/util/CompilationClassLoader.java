@@ -0,0 +1,72 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.auto.util;
+
+import com.google.testing.compile.Compilation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+public final class CompilationClassLoader extends ClassLoader {
+
+  private static final String CLASS_OUTPUT_PREFIX = "/" + StandardLocation.CLASS_OUTPUT.getName() + "/";
+
+  private final Map<String, byte[]> classFiles = new HashMap<>();
+
+  public CompilationClassLoader(Compilation compilation) {
+    super(CompilationClassLoader.class.getClassLoader());
+    for (JavaFileObject file : compilation.generatedFiles()) {
+      String fileName = file.getName();
+      if (file.getKind() == JavaFileObject.Kind.CLASS && fileName.startsWith(CLASS_OUTPUT_PREFIX)) {
+        String className = fileName
+          .substring(CLASS_OUTPUT_PREFIX.length(), fileName.length() - JavaFileObject.Kind.CLASS.extension.length())
+          .replace('/', '.');
+        try (InputStream inputStream = file.openInputStream()) {
+          this.classFiles.put(className, inputStream.readAllBytes());
+        } catch (IOException exception) {
+          throw new UncheckedIOException(exception);
+        }
+      }
+    }
+  }
+
+  public boolean loaded(String name) {
+    return this.findLoadedClass(name) != null;
+  }
+
+  @Override
+  protected Class<?> findClass(String name) throws ClassNotFoundException {
+    byte[] classFile = this.classFiles.get(name);
+    if (classFile == null) {
+      throw new ClassNotFoundException(name);
+    }
+
+    return this.defineClass(name, classFile, 0, classFile.length);
+  }
+}
@@ -27,7 +27,9 @@
 import com.google.testing.compile.Compiler;
 import dev.derklaro.aerogel.auto.processing.internal.AutoEntryAnnotationProcessor;
 import java.io.File;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public final class CompilationUtil {
 
@@ -36,9 +38,22 @@ private CompilationUtil() {
   }
 
   public static Compiler javacCompilerWithAerogelProcessor() {
+    // the tests read the emitted data directly, use the legacy format which is a plain sequence of entries
     return Compiler.javac()
       .withProcessors(new AutoEntryAnnotationProcessor())
+      .withOptions("-AaerogelAutoFileVersion=1")
       // relative to the auto module root path
       .withClasspath(List.of(new File("build/classes/java/main")));
   }
+
+  public static Compiler javacCompilerWithFactoryGeneration() {
+    // generated factories reference the aerogel runtime, compile against the full test classpath
+    List<File> classpath = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+      .map(File::new)
+      .collect(Collectors.toList());
+    return Compiler.javac()
+      .withProcessors(new AutoEntryAnnotationProcessor())
+      .withOptions("-AaerogelGenerateFactories=true", "-AaerogelAutoFileVersion=1")
+      .withClasspath(classpath);
+  }
 }
@@ -29,6 +29,7 @@
 import java.util.function.Supplier;
 import org.apiguardian.api.API;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnknownNullability;
 
 /**
@@ -42,6 +43,7 @@ final class ScopedValueInjectionContextScope implements InjectionContextScope {
 
   private final InjectionContext context;
   private final ScopedValue.Carrier contextScopeCarrier;
+  private final ScopedValue.CallableOp<Object, RuntimeException> resolveInstanceOperation;
 
   /**
    * Constructs a new injection context scope for the given context and scoped value.
@@ -55,6 +57,7 @@ public ScopedValueInjectionContextScope(
   ) {
     this.context = context;
     this.contextScopeCarrier = ScopedValue.where(scopeScopedValue, this);
+    this.resolveInstanceOperation = context::resolveInstance;
   }
 
   /**
@@ -72,4 +75,13 @@ public ScopedValueInjectionContextScope(
   public <T> @UnknownNullability T executeScoped(@NotNull Supplier<T> operation) {
     return this.contextScopeCarrier.call(operation::get);
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @Nullable Object resolveInstanceScoped() {
+    // the scope is re-used together with the context, therefore the operation is only allocated once as well
+    return this.contextScopeCarrier.call(this.resolveInstanceOperation);
+  }
 }
@@ -37,7 +37,11 @@
 import java.lang.annotation.Annotation;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import org.apiguardian.api.API;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -159,8 +163,8 @@ public interface Injector {
   /**
    * Get a member injector for the given member holder class. This method uses the lookup provided to this injector when
    * building it, use {@link #memberInjector(Class, MethodHandles.Lookup)} to provide a specific member injector.
-   * Calling this method multiple times on this injector will always return the same member injector as the result is
-   * cached to prevent expensive lookups.
+   * Calling this method multiple times on this injector will return the same member injector as the result is cached
+   * to prevent expensive lookups.
    *
    * @param memberHolderClass the class in which the members to inject are located.
    * @param <T>               the type to inject members into.
@@ -171,11 +175,11 @@ public interface Injector {
   <T> MemberInjector<T> memberInjector(@NotNull Class<T> memberHolderClass);
 
   /**
-   * Get a member injector for the given member holder class. The given lookup can be used when getting the member
-   * injector for the first time to allow access into the class. If the lookup is {@code null} the default lookup
-   * provided to this injector will be used instead. Calling this method multiple times on this injector will always
-   * return the same member injector even if given different lookups as the result is cached to prevent expensive member
-   * lookups.
+   * Get a member injector for the given member holder class. The given lookup is used to allow access into the class.
+   * If the lookup is {@code null} the default lookup provided to this injector will be used instead. Calling this
+   * method multiple times on this injector with lookups that have the same lookup class and access modes will return
+   * the same member injector as the result is cached to prevent expensive member lookups. The cache is bounded, member
+   * injectors that were not requested for a while might be re-created.
    *
    * @param memberHolderClass the class in which the members to inject are located.
    * @param lookup            the lookup to use for member access in the target class, can be null.
@@ -241,7 +245,9 @@ public interface Injector {
   /**
    * Get a provider for the binding associated with the given key. The provider can be used to obtain instances of the
    * type wrapped in the given binding key.When possible, a direct method call should be avoided in favor of injecting a
-   * provider directly.
+   * provider directly. The returned provider is bound to the binding that is associated with the key at the time of
+   * the method call, repeated calls with the same key return the same provider instance as long as the key is
+   * associated with the same binding.
    *
    * @param key the key of the binding to get a provider for.
    * @param <T> the model of the type to construct using the provider.
@@ -279,6 +285,45 @@ public interface Injector {
   @NotNull
   <T> Optional<InstalledBinding<T>> existingBinding(@NotNull BindingKey<T> key);
 
+  /**
+   * Eagerly constructs the values of all singleton bindings that are registered in the binding registry of this
+   * injector or one of its parent injectors, using the given executor. The bindings are resolved through this injector,
+   * a binding of a parent injector is skipped if this injector shadows it with another binding. Singletons that do not
+   * depend on each other are constructed concurrently, a singleton is constructed once all singletons it depends on
+   * were constructed. Singletons that are part of a dependency cycle are constructed one after another, after all other
+   * singletons were constructed.
+   * <p>
+   * The returned future completes once all singletons were processed and holds the failures that occurred while
+   * constructing the singletons, mapped by the main key of the failed binding. A singleton is not constructed if one of
+   * its dependencies failed, in that case the failure of the singleton is caused by the failure of the dependency. The
+   * returned map is empty if all singletons were constructed successfully.
+   *
+   * @param executor the executor to construct the singletons on.
+   * @return a future completed with the failures that occurred while constructing the singletons.
+   * @throws NullPointerException if the given executor is null.
+   */
+  @NotNull
+  @API(status = API.Status.EXPERIMENTAL, since = "3.0")
+  CompletableFuture<Map<BindingKey<?>, Throwable>> initializeSingletons(@NotNull Executor executor);
+
+  /**
+   * Eagerly constructs the values of the singleton bindings associated with the given keys, using the given executor.
+   * Keys that are not associated with a singleton binding are ignored, singletons that are dependencies of the
+   * requested singletons are constructed as well. See {@link #initializeSingletons(Executor)} for details about the
+   * construction order and the returned failures. If the binding of a key cannot be resolved, the failure is mapped by
+   * the given key.
+   *
+   * @param keys     the keys of the singleton bindings to construct.
+   * @param executor the executor to construct the singletons on.
+   * @return a future completed with the failures that occurred while constructing the singletons.
+   * @throws NullPointerException if the given keys or executor is null.
+   */
+  @NotNull
+  @API(status = API.Status.EXPERIMENTAL, since = "3.0")
+  CompletableFuture<Map<BindingKey<?>, Throwable>> initializeSingletons(
+    @NotNull Collection<BindingKey<?>> keys,
+    @NotNull Executor executor);
+
   /**
    * Installs the given dynamic binding into this injector, making it available as a binding for all future injection
    * calls. Each binding can only be installed once per injector.
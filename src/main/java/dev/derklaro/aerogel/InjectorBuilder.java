@@ -66,6 +66,22 @@ public interface InjectorBuilder {
   @Contract("_ -> this")
   InjectorBuilder jitBindingFilter(@NotNull Predicate<BindingKey<?>> filter);
 
+  /**
+   * Sets if invokers should be generated for bindings that construct their values using a constructor or factory
+   * method. A generated invoker is a hidden class that calls the target directly with the resolved parameter values,
+   * which avoids the argument array allocation and the generic method handle invocation needed otherwise. If an invoker
+   * cannot be generated for a target (for example because hidden classes are not supported by the runtime or the member
+   * lookup has no full access to the target class) the default invocation strategy is used instead. When enabled, member
+   * injectors are generated as well for classes that only have injectable instance members, setting all fields and
+   * calling all methods of an instance directly. Disabled by default.
+   *
+   * @param enabled if invokers should be generated for constructors, factory methods and member injection.
+   * @return this builder, for chaining.
+   */
+  @NotNull
+  @Contract("_ -> this")
+  InjectorBuilder generatedInvokers(boolean enabled);
+
   /**
    * Constructs a new injector instance based on the options provided to this builder.
    *
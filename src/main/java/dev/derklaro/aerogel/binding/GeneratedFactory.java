@@ -0,0 +1,78 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.binding;
+
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import java.util.List;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+/**
+ * A factory for values of {@code T} whose construction code was generated ahead of time, for example by an annotation
+ * processor. Unlike bindings that target a constructor or factory method, a binding to a generated factory does not
+ * need to reflectively inspect and unreflect the construction target, as the generated code calls it directly. The
+ * injector resolves the parameter values for each key returned by {@link #parameterKeys()} and passes providers for
+ * these values to {@link #createInvoker(ProviderWithContext[])}.
+ *
+ * @param <T> the type of values constructed by this factory.
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "3.0")
+public interface GeneratedFactory<T> {
+
+  /**
+   * Get the type of values that are constructed by this factory. The members of the type are injected into each
+   * constructed value and the type is bound as an additional key to the binding targeting this factory.
+   *
+   * @return the type of values constructed by this factory.
+   */
+  @NotNull
+  Class<? extends T> constructedType();
+
+  /**
+   * Get the keys of the bindings whose values must be passed to the construction target, in the order in which they
+   * are passed to it.
+   *
+   * @return the keys of the parameters that are passed to the construction target.
+   */
+  @NotNull
+  @Unmodifiable
+  List<BindingKey<?>> parameterKeys();
+
+  /**
+   * Creates a new invoker which constructs values of {@code T}. The given array contains one provider for each key
+   * returned by {@link #parameterKeys()}, in the same order. The invoker is expected to get the values from the given
+   * providers and pass them directly to the construction target. Member injection is handled by the injector and must
+   * not be done by the returned invoker. The injection context passed to the invoker must only be passed on to the
+   * parameter providers, the invoker must not keep a reference to it.
+   *
+   * @param parameterProviders the providers for the parameter values of the construction target.
+   * @return a new invoker constructing values of {@code T} using the given parameter providers.
+   */
+  @NotNull
+  ProviderWithContext<T> createInvoker(@NotNull ProviderWithContext<?>[] parameterProviders);
+}
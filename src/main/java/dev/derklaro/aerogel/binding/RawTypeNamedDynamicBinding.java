@@ -0,0 +1,50 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.binding;
+
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A dynamic binding that only supports keys whose raw type has a specific name. The name is used by injectors to narrow
+ * down the dynamic bindings that need to be tested for a key, without the need to load the type that is bound.
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+public interface RawTypeNamedDynamicBinding extends DynamicBinding {
+
+  /**
+   * Get the name of the raw type that all keys supported by this binding have. This binding must never support a key
+   * whose raw type has a different name, as defined by {@link Class#getName()}.
+   *
+   * @return the name of the raw type of all keys supported by this binding.
+   * @see BindingKey#withRawType()
+   */
+  @NotNull
+  String rawTypeName();
+}
@@ -24,6 +24,7 @@
 
 package dev.derklaro.aerogel.binding.builder;
 
+import dev.derklaro.aerogel.binding.GeneratedFactory;
 import dev.derklaro.aerogel.binding.ProviderWithContext;
 import dev.derklaro.aerogel.binding.UninstalledBinding;
 import dev.derklaro.aerogel.binding.key.BindingKey;
@@ -151,6 +152,20 @@
   @NotNull
   UninstalledBinding<T> toConstructingClass(@NotNull Class<? extends T> implementationType);
 
+  /**
+   * Constructs a new binding that uses the given generated factory to construct the return value of the binding. The
+   * constructed type of the factory is bound as an additional key to the binding and the members of each constructed
+   * value are injected. Scopes and qualifiers are only resolved from this builder, annotations on the constructed type
+   * are not taken into account.
+   *
+   * @param factory the generated factory to use to construct the return value of the binding.
+   * @return a new binding that uses the given generated factory to get the return value for the binding.
+   * @see GeneratedFactory
+   */
+  @NotNull
+  @API(status = API.Status.EXPERIMENTAL, since = "3.0")
+  UninstalledBinding<T> toGeneratedFactory(@NotNull GeneratedFactory<? extends T> factory);
+
   /**
    * Constructs a new binding that calls the injectable constructor in the class that is currently targeted by this
    * binding builder. The raw target type of the underlying binding key is used to resolve the class which should be
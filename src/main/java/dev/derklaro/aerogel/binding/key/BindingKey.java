@@ -71,7 +71,8 @@
   private BindingKey(@NotNull Type type, @Nullable AnnotationMatcher matcher) {
     this.type = GenericTypeReflector.box(type);
     this.annotationMatcher = matcher;
-    this.hash = Objects.hash(this.type, this.annotationMatcher);
+    // same result as Objects.hash(type, matcher), without allocating the varargs array
+    this.hash = 31 * (31 + this.type.hashCode()) + Objects.hashCode(this.annotationMatcher);
   }
 
   /**
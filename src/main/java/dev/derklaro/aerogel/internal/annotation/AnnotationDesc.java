@@ -24,7 +24,6 @@
 
 package dev.derklaro.aerogel.internal.annotation;
 
-import dev.derklaro.aerogel.internal.util.MapUtil;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Method;
@@ -38,7 +37,14 @@
 
 public final class AnnotationDesc {
 
-  private static final Map<Class<?>, AnnotationDesc> CACHE = MapUtil.newConcurrentMap();
+  // bound to the annotation type, allowing the entries to be collected together with the class loader of the type
+  private static final ClassValue<AnnotationDesc> CACHE = new ClassValue<AnnotationDesc>() {
+    @Override
+    @SuppressWarnings("unchecked")
+    protected @NotNull AnnotationDesc computeValue(@NotNull Class<?> type) {
+      return new AnnotationDesc((Class<? extends Annotation>) type);
+    }
+  };
 
   private final boolean scope;
   private final boolean qualifier;
@@ -76,14 +82,7 @@ private AnnotationDesc(@NotNull Class<? extends Annotation> annotationType) {
   }
 
   public static @NotNull AnnotationDesc of(@NotNull Class<? extends Annotation> annotationType) {
-    AnnotationDesc cached = CACHE.get(annotationType);
-    if (cached != null) {
-      return cached;
-    }
-
-    AnnotationDesc desc = new AnnotationDesc(annotationType);
-    cached = CACHE.putIfAbsent(annotationType, desc);
-    return cached != null ? cached : desc;
+    return CACHE.get(annotationType);
   }
 
   public boolean scope() {
@@ -33,9 +33,11 @@
 public final class BindingOptionsImpl implements BindingOptions {
 
   private final MethodHandles.Lookup memberLookup;
+  private final boolean generatedInvokers;
 
-  public BindingOptionsImpl(@Nullable MethodHandles.Lookup memberLookup) {
+  public BindingOptionsImpl(@Nullable MethodHandles.Lookup memberLookup, boolean generatedInvokers) {
     this.memberLookup = memberLookup;
+    this.generatedInvokers = generatedInvokers;
   }
 
   @Override
@@ -43,7 +45,11 @@ public BindingOptionsImpl(@Nullable MethodHandles.Lookup memberLookup) {
     return Optional.ofNullable(this.memberLookup);
   }
 
+  public boolean generatedInvokers() {
+    return this.generatedInvokers;
+  }
+
   public @NotNull BindingOptionsImpl withMemberLookup(@Nullable MethodHandles.Lookup lookup) {
-    return new BindingOptionsImpl(lookup);
+    return new BindingOptionsImpl(lookup, this.generatedInvokers);
   }
 }
@@ -0,0 +1,194 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.binding;
+
+import dev.derklaro.aerogel.Injector;
+import dev.derklaro.aerogel.binding.InstalledBinding;
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import dev.derklaro.aerogel.internal.context.InjectionContext;
+import dev.derklaro.aerogel.internal.scope.SealedValue;
+import dev.derklaro.aerogel.registry.VersionedRegistry;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A slot that pins the binding resolved for a specific binding key. The resolved binding is reused as long as the
+ * lookup is made through the same injector and the bindings known to the injector did not change since the binding was
+ * resolved. Lookups for keys that are overridden in the current injection context always bypass the pinned binding.
+ *
+ * @param <T> the type of values handled by the bindings resolved by this slot.
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+public final class BindingSlot<T> {
+
+  private final BindingKey<T> key;
+
+  // immutable snapshot, safe to publish without synchronization due to the final fields
+  private PinnedBinding<T> pinnedBinding;
+
+  /**
+   * Constructs a new, empty binding slot for the given key.
+   *
+   * @param key the key of the bindings to resolve.
+   */
+  public BindingSlot(@NotNull BindingKey<T> key) {
+    this.key = key;
+  }
+
+  /**
+   * Get the current version of the bindings that are known to the given injector. The version changes every time a
+   * binding or dynamic binding is registered into or removed from the injector or one of its parents.
+   *
+   * @param injector the injector to get the binding version of.
+   * @return the current binding version of the given injector.
+   */
+  public static long bindingVersion(@NotNull Injector injector) {
+    // the registries of an injector are always created internally, which makes them versioned
+    VersionedRegistry bindingRegistry = (VersionedRegistry) injector.bindingRegistry();
+    VersionedRegistry dynamicBindingRegistry = (VersionedRegistry) injector.dynamicBindingRegistry();
+    return bindingRegistry.version() + dynamicBindingRegistry.version();
+  }
+
+  /**
+   * Get the key of the bindings that are resolved by this slot.
+   *
+   * @return the key of the bindings that are resolved by this slot.
+   */
+  public @NotNull BindingKey<T> key() {
+    return this.key;
+  }
+
+  /**
+   * Resolves the binding for the key of this slot in the given injection context, respecting overrides that were
+   * registered in the context.
+   *
+   * @param context the injection context in which the binding is requested.
+   * @return the binding for the key of this slot.
+   */
+  @SuppressWarnings("unchecked")
+  public @NotNull InstalledBinding<T> resolve(@NotNull InjectionContext context) {
+    if (context.findOverriddenProvider(this.key) != null) {
+      // overridden bindings are only valid in the current context, never pin them
+      return (InstalledBinding<T>) context.binding(this.key);
+    }
+
+    return this.resolve(context.injector());
+  }
+
+  /**
+   * Resolves the binding for the key of this slot from the given injector. The previously resolved binding is returned
+   * if the lookup was already made using the given injector and no binding was changed in the injector since then.
+   *
+   * @param injector the injector to resolve the binding from.
+   * @return the binding for the key of this slot.
+   */
+  public @NotNull InstalledBinding<T> resolve(@NotNull Injector injector) {
+    return this.pin(injector).binding;
+  }
+
+  /**
+   * Resolves the value of the binding for the key of this slot in the given injection context. If the binding sealed
+   * its value, for example because it is a singleton that was already constructed, the sealed value is kept in the
+   * slot and returned directly as long as the binding stays pinned and no overrides are present in the context.
+   *
+   * @param context the injection context in which the value is requested.
+   * @return the value of the binding for the key of this slot.
+   */
+  public @Nullable Object resolveValue(@NotNull InjectionContext context) {
+    if (context.overridesPresent()) {
+      // overrides might replace the binding or its value, never use the sealed value
+      InstalledBinding<T> binding = this.resolve(context);
+      return context.resolveDependency(binding);
+    }
+
+    PinnedBinding<T> pinned = this.pin(context.injector());
+    SealedValue sealedValue = pinned.sealedValue;
+    if (sealedValue != null) {
+      return sealedValue.value();
+    }
+
+    // keep the sealed value of the binding in case it was sealed during the resolution
+    Object value = context.resolveDependency(pinned.binding);
+    SealedValue newSealedValue = InjectionContext.sealedValue(pinned.binding);
+    if (newSealedValue != null && this.pinnedBinding == pinned) {
+      this.pinnedBinding = new PinnedBinding<>(pinned.injector, pinned.version, pinned.binding, newSealedValue);
+    }
+
+    return value;
+  }
+
+  private @NotNull PinnedBinding<T> pin(@NotNull Injector injector) {
+    // the version must be read before the lookup, a concurrent modification will then invalidate the result
+    long version = bindingVersion(injector);
+    PinnedBinding<T> pinned = this.pinnedBinding;
+    if (pinned != null && pinned.injector == injector && pinned.version == version) {
+      return pinned;
+    }
+
+    InstalledBinding<T> binding = injector.binding(this.key);
+    SealedValue sealedValue = InjectionContext.sealedValue(binding);
+    pinned = new PinnedBinding<>(injector, version, binding, sealedValue);
+    this.pinnedBinding = pinned;
+    return pinned;
+  }
+
+  /**
+   * A binding that was resolved from an injector at a specific binding version.
+   *
+   * @param <T> the type of values handled by the binding.
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  private static final class PinnedBinding<T> {
+
+    private final Injector injector;
+    private final long version;
+    private final InstalledBinding<T> binding;
+    private final SealedValue sealedValue;
+
+    /**
+     * Constructs a new pinned binding.
+     *
+     * @param injector    the injector from which the binding was resolved.
+     * @param version     the binding version of the injector at the time of the lookup.
+     * @param binding     the resolved binding.
+     * @param sealedValue the sealed value of the resolved binding, null if the binding has no sealed value.
+     */
+    private PinnedBinding(
+      @NotNull Injector injector,
+      long version,
+      @NotNull InstalledBinding<T> binding,
+      @Nullable SealedValue sealedValue
+    ) {
+      this.injector = injector;
+      this.version = version;
+      this.binding = binding;
+      this.sealedValue = sealedValue;
+    }
+  }
+}
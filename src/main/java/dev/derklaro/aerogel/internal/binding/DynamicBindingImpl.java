@@ -31,20 +31,34 @@
 import java.util.function.Function;
 import java.util.function.Predicate;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public final class DynamicBindingImpl implements DynamicBinding {
 
   private final Predicate<BindingKey<?>> filter;
+  private final Class<?> indexType;
   private final Function<BindingKey<?>, UninstalledBinding<?>> bindingFactory;
 
   public DynamicBindingImpl(
     @NotNull Predicate<BindingKey<?>> filter,
+    @Nullable Class<?> indexType,
     @NotNull Function<BindingKey<?>, UninstalledBinding<?>> bindingFactory
   ) {
     this.filter = filter;
+    this.indexType = indexType;
     this.bindingFactory = bindingFactory;
   }
 
+  /**
+   * Get the type that every key supported by this binding is known to have, either as one of the super types of the
+   * raw key type or as the qualifier annotation type. Null if the binding only uses filters that are opaque.
+   *
+   * @return the type that every key supported by this binding has, null if unknown.
+   */
+  public @Nullable Class<?> indexType() {
+    return this.indexType;
+  }
+
   @Override
   public boolean supports(@NotNull BindingKey<?> key) {
     return this.filter.test(key);
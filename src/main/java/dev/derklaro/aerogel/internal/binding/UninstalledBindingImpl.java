@@ -32,6 +32,7 @@
 import dev.derklaro.aerogel.binding.UninstalledBinding;
 import dev.derklaro.aerogel.binding.key.BindingKey;
 import dev.derklaro.aerogel.internal.provider.ProviderFactory;
+import dev.derklaro.aerogel.internal.scope.CustomScopeProvider;
 import java.util.List;
 import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
@@ -88,11 +89,20 @@ public boolean supportsKey(@NotNull BindingKey<?> key) {
     return new UninstalledBindingImpl<>(this.bindingKeys, scope, this.bindingOptions, this.providerFactory);
   }
 
+  public @Nullable List<BindingKey<?>> constructionDependencies() {
+    return this.providerFactory.constructionDependencies();
+  }
+
+  public @Nullable Class<?> constructedType() {
+    return this.providerFactory.constructedType();
+  }
+
   @Override
   public @NotNull InstalledBinding<T> prepareForInstallation(@NotNull Injector injector) {
     ProviderWithContext<T> provider = this.providerFactory.constructProvider();
     if (this.scopeApplier != null) {
-      provider = this.scopeApplier.applyScope(this.bindingKeys, provider);
+      ProviderWithContext<T> scopedProvider = this.scopeApplier.applyScope(this.bindingKeys, provider);
+      provider = CustomScopeProvider.wrapIfCustom(this.scopeApplier, scopedProvider);
     }
 
     return new InstalledBindingImpl<>(injector, this, provider);
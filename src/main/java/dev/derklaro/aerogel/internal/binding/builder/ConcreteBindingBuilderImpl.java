@@ -25,6 +25,7 @@
 package dev.derklaro.aerogel.internal.binding.builder;
 
 import dev.derklaro.aerogel.ScopeApplier;
+import dev.derklaro.aerogel.binding.GeneratedFactory;
 import dev.derklaro.aerogel.binding.ProviderWithContext;
 import dev.derklaro.aerogel.binding.UninstalledBinding;
 import dev.derklaro.aerogel.binding.builder.AdvancedBindingBuilder;
@@ -42,6 +43,7 @@
 import dev.derklaro.aerogel.internal.provider.DelegatingContextualProviderFactory;
 import dev.derklaro.aerogel.internal.provider.DelegatingProviderFactory;
 import dev.derklaro.aerogel.internal.provider.FactoryMethodProviderFactory;
+import dev.derklaro.aerogel.internal.provider.GeneratedProviderFactory;
 import dev.derklaro.aerogel.internal.provider.InstanceProviderFactory;
 import dev.derklaro.aerogel.internal.provider.ProviderFactory;
 import dev.derklaro.aerogel.internal.scope.SingletonScopeApplier;
@@ -213,7 +215,8 @@ private ConcreteBindingBuilderImpl(
 
     this.addBindingTarget(factoryMethod.getReturnType()); // bind the implementation type as well
     MethodHandles.Lookup lookup = this.resolveMemberLookup();
-    ProviderFactory<T> providerFactory = FactoryMethodProviderFactory.fromMethod(factoryMethod, lookup);
+    boolean generateInvoker = this.options.generatedInvokers();
+    ProviderFactory<T> providerFactory = FactoryMethodProviderFactory.fromMethod(factoryMethod, lookup, generateInvoker);
 
     ScopeApplier scope = this.resolveScopeApplier(factoryMethod);
     return this.createFinalBinding(scope, providerFactory);
@@ -232,7 +235,9 @@ private ConcreteBindingBuilderImpl(
     }
 
     MethodHandles.Lookup lookup = this.resolveMemberLookup();
-    ProviderFactory<T> providerFactory = ConstructingDelegatingProviderFactory.fromProviderClass(providerType, lookup);
+    boolean generateInvoker = this.options.generatedInvokers();
+    ProviderFactory<T> providerFactory =
+      ConstructingDelegatingProviderFactory.fromProviderClass(providerType, lookup, generateInvoker);
     return this.createFinalBinding(this.scope, providerFactory);
   }
 
@@ -246,7 +251,8 @@ private ConcreteBindingBuilderImpl(
   public @NotNull UninstalledBinding<T> toConstructor(@NotNull Constructor<? extends T> constructor) {
     this.addBindingTarget(constructor.getDeclaringClass()); // bind the implementation type as well
     MethodHandles.Lookup lookup = this.resolveMemberLookup();
-    ProviderFactory<T> providerFactory = ConstructorProviderFactory.fromConstructor(constructor, lookup);
+    boolean generateInvoker = this.options.generatedInvokers();
+    ProviderFactory<T> providerFactory = ConstructorProviderFactory.fromConstructor(constructor, lookup, generateInvoker);
 
     ScopeApplier scope = this.resolveScopeApplier(constructor.getDeclaringClass().getAnnotations());
     return this.createFinalBinding(scope, providerFactory);
@@ -260,12 +266,21 @@ private ConcreteBindingBuilderImpl(
 
     this.addBindingTarget(implementationType); // bind the implementation type as well
     MethodHandles.Lookup lookup = this.resolveMemberLookup();
-    ProviderFactory<T> providerFactory = ConstructorProviderFactory.fromClass(implementationType, lookup);
+    boolean generateInvoker = this.options.generatedInvokers();
+    ProviderFactory<T> providerFactory =
+      ConstructorProviderFactory.fromClass(implementationType, lookup, generateInvoker);
 
     ScopeApplier scope = this.resolveScopeApplier(implementationType.getAnnotations());
     return this.createFinalBinding(scope, providerFactory);
   }
 
+  @Override
+  public @NotNull UninstalledBinding<T> toGeneratedFactory(@NotNull GeneratedFactory<? extends T> factory) {
+    this.addBindingTarget(factory.constructedType()); // bind the implementation type as well
+    ProviderFactory<T> providerFactory = GeneratedProviderFactory.fromFactory(factory);
+    return this.createFinalBinding(this.scope, providerFactory);
+  }
+
   @Override
   public @NotNull UninstalledBinding<T> toConstructingSelf() {
     BindingKey<? extends T> mainBindingKey = this.bindingKeys.get(0);
@@ -38,12 +38,18 @@
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 final class DynamicBindingBuilderImpl implements DynamicBindingBuilder {
 
   private final RootBindingBuilder rootBindingBuilder;
   private Predicate<BindingKey<?>> bindingKeyMatcher;
 
+  // the structural facets of the matched keys, used to index the constructed binding
+  private Class<?> exactRawType;
+  private Class<?> superRawType;
+  private Class<? extends Annotation> qualifierAnnotationType;
+
   public DynamicBindingBuilderImpl(@NotNull RootBindingBuilder rootBindingBuilder) {
     this.rootBindingBuilder = rootBindingBuilder;
   }
@@ -51,6 +57,7 @@ public DynamicBindingBuilderImpl(@NotNull RootBindingBuilder rootBindingBuilder)
   @Override
   public @NotNull DynamicBindingBuilder annotationPresent(@NotNull Class<? extends Annotation> annotationType) {
     InjectAnnotationUtil.checkValidQualifierAnnotation(annotationType);
+    this.qualifierAnnotationType = annotationType;
     this.appendFilter(bindingKey -> {
       Class<?> qualifierAnnotationType = bindingKey.qualifierAnnotationType().orElse(null);
       return qualifierAnnotationType != null && qualifierAnnotationType.equals(annotationType);
@@ -74,6 +81,7 @@ public DynamicBindingBuilderImpl(@NotNull RootBindingBuilder rootBindingBuilder)
     @NotNull Predicate<A> filter
   ) {
     InjectAnnotationUtil.checkValidQualifierAnnotation(annotationType);
+    this.qualifierAnnotationType = annotationType;
     this.appendFilter(bindingKey -> {
       Annotation qualifierAnnotationInstance = bindingKey.qualifierAnnotation().orElse(null);
       if (qualifierAnnotationInstance != null) {
@@ -90,6 +98,7 @@ public DynamicBindingBuilderImpl(@NotNull RootBindingBuilder rootBindingBuilder)
   @Override
   public @NotNull DynamicBindingBuilder exactRawType(@NotNull Class<?> type) {
     Class<?> boxedType = (Class<?>) GenericTypeReflector.box(type);
+    this.exactRawType = boxedType;
     this.appendFilter(bindingKey -> {
       Class<?> rawMatchedType = GenericTypeReflector.erase(bindingKey.type());
       return rawMatchedType.equals(boxedType);
@@ -99,6 +108,7 @@ public DynamicBindingBuilderImpl(@NotNull RootBindingBuilder rootBindingBuilder)
 
   @Override
   public @NotNull DynamicBindingBuilder superRawType(@NotNull Class<?> type) {
+    this.superRawType = type;
     this.appendFilter(bindingKey -> {
       Class<?> rawMatchedType = GenericTypeReflector.erase(bindingKey.type());
       return type.isAssignableFrom(rawMatchedType);
@@ -124,7 +134,10 @@ public DynamicBindingBuilderImpl(@NotNull RootBindingBuilder rootBindingBuilder)
   @Override
   public @NotNull DynamicBinding delegateTo(@NotNull DynamicBinding binding) {
     this.checkFilterPresent();
-    return new DynamicBindingImpl(this.bindingKeyMatcher, bindingKey -> binding.tryMatch(bindingKey).orElse(null));
+    return new DynamicBindingImpl(
+      this.bindingKeyMatcher,
+      this.indexType(),
+      bindingKey -> binding.tryMatch(bindingKey).orElse(null));
   }
 
   @Override
@@ -132,7 +145,7 @@ public DynamicBindingBuilderImpl(@NotNull RootBindingBuilder rootBindingBuilder)
     @NotNull BiFunction<BindingKey<Object>, ScopeableBindingBuilder<Object>, UninstalledBinding<?>> bindingProvider
   ) {
     this.checkFilterPresent();
-    return new DynamicBindingImpl(this.bindingKeyMatcher, bindingKey -> {
+    return new DynamicBindingImpl(this.bindingKeyMatcher, this.indexType(), bindingKey -> {
       @SuppressWarnings("unchecked")
       BindingKey<Object> objectBindingKey = (BindingKey<Object>) bindingKey;
       ScopeableBindingBuilder<Object> bindingBuilder = this.rootBindingBuilder.bind(objectBindingKey);
@@ -145,7 +158,7 @@ public DynamicBindingBuilderImpl(@NotNull RootBindingBuilder rootBindingBuilder)
     @NotNull BiFunction<BindingKey<Object>, RootBindingBuilder, UninstalledBinding<?>> bindingProvider
   ) {
     this.checkFilterPresent();
-    return new DynamicBindingImpl(this.bindingKeyMatcher, bindingKey -> {
+    return new DynamicBindingImpl(this.bindingKeyMatcher, this.indexType(), bindingKey -> {
       @SuppressWarnings("unchecked")
       BindingKey<Object> objectBindingKey = (BindingKey<Object>) bindingKey;
       return bindingProvider.apply(objectBindingKey, this.rootBindingBuilder);
@@ -160,6 +173,19 @@ private void appendFilter(@NotNull Predicate<BindingKey<?>> filter) {
     }
   }
 
+  private @Nullable Class<?> indexType() {
+    // prefer the most selective facet, an exact type only matches a single raw type
+    if (this.exactRawType != null) {
+      return this.exactRawType;
+    }
+
+    if (this.qualifierAnnotationType != null) {
+      return this.qualifierAnnotationType;
+    }
+
+    return this.superRawType;
+  }
+
   private void checkFilterPresent() {
     if (this.bindingKeyMatcher == null) {
       throw new IllegalStateException("No filters applied to builder");
@@ -0,0 +1,944 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.codegen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A minimal writer for class files that only supports the features needed to generate simple classes at runtime:
+ * constant pool entries, fields and methods with mostly straight-line code (no exception handlers). Branches are only
+ * supported to jump targets at which the local variables are the same as on method entry and the stack is empty, which
+ * allows all stack map frames to be emitted as same frames. Local variables can only be loaded from indexes which do
+ * not need a wide instruction, which is sufficient as the parameters of a method can use at most 255 slots.
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+public final class ClassFileWriter {
+
+  public static final int ACC_PUBLIC = 0x0001;
+  public static final int ACC_PRIVATE = 0x0002;
+  public static final int ACC_STATIC = 0x0008;
+  public static final int ACC_FINAL = 0x0010;
+  public static final int ACC_SUPER = 0x0020;
+  public static final int ACC_SYNTHETIC = 0x1000;
+
+  private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+  private static final int CLASS_FILE_VERSION = 55; // java 11
+  private static final int MAX_LOCAL_INDEX = 0xFF;
+
+  private static final int CONSTANT_UTF8 = 1;
+  private static final int CONSTANT_INTEGER = 3;
+  private static final int CONSTANT_CLASS = 7;
+  private static final int CONSTANT_STRING = 8;
+  private static final int CONSTANT_FIELD_REF = 9;
+  private static final int CONSTANT_METHOD_REF = 10;
+  private static final int CONSTANT_INTERFACE_METHOD_REF = 11;
+  private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+  private final int access;
+  private final int thisClass;
+  private final int superClass;
+  private final int[] interfaces;
+
+  private final ByteArrayOutputStream constantPool = new ByteArrayOutputStream();
+  private final Map<String, Integer> constantPoolIndexes = new HashMap<>();
+  private int constantPoolCount = 1; // index 0 is not used
+
+  private final List<byte[]> fields = new ArrayList<>();
+  private final List<byte[]> methods = new ArrayList<>();
+
+  /**
+   * Constructs a new class file writer.
+   *
+   * @param access     the access flags of the class.
+   * @param name       the internal name of the class to write.
+   * @param superName  the internal name of the super class.
+   * @param interfaces the internal names of the interfaces implemented by the class.
+   */
+  public ClassFileWriter(int access, @NotNull String name, @NotNull String superName, @NotNull String... interfaces) {
+    this.access = access;
+    this.thisClass = this.classConstant(name);
+    this.superClass = this.classConstant(superName);
+    this.interfaces = new int[interfaces.length];
+    for (int index = 0; index < interfaces.length; index++) {
+      this.interfaces[index] = this.classConstant(interfaces[index]);
+    }
+  }
+
+  /**
+   * Get the internal name of the given class, as used in class files.
+   *
+   * @param type the type to get the internal name of.
+   * @return the internal name of the given class.
+   */
+  public static @NotNull String internalName(@NotNull Class<?> type) {
+    return type.isArray() ? descriptor(type) : type.getName().replace('.', '/');
+  }
+
+  /**
+   * Get the field descriptor of the given type.
+   *
+   * @param type the type to get the descriptor of.
+   * @return the field descriptor of the given type.
+   */
+  public static @NotNull String descriptor(@NotNull Class<?> type) {
+    if (type.isPrimitive()) {
+      if (type == boolean.class) {
+        return "Z";
+      } else if (type == char.class) {
+        return "C";
+      } else if (type == byte.class) {
+        return "B";
+      } else if (type == short.class) {
+        return "S";
+      } else if (type == int.class) {
+        return "I";
+      } else if (type == long.class) {
+        return "J";
+      } else if (type == float.class) {
+        return "F";
+      } else if (type == double.class) {
+        return "D";
+      } else {
+        return "V";
+      }
+    }
+
+    String binaryName = type.getName().replace('.', '/');
+    return type.isArray() ? binaryName : 'L' + binaryName + ';';
+  }
+
+  /**
+   * Get the method descriptor of a method with the given return and parameter types.
+   *
+   * @param returnType     the return type of the method.
+   * @param parameterTypes the parameter types of the method.
+   * @return the method descriptor for the given return and parameter types.
+   */
+  public static @NotNull String methodDescriptor(@NotNull Class<?> returnType, @NotNull Class<?>... parameterTypes) {
+    StringBuilder descriptor = new StringBuilder("(");
+    for (Class<?> parameterType : parameterTypes) {
+      descriptor.append(descriptor(parameterType));
+    }
+    return descriptor.append(')').append(descriptor(returnType)).toString();
+  }
+
+  /**
+   * Get the amount of stack slots (or local variable slots) a value of the given type is using.
+   *
+   * @param type the type to get the slot size of.
+   * @return the amount of slots used by a value of the given type.
+   */
+  public static int slotSize(@NotNull Class<?> type) {
+    if (type == void.class) {
+      return 0;
+    }
+
+    return type == long.class || type == double.class ? 2 : 1;
+  }
+
+  /**
+   * Adds a field to the class.
+   *
+   * @param access     the access flags of the field.
+   * @param name       the name of the field.
+   * @param descriptor the descriptor of the field type.
+   */
+  public void field(int access, @NotNull String name, @NotNull String descriptor) {
+    ByteArrayOutputStream fieldBytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(fieldBytes)) {
+      out.writeShort(access);
+      out.writeShort(this.utf8Constant(name));
+      out.writeShort(this.utf8Constant(descriptor));
+      out.writeShort(0); // attributes count
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+
+    this.fields.add(fieldBytes.toByteArray());
+  }
+
+  /**
+   * Starts writing a method into the class. The method is added to the class once {@link MethodWriter#finish()} is
+   * called.
+   *
+   * @param access           the access flags of the method.
+   * @param name             the name of the method.
+   * @param descriptor       the descriptor of the method.
+   * @param parameterSlots   the amount of local variable slots used by the method parameters, including the receiver
+   *                         for non-static methods.
+   * @return a writer for the code of the method.
+   */
+  public @NotNull MethodWriter method(int access, @NotNull String name, @NotNull String descriptor, int parameterSlots) {
+    return new MethodWriter(access, name, descriptor, parameterSlots);
+  }
+
+  /**
+   * Writes all information given to this writer into a class file.
+   *
+   * @return the bytes of the class file.
+   */
+  public @NotNull byte[] toByteArray() {
+    ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(classBytes)) {
+      out.writeInt(CLASS_FILE_MAGIC);
+      out.writeShort(0); // minor version
+      out.writeShort(CLASS_FILE_VERSION);
+
+      out.writeShort(this.constantPoolCount);
+      this.constantPool.writeTo(out);
+
+      out.writeShort(this.access);
+      out.writeShort(this.thisClass);
+      out.writeShort(this.superClass);
+      out.writeShort(this.interfaces.length);
+      for (int anInterface : this.interfaces) {
+        out.writeShort(anInterface);
+      }
+
+      out.writeShort(this.fields.size());
+      for (byte[] field : this.fields) {
+        out.write(field);
+      }
+
+      out.writeShort(this.methods.size());
+      for (byte[] method : this.methods) {
+        out.write(method);
+      }
+
+      out.writeShort(0); // attributes count
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+
+    return classBytes.toByteArray();
+  }
+
+  private int utf8Constant(@NotNull String value) {
+    Integer knownIndex = this.constantPoolIndexes.get("U" + value);
+    if (knownIndex != null) {
+      return knownIndex;
+    }
+
+    return this.addConstant("U" + value, out -> {
+      out.writeByte(CONSTANT_UTF8);
+      out.writeUTF(value);
+    });
+  }
+
+  private int integerConstant(int value) {
+    Integer knownIndex = this.constantPoolIndexes.get("I" + value);
+    if (knownIndex != null) {
+      return knownIndex;
+    }
+
+    return this.addConstant("I" + value, out -> {
+      out.writeByte(CONSTANT_INTEGER);
+      out.writeInt(value);
+    });
+  }
+
+  private int stringConstant(@NotNull String value) {
+    Integer knownIndex = this.constantPoolIndexes.get("S" + value);
+    if (knownIndex != null) {
+      return knownIndex;
+    }
+
+    int valueIndex = this.utf8Constant(value);
+    return this.addConstant("S" + value, out -> {
+      out.writeByte(CONSTANT_STRING);
+      out.writeShort(valueIndex);
+    });
+  }
+
+  private int classConstant(@NotNull String internalName) {
+    Integer knownIndex = this.constantPoolIndexes.get("C" + internalName);
+    if (knownIndex != null) {
+      return knownIndex;
+    }
+
+    int nameIndex = this.utf8Constant(internalName);
+    return this.addConstant("C" + internalName, out -> {
+      out.writeByte(CONSTANT_CLASS);
+      out.writeShort(nameIndex);
+    });
+  }
+
+  private int memberConstant(
+    int tag,
+    @NotNull String owner,
+    @NotNull String name,
+    @NotNull String descriptor
+  ) {
+    String key = "M" + tag + owner + '.' + name + descriptor;
+    Integer knownIndex = this.constantPoolIndexes.get(key);
+    if (knownIndex != null) {
+      return knownIndex;
+    }
+
+    int ownerIndex = this.classConstant(owner);
+    int nameAndTypeIndex = this.nameAndTypeConstant(name, descriptor);
+    return this.addConstant(key, out -> {
+      out.writeByte(tag);
+      out.writeShort(ownerIndex);
+      out.writeShort(nameAndTypeIndex);
+    });
+  }
+
+  private int nameAndTypeConstant(@NotNull String name, @NotNull String descriptor) {
+    String key = "N" + name + ':' + descriptor;
+    Integer knownIndex = this.constantPoolIndexes.get(key);
+    if (knownIndex != null) {
+      return knownIndex;
+    }
+
+    int nameIndex = this.utf8Constant(name);
+    int descriptorIndex = this.utf8Constant(descriptor);
+    return this.addConstant(key, out -> {
+      out.writeByte(CONSTANT_NAME_AND_TYPE);
+      out.writeShort(nameIndex);
+      out.writeShort(descriptorIndex);
+    });
+  }
+
+  private int addConstant(@NotNull String key, @NotNull ConstantWriter writer) {
+    int index = this.constantPoolCount;
+    try (DataOutputStream out = new DataOutputStream(this.constantPool)) {
+      writer.write(out);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+
+    this.constantPoolCount++;
+    this.constantPoolIndexes.put(key, index);
+    return index;
+  }
+
+  private static void checkLocalIndex(int index) {
+    if (index < 0 || index > MAX_LOCAL_INDEX) {
+      throw new IllegalArgumentException("Local variable index " + index + " is out of the supported range");
+    }
+  }
+
+  private static int descriptorSlots(@NotNull String descriptor) {
+    char type = descriptor.charAt(0);
+    if (type == 'V') {
+      return 0;
+    }
+
+    return type == 'J' || type == 'D' ? 2 : 1;
+  }
+
+  private static int argumentSlots(@NotNull String methodDescriptor) {
+    int slots = 0;
+    int index = 1; // skip the opening parenthesis
+    while (methodDescriptor.charAt(index) != ')') {
+      char type = methodDescriptor.charAt(index);
+      if (type == 'J' || type == 'D') {
+        slots += 2;
+        index++;
+        continue;
+      }
+
+      // skip array dimensions, an array is always a single reference
+      while (methodDescriptor.charAt(index) == '[') {
+        index++;
+      }
+
+      if (methodDescriptor.charAt(index) == 'L') {
+        index = methodDescriptor.indexOf(';', index);
+      }
+
+      slots++;
+      index++;
+    }
+
+    return slots;
+  }
+
+  @FunctionalInterface
+  private interface ConstantWriter {
+
+    void write(@NotNull DataOutputStream out) throws IOException;
+  }
+
+  /**
+   * A writer for the code of a single method. The writer keeps track of the maximum stack depth and local variable
+   * count while the code is written.
+   *
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  @API(status = API.Status.INTERNAL, since = "3.0")
+  public final class MethodWriter {
+
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+    private static final int ILOAD = 0x15;
+    private static final int LLOAD = 0x16;
+    private static final int FLOAD = 0x17;
+    private static final int DLOAD = 0x18;
+    private static final int ALOAD = 0x19;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int AALOAD = 0x32;
+    private static final int POP = 0x57;
+    private static final int POP2 = 0x58;
+    private static final int DUP = 0x59;
+    private static final int IFEQ = 0x99;
+    private static final int IRETURN = 0xac;
+    private static final int LRETURN = 0xad;
+    private static final int FRETURN = 0xae;
+    private static final int DRETURN = 0xaf;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int NEW = 0xbb;
+    private static final int ATHROW = 0xbf;
+    private static final int CHECKCAST = 0xc0;
+    private static final int IFNULL = 0xc6;
+
+    private static final int SAME_FRAME_MAX_OFFSET_DELTA = 63;
+    private static final int SAME_FRAME_EXTENDED = 251;
+
+    private final int access;
+    private final String name;
+    private final String descriptor;
+
+    private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+    private final List<Jump> jumps = new ArrayList<>();
+
+    private int stackDepth;
+    private int maxStackDepth;
+    private int maxLocals;
+
+    private MethodWriter(int access, @NotNull String name, @NotNull String descriptor, int parameterSlots) {
+      this.access = access;
+      this.name = name;
+      this.descriptor = descriptor;
+      this.maxLocals = parameterSlots;
+    }
+
+    /**
+     * Loads the reference stored in the local variable with the given index onto the stack.
+     *
+     * @param index the index of the local variable to load.
+     * @return this writer, for chaining.
+     * @throws IllegalArgumentException if the given index is negative or would need a wide instruction.
+     */
+    public @NotNull MethodWriter loadReference(int index) {
+      checkLocalIndex(index);
+      if (index <= 3) {
+        this.code.write(ALOAD_0 + index);
+      } else {
+        this.code.write(ALOAD);
+        this.code.write(index);
+      }
+
+      this.maxLocals = Math.max(this.maxLocals, index + 1);
+      return this.adjustStack(1);
+    }
+
+    /**
+     * Loads the value of the given type stored in the local variable with the given index onto the stack.
+     *
+     * @param type  the type of the value stored in the local variable.
+     * @param index the index of the local variable to load.
+     * @return this writer, for chaining.
+     * @throws IllegalArgumentException if the given index is negative or would need a wide instruction.
+     */
+    public @NotNull MethodWriter loadLocal(@NotNull Class<?> type, int index) {
+      if (!type.isPrimitive()) {
+        return this.loadReference(index);
+      }
+
+      checkLocalIndex(index);
+      if (type == long.class) {
+        this.code.write(LLOAD);
+      } else if (type == float.class) {
+        this.code.write(FLOAD);
+      } else if (type == double.class) {
+        this.code.write(DLOAD);
+      } else {
+        this.code.write(ILOAD);
+      }
+
+      int slots = slotSize(type);
+      this.code.write(index);
+      this.maxLocals = Math.max(this.maxLocals, index + slots);
+      return this.adjustStack(slots);
+    }
+
+    /**
+     * Pushes the given string constant onto the stack.
+     *
+     * @param value the value to push.
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter pushString(@NotNull String value) {
+      this.code.write(LDC_W);
+      this.writeShort(ClassFileWriter.this.stringConstant(value));
+      return this.adjustStack(1);
+    }
+
+    /**
+     * Pushes the given int constant onto the stack.
+     *
+     * @param value the value to push.
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter pushInt(int value) {
+      if (value >= -1 && value <= 5) {
+        this.code.write(ICONST_0 + value);
+      } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+        this.code.write(BIPUSH);
+        this.code.write(value);
+      } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+        this.code.write(SIPUSH);
+        this.writeShort(value);
+      } else {
+        this.code.write(LDC_W);
+        this.writeShort(ClassFileWriter.this.integerConstant(value));
+      }
+
+      return this.adjustStack(1);
+    }
+
+    /**
+     * Duplicates the value on top of the stack.
+     *
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter dup() {
+      this.code.write(DUP);
+      return this.adjustStack(1);
+    }
+
+    /**
+     * Discards a value of the given type from the top of the stack. Nothing is discarded for {@code void}.
+     *
+     * @param type the type of the value to discard.
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter pop(@NotNull Class<?> type) {
+      int slots = slotSize(type);
+      if (slots == 0) {
+        return this;
+      }
+
+      this.code.write(slots == 2 ? POP2 : POP);
+      return this.adjustStack(-slots);
+    }
+
+    /**
+     * Creates a new, uninitialized instance of the given type and pushes it onto the stack.
+     *
+     * @param type the internal name of the type to create.
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter newInstance(@NotNull String type) {
+      return this.typeInstruction(NEW, type, 1);
+    }
+
+    /**
+     * Casts the reference on top of the stack to the given type.
+     *
+     * @param type the internal name of the type to cast to.
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter checkCast(@NotNull String type) {
+      return this.typeInstruction(CHECKCAST, type, 0);
+    }
+
+    /**
+     * Loads an element from the reference array on the stack, using the index that is on top of the stack.
+     *
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter arrayLoadReference() {
+      this.code.write(AALOAD);
+      return this.adjustStack(-1);
+    }
+
+    /**
+     * Loads the value of the given instance field, popping the owning instance from the stack.
+     *
+     * @param owner      the internal name of the class declaring the field.
+     * @param name       the name of the field.
+     * @param descriptor the descriptor of the field type.
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter getField(@NotNull String owner, @NotNull String name, @NotNull String descriptor) {
+      return this.fieldInstruction(GETFIELD, owner, name, descriptor, descriptorSlots(descriptor) - 1);
+    }
+
+    /**
+     * Stores the value on top of the stack into the given instance field of the instance below the value.
+     *
+     * @param owner      the internal name of the class declaring the field.
+     * @param name       the name of the field.
+     * @param descriptor the descriptor of the field type.
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter putField(@NotNull String owner, @NotNull String name, @NotNull String descriptor) {
+      return this.fieldInstruction(PUTFIELD, owner, name, descriptor, -descriptorSlots(descriptor) - 1);
+    }
+
+    /**
+     * Invokes the given virtual method.
+     *
+     * @param owner      the internal name of the class declaring the method.
+     * @param name       the name of the method.
+     * @param descriptor the descriptor of the method.
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter invokeVirtual(@NotNull String owner, @NotNull String name, @NotNull String descriptor) {
+      return this.invokeInstruction(INVOKEVIRTUAL, owner, name, descriptor, false);
+    }
+
+    /**
+     * Invokes the given constructor or private method without dynamic dispatch.
+     *
+     * @param owner      the internal name of the class declaring the method.
+     * @param name       the name of the method.
+     * @param descriptor the descriptor of the method.
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter invokeSpecial(@NotNull String owner, @NotNull String name, @NotNull String descriptor) {
+      return this.invokeInstruction(INVOKESPECIAL, owner, name, descriptor, false);
+    }
+
+    /**
+     * Invokes the given static method.
+     *
+     * @param owner          the internal name of the class declaring the method.
+     * @param name           the name of the method.
+     * @param descriptor     the descriptor of the method.
+     * @param ownerInterface if the class declaring the method is an interface.
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter invokeStatic(
+      @NotNull String owner,
+      @NotNull String name,
+      @NotNull String descriptor,
+      boolean ownerInterface
+    ) {
+      return this.invokeInstruction(INVOKESTATIC, owner, name, descriptor, ownerInterface);
+    }
+
+    /**
+     * Invokes the given interface method.
+     *
+     * @param owner      the internal name of the interface declaring the method.
+     * @param name       the name of the method.
+     * @param descriptor the descriptor of the method.
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter invokeInterface(
+      @NotNull String owner,
+      @NotNull String name,
+      @NotNull String descriptor
+    ) {
+      return this.invokeInstruction(INVOKEINTERFACE, owner, name, descriptor, true);
+    }
+
+    /**
+     * Throws the exception on top of the stack.
+     *
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter throwException() {
+      this.code.write(ATHROW);
+      return this.adjustStack(-1);
+    }
+
+    /**
+     * Creates a new label which can be used as a jump target in the code of this method.
+     *
+     * @return a new, unplaced label.
+     */
+    public @NotNull Label newLabel() {
+      return new Label();
+    }
+
+    /**
+     * Pops the reference on top of the stack and jumps to the given label if the reference is null. The stack must be
+     * empty after popping the reference.
+     *
+     * @param target the label to jump to.
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter jumpIfNull(@NotNull Label target) {
+      return this.jump(IFNULL, target);
+    }
+
+    /**
+     * Pops the int on top of the stack and jumps to the given label if the int is zero. The stack must be empty after
+     * popping the int.
+     *
+     * @param target the label to jump to.
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter jumpIfZero(@NotNull Label target) {
+      return this.jump(IFEQ, target);
+    }
+
+    /**
+     * Places the given label at the current position in the code. The local variables at the label must be the same as
+     * on method entry and the stack must be empty. Code following the label must not be reachable from the code before
+     * it, except by jumping to the label.
+     *
+     * @param label the label to place.
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter placeLabel(@NotNull Label label) {
+      label.offset = this.code.size();
+      this.stackDepth = 0;
+      return this;
+    }
+
+    /**
+     * Returns a value of the given type from the method.
+     *
+     * @param type the type of value to return, {@code void} to return without a value.
+     * @return this writer, for chaining.
+     */
+    public @NotNull MethodWriter returnValue(@NotNull Class<?> type) {
+      if (type == void.class) {
+        this.code.write(RETURN);
+      } else if (type == long.class) {
+        this.code.write(LRETURN);
+      } else if (type == float.class) {
+        this.code.write(FRETURN);
+      } else if (type == double.class) {
+        this.code.write(DRETURN);
+      } else if (type.isPrimitive()) {
+        this.code.write(IRETURN);
+      } else {
+        this.code.write(ARETURN);
+      }
+
+      return this.adjustStack(-slotSize(type));
+    }
+
+    /**
+     * Adds the method written by this writer to the class.
+     */
+    public void finish() {
+      byte[] codeBytes = this.code.toByteArray();
+      byte[] stackMapTable = this.writeStackMapTable(codeBytes);
+      ByteArrayOutputStream methodBytes = new ByteArrayOutputStream();
+      try (DataOutputStream out = new DataOutputStream(methodBytes)) {
+        out.writeShort(this.access);
+        out.writeShort(ClassFileWriter.this.utf8Constant(this.name));
+        out.writeShort(ClassFileWriter.this.utf8Constant(this.descriptor));
+
+        out.writeShort(1); // attributes count
+        out.writeShort(ClassFileWriter.this.utf8Constant("Code"));
+        out.writeInt(12 + codeBytes.length + stackMapTable.length); // attribute length
+        out.writeShort(this.maxStackDepth);
+        out.writeShort(this.maxLocals);
+        out.writeInt(codeBytes.length);
+        out.write(codeBytes);
+        out.writeShort(0); // exception table length
+        if (stackMapTable.length == 0) {
+          out.writeShort(0); // attributes count
+        } else {
+          out.writeShort(1); // attributes count
+          out.write(stackMapTable);
+        }
+      } catch (IOException exception) {
+        throw new UncheckedIOException(exception);
+      }
+
+      ClassFileWriter.this.methods.add(methodBytes.toByteArray());
+    }
+
+    private @NotNull byte[] writeStackMapTable(@NotNull byte[] codeBytes) {
+      if (this.jumps.isEmpty()) {
+        return new byte[0];
+      }
+
+      // patch the branch offsets & collect the distinct jump targets, which each need a frame
+      SortedSet<Integer> targetOffsets = new TreeSet<>();
+      for (Jump jump : this.jumps) {
+        int targetOffset = jump.target.offset;
+        if (targetOffset < 0) {
+          throw new IllegalStateException("Jump to label which was never placed in method " + this.name);
+        }
+
+        int branchOffset = targetOffset - jump.position;
+        codeBytes[jump.position + 1] = (byte) (branchOffset >>> 8);
+        codeBytes[jump.position + 2] = (byte) branchOffset;
+        targetOffsets.add(targetOffset);
+      }
+
+      ByteArrayOutputStream frameBytes = new ByteArrayOutputStream();
+      try (DataOutputStream out = new DataOutputStream(frameBytes)) {
+        out.writeShort(targetOffsets.size()); // number of entries
+        int previousOffset = -1;
+        for (int targetOffset : targetOffsets) {
+          // all frames are same frames, the locals are the same as on method entry, and the stack is empty
+          int offsetDelta = targetOffset - previousOffset - 1;
+          if (offsetDelta <= SAME_FRAME_MAX_OFFSET_DELTA) {
+            out.writeByte(offsetDelta);
+          } else {
+            out.writeByte(SAME_FRAME_EXTENDED);
+            out.writeShort(offsetDelta);
+          }
+          previousOffset = targetOffset;
+        }
+      } catch (IOException exception) {
+        throw new UncheckedIOException(exception);
+      }
+
+      byte[] frames = frameBytes.toByteArray();
+      ByteArrayOutputStream attributeBytes = new ByteArrayOutputStream();
+      try (DataOutputStream out = new DataOutputStream(attributeBytes)) {
+        out.writeShort(ClassFileWriter.this.utf8Constant("StackMapTable"));
+        out.writeInt(frames.length);
+        out.write(frames);
+      } catch (IOException exception) {
+        throw new UncheckedIOException(exception);
+      }
+
+      return attributeBytes.toByteArray();
+    }
+
+    private @NotNull MethodWriter jump(int opcode, @NotNull Label target) {
+      this.jumps.add(new Jump(this.code.size(), target));
+      this.code.write(opcode);
+      this.writeShort(0); // patched once the method is finished
+      return this.adjustStack(-1);
+    }
+
+    private @NotNull MethodWriter typeInstruction(int opcode, @NotNull String type, int stackChange) {
+      this.code.write(opcode);
+      this.writeShort(ClassFileWriter.this.classConstant(type));
+      return this.adjustStack(stackChange);
+    }
+
+    private @NotNull MethodWriter fieldInstruction(
+      int opcode,
+      @NotNull String owner,
+      @NotNull String name,
+      @NotNull String descriptor,
+      int stackChange
+    ) {
+      this.code.write(opcode);
+      this.writeShort(ClassFileWriter.this.memberConstant(CONSTANT_FIELD_REF, owner, name, descriptor));
+      return this.adjustStack(stackChange);
+    }
+
+    private @NotNull MethodWriter invokeInstruction(
+      int opcode,
+      @NotNull String owner,
+      @NotNull String name,
+      @NotNull String descriptor,
+      boolean ownerInterface
+    ) {
+      int tag = ownerInterface ? CONSTANT_INTERFACE_METHOD_REF : CONSTANT_METHOD_REF;
+      int argumentSlots = argumentSlots(descriptor) + (opcode == INVOKESTATIC ? 0 : 1);
+      int returnSlots = descriptorSlots(descriptor.substring(descriptor.indexOf(')') + 1));
+
+      this.code.write(opcode);
+      this.writeShort(ClassFileWriter.this.memberConstant(tag, owner, name, descriptor));
+      if (opcode == INVOKEINTERFACE) {
+        this.code.write(argumentSlots);
+        this.code.write(0);
+      }
+
+      return this.adjustStack(returnSlots - argumentSlots);
+    }
+
+    private void writeShort(int value) {
+      this.code.write(value >>> 8);
+      this.code.write(value);
+    }
+
+    private @NotNull MethodWriter adjustStack(int change) {
+      this.stackDepth += change;
+      this.maxStackDepth = Math.max(this.maxStackDepth, this.stackDepth);
+      return this;
+    }
+  }
+
+  /**
+   * A position in the code of a method which can be used as a jump target.
+   *
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  @API(status = API.Status.INTERNAL, since = "3.0")
+  public static final class Label {
+
+    private int offset = -1;
+
+    private Label() {
+    }
+  }
+
+  /**
+   * A jump instruction written into the code of a method whose offset must be patched once the method is finished.
+   *
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  private static final class Jump {
+
+    private final int position;
+    private final Label target;
+
+    /**
+     * Constructs a new jump.
+     *
+     * @param position the position of the jump instruction in the code.
+     * @param target   the label to jump to.
+     */
+    private Jump(int position, @NotNull Label target) {
+      this.position = position;
+      this.target = target;
+    }
+  }
+}
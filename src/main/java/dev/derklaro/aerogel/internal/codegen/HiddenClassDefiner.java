@@ -0,0 +1,113 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.codegen;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A class to support defining hidden classes on Java &gt;= 15.
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+public final class HiddenClassDefiner {
+
+  private static final MethodHandle DEFINE_HIDDEN_CLASS;
+  private static final Object NESTMATE_CLASS_OPTIONS;
+
+  static {
+    MethodHandle defineHiddenClass;
+    Object nestmateClassOptions;
+
+    try {
+      // get the class option type & the defineHiddenClass method
+      Class<?> classOptionType = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+      Class<?> classOptionArrayType = Array.newInstance(classOptionType, 0).getClass();
+      Method defineHiddenClassMethod = MethodHandles.Lookup.class.getMethod(
+        "defineHiddenClass",
+        byte[].class,
+        boolean.class,
+        classOptionArrayType);
+
+      // unreflect the method & build the options array to define nestmates of the lookup class
+      defineHiddenClass = MethodHandles.lookup().unreflect(defineHiddenClassMethod).asFixedArity();
+      nestmateClassOptions = Array.newInstance(classOptionType, 1);
+      Array.set(nestmateClassOptions, 0, classOptionType.getField("NESTMATE").get(null));
+    } catch (ClassNotFoundException | NoSuchMethodException | NoSuchFieldException | IllegalAccessException exception) {
+      // not available
+      defineHiddenClass = null;
+      nestmateClassOptions = null;
+    }
+
+    // assign the static fields
+    DEFINE_HIDDEN_CLASS = defineHiddenClass;
+    NESTMATE_CLASS_OPTIONS = nestmateClassOptions;
+  }
+
+  private HiddenClassDefiner() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get if hidden classes can be defined in the current runtime.
+   *
+   * @return true if hidden classes are supported, false otherwise.
+   */
+  public static boolean hiddenClassesSupported() {
+    return DEFINE_HIDDEN_CLASS != null;
+  }
+
+  /**
+   * Defines a hidden class that is a nestmate of the lookup class of the given lookup, giving the hidden class access
+   * to all private members of the lookup class. The given lookup must have full privilege access. The hidden class is
+   * not initialized by this method.
+   *
+   * @param hostLookup the lookup of the class which should become the nest host of the defined class.
+   * @param classBytes the bytes of the class file to define as a hidden class.
+   * @return a lookup with full privilege access on the defined hidden class, null if the class cannot be defined.
+   */
+  public static @Nullable MethodHandles.Lookup defineNestmate(
+    @NotNull MethodHandles.Lookup hostLookup,
+    @NotNull byte[] classBytes
+  ) {
+    if (DEFINE_HIDDEN_CLASS == null) {
+      return null;
+    }
+
+    try {
+      return (MethodHandles.Lookup) DEFINE_HIDDEN_CLASS.invoke(hostLookup, classBytes, false, NESTMATE_CLASS_OPTIONS);
+    } catch (Throwable ignored) {
+      // the lookup has insufficient access or the class cannot be defined for another reason
+      return null;
+    }
+  }
+}
@@ -0,0 +1,271 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.codegen;
+
+import dev.derklaro.aerogel.binding.ProviderWithContext;
+import dev.derklaro.aerogel.internal.context.InjectionContext;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Generates invokers for constructors and factory methods. An invoker is a hidden class implementing
+ * {@link ProviderWithContext} which is constructed with one provider per parameter of the target. When called, the
+ * invoker gets the values from the parameter providers and passes them directly to the target, without the need to
+ * allocate an argument array or to go through a generic method handle.
+ * <p>
+ * The generated invoker for a constructor {@code Foo(Bar, int)} is equivalent to:
+ * <pre>
+ * {@code
+ * final class Foo$$AerogelInvoker implements ProviderWithContext {
+ *   private final ProviderWithContext param0;
+ *   private final ProviderWithContext param1;
+ *
+ *   public Foo$$AerogelInvoker(ProviderWithContext[] params) {
+ *     this.param0 = params[0];
+ *     this.param1 = params[1];
+ *   }
+ *
+ *   public Object get(InjectionContext context) {
+ *     return new Foo((Bar) this.param0.get(context), ((Integer) this.param1.get(context)).intValue());
+ *   }
+ * }
+ * }
+ * </pre>
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+public final class InvokerGenerator {
+
+  private static final String INVOKER_NAME_SUFFIX = "$$AerogelInvoker";
+  private static final String PARAM_FIELD_PREFIX = "param";
+
+  private static final String OBJECT_NAME = ClassFileWriter.internalName(Object.class);
+  private static final String PROVIDER_NAME = ClassFileWriter.internalName(ProviderWithContext.class);
+  private static final String PROVIDER_DESC = ClassFileWriter.descriptor(ProviderWithContext.class);
+  private static final String PROVIDER_GET_DESC = ClassFileWriter.methodDescriptor(
+    Object.class,
+    InjectionContext.class);
+
+  private static final MethodType INVOKER_CONSTRUCTOR_TYPE = MethodType.methodType(
+    void.class,
+    ProviderWithContext[].class);
+  private static final MethodType INVOKER_FACTORY_TYPE = MethodType.methodType(
+    ProviderWithContext.class,
+    ProviderWithContext[].class);
+
+  private InvokerGenerator() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Generates an invoker for the given constructor. The returned method handle takes an array of the providers for the
+   * constructor parameters and returns a new invoker instance using these providers. The generated invoker only
+   * constructs the instance, member injection must be requested by the caller.
+   *
+   * @param constructor the constructor to generate the invoker for.
+   * @param lookup      the lookup to use to get access to the class declaring the constructor.
+   * @return a factory for invokers of the given constructor, null if an invoker cannot be generated.
+   */
+  public static @Nullable MethodHandle generateConstructorInvoker(
+    @NotNull Constructor<?> constructor,
+    @NotNull MethodHandles.Lookup lookup
+  ) {
+    return generateInvoker(constructor, lookup);
+  }
+
+  /**
+   * Generates an invoker for the given static factory method. The returned method handle takes an array of the
+   * providers for the method parameters and returns a new invoker instance using these providers. The generated invoker
+   * only calls the factory method, member injection must be requested by the caller.
+   *
+   * @param factoryMethod the static factory method to generate the invoker for.
+   * @param lookup        the lookup to use to get access to the class declaring the factory method.
+   * @return a factory for invokers of the given factory method, null if an invoker cannot be generated.
+   */
+  public static @Nullable MethodHandle generateFactoryMethodInvoker(
+    @NotNull Method factoryMethod,
+    @NotNull MethodHandles.Lookup lookup
+  ) {
+    return generateInvoker(factoryMethod, lookup);
+  }
+
+  private static @Nullable MethodHandle generateInvoker(
+    @NotNull Executable target,
+    @NotNull MethodHandles.Lookup lookup
+  ) {
+    Class<?> declaringClass = target.getDeclaringClass();
+    if (!HiddenClassDefiner.hiddenClassesSupported() || !canAccessProviderTypes(declaringClass)) {
+      return null;
+    }
+
+    Class<?>[] paramTypes = target.getParameterTypes();
+    MethodHandles.Lookup hostLookup;
+    try {
+      // the invoker is defined as a nestmate of the declaring class, which gives it access to private members of the
+      // declaring class. but the parameter types must be accessible from the declaring class as well
+      hostLookup = MethodHandles.privateLookupIn(declaringClass, lookup);
+      for (Class<?> paramType : paramTypes) {
+        Class<?> elementType = paramType;
+        while (elementType.isArray()) {
+          elementType = elementType.getComponentType();
+        }
+
+        if (!elementType.isPrimitive()) {
+          hostLookup.accessClass(elementType);
+        }
+      }
+    } catch (IllegalAccessException exception) {
+      return null;
+    }
+
+    byte[] invokerClassBytes = writeInvokerClass(target, declaringClass, paramTypes);
+    MethodHandles.Lookup invokerLookup = HiddenClassDefiner.defineNestmate(hostLookup, invokerClassBytes);
+    if (invokerLookup == null) {
+      return null;
+    }
+
+    try {
+      MethodHandle constructor = invokerLookup
+        .findConstructor(invokerLookup.lookupClass(), INVOKER_CONSTRUCTOR_TYPE)
+        .asType(INVOKER_FACTORY_TYPE);
+
+      // construct an instance once to ensure that the class links properly. this way we can still
+      // fall back to another invoker type if something is wrong instead of failing during injection
+      ProviderWithContext<?>[] emptyParamProviders = new ProviderWithContext<?>[paramTypes.length];
+      ProviderWithContext<?> ignored = (ProviderWithContext<?>) constructor.invokeExact(emptyParamProviders);
+      return constructor;
+    } catch (Throwable throwable) {
+      return null;
+    }
+  }
+
+  private static boolean canAccessProviderTypes(@NotNull Class<?> declaringClass) {
+    // the invoker is defined in the module & class loader of the declaring class and must be able to resolve the
+    // provider and context type from there
+    if (!declaringClass.getModule().canRead(ProviderWithContext.class.getModule())) {
+      return false;
+    }
+
+    try {
+      ClassLoader loader = declaringClass.getClassLoader();
+      return Class.forName(ProviderWithContext.class.getName(), false, loader) == ProviderWithContext.class
+        && Class.forName(InjectionContext.class.getName(), false, loader) == InjectionContext.class;
+    } catch (ClassNotFoundException exception) {
+      return false;
+    }
+  }
+
+  private static @NotNull byte[] writeInvokerClass(
+    @NotNull Executable target,
+    @NotNull Class<?> declaringClass,
+    @NotNull Class<?>[] paramTypes
+  ) {
+    String declaringName = ClassFileWriter.internalName(declaringClass);
+    String invokerName = declaringName + INVOKER_NAME_SUFFIX;
+    ClassFileWriter writer = new ClassFileWriter(
+      ClassFileWriter.ACC_FINAL | ClassFileWriter.ACC_SUPER | ClassFileWriter.ACC_SYNTHETIC,
+      invokerName,
+      OBJECT_NAME,
+      PROVIDER_NAME);
+
+    // one field and assignment in the constructor for each parameter provider
+    ClassFileWriter.MethodWriter constructor = writer
+      .method(ClassFileWriter.ACC_PUBLIC, "<init>", "([" + PROVIDER_DESC + ")V", 2)
+      .loadReference(0)
+      .invokeSpecial(OBJECT_NAME, "<init>", "()V");
+    for (int index = 0; index < paramTypes.length; index++) {
+      String fieldName = PARAM_FIELD_PREFIX + index;
+      writer.field(ClassFileWriter.ACC_PRIVATE | ClassFileWriter.ACC_FINAL, fieldName, PROVIDER_DESC);
+      constructor
+        .loadReference(0)
+        .loadReference(1)
+        .pushInt(index)
+        .arrayLoadReference()
+        .putField(invokerName, fieldName, PROVIDER_DESC);
+    }
+    constructor.returnValue(void.class).finish();
+
+    // the get method which resolves the parameter values and calls the target
+    ClassFileWriter.MethodWriter get = writer.method(ClassFileWriter.ACC_PUBLIC, "get", PROVIDER_GET_DESC, 2);
+    boolean constructorTarget = target instanceof Constructor<?>;
+    if (constructorTarget) {
+      get.newInstance(declaringName).dup();
+    }
+
+    for (int index = 0; index < paramTypes.length; index++) {
+      get
+        .loadReference(0)
+        .getField(invokerName, PARAM_FIELD_PREFIX + index, PROVIDER_DESC)
+        .loadReference(1)
+        .invokeInterface(PROVIDER_NAME, "get", PROVIDER_GET_DESC);
+      convertFromObject(get, paramTypes[index]);
+    }
+
+    if (constructorTarget) {
+      String constructorDesc = ClassFileWriter.methodDescriptor(void.class, paramTypes);
+      get.invokeSpecial(declaringName, "<init>", constructorDesc);
+    } else {
+      Method method = (Method) target;
+      Class<?> returnType = method.getReturnType();
+      String methodDesc = ClassFileWriter.methodDescriptor(returnType, paramTypes);
+      get.invokeStatic(declaringName, method.getName(), methodDesc, declaringClass.isInterface());
+      convertToObject(get, returnType);
+    }
+    get.returnValue(Object.class).finish();
+
+    return writer.toByteArray();
+  }
+
+  private static void convertFromObject(@NotNull ClassFileWriter.MethodWriter writer, @NotNull Class<?> type) {
+    if (type.isPrimitive()) {
+      // unbox the primitive value
+      Class<?> wrapperType = MethodType.methodType(type).wrap().returnType();
+      String wrapperName = ClassFileWriter.internalName(wrapperType);
+      writer
+        .checkCast(wrapperName)
+        .invokeVirtual(wrapperName, type.getName() + "Value", ClassFileWriter.methodDescriptor(type));
+    } else if (type != Object.class) {
+      writer.checkCast(ClassFileWriter.internalName(type));
+    }
+  }
+
+  private static void convertToObject(@NotNull ClassFileWriter.MethodWriter writer, @NotNull Class<?> type) {
+    if (type.isPrimitive()) {
+      // box the primitive value
+      Class<?> wrapperType = MethodType.methodType(type).wrap().returnType();
+      String valueOfDesc = ClassFileWriter.methodDescriptor(wrapperType, type);
+      writer.invokeStatic(ClassFileWriter.internalName(wrapperType), "valueOf", valueOfDesc, false);
+    }
+  }
+}
@@ -0,0 +1,273 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.codegen;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Generates member injectors for classes. A member injector is a hidden class implementing {@link Consumer} which is
+ * constructed with one supplier per dependency of the injectable members of the target class. When called with an
+ * instance of the target class, the injector sets all fields and calls all methods directly, in the order the members
+ * were given to the generator, without the need to go through a generic method handle per member.
+ * <p>
+ * The generated injector for a class {@code Foo} with an injectable field {@code Bar bar} and an injectable method
+ * {@code init(int)} is equivalent to:
+ * <pre>
+ * {@code
+ * final class Foo$$AerogelMemberInjector implements Consumer {
+ *   private final Supplier dep0;
+ *   private final Supplier dep1;
+ *
+ *   public Foo$$AerogelMemberInjector(Supplier[] deps) {
+ *     this.dep0 = deps[0];
+ *     this.dep1 = deps[1];
+ *   }
+ *
+ *   public void accept(Object instance) {
+ *     ((Foo) instance).bar = (Bar) this.dep0.get();
+ *     ((Foo) instance).init(((Integer) this.dep1.get()).intValue());
+ *   }
+ * }
+ * }
+ * </pre>
+ * The generated class only references types of the target class and {@code java.base}, which makes it independent of
+ * the module and class loader setup of the target class. Only instance members are supported, as static members must be
+ * injected once per class rather than once per instance.
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+public final class MemberInjectorGenerator {
+
+  private static final String INJECTOR_NAME_SUFFIX = "$$AerogelMemberInjector";
+  private static final String DEPENDENCY_FIELD_PREFIX = "dep";
+
+  private static final String OBJECT_NAME = ClassFileWriter.internalName(Object.class);
+  private static final String CONSUMER_NAME = ClassFileWriter.internalName(Consumer.class);
+  private static final String SUPPLIER_NAME = ClassFileWriter.internalName(Supplier.class);
+  private static final String SUPPLIER_DESC = ClassFileWriter.descriptor(Supplier.class);
+  private static final String SUPPLIER_GET_DESC = ClassFileWriter.methodDescriptor(Object.class);
+  private static final String CONSUMER_ACCEPT_DESC = ClassFileWriter.methodDescriptor(void.class, Object.class);
+
+  private static final MethodType INJECTOR_CONSTRUCTOR_TYPE = MethodType.methodType(void.class, Supplier[].class);
+  private static final MethodType INJECTOR_FACTORY_TYPE = MethodType.methodType(Consumer.class, Supplier[].class);
+
+  private MemberInjectorGenerator() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Generates a member injector for the given instance members of the given target class. The returned method handle
+   * takes an array of suppliers for the dependencies of the members and returns a new injector instance using these
+   * suppliers. The dependency suppliers must be given in member order, one supplier for a field and one supplier per
+   * parameter for a method. The returned injector must only be called with non-null instances of the target class.
+   *
+   * @param targetClass the class whose instances should be injected by the generated injector.
+   * @param members     the instance fields and methods to inject, in injection order.
+   * @param lookup      the lookup to use to get access to the target class.
+   * @return a factory for injectors of the given members, null if an injector cannot be generated.
+   */
+  public static @Nullable MethodHandle generateMemberInjector(
+    @NotNull Class<?> targetClass,
+    @NotNull List<? extends Member> members,
+    @NotNull MethodHandles.Lookup lookup
+  ) {
+    if (!HiddenClassDefiner.hiddenClassesSupported() || targetClass.isInterface() || targetClass.isArray()) {
+      return null;
+    }
+
+    int dependencyCount = 0;
+    MethodHandles.Lookup hostLookup;
+    try {
+      // the injector is defined as a nestmate of the target class, which gives it access to the private members of
+      // the target class. members declared in super classes and all used types must be accessible from there as well
+      hostLookup = MethodHandles.privateLookupIn(targetClass, lookup);
+      for (Member member : members) {
+        if (!memberAccessible(targetClass, member)) {
+          return null;
+        }
+
+        hostLookup.accessClass(member.getDeclaringClass());
+        if (member instanceof Field) {
+          dependencyCount++;
+          accessType(hostLookup, ((Field) member).getType());
+        } else {
+          Class<?>[] paramTypes = ((Method) member).getParameterTypes();
+          dependencyCount += paramTypes.length;
+          for (Class<?> paramType : paramTypes) {
+            accessType(hostLookup, paramType);
+          }
+        }
+      }
+    } catch (IllegalAccessException exception) {
+      return null;
+    }
+
+    byte[] injectorClassBytes = writeInjectorClass(targetClass, members, dependencyCount);
+    MethodHandles.Lookup injectorLookup = HiddenClassDefiner.defineNestmate(hostLookup, injectorClassBytes);
+    if (injectorLookup == null) {
+      return null;
+    }
+
+    try {
+      MethodHandle constructor = injectorLookup
+        .findConstructor(injectorLookup.lookupClass(), INJECTOR_CONSTRUCTOR_TYPE)
+        .asType(INJECTOR_FACTORY_TYPE);
+
+      // construct an instance once to ensure that the class links properly. this way we can still
+      // fall back to another injection strategy if something is wrong instead of failing during injection
+      Supplier<?>[] emptyDependencies = new Supplier<?>[dependencyCount];
+      Consumer<?> ignored = (Consumer<?>) constructor.invokeExact(emptyDependencies);
+      return constructor;
+    } catch (Throwable throwable) {
+      return null;
+    }
+  }
+
+  private static boolean memberAccessible(@NotNull Class<?> targetClass, @NotNull Member member) {
+    int modifiers = member.getModifiers();
+    if (Modifier.isStatic(modifiers) || (member instanceof Field && Modifier.isFinal(modifiers))) {
+      // static members must be injected only once, final fields can only be set reflectively
+      return false;
+    }
+
+    Class<?> declaringClass = member.getDeclaringClass();
+    if (declaringClass == targetClass || Modifier.isPublic(modifiers)) {
+      return true;
+    }
+
+    // private members of super classes are not accessible, package-private and protected members
+    // are only accessible if the super class is in the same runtime package as the target class
+    return !Modifier.isPrivate(modifiers)
+      && declaringClass.getClassLoader() == targetClass.getClassLoader()
+      && Objects.equals(declaringClass.getPackageName(), targetClass.getPackageName());
+  }
+
+  private static void accessType(@NotNull MethodHandles.Lookup lookup, @NotNull Class<?> type)
+    throws IllegalAccessException {
+    Class<?> elementType = type;
+    while (elementType.isArray()) {
+      elementType = elementType.getComponentType();
+    }
+
+    if (!elementType.isPrimitive()) {
+      lookup.accessClass(elementType);
+    }
+  }
+
+  private static @NotNull byte[] writeInjectorClass(
+    @NotNull Class<?> targetClass,
+    @NotNull List<? extends Member> members,
+    int dependencyCount
+  ) {
+    String targetName = ClassFileWriter.internalName(targetClass);
+    String injectorName = targetName + INJECTOR_NAME_SUFFIX;
+    ClassFileWriter writer = new ClassFileWriter(
+      ClassFileWriter.ACC_FINAL | ClassFileWriter.ACC_SUPER | ClassFileWriter.ACC_SYNTHETIC,
+      injectorName,
+      OBJECT_NAME,
+      CONSUMER_NAME);
+
+    // one field and assignment in the constructor for each dependency supplier
+    ClassFileWriter.MethodWriter constructor = writer
+      .method(ClassFileWriter.ACC_PUBLIC, "<init>", "([" + SUPPLIER_DESC + ")V", 2)
+      .loadReference(0)
+      .invokeSpecial(OBJECT_NAME, "<init>", "()V");
+    for (int index = 0; index < dependencyCount; index++) {
+      String fieldName = DEPENDENCY_FIELD_PREFIX + index;
+      writer.field(ClassFileWriter.ACC_PRIVATE | ClassFileWriter.ACC_FINAL, fieldName, SUPPLIER_DESC);
+      constructor
+        .loadReference(0)
+        .loadReference(1)
+        .pushInt(index)
+        .arrayLoadReference()
+        .putField(injectorName, fieldName, SUPPLIER_DESC);
+    }
+    constructor.returnValue(void.class).finish();
+
+    // the accept method which resolves the dependency values and injects them into the members
+    ClassFileWriter.MethodWriter accept = writer.method(ClassFileWriter.ACC_PUBLIC, "accept", CONSUMER_ACCEPT_DESC, 2);
+    int dependencyIndex = 0;
+    for (Member member : members) {
+      String declaringName = ClassFileWriter.internalName(member.getDeclaringClass());
+      accept.loadReference(1).checkCast(targetName);
+      if (member instanceof Field) {
+        Class<?> fieldType = ((Field) member).getType();
+        loadDependency(accept, injectorName, dependencyIndex++, fieldType);
+        accept.putField(declaringName, member.getName(), ClassFileWriter.descriptor(fieldType));
+      } else {
+        Method method = (Method) member;
+        Class<?>[] paramTypes = method.getParameterTypes();
+        for (Class<?> paramType : paramTypes) {
+          loadDependency(accept, injectorName, dependencyIndex++, paramType);
+        }
+
+        // discard the return value, if any, to keep the stack clean
+        String methodDesc = ClassFileWriter.methodDescriptor(method.getReturnType(), paramTypes);
+        accept.invokeVirtual(declaringName, method.getName(), methodDesc);
+        accept.pop(method.getReturnType());
+      }
+    }
+    accept.returnValue(void.class).finish();
+
+    return writer.toByteArray();
+  }
+
+  private static void loadDependency(
+    @NotNull ClassFileWriter.MethodWriter writer,
+    @NotNull String injectorName,
+    int index,
+    @NotNull Class<?> type
+  ) {
+    writer
+      .loadReference(0)
+      .getField(injectorName, DEPENDENCY_FIELD_PREFIX + index, SUPPLIER_DESC)
+      .invokeInterface(SUPPLIER_NAME, "get", SUPPLIER_GET_DESC);
+    if (type.isPrimitive()) {
+      // unbox the primitive value
+      Class<?> wrapperType = MethodType.methodType(type).wrap().returnType();
+      String wrapperName = ClassFileWriter.internalName(wrapperType);
+      writer
+        .checkCast(wrapperName)
+        .invokeVirtual(wrapperName, type.getName() + "Value", ClassFileWriter.methodDescriptor(type));
+    } else if (type != Object.class) {
+      writer.checkCast(ClassFileWriter.internalName(type));
+    }
+  }
+}
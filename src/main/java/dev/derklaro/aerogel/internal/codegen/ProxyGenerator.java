@@ -0,0 +1,329 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.codegen;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Generates proxies for interfaces which delegate all calls to a delegate instance that is set after the proxy was
+ * constructed. A proxy is a hidden class implementing the interface, each interface method is implemented by directly
+ * calling the same method on the delegate, without the need to go through an invocation handler and reflection.
+ * <p>
+ * The generated proxy for an interface {@code Foo} with a method {@code int bar(String)} is equivalent to:
+ * <pre>
+ * {@code
+ * final class Foo$$AerogelProxy implements Foo {
+ *   private Object delegate;
+ *   private boolean delegated;
+ *
+ *   public int bar(String param0) {
+ *     return this.delegate().bar(param0);
+ *   }
+ *
+ *   private void aerogel$setDelegate(Object delegate) {
+ *     this.delegate = delegate;
+ *     this.delegated = true;
+ *   }
+ *
+ *   private Foo delegate() {
+ *     if (!this.delegated) {
+ *       throw new IllegalStateException("injection proxy access before construction completion");
+ *     }
+ *     return (Foo) this.delegate;
+ *   }
+ * }
+ * }
+ * </pre>
+ * The delegate is allowed to be null, in which case calls to the proxy fail with a {@link NullPointerException}. The
+ * {@code equals}, {@code hashCode} and {@code toString} methods are delegated as well. The generated class only
+ * references types of the interface and {@code java.base}, which makes it independent of the module and class loader
+ * setup of the interface.
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+public final class ProxyGenerator {
+
+  private static final String PROXY_NAME_SUFFIX = "$$AerogelProxy";
+  private static final String DELEGATE_FIELD_NAME = "delegate";
+  private static final String DELEGATED_FIELD_NAME = "delegated";
+  private static final String DELEGATE_METHOD_NAME = "delegate";
+  private static final String DELEGATE_SETTER_NAME = "aerogel$setDelegate";
+  private static final String DELEGATE_SETTER_DESC = ClassFileWriter.methodDescriptor(void.class, Object.class);
+  private static final String UNDELEGATED_ACCESS_MESSAGE = "injection proxy access before construction completion";
+
+  private static final String OBJECT_NAME = ClassFileWriter.internalName(Object.class);
+  private static final String OBJECT_DESC = ClassFileWriter.descriptor(Object.class);
+  private static final String EXCEPTION_NAME = ClassFileWriter.internalName(IllegalStateException.class);
+  private static final String EXCEPTION_CONSTRUCTOR_DESC = ClassFileWriter.methodDescriptor(void.class, String.class);
+
+  private static final Method[] DELEGATED_OBJECT_METHODS;
+  private static final MethodType PROXY_FACTORY_TYPE = MethodType.methodType(Object.class);
+  private static final MethodType DELEGATE_SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+  private static final MethodType DELEGATE_SETTER_METHOD_TYPE = MethodType.methodType(void.class, Object.class);
+
+  static {
+    try {
+      DELEGATED_OBJECT_METHODS = new Method[]{
+        Object.class.getMethod("equals", Object.class),
+        Object.class.getMethod("hashCode"),
+        Object.class.getMethod("toString"),
+      };
+    } catch (NoSuchMethodException exception) {
+      throw new ExceptionInInitializerError(exception);
+    }
+  }
+
+  private ProxyGenerator() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Generates a proxy class for the given interface. The given lookup must be able to get full privilege access to the
+   * interface, as the proxy class is defined in the same runtime package as the interface.
+   *
+   * @param interfaceClass the interface to generate the proxy for.
+   * @param lookup         the lookup to use to get access to the interface.
+   * @return the generated proxy type, null if a proxy cannot be generated for the given interface.
+   */
+  public static @Nullable GeneratedProxy generateProxy(
+    @NotNull Class<?> interfaceClass,
+    @NotNull MethodHandles.Lookup lookup
+  ) {
+    if (!HiddenClassDefiner.hiddenClassesSupported() || !interfaceClass.isInterface()) {
+      return null;
+    }
+
+    MethodHandles.Lookup hostLookup;
+    try {
+      hostLookup = MethodHandles.privateLookupIn(interfaceClass, lookup);
+    } catch (IllegalAccessException exception) {
+      return null;
+    }
+
+    byte[] proxyClassBytes = writeProxyClass(interfaceClass);
+    MethodHandles.Lookup proxyLookup = HiddenClassDefiner.defineNestmate(hostLookup, proxyClassBytes);
+    if (proxyLookup == null) {
+      return null;
+    }
+
+    try {
+      Class<?> proxyClass = proxyLookup.lookupClass();
+      MethodHandle constructor = proxyLookup
+        .findConstructor(proxyClass, MethodType.methodType(void.class))
+        .asType(PROXY_FACTORY_TYPE);
+      MethodHandle delegateSetter = proxyLookup
+        .findVirtual(proxyClass, DELEGATE_SETTER_NAME, DELEGATE_SETTER_METHOD_TYPE)
+        .asType(DELEGATE_SETTER_TYPE);
+
+      // construct an instance once to ensure that the class links properly. this way we can still
+      // fall back to another proxy type if something is wrong instead of failing during injection
+      Object ignored = (Object) constructor.invokeExact();
+      return new GeneratedProxy(constructor, delegateSetter);
+    } catch (Throwable throwable) {
+      return null;
+    }
+  }
+
+  /**
+   * Get if the given class is a proxy class generated by this generator.
+   *
+   * @param type the class to check.
+   * @return true if the given class is a generated proxy class, false otherwise.
+   */
+  public static boolean isProxyClass(@NotNull Class<?> type) {
+    Class<?>[] interfaces = type.getInterfaces();
+    return interfaces.length == 1
+      && type.isSynthetic()
+      && type.getSuperclass() == Object.class
+      && type.getName().startsWith(interfaces[0].getName() + PROXY_NAME_SUFFIX);
+  }
+
+  private static @NotNull byte[] writeProxyClass(@NotNull Class<?> interfaceClass) {
+    String interfaceName = ClassFileWriter.internalName(interfaceClass);
+    String interfaceDesc = ClassFileWriter.descriptor(interfaceClass);
+    String proxyName = interfaceName + PROXY_NAME_SUFFIX;
+    ClassFileWriter writer = new ClassFileWriter(
+      ClassFileWriter.ACC_FINAL | ClassFileWriter.ACC_SUPER | ClassFileWriter.ACC_SYNTHETIC,
+      proxyName,
+      OBJECT_NAME,
+      interfaceName);
+    writer.field(ClassFileWriter.ACC_PRIVATE, DELEGATE_FIELD_NAME, OBJECT_DESC);
+    writer.field(ClassFileWriter.ACC_PRIVATE, DELEGATED_FIELD_NAME, "Z");
+
+    writer
+      .method(ClassFileWriter.ACC_PUBLIC, "<init>", "()V", 1)
+      .loadReference(0)
+      .invokeSpecial(OBJECT_NAME, "<init>", "()V")
+      .returnValue(void.class)
+      .finish();
+
+    // the method to set the delegate, which marks the proxy as delegated even if the given delegate is null
+    writer
+      .method(ClassFileWriter.ACC_PRIVATE, DELEGATE_SETTER_NAME, DELEGATE_SETTER_DESC, 2)
+      .loadReference(0)
+      .loadReference(1)
+      .putField(proxyName, DELEGATE_FIELD_NAME, OBJECT_DESC)
+      .loadReference(0)
+      .pushInt(1)
+      .putField(proxyName, DELEGATED_FIELD_NAME, "Z")
+      .returnValue(void.class)
+      .finish();
+
+    // the method to get the delegate, throwing an exception if the delegate was not yet set
+    String delegateMethodDesc = "()" + interfaceDesc;
+    ClassFileWriter.MethodWriter delegate = writer.method(
+      ClassFileWriter.ACC_PRIVATE,
+      DELEGATE_METHOD_NAME,
+      delegateMethodDesc,
+      1);
+    ClassFileWriter.Label undelegated = delegate.newLabel();
+    delegate
+      .loadReference(0)
+      .getField(proxyName, DELEGATED_FIELD_NAME, "Z")
+      .jumpIfZero(undelegated)
+      .loadReference(0)
+      .getField(proxyName, DELEGATE_FIELD_NAME, OBJECT_DESC)
+      .checkCast(interfaceName)
+      .returnValue(interfaceClass)
+      .placeLabel(undelegated)
+      .newInstance(EXCEPTION_NAME)
+      .dup()
+      .pushString(UNDELEGATED_ACCESS_MESSAGE)
+      .invokeSpecial(EXCEPTION_NAME, "<init>", EXCEPTION_CONSTRUCTOR_DESC)
+      .throwException()
+      .finish();
+
+    // collect the methods to delegate, a method might be inherited from multiple super interfaces
+    Map<String, Method> delegatedMethods = new LinkedHashMap<>();
+    for (Method method : DELEGATED_OBJECT_METHODS) {
+      delegatedMethods.put(method.getName() + methodDescriptor(method), method);
+    }
+    for (Method method : interfaceClass.getMethods()) {
+      if (!Modifier.isStatic(method.getModifiers())) {
+        delegatedMethods.putIfAbsent(method.getName() + methodDescriptor(method), method);
+      }
+    }
+
+    for (Method method : delegatedMethods.values()) {
+      Class<?>[] paramTypes = method.getParameterTypes();
+      Class<?> returnType = method.getReturnType();
+      String methodDesc = ClassFileWriter.methodDescriptor(returnType, paramTypes);
+
+      int parameterSlots = 1;
+      for (Class<?> paramType : paramTypes) {
+        parameterSlots += ClassFileWriter.slotSize(paramType);
+      }
+
+      ClassFileWriter.MethodWriter delegating = writer
+        .method(ClassFileWriter.ACC_PUBLIC, method.getName(), methodDesc, parameterSlots)
+        .loadReference(0)
+        .invokeSpecial(proxyName, DELEGATE_METHOD_NAME, delegateMethodDesc);
+
+      int localIndex = 1;
+      for (Class<?> paramType : paramTypes) {
+        delegating.loadLocal(paramType, localIndex);
+        localIndex += ClassFileWriter.slotSize(paramType);
+      }
+
+      // methods of object are called virtually, interface methods are always called through the proxied
+      // interface, as the interface that is declaring the method might not be accessible from the proxy
+      if (method.getDeclaringClass() == Object.class) {
+        delegating.invokeVirtual(OBJECT_NAME, method.getName(), methodDesc);
+      } else {
+        delegating.invokeInterface(interfaceName, method.getName(), methodDesc);
+      }
+
+      delegating.returnValue(returnType).finish();
+    }
+
+    return writer.toByteArray();
+  }
+
+  private static @NotNull String methodDescriptor(@NotNull Method method) {
+    return ClassFileWriter.methodDescriptor(method.getReturnType(), method.getParameterTypes());
+  }
+
+  /**
+   * A generated proxy type for an interface.
+   *
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  @API(status = API.Status.INTERNAL, since = "3.0")
+  public static final class GeneratedProxy {
+
+    private final MethodHandle constructor;
+    private final MethodHandle delegateSetter;
+
+    /**
+     * Constructs a new generated proxy type.
+     *
+     * @param constructor    the constructor of the proxy class, taking no arguments and returning an object.
+     * @param delegateSetter the setter for the delegate field of a proxy instance.
+     */
+    private GeneratedProxy(@NotNull MethodHandle constructor, @NotNull MethodHandle delegateSetter) {
+      this.constructor = constructor;
+      this.delegateSetter = delegateSetter;
+    }
+
+    /**
+     * Constructs a new, undelegated proxy instance. All calls to the instance will fail until the delegate is set.
+     *
+     * @return a new proxy instance.
+     */
+    public @NotNull Object newInstance() {
+      try {
+        return (Object) this.constructor.invokeExact();
+      } catch (Throwable throwable) {
+        throw new IllegalStateException("Unable to construct generated proxy instance", throwable);
+      }
+    }
+
+    /**
+     * Sets the delegate of the given proxy instance.
+     *
+     * @param proxy    the proxy instance to set the delegate of, must be created by this proxy type.
+     * @param delegate the delegate to call from the given proxy, can be null to let calls to the proxy fail.
+     */
+    public void setDelegate(@NotNull Object proxy, @Nullable Object delegate) {
+      try {
+        this.delegateSetter.invokeExact(proxy, delegate);
+      } catch (Throwable throwable) {
+        throw new IllegalStateException("Unable to set delegate of generated proxy instance", throwable);
+      }
+    }
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.context;
+
+import dev.derklaro.aerogel.Injector;
+import dev.derklaro.aerogel.ScopeApplier;
+import dev.derklaro.aerogel.binding.InstalledBinding;
+import dev.derklaro.aerogel.binding.UninstalledBinding;
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import dev.derklaro.aerogel.internal.binding.BindingSlot;
+import dev.derklaro.aerogel.internal.binding.UninstalledBindingImpl;
+import dev.derklaro.aerogel.internal.scope.SingletonScopeApplier;
+import dev.derklaro.aerogel.internal.scope.UnscopedScopeApplier;
+import dev.derklaro.aerogel.internal.util.MapUtil;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Analyses the dependency graph of bindings to find bindings whose construction can never run into a circular
+ * reference. The construction dependencies of a binding are known statically if the binding constructs its value from
+ * a constructor or factory method, an instance or by cascading to another binding, and if the binding is either
+ * unscoped or scoped as a singleton. The jit bindings for providers, member injectors and the injector itself never
+ * resolve another binding and are leafs of the graph. For all other bindings user code is called during construction
+ * which might resolve any other binding, therefore these bindings are never considered acyclic. Dependencies that are
+ * not bound yet are not created during the analysis, the graph is considered not acyclic until they are bound.
+ * <p>
+ * Members of constructed instances are injected after the construction of the full tree is done and cannot cause
+ * circular references during construction, therefore they are not taken into account. The analysis results are cached
+ * until the bindings of the injector change.
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+final class BindingGraphAnalyzer {
+
+  private final Injector injector;
+  private final Map<InstalledBinding<?>, AnalysisResult> analysisResults = MapUtil.newConcurrentMap();
+
+  private volatile long analysisVersion;
+
+  /**
+   * Constructs a new analyzer for bindings resolved by the given injector.
+   *
+   * @param injector the injector which resolves the dependencies of the analyzed bindings.
+   */
+  public BindingGraphAnalyzer(@NotNull Injector injector) {
+    this.injector = injector;
+  }
+
+  /**
+   * Get the injector which resolves the dependencies of the analyzed bindings.
+   *
+   * @return the injector which resolves the dependencies of the analyzed bindings.
+   */
+  public @NotNull Injector injector() {
+    return this.injector;
+  }
+
+  /**
+   * Checks if the construction of the given binding, and all bindings it depends on, can never run into a circular
+   * reference when resolved through the injector of this analyzer.
+   *
+   * @param binding the binding to check.
+   * @return true if the dependency graph of the given binding is known to be acyclic, false otherwise.
+   */
+  public boolean acyclic(@NotNull InstalledBinding<?> binding) {
+    // the version must be read before the analysis, a concurrent modification will then invalidate the result
+    long version = BindingSlot.bindingVersion(this.injector);
+    if (version != this.analysisVersion) {
+      // the bindings changed since the last analysis, drop the outdated results of removed bindings
+      this.analysisResults.clear();
+      this.analysisVersion = version;
+    }
+
+    AnalysisResult knownResult = this.analysisResults.get(binding);
+    if (knownResult != null && knownResult.version == version) {
+      return knownResult.acyclic;
+    }
+
+    Set<InstalledBinding<?>> path = Collections.newSetFromMap(new IdentityHashMap<>());
+    Set<InstalledBinding<?>> verified = Collections.newSetFromMap(new IdentityHashMap<>());
+    boolean acyclic = this.checkAcyclic(binding, version, path, verified);
+    this.analysisResults.put(binding, new AnalysisResult(version, acyclic));
+    return acyclic;
+  }
+
+  private boolean checkAcyclic(
+    @NotNull InstalledBinding<?> binding,
+    long version,
+    @NotNull Set<InstalledBinding<?>> path,
+    @NotNull Set<InstalledBinding<?>> verified
+  ) {
+    // skip bindings that were already found to be acyclic, their subgraph cannot reach the current path
+    AnalysisResult knownResult = this.analysisResults.get(binding);
+    if (verified.contains(binding) || (knownResult != null && knownResult.version == version && knownResult.acyclic)) {
+      return true;
+    }
+
+    // the binding is already on the current path, this is a circular reference
+    if (!path.add(binding)) {
+      return false;
+    }
+
+    List<BindingKey<?>> dependencies = constructionDependencies(binding);
+    if (dependencies == null) {
+      return false;
+    }
+
+    for (BindingKey<?> dependency : dependencies) {
+      // only use bindings that already exist, creating a jit binding during the analysis would change the bindings
+      // of the injector and invalidate the analysis result. the graph is analysed again once the normal resolution
+      // process registered the missing bindings
+      InstalledBinding<?> dependencyBinding = this.injector.existingBinding(dependency).orElse(null);
+      if (dependencyBinding == null || !this.checkAcyclic(dependencyBinding, version, path, verified)) {
+        return false;
+      }
+    }
+
+    path.remove(binding);
+    verified.add(binding);
+    return true;
+  }
+
+  private static @Nullable List<BindingKey<?>> constructionDependencies(@NotNull InstalledBinding<?> binding) {
+    // custom scopes might call into user code which could resolve other bindings
+    ScopeApplier scope = binding.scope().orElse(null);
+    if (scope != null && scope != SingletonScopeApplier.INSTANCE && scope != UnscopedScopeApplier.INSTANCE) {
+      return null;
+    }
+
+    UninstalledBinding<?> source = binding.asUninstalled();
+    if (source instanceof UninstalledBindingImpl<?>) {
+      return ((UninstalledBindingImpl<?>) source).constructionDependencies();
+    }
+
+    return null;
+  }
+
+  /**
+   * The result of a binding graph analysis at a specific binding version of the injector.
+   *
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  private static final class AnalysisResult {
+
+    private final long version;
+    private final boolean acyclic;
+
+    /**
+     * Constructs a new analysis result.
+     *
+     * @param version the binding version of the injector at the time of the analysis.
+     * @param acyclic if the analysed binding graph is acyclic.
+     */
+    private AnalysisResult(long version, boolean acyclic) {
+      this.version = version;
+      this.acyclic = acyclic;
+    }
+  }
+}
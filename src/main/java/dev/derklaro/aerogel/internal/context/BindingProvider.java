@@ -0,0 +1,147 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.context;
+
+import dev.derklaro.aerogel.binding.InstalledBinding;
+import dev.derklaro.aerogel.binding.ProviderWithContext;
+import dev.derklaro.aerogel.internal.binding.BindingSlot;
+import dev.derklaro.aerogel.internal.context.scope.InjectionContextProvider;
+import dev.derklaro.aerogel.internal.scope.KnownValueProvider;
+import dev.derklaro.aerogel.internal.scope.SealedValue;
+import jakarta.inject.Provider;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A provider that is bound to a single binding. The provider keeps the information needed to resolve the binding
+ * (whether the construction of the binding can run into circular references and, for scoped bindings, the provider
+ * that might already know the scoped value) to prevent re-computing them each time a value is requested.
+ *
+ * @param <T> the type of values provided by this provider.
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+final class BindingProvider<T> implements Provider<T> {
+
+  private final InstalledBinding<T> binding;
+  private final ContextualBindingResolver resolver;
+  private final KnownValueProvider<?> knownValueProvider;
+
+  // immutable, safe to publish without synchronization due to the final field
+  private SealedValue sealedValue;
+  private volatile ResolutionPlan resolutionPlan;
+
+  /**
+   * Constructs a new provider for the given binding.
+   *
+   * @param binding  the binding to provide the values of.
+   * @param resolver the resolver to use when the value needs to be constructed.
+   */
+  public BindingProvider(@NotNull InstalledBinding<T> binding, @NotNull ContextualBindingResolver resolver) {
+    this.binding = binding;
+    this.resolver = resolver;
+
+    ProviderWithContext<T> bindingProvider = binding.providerWithContext();
+    this.knownValueProvider = bindingProvider instanceof KnownValueProvider<?>
+      ? (KnownValueProvider<?>) bindingProvider
+      : null;
+  }
+
+  /**
+   * Get the binding that is provided by this provider.
+   *
+   * @return the binding that is provided by this provider.
+   */
+  public @NotNull InstalledBinding<T> binding() {
+    return this.binding;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public @Nullable T get() {
+    SealedValue sealedValue = this.sealedValue;
+    if (sealedValue == null && this.knownValueProvider != null) {
+      // keep the sealed value once known, it will never change again
+      sealedValue = this.knownValueProvider.sealedValue();
+      this.sealedValue = sealedValue;
+    }
+
+    InjectionContextProvider provider = InjectionContextProvider.provider();
+    if (sealedValue != null && provider.currentScope() == null) {
+      // no need to enter a context scope if the value is known, and no construction (with overrides) is in progress
+      return (T) sealedValue.value();
+    }
+
+    return this.resolver.resolveInContext(provider, this.binding, this);
+  }
+
+  /**
+   * Get if the construction of the binding of this provider can never run into a circular reference. The result is
+   * re-used until the bindings of the target injector change.
+   *
+   * @param bindingGraphAnalyzer the analyzer to use if the current resolution plan is outdated.
+   * @return true if the dependency graph of the binding is known to be acyclic, false otherwise.
+   */
+  boolean acyclic(@NotNull BindingGraphAnalyzer bindingGraphAnalyzer) {
+    // the version must be read before the analysis, a concurrent modification will then invalidate the result
+    long version = BindingSlot.bindingVersion(bindingGraphAnalyzer.injector());
+    ResolutionPlan plan = this.resolutionPlan;
+    if (plan != null && plan.version == version) {
+      return plan.acyclic;
+    }
+
+    boolean acyclic = bindingGraphAnalyzer.acyclic(this.binding);
+    this.resolutionPlan = new ResolutionPlan(version, acyclic);
+    return acyclic;
+  }
+
+  /**
+   * The information needed to resolve a binding, computed at a specific binding version of the target injector.
+   *
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  private static final class ResolutionPlan {
+
+    private final long version;
+    private final boolean acyclic;
+
+    /**
+     * Constructs a new resolution plan.
+     *
+     * @param version the binding version of the injector at the time the plan was computed.
+     * @param acyclic if the binding graph of the binding is acyclic.
+     */
+    private ResolutionPlan(long version, boolean acyclic) {
+      this.version = version;
+      this.acyclic = acyclic;
+    }
+  }
+}
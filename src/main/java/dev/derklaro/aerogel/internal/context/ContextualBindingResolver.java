@@ -26,29 +26,77 @@
 
 import dev.derklaro.aerogel.Injector;
 import dev.derklaro.aerogel.binding.InstalledBinding;
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import dev.derklaro.aerogel.internal.binding.BindingSlot;
 import dev.derklaro.aerogel.internal.context.scope.InjectionContextProvider;
 import dev.derklaro.aerogel.internal.context.scope.InjectionContextScope;
+import dev.derklaro.aerogel.internal.scope.SealedValue;
+import dev.derklaro.aerogel.internal.util.MapUtil;
 import jakarta.inject.Provider;
+import java.util.Map;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 public final class ContextualBindingResolver {
 
   private final Injector targetInjector;
+  private final BindingGraphAnalyzer bindingGraphAnalyzer;
+  private final Map<BindingKey<?>, PinnedProvider> bindingProviders = MapUtil.newConcurrentMap();
 
   public ContextualBindingResolver(@NotNull Injector targetInjector) {
     this.targetInjector = targetInjector;
+    this.bindingGraphAnalyzer = new BindingGraphAnalyzer(targetInjector);
   }
 
-  public @NotNull <T> Provider<T> constructProvider(@NotNull InstalledBinding<T> binding) {
-    return () -> this.resolveInstance(binding);
+  @SuppressWarnings("unchecked")
+  public @NotNull <T> Provider<T> provider(@NotNull BindingKey<T> key) {
+    // the version must be read before the lookup, a concurrent modification will then invalidate the result
+    long version = BindingSlot.bindingVersion(this.targetInjector);
+    PinnedProvider pinned = this.bindingProviders.get(key);
+    if (pinned != null && pinned.version == version) {
+      return (Provider<T>) pinned.provider;
+    }
+
+    // the bindings changed since the provider was pinned, the provider can be re-used if the key is still
+    // associated with the same binding. providers that were already returned stay valid in any case, they
+    // are bound to their binding and not to the key of the binding
+    InstalledBinding<T> binding = this.targetInjector.binding(key);
+    BindingProvider<?> provider = pinned != null && pinned.provider.binding() == binding
+      ? pinned.provider
+      : new BindingProvider<>(binding, this);
+    this.bindingProviders.put(key, new PinnedProvider(version, provider));
+    return (Provider<T>) provider;
   }
 
   @SuppressWarnings("unchecked")
   public @Nullable <T> T resolveInstance(@NotNull InstalledBinding<T> binding) {
     InjectionContextProvider provider = InjectionContextProvider.provider();
+    SealedValue sealedValue = InjectionContext.sealedValue(binding);
+    if (sealedValue != null && provider.currentScope() == null) {
+      // if the value is already known and no construction is in progress, there is no need to enter a
+      // context scope. we cannot skip the context if one is present as it might contain overrides for the binding
+      return (T) sealedValue.value();
+    }
+
+    return this.resolveInContext(provider, binding, null);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Nullable <T> T resolveInContext(
+    @NotNull InjectionContextProvider provider,
+    @NotNull InstalledBinding<T> binding,
+    @Nullable BindingProvider<T> bindingProvider
+  ) {
     InjectionContextScope scope = provider.enterContextScope(this.targetInjector, binding);
     InjectionContext context = scope.context();
+    boolean acyclic = context.root() && (bindingProvider != null
+      ? bindingProvider.acyclic(this.bindingGraphAnalyzer)
+      : this.bindingGraphAnalyzer.acyclic(binding));
+    if (acyclic) {
+      // no circular references can happen while constructing the binding, skip the related handling
+      context.markAcyclic();
+    }
+
     return scope.executeScoped(() -> {
       try {
         return (T) context.resolveInstance();
@@ -59,4 +107,27 @@ public ContextualBindingResolver(@NotNull Injector targetInjector) {
       }
     });
   }
+
+  /**
+   * A provider that was constructed for the binding of a key at a specific binding version of the target injector.
+   *
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  private static final class PinnedProvider {
+
+    private final long version;
+    private final BindingProvider<?> provider;
+
+    /**
+     * Constructs a new pinned provider.
+     *
+     * @param version  the binding version of the injector at the time the binding of the key was resolved.
+     * @param provider the provider for the binding that was associated with the key.
+     */
+    private PinnedProvider(long version, @NotNull BindingProvider<?> provider) {
+      this.version = version;
+      this.provider = provider;
+    }
+  }
 }
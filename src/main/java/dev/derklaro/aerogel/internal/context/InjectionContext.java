@@ -30,12 +30,13 @@
 import dev.derklaro.aerogel.binding.key.BindingKey;
 import dev.derklaro.aerogel.internal.context.scope.InjectionContextProvider;
 import dev.derklaro.aerogel.internal.context.scope.InjectionContextScope;
+import dev.derklaro.aerogel.internal.scope.KnownValueProvider;
+import dev.derklaro.aerogel.internal.scope.SealedValue;
 import io.leangen.geantyref.GenericTypeReflector;
 import jakarta.inject.Provider;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -79,37 +80,68 @@ public final class InjectionContext {
    * Stores the direct reference to the root context. This prevents the need to travel up the full tree in order to get
    * the root context.
    */
-  private final InjectionContext root;
+  private InjectionContext root;
   /**
    * The injector that requested the root creation of the injection context. Only present in the root injection
    * context.
    */
-  private final Injector injector;
+  private Injector injector;
   /**
    * The binding instance that requested the construction of the element.
    */
-  private final InstalledBinding<?> binding;
+  private InstalledBinding<?> binding;
 
   /**
    * The context provider that tracks this scope, null if no provider is responsible for this scope.
    */
-  private final InjectionContextProvider contextProvider;
+  private InjectionContextProvider contextProvider;
+  /**
+   * The scope that was created for this context by the context provider. As the scope only wraps this context, it can
+   * be re-used each time this context (or the frame backing it) is entered again.
+   */
+  private InjectionContextScope scope;
+
+  /**
+   * The frames to take the contexts in the tree from, null if the contexts should not be pooled. Only present in the
+   * root context.
+   */
+  private InjectionContextFrames frames;
+  /**
+   * The amount of frames that were taken from the frame pool before this root context was taken. All frames taken
+   * after that mark are released when the construction of this root context finishes.
+   */
+  private int frameMark;
+  /**
+   * Set to true on the root context of a tree if a context of the tree was passed to code that might retain it. The
+   * frames of a retained tree are detached from the frame pool instead of being re-used, see {@link #markRetained()}.
+   */
+  private boolean retained = false;
+  /**
+   * Incremented each time this context is reset. Allows tasks that hold a reference to this context to detect that the
+   * context was re-used for the construction of another tree in the meantime.
+   */
+  private int generation;
 
   /**
-   * All proxies that were created somewhere in the tree. Note that this collection is only writeable in a root context,
-   * in all other cases modifying the collection will result in an exception.
+   * All proxies that were created somewhere in the tree. Note that this collection is only used in a root context, in
+   * all other cases the collection might not be present.
+   */
+  private List<InjectionTimeProxy> knownProxies;
+  /**
+   * Holds all mappings of overridden instances that were added by this context.
    */
-  private final List<InjectionTimeProxy> knownProxies;
+  private Map<BindingKey<?>, Provider<?>> overrides;
   /**
-   * Holds all mappings of overridden instances for the current context tree, note that this list is only present on the
-   * root context, in all other cases modifying the map will result in an exception.
+   * The merged overrides of this context and all contexts prior to it, with overrides of later contexts shadowing the
+   * overrides of earlier contexts. Contexts which do not add overrides share the index of the context prior to them.
+   * Null if no context in the path to this context has overrides.
    */
-  private final Map<BindingKey<?>, Provider<?>> overrides;
+  private Map<BindingKey<?>, Provider<?>> overrideIndex;
   /**
-   * Holds all member injection requests that were made somewhere in the tree. Note that this collection is only
-   * writeable in a root context, in all other cases modifying the collection will result in an exception.
+   * Holds all member injection requests that were made somewhere in the tree. Note that this collection is only used in
+   * a root context, in all other cases the collection might not be present.
    */
-  private final Set<MemberInjectionRequest> requestedMemberInjections;
+  private Set<MemberInjectionRequest> requestedMemberInjections;
 
   /**
    * Set to true on the root context of a construction tree if finishConstruction was called.
@@ -121,6 +153,12 @@ public final class InjectionContext {
    * references, and therefore and the root leaf which caused the problem.
    */
   private boolean virtual = false;
+  /**
+   * Set to true on the root context of a construction tree if the dependency graph of the root binding is known to be
+   * acyclic. In that case all dependencies are resolved in detached contexts that are not linked into the tree, as there
+   * is no need to detect circular references.
+   */
+  private boolean acyclic = false;
 
   /**
    * The context prior to this one, null if this context is the root context.
@@ -167,39 +205,197 @@ public InjectionContext(
     @NotNull Map<BindingKey<?>, Provider<?>> overrides,
     @NotNull InjectionContextProvider contextProvider
   ) {
+    this.initRoot(injector, binding, overrides, contextProvider, null, 0);
+  }
+
+  /**
+   * Constructs a new, uninitialized injection context which is used as a re-usable frame.
+   */
+  InjectionContext() {
+  }
+
+  /**
+   * Initializes this context as a root context.
+   *
+   * @param injector        the injector that is associated with the context.
+   * @param binding         the binding that requested this context.
+   * @param overrides       the overridden instances whose delegates are present immediately.
+   * @param contextProvider the context provider that is tracking the context.
+   * @param frames          the frames to take the contexts in the tree from, null to not pool the contexts.
+   * @param frameMark       the amount of frames that were taken from the given frames prior to this context.
+   * @return this context, initialized as a root context.
+   */
+  @NotNull
+  InjectionContext initRoot(
+    @NotNull Injector injector,
+    @NotNull InstalledBinding<?> binding,
+    @NotNull Map<BindingKey<?>, Provider<?>> overrides,
+    @NotNull InjectionContextProvider contextProvider,
+    @Nullable InjectionContextFrames frames,
+    int frameMark
+  ) {
+    this.root = this;
     this.injector = injector;
     this.binding = binding;
     this.contextProvider = contextProvider;
+    this.overrides = copyOverrides(overrides);
+    this.overrideIndex = this.overrides.isEmpty() ? null : this.overrides;
 
-    this.root = this;
-    this.knownProxies = new ArrayList<>();
-    this.requestedMemberInjections = new LinkedHashSet<>();
-    this.overrides = Map.copyOf(overrides);
+    this.frames = frames;
+    this.frameMark = frameMark;
+
+    // the collections are kept when the context is reset, only allocate them once
+    if (this.knownProxies == null) {
+      this.knownProxies = new ArrayList<>();
+      this.requestedMemberInjections = new LinkedHashSet<>();
+    }
+
+    return this;
   }
 
   /**
-   * Constructs a new sub injection context of the given root context.
+   * Initializes this context as a sub context of the given root context.
    *
    * @param root            the root context.
    * @param binding         the binding that requested this context.
    * @param overrides       the overridden instances whose delegates are present immediately.
    * @param contextProvider the provider that constructed this context.
+   * @param parentIndex     the override index of the context prior to this context, null if there is none.
+   * @return this context, initialized as a sub context.
    */
-  private InjectionContext(
+  private @NotNull InjectionContext initSubcontext(
     @NotNull InjectionContext root,
     @NotNull InstalledBinding<?> binding,
     @NotNull Map<BindingKey<?>, Provider<?>> overrides,
-    @NotNull InjectionContextProvider contextProvider
+    @NotNull InjectionContextProvider contextProvider,
+    @Nullable Map<BindingKey<?>, Provider<?>> parentIndex
   ) {
     this.root = root;
     this.binding = binding;
-    this.overrides = Map.copyOf(overrides);
     this.contextProvider = contextProvider;
+    this.overrides = copyOverrides(overrides);
 
-    // just use the empty variants as we're not the root
+    if (this.overrides.isEmpty()) {
+      // no own overrides, just share the index of the parent context
+      this.overrideIndex = parentIndex;
+    } else if (parentIndex == null) {
+      this.overrideIndex = this.overrides;
+    } else {
+      // merge the overrides of this context into the parent index, shadowing the overrides of the parent
+      Map<BindingKey<?>, Provider<?>> overrideIndex = new HashMap<>(parentIndex);
+      overrideIndex.putAll(this.overrides);
+      this.overrideIndex = overrideIndex;
+    }
+
+    return this;
+  }
+
+  /**
+   * Resets all state of this context, allowing it to be re-used for the construction of another value. The lazily
+   * allocated collections are kept to prevent re-allocating them when the context is used again.
+   */
+  void reset() {
+    this.root = null;
     this.injector = null;
-    this.knownProxies = Collections.emptyList();
-    this.requestedMemberInjections = Collections.emptySet();
+    this.binding = null;
+    this.contextProvider = null;
+    this.overrides = null;
+    this.overrideIndex = null;
+    this.frames = null;
+    this.frameMark = 0;
+    this.retained = false;
+    this.generation++;
+
+    this.obsolete = false;
+    this.virtual = false;
+    this.acyclic = false;
+    this.prev = null;
+    this.next = null;
+    this.state = STATE_READY;
+    this.delegate = null;
+    this.createdProxy = null;
+
+    if (this.knownProxies != null) {
+      this.knownProxies.clear();
+      this.requestedMemberInjections.clear();
+    }
+    if (this.waitingConstructions != null) {
+      this.waitingConstructions.clear();
+    }
+    if (this.constructionFinishListeners != null) {
+      this.constructionFinishListeners.clear();
+    }
+  }
+
+  /**
+   * Detaches this context from the frame pool it was taken from. The state of the context is kept as-is, so that a
+   * reference that is retained to the context stays valid. Contexts that are taken for the tree of a detached root
+   * context are no longer pooled.
+   */
+  void detach() {
+    this.frames = null;
+  }
+
+  /**
+   * Get if this context is the root of a tree that contains a context which was marked as retained.
+   *
+   * @return true if a context of the tree rooted at this context might be retained, false otherwise.
+   */
+  boolean retained() {
+    return this.retained;
+  }
+
+  /**
+   * Copies the given overrides into an immutable map, without allocating a new map if the given map is empty.
+   *
+   * @param overrides the overrides to copy.
+   * @return an immutable copy of the given overrides.
+   */
+  private static @NotNull Map<BindingKey<?>, Provider<?>> copyOverrides(
+    @NotNull Map<BindingKey<?>, Provider<?>> overrides
+  ) {
+    return overrides.isEmpty() ? Map.of() : Map.copyOf(overrides);
+  }
+
+  /**
+   * Takes a new context for the current tree, either from the frames of the root context or by allocating a new
+   * context in case the tree is not pooled.
+   *
+   * @param binding   the binding that requested the context.
+   * @param overrides the overridden instances whose delegates are present immediately.
+   * @return a new sub context of the current tree, not yet linked into the tree.
+   */
+  private @NotNull InjectionContext takeSubcontext(
+    @NotNull InstalledBinding<?> binding,
+    @NotNull Map<BindingKey<?>, Provider<?>> overrides
+  ) {
+    InjectionContextFrames frames = this.root.frames;
+    InjectionContext subcontext = frames != null ? frames.takeFrame() : new InjectionContext();
+    return subcontext.initSubcontext(this.root, binding, overrides, this.contextProvider, this.overrideIndex);
+  }
+
+  /**
+   * Takes a new root context, either from the frames of the root context of this tree or by allocating a new context in
+   * case this tree is not pooled.
+   *
+   * @param injector        the injector that is associated with the context.
+   * @param binding         the binding that requested the context.
+   * @param overrides       the overridden instances whose delegates are present immediately.
+   * @param contextProvider the context provider that is tracking the context.
+   * @return a new root context.
+   */
+  private @NotNull InjectionContext takeRoot(
+    @NotNull Injector injector,
+    @NotNull InstalledBinding<?> binding,
+    @NotNull Map<BindingKey<?>, Provider<?>> overrides,
+    @NotNull InjectionContextProvider contextProvider
+  ) {
+    InjectionContextFrames frames = this.root.frames;
+    if (frames != null) {
+      return frames.takeRoot(injector, binding, overrides, contextProvider);
+    } else {
+      return new InjectionContext(injector, binding, overrides, contextProvider);
+    }
   }
 
   public @NotNull InjectionContext copyAsRoot(
@@ -209,19 +405,15 @@ private InjectionContext(
     @NotNull InjectionContextProvider contextProvider
   ) {
     InjectionContext context;
-    if (this.overrides == null || this.overrides.isEmpty()) {
+    Map<BindingKey<?>, Provider<?>> overrideIndex = this.overrideIndex;
+    if (overrideIndex == null) {
       // if this context has no overrides just return a new context using the given overrides
-      context = new InjectionContext(injector, binding, overrides, contextProvider);
+      context = this.takeRoot(injector, binding, overrides, contextProvider);
     } else {
-      // copy this injection context into a new root context, preserving the given overrides
+      // copy the overrides of this injection context into a new root context, preserving the given overrides
       Map<BindingKey<?>, Provider<?>> overriddenProviders = new HashMap<>(overrides);
-      InjectionContext ctx = this;
-      do {
-        overriddenProviders.putAll(ctx.overrides);
-      } while ((ctx = ctx.prev) != null);
-
-      overriddenProviders.putAll(this.overrides);
-      context = new InjectionContext(injector, binding, overriddenProviders, contextProvider);
+      overriddenProviders.putAll(overrideIndex);
+      context = this.takeRoot(injector, binding, overriddenProviders, contextProvider);
     }
 
     // check if the root context has an overridden value available if the associated element is known
@@ -257,7 +449,7 @@ private InjectionContext(
     Provider<?> overridden = this.findOverriddenProvider(binding);
     if (overridden != null) {
       // create a sub context which just returns the given instance
-      InjectionContext subcontext = new InjectionContext(this.root, binding, overrides, this.contextProvider);
+      InjectionContext subcontext = this.takeSubcontext(binding, overrides);
       subcontext.state = STATE_DELEGATED;
       subcontext.delegate = overridden.get();
       return subcontext.init(this);
@@ -305,7 +497,7 @@ private InjectionContext(
       Class<?> leafRawType = GenericTypeReflector.erase(knownLeaf.binding.mainKey().type());
       if (leafRawType.isInterface()) {
         // create a marker context which holds the proxy for the leaf type
-        InjectionContext subcontext = new InjectionContext(this.root, binding, overrides, this.contextProvider);
+        InjectionContext subcontext = this.takeSubcontext(binding, overrides);
         subcontext.virtual = true;
         subcontext.state = STATE_PROXIED;
         subcontext.init(this);
@@ -361,10 +553,90 @@ private InjectionContext(
     }
 
     // nothing special to do, just construct a brand-new sub context
-    InjectionContext subcontext = new InjectionContext(this.root, binding, overrides, this.contextProvider);
+    InjectionContext subcontext = this.takeSubcontext(binding, overrides);
     return subcontext.init(this);
   }
 
+  /**
+   * Marks this context as possibly being retained by code that is not part of aerogel, for example a user-supplied
+   * provider or scope that is called with this context. The contexts of the tree are not re-used once the construction
+   * of the tree finished, therefore the context stays valid to use, even after the construction finished.
+   */
+  public void markRetained() {
+    this.root.retained = true;
+  }
+
+  /**
+   * Marks the construction tree of this root context as acyclic, which causes all dependencies to be resolved in
+   * detached contexts (see {@link #resolveAcyclic(InstalledBinding)}). The caller must ensure that the dependency graph
+   * of the binding is acyclic and that none of the bindings in it use a custom scope, as neither circular references
+   * nor scopes that call back into the context can be handled in detached contexts. The call has no effect if this
+   * context has overrides, as overrides are resolved by walking the tree.
+   *
+   * @throws IllegalStateException if this context is not the root context.
+   */
+  public void markAcyclic() {
+    // ensure that we are the root context
+    if (this.root != this) {
+      throw new IllegalStateException("markAcyclic() call to non-root context");
+    }
+
+    // overrides are resolved by walking the tree, which is not possible for detached contexts
+    if (this.overrides.isEmpty()) {
+      this.acyclic = true;
+    }
+  }
+
+  /**
+   * Get if the dependencies of the tree of this context are resolved in detached contexts, which is the case if the root
+   * context was marked as acyclic.
+   *
+   * @return true if the dependencies are resolved in detached contexts, false otherwise.
+   */
+  public boolean acyclicResolution() {
+    return this.root.acyclic;
+  }
+
+  /**
+   * Resolves the value of the given binding in a detached context that is not linked into the tree of this context. The
+   * detached context skips the lookup of leafs that were already created in the tree and does not create proxies for
+   * circular references. Must only be used if the tree was marked as acyclic, which also implies that there are no
+   * overrides and no custom scopes involved in the construction.
+   *
+   * @param binding the binding to resolve the value of.
+   * @return the resolved value, can be null if the binding resolves to null.
+   */
+  public @Nullable Object resolveAcyclic(@NotNull InstalledBinding<?> binding) {
+    // a value that is already known can be returned directly, it cannot be involved in a circular reference
+    SealedValue sealedValue = sealedValue(binding);
+    if (sealedValue != null) {
+      return sealedValue.value();
+    }
+
+    // construct a detached context for the binding which is not linked into the tree and therefore
+    // skips the lookup of created leafs as well as the proxy handling
+    InjectionContext subcontext = this.takeSubcontext(binding, Map.of());
+    return subcontext.resolveInstance();
+  }
+
+  /**
+   * Resolves the value of the given dependency binding of the binding of this context. If the tree was marked as
+   * acyclic the value is resolved in a detached context (see {@link #resolveAcyclic(InstalledBinding)}), otherwise a
+   * subcontext scope is entered which links the dependency into the tree to detect circular references.
+   *
+   * @param binding the dependency binding to resolve the value of.
+   * @return the resolved value, can be null if the binding resolves to null.
+   */
+  public @Nullable Object resolveDependency(@NotNull InstalledBinding<?> binding) {
+    if (this.acyclicResolution()) {
+      // the dependency graph is acyclic, the dependency can be resolved without entering a new context scope
+      return this.resolveAcyclic(binding);
+    }
+
+    InjectionContextScope scope = this.enterSubcontextScope(binding);
+    return scope.resolveInstanceScoped();
+  }
+
   public @Nullable Object resolveInstance() {
     int currentState = this.state;
     if (currentState == STATE_READY) {
@@ -465,6 +737,18 @@ public void finishConstruction() {
       throw new IllegalStateException("finishConstruction() call to non-root context");
     }
 
+    try {
+      this.executeFinishConstruction();
+    } finally {
+      // no context of this tree is used anymore, hand back all frames that were taken while constructing
+      InjectionContextFrames frames = this.frames;
+      if (frames != null) {
+        frames.release(this.frameMark);
+      }
+    }
+  }
+
+  private void executeFinishConstruction() {
     // mark this context as obsolete to indicate that the context should no longer
     // be used to resolve instances, however, the overrides should persist, and therefore
     // we don't want to remove the context from the current scope
@@ -488,7 +772,7 @@ public void finishConstruction() {
 
       // check if new member injection requests came in while executing member injection
       if (!requestedMemberInjections.isEmpty()) {
-        this.finishConstruction();
+        this.executeFinishConstruction();
       } else {
         // ensure that no proxies without a delegate were created during the last round of member injection
         this.validateAllProxiesAreDelegated();
@@ -622,18 +906,15 @@ private void validateAllProxiesAreDelegated() {
    * @return the overridden provider, or null if no provider override is registered that matches the given binding.
    */
   public @Nullable Provider<?> findOverriddenProvider(@NotNull InstalledBinding<?> binding) {
-    InjectionContext context = this;
-    do {
-      Map<BindingKey<?>, Provider<?>> overrides = context.overrides;
-      if (!overrides.isEmpty()) {
-        for (BindingKey<?> key : binding.keys()) {
-          Provider<?> override = overrides.get(key);
-          if (override != null) {
-            return override;
-          }
+    Map<BindingKey<?>, Provider<?>> overrideIndex = this.overrideIndex;
+    if (overrideIndex != null) {
+      for (BindingKey<?> key : binding.keys()) {
+        Provider<?> override = overrideIndex.get(key);
+        if (override != null) {
+          return override;
         }
       }
-    } while ((context = context.prev) != null);
+    }
 
     return null;
   }
@@ -645,15 +926,29 @@ private void validateAllProxiesAreDelegated() {
    * @return the overridden provider for the given key or null if no override was found.
    */
   public @Nullable Provider<?> findOverriddenProvider(@NotNull BindingKey<?> key) {
-    InjectionContext context = this;
-    do {
-      Provider<?> override = context.overrides.get(key);
-      if (override != null) {
-        return override;
-      }
-    } while ((context = context.prev) != null);
+    Map<BindingKey<?>, Provider<?>> overrideIndex = this.overrideIndex;
+    return overrideIndex != null ? overrideIndex.get(key) : null;
+  }
 
-    return null;
+  /**
+   * Get if any overridden provider is registered in the path from the root context to this context.
+   *
+   * @return true if any overridden provider is registered for this context, false otherwise.
+   */
+  public boolean overridesPresent() {
+    return this.overrideIndex != null;
+  }
+
+  /**
+   * Get the sealed value of the given binding, if the provider of the binding knows the value and sealed it. Note that
+   * overrides registered in a context take precedence over the sealed value.
+   *
+   * @param binding the binding to get the sealed value of.
+   * @return the sealed value of the given binding, null if the binding has no sealed value.
+   */
+  public static @Nullable SealedValue sealedValue(@NotNull InstalledBinding<?> binding) {
+    ProviderWithContext<?> provider = binding.providerWithContext();
+    return provider instanceof KnownValueProvider<?> ? ((KnownValueProvider<?>) provider).sealedValue() : null;
   }
 
   /**
@@ -666,6 +961,26 @@ public boolean obsolete() {
     return this.obsolete;
   }
 
+  /**
+   * Get the scope that was previously created for this context by the context provider, null if no scope was created
+   * for this context yet.
+   *
+   * @return the scope that was previously created for this context, null if no scope was created yet.
+   */
+  public @Nullable InjectionContextScope scope() {
+    return this.scope;
+  }
+
+  /**
+   * Sets the scope that was created for this context by the context provider, allowing it to be re-used when the
+   * context gets entered again.
+   *
+   * @param scope the scope that was created for this context.
+   */
+  public void scope(@NotNull InjectionContextScope scope) {
+    this.scope = scope;
+  }
+
   /**
    * Get if this injection context is the root context of an injection context tree.
    *
@@ -693,6 +1008,7 @@ public boolean root() {
   private static final class LeafConstructionListenerRemoveTask implements Runnable {
 
     private final InjectionContext leaf;
+    private final int leafGeneration;
     private final BiConsumer<InjectionContext, Object> listener;
 
     /**
@@ -706,6 +1022,7 @@ public LeafConstructionListenerRemoveTask(
       @NotNull BiConsumer<InjectionContext, Object> listener
     ) {
       this.leaf = leaf;
+      this.leafGeneration = leaf.generation;
       this.listener = listener;
     }
 
@@ -714,6 +1031,11 @@ public LeafConstructionListenerRemoveTask(
      */
     @Override
     public void run() {
+      // the leaf was reset and might be used by another tree, the listener was removed during the reset
+      if (this.leaf.generation != this.leafGeneration) {
+        return;
+      }
+
       Queue<BiConsumer<InjectionContext, Object>> constructionFinishListeners = this.leaf.constructionFinishListeners;
       if (constructionFinishListeners != null) {
         constructionFinishListeners.remove(this.listener);
@@ -730,6 +1052,7 @@ public void run() {
   private final class LeafWaitingConstructionRemoveTask implements Runnable {
 
     private final InjectionContext leaf;
+    private final int leafGeneration;
 
     /**
      * Constructs a new waiting construction remove task.
@@ -738,6 +1061,7 @@ private final class LeafWaitingConstructionRemoveTask implements Runnable {
      */
     public LeafWaitingConstructionRemoveTask(@NotNull InjectionContext leaf) {
       this.leaf = leaf;
+      this.leafGeneration = leaf.generation;
     }
 
     /**
@@ -745,6 +1069,11 @@ public LeafWaitingConstructionRemoveTask(@NotNull InjectionContext leaf) {
      */
     @Override
     public void run() {
+      // the leaf was reset and might be used by another tree, the waiting construction was removed during the reset
+      if (this.leaf.generation != this.leafGeneration) {
+        return;
+      }
+
       Queue<InjectionContext> waitingConstructions = this.leaf.waitingConstructions;
       if (waitingConstructions != null) {
         waitingConstructions.remove(InjectionContext.this);
@@ -0,0 +1,142 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.context;
+
+import dev.derklaro.aerogel.Injector;
+import dev.derklaro.aerogel.binding.InstalledBinding;
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import dev.derklaro.aerogel.internal.context.scope.InjectionContextProvider;
+import jakarta.inject.Provider;
+import java.util.Arrays;
+import java.util.Map;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An array-backed pool of injection contexts which are re-used as the frames of injection context trees. Frames are
+ * taken from the pool in order while constructing a tree and are all handed back in one step once the construction of
+ * the root context finishes. Contexts of a tree are therefore never re-used while the tree is still being constructed,
+ * which keeps references made to them (for example by proxies or waiting constructions) valid. If a context of a tree
+ * might be retained after the construction finished, the frames of the tree are detached from the pool instead of
+ * being re-used.
+ * <p>
+ * Instances of this class are not thread-safe and must only be used by a single thread.
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+public final class InjectionContextFrames {
+
+  private static final int INITIAL_FRAME_COUNT = 16;
+  private static final int MAX_POOLED_FRAME_COUNT = 1024;
+
+  private InjectionContext[] frames = new InjectionContext[INITIAL_FRAME_COUNT];
+  private int takenFrames;
+
+  /**
+   * Takes a frame from this pool and initializes it as a new root context. All contexts of the tree are taken from this
+   * pool and released when the construction of the root context finishes.
+   *
+   * @param injector        the injector that is associated with the context.
+   * @param binding         the binding that requested the context.
+   * @param overrides       the overridden instances whose delegates are present immediately.
+   * @param contextProvider the context provider that is tracking the context.
+   * @return a new root context.
+   */
+  public @NotNull InjectionContext takeRoot(
+    @NotNull Injector injector,
+    @NotNull InstalledBinding<?> binding,
+    @NotNull Map<BindingKey<?>, Provider<?>> overrides,
+    @NotNull InjectionContextProvider contextProvider
+  ) {
+    int frameMark = this.takenFrames;
+    InjectionContext frame = this.takeFrame();
+    return frame.initRoot(injector, binding, overrides, contextProvider, this, frameMark);
+  }
+
+  /**
+   * Takes the next uninitialized frame from this pool. If the pool is exhausted, a new context is returned which is not
+   * tracked by this pool.
+   *
+   * @return the next uninitialized frame.
+   */
+  @NotNull
+  InjectionContext takeFrame() {
+    int index = this.takenFrames;
+    InjectionContext[] frames = this.frames;
+    if (index == frames.length) {
+      if (index >= MAX_POOLED_FRAME_COUNT) {
+        // the tree is too deep or wide to be pooled
+        return new InjectionContext();
+      }
+
+      this.frames = frames = Arrays.copyOf(frames, index << 1);
+    }
+
+    InjectionContext frame = frames[index];
+    if (frame == null) {
+      frames[index] = frame = new InjectionContext();
+    }
+
+    this.takenFrames = index + 1;
+    return frame;
+  }
+
+  /**
+   * Resets and releases all frames that were taken after the given mark, allowing them to be taken again. If one of the
+   * frames might be retained, the frames are detached from this pool instead and replaced by new frames.
+   *
+   * @param frameMark the amount of frames that were taken before the frames to release were taken.
+   */
+  void release(int frameMark) {
+    InjectionContext[] frames = this.frames;
+    int takenFrames = this.takenFrames;
+
+    // the contexts of a tree reference each other, if one of them is retained none of them can be re-used
+    boolean retained = false;
+    for (int index = frameMark; index < takenFrames; index++) {
+      if (frames[index].retained()) {
+        retained = true;
+        break;
+      }
+    }
+
+    for (int index = frameMark; index < takenFrames; index++) {
+      if (retained) {
+        // keep the state of the frame, a new frame is allocated the next time the frame is taken
+        frames[index].detach();
+        frames[index] = null;
+      } else {
+        frames[index].reset();
+      }
+    }
+
+    // a root context might release its frames after an enclosing root context already released them
+    if (frameMark < takenFrames) {
+      this.takenFrames = frameMark;
+    }
+  }
+}
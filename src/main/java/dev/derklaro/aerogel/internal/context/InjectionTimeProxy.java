@@ -25,11 +25,14 @@
 package dev.derklaro.aerogel.internal.context;
 
 import dev.derklaro.aerogel.binding.InstalledBinding;
+import dev.derklaro.aerogel.internal.codegen.ProxyGenerator;
 import dev.derklaro.aerogel.internal.util.NullMask;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Optional;
 import org.apiguardian.api.API;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -37,18 +40,33 @@
 /**
  * A constructed proxy for a specific binding which can be delegated to a concrete implementation once constructed. This
  * is used to break up circular referenced during injection.
+ * <p>
+ * If possible, proxies are instances of a hidden class generated for the proxied interface, which directly calls the
+ * delegate instance. If the proxy class cannot be generated (for example because the runtime does not support hidden
+ * classes or the package of the interface is not opened to aerogel), a {@link Proxy} is used instead.
  *
  * @author Pasqual Koschmieder
  * @since 1.0
  */
 @API(status = API.Status.INTERNAL, since = "1.0")
-final class InjectionTimeProxy {
+public final class InjectionTimeProxy {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final ClassValue<Optional<ProxyGenerator.GeneratedProxy>> GENERATED_PROXIES =
+    new ClassValue<Optional<ProxyGenerator.GeneratedProxy>>() {
+      @Override
+      protected @NotNull Optional<ProxyGenerator.GeneratedProxy> computeValue(@NotNull Class<?> type) {
+        return Optional.ofNullable(ProxyGenerator.generateProxy(type, LOOKUP));
+      }
+    };
 
   public final Object proxy;
   public final InstalledBinding<?> binding;
 
+  private final ProxyGenerator.GeneratedProxy generatedProxy;
   private final DelegatingInvocationHandler invocationHandler;
 
+  private boolean delegated;
   private Runnable removeListener;
 
   /**
@@ -58,18 +76,21 @@ final class InjectionTimeProxy {
    * @param proxy             the created proxy instance.
    * @param removeListener    the callback to execute when the delegate gets set.
    * @param binding           the binding for which the proxy gets created.
-   * @param invocationHandler the invocation handler for the proxy instance.
+   * @param generatedProxy    the generated proxy type of the proxy instance, null if a reflection proxy is used.
+   * @param invocationHandler the invocation handler for the proxy instance, null if a generated proxy is used.
    */
   private InjectionTimeProxy(
     @NotNull Object proxy,
     @NotNull Runnable removeListener,
     @NotNull InstalledBinding<?> binding,
-    @NotNull DelegatingInvocationHandler invocationHandler
+    @Nullable ProxyGenerator.GeneratedProxy generatedProxy,
+    @Nullable DelegatingInvocationHandler invocationHandler
   ) {
     this.proxy = proxy;
     this.binding = binding;
 
     this.removeListener = removeListener;
+    this.generatedProxy = generatedProxy;
     this.invocationHandler = invocationHandler;
   }
 
@@ -86,18 +107,45 @@ private InjectionTimeProxy(
     @NotNull Runnable removeListener,
     @NotNull InstalledBinding<?> binding
   ) {
+    // prefer the generated proxy type which is cached per interface, and therefore also per class loader
+    ProxyGenerator.GeneratedProxy generatedProxy = GENERATED_PROXIES.get(interfaceClass).orElse(null);
+    if (generatedProxy != null) {
+      Object proxy = generatedProxy.newInstance();
+      return new InjectionTimeProxy(proxy, removeListener, binding, generatedProxy, null);
+    }
+
     DelegatingInvocationHandler handler = new DelegatingInvocationHandler();
     Object proxy = Proxy.newProxyInstance(interfaceClass.getClassLoader(), new Class<?>[]{interfaceClass}, handler);
-    return new InjectionTimeProxy(proxy, removeListener, binding, handler);
+    return new InjectionTimeProxy(proxy, removeListener, binding, null, handler);
   }
 
   /**
-   * Get if the underlying invocation handler has no concrete target to call yet.
+   * Get if the given instance is a proxy constructed by this class, regardless of the proxy implementation that was
+   * used to construct it.
    *
-   * @return true if the underlying invocation handler has no concrete target to call yet, false otherwise.
+   * @param instance the instance to check.
+   * @return true if the given instance is an injection time proxy, false otherwise.
+   */
+  public static boolean isInjectionTimeProxy(@Nullable Object instance) {
+    if (instance == null) {
+      return false;
+    }
+
+    Class<?> type = instance.getClass();
+    if (Proxy.isProxyClass(type)) {
+      return Proxy.getInvocationHandler(instance) instanceof DelegatingInvocationHandler;
+    }
+
+    return ProxyGenerator.isProxyClass(type);
+  }
+
+  /**
+   * Get if the underlying proxy has no concrete target to call yet.
+   *
+   * @return true if the underlying proxy has no concrete target to call yet, false otherwise.
    */
   public boolean undelegated() {
-    return this.invocationHandler.delegate == null;
+    return !this.delegated;
   }
 
   /**
@@ -106,7 +154,12 @@ public boolean undelegated() {
    * @param delegate the delegate to use for the created proxy.
    */
   public void setDelegate(@Nullable Object delegate) {
-    this.invocationHandler.delegate = NullMask.mask(delegate);
+    this.delegated = true;
+    if (this.generatedProxy != null) {
+      this.generatedProxy.setDelegate(this.proxy, delegate);
+    } else {
+      this.invocationHandler.delegate = NullMask.mask(delegate);
+    }
   }
 
   /**
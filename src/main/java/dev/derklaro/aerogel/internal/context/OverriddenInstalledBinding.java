@@ -41,7 +41,7 @@
 
 final class OverriddenInstalledBinding implements InstalledBinding<Object> {
 
-  private static final BindingOptions EMPTY_BINDING_OPTIONS = new BindingOptionsImpl(null);
+  private static final BindingOptions EMPTY_BINDING_OPTIONS = new BindingOptionsImpl(null, false);
 
   private final Injector injector;
   private final BindingKey<?> targetKey;
@@ -28,7 +28,6 @@
 import dev.derklaro.aerogel.binding.InstalledBinding;
 import dev.derklaro.aerogel.binding.key.BindingKey;
 import jakarta.inject.Provider;
-import java.util.Collections;
 import java.util.Map;
 import org.apiguardian.api.API;
 import org.jetbrains.annotations.NotNull;
@@ -62,7 +61,7 @@ public interface InjectionContextProvider {
 
   @NotNull
   default InjectionContextScope enterContextScope(@NotNull Injector injector, @NotNull InstalledBinding<?> binding) {
-    return this.enterContextScope(injector, binding, Collections.emptyMap());
+    return this.enterContextScope(injector, binding, Map.of());
   }
 
   @NotNull
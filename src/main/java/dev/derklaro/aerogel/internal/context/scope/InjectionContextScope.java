@@ -28,6 +28,7 @@
 import java.util.function.Supplier;
 import org.apiguardian.api.API;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnknownNullability;
 
 /**
@@ -58,4 +59,18 @@ public interface InjectionContextScope {
    */
   @UnknownNullability
   <T> T executeScoped(@NotNull Supplier<T> operation);
+
+  /**
+   * Resolves the instance of the context wrapped by this scope while using this scope as the current scope. This method
+   * behaves the same as passing {@link InjectionContext#resolveInstance()} to {@link #executeScoped(Supplier)}, which
+   * is what the default implementation does. Implementations should override this method to resolve the instance
+   * without the need to allocate an operation instance.
+   *
+   * @return the instance resolved by the wrapped context.
+   */
+  @Nullable
+  default Object resolveInstanceScoped() {
+    InjectionContext context = this.context();
+    return this.executeScoped(context::resolveInstance);
+  }
 }
@@ -28,6 +28,7 @@
 import dev.derklaro.aerogel.binding.InstalledBinding;
 import dev.derklaro.aerogel.binding.key.BindingKey;
 import dev.derklaro.aerogel.internal.context.InjectionContext;
+import dev.derklaro.aerogel.internal.context.InjectionContextFrames;
 import dev.derklaro.aerogel.internal.context.scope.InjectionContextProvider;
 import dev.derklaro.aerogel.internal.context.scope.InjectionContextScope;
 import jakarta.inject.Provider;
@@ -46,6 +47,8 @@
 public final class ThreadLocalInjectionContextProvider implements InjectionContextProvider {
 
   private final ThreadLocal<InjectionContextScope> scopeThreadLocal = new ThreadLocal<>();
+  private final ThreadLocal<InjectionContextFrames> framesThreadLocal =
+    ThreadLocal.withInitial(InjectionContextFrames::new);
 
   /**
    * {@inheritDoc}
@@ -70,16 +73,34 @@ public final class ThreadLocalInjectionContextProvider implements InjectionConte
       if (currentScope.context().obsolete()) {
         // the current root context is obsolete, copy the necessary information from it into a new root context
         InjectionContext newContext = currentContext.copyAsRoot(injector, binding, overrides, this);
-        return new ThreadLocalInjectionContextScope(newContext, this.scopeThreadLocal);
+        return this.scopeOf(newContext);
       } else {
         // we're already in an existing root context, enter a subcontext of that one
         InjectionContext subcontext = currentContext.enterSubcontext(binding, overrides);
-        return new ThreadLocalInjectionContextScope(subcontext, this.scopeThreadLocal);
+        return this.scopeOf(subcontext);
       }
     } else {
       // no context yet, construct a new root context
-      InjectionContext newContext = new InjectionContext(injector, binding, overrides, this);
-      return new ThreadLocalInjectionContextScope(newContext, this.scopeThreadLocal);
+      InjectionContextFrames frames = this.framesThreadLocal.get();
+      InjectionContext newContext = frames.takeRoot(injector, binding, overrides, this);
+      return this.scopeOf(newContext);
     }
   }
+
+  /**
+   * Get the scope for the given context. As contexts are re-used, the scope created for a context can be re-used as
+   * well, therefore a new scope is only created if no scope was created for the context before.
+   *
+   * @param context the context to get the scope for.
+   * @return the scope that wraps the given context.
+   */
+  private @NotNull InjectionContextScope scopeOf(@NotNull InjectionContext context) {
+    InjectionContextScope scope = context.scope();
+    if (scope == null) {
+      scope = new ThreadLocalInjectionContextScope(context, this.scopeThreadLocal);
+      context.scope(scope);
+    }
+
+    return scope;
+  }
 }
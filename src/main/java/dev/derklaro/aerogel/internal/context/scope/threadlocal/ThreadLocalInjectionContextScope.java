@@ -29,6 +29,7 @@
 import java.util.function.Supplier;
 import org.apiguardian.api.API;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnknownNullability;
 
 /**
@@ -84,4 +85,24 @@ public ThreadLocalInjectionContextScope(
       }
     }
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @Nullable Object resolveInstanceScoped() {
+    InjectionContextScope currentScope = this.scopeThreadLocal.get();
+    try {
+      // update the thread local to use this scope, then resolve the instance of the context
+      this.scopeThreadLocal.set(this);
+      return this.context.resolveInstance();
+    } finally {
+      // reset to the previous scope if present, else remove the mapping to the current scope
+      if (currentScope != null) {
+        this.scopeThreadLocal.set(currentScope);
+      } else {
+        this.scopeThreadLocal.remove();
+      }
+    }
+  }
 }
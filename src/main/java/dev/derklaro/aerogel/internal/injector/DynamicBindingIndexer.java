@@ -0,0 +1,140 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.injector;
+
+import dev.derklaro.aerogel.binding.DynamicBinding;
+import dev.derklaro.aerogel.binding.RawTypeNamedDynamicBinding;
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import dev.derklaro.aerogel.internal.binding.DynamicBindingImpl;
+import dev.derklaro.aerogel.registry.RegistryIndexer;
+import io.leangen.geantyref.GenericTypeReflector;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A registry indexer for dynamic bindings which indexes the bindings by the raw type or qualifier annotation type they
+ * are known to match, or by the name of the raw type they are known to match. Keys are resolved to the index keys of all
+ * super types of their raw type, the name of their raw type and their qualifier annotation type.
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+final class DynamicBindingIndexer implements RegistryIndexer<BindingKey<?>, DynamicBinding> {
+
+  static final DynamicBindingIndexer INSTANCE = new DynamicBindingIndexer();
+
+  private static final ClassValue<Class<?>[]> SUPER_TYPES = new ClassValue<Class<?>[]>() {
+    @Override
+    protected @NotNull Class<?>[] computeValue(@NotNull Class<?> type) {
+      Set<Class<?>> superTypes = new LinkedHashSet<>();
+      collectSuperTypes(type, superTypes);
+      return superTypes.toArray(new Class<?>[0]);
+    }
+  };
+
+  // the super types of a type, followed by the name of the type itself
+  private static final ClassValue<Object[]> TYPE_INDEX_KEYS = new ClassValue<Object[]>() {
+    @Override
+    protected @NotNull Object[] computeValue(@NotNull Class<?> type) {
+      Class<?>[] superTypes = SUPER_TYPES.get(type);
+      Object[] indexKeys = Arrays.copyOf(superTypes, superTypes.length + 1, Object[].class);
+      indexKeys[superTypes.length] = type.getName();
+      return indexKeys;
+    }
+  };
+
+  private DynamicBindingIndexer() {
+  }
+
+  private static void collectSuperTypes(@NotNull Class<?> type, @NotNull Set<Class<?>> target) {
+    if (!target.add(type) || type.isPrimitive()) {
+      return;
+    }
+
+    if (type.isArray()) {
+      // arrays are covariant, an array is assignable to all arrays of the super types of its component type
+      Class<?> componentType = type.getComponentType();
+      if (!componentType.isPrimitive()) {
+        for (Class<?> componentSuperType : SUPER_TYPES.get(componentType)) {
+          target.add(Array.newInstance(componentSuperType, 0).getClass());
+        }
+      }
+
+      target.add(Object.class);
+      target.add(Cloneable.class);
+      target.add(Serializable.class);
+      return;
+    }
+
+    Class<?> superclass = type.getSuperclass();
+    if (superclass != null) {
+      collectSuperTypes(superclass, target);
+    }
+    for (Class<?> superInterface : type.getInterfaces()) {
+      collectSuperTypes(superInterface, target);
+    }
+
+    // interfaces are assignable to object as well
+    target.add(Object.class);
+  }
+
+  @Override
+  public @Nullable Object valueIndexKey(@NotNull DynamicBinding value) {
+    if (value instanceof TargetedInjectorBindingWrapper.DynamicWrapper) {
+      value = ((TargetedInjectorBindingWrapper.DynamicWrapper) value).delegate;
+    }
+
+    if (value instanceof DynamicBindingImpl) {
+      return ((DynamicBindingImpl) value).indexType();
+    }
+
+    if (value instanceof RawTypeNamedDynamicBinding) {
+      // the name is used as the index key, a name never collides with the type index keys of other bindings
+      return ((RawTypeNamedDynamicBinding) value).rawTypeName();
+    }
+
+    return null;
+  }
+
+  @Override
+  public @NotNull Object[] candidateIndexKeys(@NotNull BindingKey<?> key) {
+    Class<?> rawType = GenericTypeReflector.erase(key.type());
+    Object[] typeIndexKeys = TYPE_INDEX_KEYS.get(rawType);
+
+    Class<?> qualifierAnnotationType = key.qualifierAnnotationType().orElse(null);
+    if (qualifierAnnotationType == null) {
+      return typeIndexKeys;
+    }
+
+    Object[] candidateIndexKeys = Arrays.copyOf(typeIndexKeys, typeIndexKeys.length + 1);
+    candidateIndexKeys[typeIndexKeys.length] = qualifierAnnotationType;
+    return candidateIndexKeys;
+  }
+}
@@ -47,6 +47,12 @@ public final class InjectorBuilderImpl implements InjectorBuilder {
     return this;
   }
 
+  @Override
+  public @NotNull InjectorBuilder generatedInvokers(boolean enabled) {
+    this.options = this.options.withGeneratedInvokers(enabled);
+    return this;
+  }
+
   @Override
   public @NotNull Injector build() {
     return new InjectorImpl(this.options);
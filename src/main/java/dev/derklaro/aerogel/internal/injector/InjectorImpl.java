@@ -34,11 +34,12 @@
 import dev.derklaro.aerogel.binding.builder.RootBindingBuilder;
 import dev.derklaro.aerogel.binding.key.BindingKey;
 import dev.derklaro.aerogel.internal.binding.BindingOptionsImpl;
+import dev.derklaro.aerogel.internal.binding.BindingSlot;
 import dev.derklaro.aerogel.internal.binding.builder.RootBindingBuilderImpl;
 import dev.derklaro.aerogel.internal.context.ContextualBindingResolver;
-import dev.derklaro.aerogel.internal.member.DefaultMemberInjector;
 import dev.derklaro.aerogel.internal.scope.SingletonScopeApplier;
-import dev.derklaro.aerogel.internal.util.MapUtil;
+import dev.derklaro.aerogel.internal.util.RawTypeKeys;
+import dev.derklaro.aerogel.internal.util.SingleFlight;
 import dev.derklaro.aerogel.registry.Registry;
 import io.leangen.geantyref.TypeToken;
 import jakarta.inject.Provider;
@@ -46,8 +47,11 @@
 import java.lang.annotation.Annotation;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Type;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -57,8 +61,10 @@ public final class InjectorImpl implements Injector {
   private final InjectorOptions injectorOptions;
   private final JitBindingFactory jitBindingFactory;
   private final ContextualBindingResolver contextualBindingResolver;
+  private final MemberInjectorCache memberInjectorCache;
 
-  private final Map<Class<?>, MemberInjector<?>> memberInjectorCache = MapUtil.newConcurrentMap();
+  private final UnboundKeyCache unboundKeyCache = new UnboundKeyCache();
+  private final SingleFlight<BindingKey<?>, InstalledBinding<?>> jitBindingFlights = new SingleFlight<>();
 
   private final Registry.WithKeyMapping<BindingKey<?>, InstalledBinding<?>> bindingRegistry;
   private final Registry.WithoutKeyMapping<BindingKey<?>, DynamicBinding> dynamicBindingRegistry;
@@ -83,7 +89,7 @@ private InjectorImpl(@NotNull InjectorImpl parent) {
       options,
       Registry.createRegistryWithKeys(),
       Registry.createRegistryWithKeys(),
-      Registry.createRegistryWithoutKeys((key, binding) -> binding.supports(key)));
+      Registry.createRegistryWithoutKeys((key, binding) -> binding.supports(key), DynamicBindingIndexer.INSTANCE));
   }
 
   /* trusted */
@@ -107,6 +113,7 @@ private InjectorImpl(
     this.injectorOptions = injectorOptions;
     this.jitBindingFactory = new JitBindingFactory(this);
     this.contextualBindingResolver = new ContextualBindingResolver(this);
+    this.memberInjectorCache = new MemberInjectorCache(this, injectorOptions.generatedInvokers());
 
     this.scopeRegistry = scopeRegistry;
     this.bindingRegistry = bindingRegistry;
@@ -133,7 +140,9 @@ private InjectorImpl(
 
   @Override
   public @NotNull RootBindingBuilder createBindingBuilder() {
-    BindingOptionsImpl standardBindingOptions = new BindingOptionsImpl(this.injectorOptions.memberLookup());
+    BindingOptionsImpl standardBindingOptions = new BindingOptionsImpl(
+      this.injectorOptions.memberLookup(),
+      this.injectorOptions.generatedInvokers());
     return new RootBindingBuilderImpl(standardBindingOptions, this.scopeRegistry);
   }
 
@@ -143,27 +152,17 @@ private InjectorImpl(
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public @NotNull <T> MemberInjector<T> memberInjector(
     @NotNull Class<T> memberHolderClass,
     @Nullable MethodHandles.Lookup givenLookup
   ) {
-    // try to load from cache first
-    MemberInjector<?> cachedMemberInjector = this.memberInjectorCache.get(memberHolderClass);
-    if (cachedMemberInjector != null) {
-      return (MemberInjector<T>) cachedMemberInjector;
-    }
-
-    // create a new member injector
     MethodHandles.Lookup lookup = givenLookup != null ? givenLookup : this.injectorOptions.memberLookup();
-    MemberInjector<T> newMemberInjector = new DefaultMemberInjector<>(memberHolderClass, this, lookup);
-    MemberInjector<?> knownInjector = this.memberInjectorCache.putIfAbsent(memberHolderClass, newMemberInjector);
-    return (MemberInjector<T>) (knownInjector != null ? knownInjector : newMemberInjector);
+    return this.memberInjectorCache.memberInjector(memberHolderClass, lookup);
   }
 
   @Override
   public @Nullable <T> T instance(@NotNull Class<T> type) {
-    BindingKey<T> bindingKey = BindingKey.of(type);
+    BindingKey<T> bindingKey = RawTypeKeys.keyOf(type);
     return this.instance(bindingKey);
   }
 
@@ -187,41 +186,90 @@ private InjectorImpl(
 
   @Override
   public @NotNull <T> Provider<T> provider(@NotNull BindingKey<T> key) {
-    InstalledBinding<T> binding = this.binding(key);
-    return this.contextualBindingResolver.constructProvider(binding);
+    return this.contextualBindingResolver.provider(key);
   }
 
   @Override
   @SuppressWarnings("unchecked")
   public @NotNull <T> InstalledBinding<T> binding(@NotNull BindingKey<T> key) {
-    return this.existingBinding(key).orElseGet(() -> {
-      if (this.injectorOptions.shouldConstructJitBinding(key)) {
+    InstalledBinding<T> existingBinding = this.findExistingBinding(key);
+    if (existingBinding != null) {
+      return existingBinding;
+    }
+
+    if (this.injectorOptions.shouldConstructJitBinding(key)) {
+      // construct the jit binding only once if multiple threads request the binding at the same time
+      return (InstalledBinding<T>) this.jitBindingFlights.execute(key, () -> {
+        InstalledBinding<?> knownBinding = this.bindingRegistry.getOrNull(key);
+        if (knownBinding != null) {
+          return knownBinding;
+        }
+
         InstalledBinding<?> jitBinding = this.jitBindingFactory.createJitBinding(key);
-        this.bindingRegistry.register(key, jitBinding);
-        return (InstalledBinding<T>) jitBinding;
-      } else {
-        throw new IllegalStateException("Creating of jit binding for key " + key + " is explicitly disabled");
-      }
-    });
+        return this.registerBinding(key, jitBinding);
+      });
+    } else {
+      throw new IllegalStateException("Creating of jit binding for key " + key + " is explicitly disabled");
+    }
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public @NotNull <T> Optional<InstalledBinding<T>> existingBinding(@NotNull BindingKey<T> key) {
+    InstalledBinding<T> existingBinding = this.findExistingBinding(key);
+    return Optional.ofNullable(existingBinding);
+  }
+
+  @SuppressWarnings("unchecked")
+  private @Nullable <T> InstalledBinding<T> findExistingBinding(@NotNull BindingKey<T> key) {
     // try to load an existing binding that is mapped to the given key
-    InstalledBinding<?> directBinding = this.bindingRegistry.get(key).orElse(null);
+    InstalledBinding<?> directBinding = this.bindingRegistry.getOrNull(key);
     if (directBinding != null) {
-      return Optional.of((InstalledBinding<T>) directBinding);
+      return (InstalledBinding<T>) directBinding;
+    }
+
+    // check if the key is known to be unbound, in that case the dynamic bindings don't need to be checked
+    long registryVersion = BindingSlot.bindingVersion(this);
+    if (this.unboundKeyCache.knownUnbound(key, registryVersion)) {
+      return null;
     }
 
     // try to load a binding from the dynamic binding registry
-    return this.dynamicBindingRegistry.get(key)
-      .flatMap(dynamicBinding -> dynamicBinding.tryMatch(key))
-      .map(uninstalledBinding -> {
+    DynamicBinding dynamicBinding = this.dynamicBindingRegistry.getOrNull(key);
+    if (dynamicBinding != null) {
+      UninstalledBinding<T> uninstalledBinding = dynamicBinding.tryMatch(key).orElse(null);
+      if (uninstalledBinding != null) {
         InstalledBinding<T> binding = uninstalledBinding.prepareForInstallation(this);
-        this.bindingRegistry.register(key, binding);
-        return binding;
-      });
+        return (InstalledBinding<T>) this.registerBinding(key, binding);
+      }
+    }
+
+    this.unboundKeyCache.markUnbound(key, registryVersion);
+    return null;
+  }
+
+  private @NotNull InstalledBinding<?> registerBinding(
+    @NotNull BindingKey<?> key,
+    @NotNull InstalledBinding<?> binding
+  ) {
+    // another thread might have registered a binding for the key in the meantime, use that binding in that case
+    this.bindingRegistry.register(key, binding);
+    InstalledBinding<?> registeredBinding = this.bindingRegistry.getOrNull(key);
+    return registeredBinding != null ? registeredBinding : binding;
+  }
+
+  @Override
+  public @NotNull CompletableFuture<Map<BindingKey<?>, Throwable>> initializeSingletons(@NotNull Executor executor) {
+    SingletonInitializer initializer = new SingletonInitializer(this, this.contextualBindingResolver);
+    return initializer.initializeInstalled(executor);
+  }
+
+  @Override
+  public @NotNull CompletableFuture<Map<BindingKey<?>, Throwable>> initializeSingletons(
+    @NotNull Collection<BindingKey<?>> keys,
+    @NotNull Executor executor
+  ) {
+    SingletonInitializer initializer = new SingletonInitializer(this, this.contextualBindingResolver);
+    return initializer.initialize(keys, executor);
   }
 
   @Override
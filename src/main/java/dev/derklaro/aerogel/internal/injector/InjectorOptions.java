@@ -31,17 +31,20 @@
 
 final class InjectorOptions {
 
-  static final InjectorOptions DEFAULT = new InjectorOptions(MethodHandles.lookup(), $ -> true);
+  static final InjectorOptions DEFAULT = new InjectorOptions(MethodHandles.lookup(), $ -> true, false);
 
   private final MethodHandles.Lookup memberLookup;
   private final Predicate<BindingKey<?>> jitBindingFilter;
+  private final boolean generatedInvokers;
 
   private InjectorOptions(
     @NotNull MethodHandles.Lookup memberLookup,
-    @NotNull Predicate<BindingKey<?>> jitBindingFilter
+    @NotNull Predicate<BindingKey<?>> jitBindingFilter,
+    boolean generatedInvokers
   ) {
     this.memberLookup = memberLookup;
     this.jitBindingFilter = jitBindingFilter;
+    this.generatedInvokers = generatedInvokers;
   }
 
   public @NotNull MethodHandles.Lookup memberLookup() {
@@ -52,11 +55,25 @@ public boolean shouldConstructJitBinding(@NotNull BindingKey<?> key) {
     return this.jitBindingFilter.test(key);
   }
 
+  public boolean generatedInvokers() {
+    return this.generatedInvokers;
+  }
+
   public @NotNull InjectorOptions withMemberLookup(@NotNull MethodHandles.Lookup memberLookup) {
-    return this.memberLookup == memberLookup ? this : new InjectorOptions(memberLookup, this.jitBindingFilter);
+    return this.memberLookup == memberLookup
+      ? this
+      : new InjectorOptions(memberLookup, this.jitBindingFilter, this.generatedInvokers);
   }
 
   public @NotNull InjectorOptions withJitBindingFilter(@NotNull Predicate<BindingKey<?>> jitBindingFilter) {
-    return this.jitBindingFilter == jitBindingFilter ? this : new InjectorOptions(this.memberLookup, jitBindingFilter);
+    return this.jitBindingFilter == jitBindingFilter
+      ? this
+      : new InjectorOptions(this.memberLookup, jitBindingFilter, this.generatedInvokers);
+  }
+
+  public @NotNull InjectorOptions withGeneratedInvokers(boolean generatedInvokers) {
+    return this.generatedInvokers == generatedInvokers
+      ? this
+      : new InjectorOptions(this.memberLookup, this.jitBindingFilter, generatedInvokers);
   }
 }
@@ -28,15 +28,18 @@
 import dev.derklaro.aerogel.MemberInjector;
 import dev.derklaro.aerogel.ProvidedBy;
 import dev.derklaro.aerogel.binding.InstalledBinding;
-import dev.derklaro.aerogel.binding.ProviderWithContext;
 import dev.derklaro.aerogel.binding.UninstalledBinding;
 import dev.derklaro.aerogel.binding.key.BindingKey;
+import dev.derklaro.aerogel.internal.binding.BindingSlot;
 import dev.derklaro.aerogel.internal.context.InjectionContext;
+import dev.derklaro.aerogel.internal.provider.LeafProvider;
 import io.leangen.geantyref.GenericTypeReflector;
 import jakarta.inject.Provider;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.function.Function;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 final class JitBindingFactory {
 
@@ -59,15 +62,19 @@ public JitBindingFactory(@NotNull Injector injector) {
       if (parameterized.getRawType().equals(Provider.class)) {
         // target is a provider
         Type componentType = parameterized.getActualTypeArguments()[0];
-        BindingKey<?> componentKey = key.withType(componentType);
-        return this.createBinding(key, context -> (Provider<Object>) () -> context.injector().instance(componentKey));
+        BindingKey<Object> componentKey = convertKeyUnchecked(key.withType(componentType));
+        InjectorBoundCache<Provider<Object>> providers = new InjectorBoundCache<>(
+          injector -> new ComponentProvider(injector, componentKey));
+        return this.createBinding(key, providers::get);
       }
 
       if (parameterized.getRawType().equals(MemberInjector.class)) {
         // target is a member injector
         Type componentType = parameterized.getActualTypeArguments()[0];
         Class<?> rawComponentType = GenericTypeReflector.erase(componentType);
-        return this.createBinding(key, context -> context.injector().memberInjector(rawComponentType));
+        InjectorBoundCache<MemberInjector<?>> memberInjectors = new InjectorBoundCache<>(
+          injector -> injector.memberInjector(rawComponentType));
+        return this.createBinding(key, memberInjectors::get);
       }
     }
 
@@ -115,10 +122,145 @@ public JitBindingFactory(@NotNull Injector injector) {
 
   private @NotNull InstalledBinding<?> createBinding(
     @NotNull BindingKey<?> key,
-    @NotNull ProviderWithContext<Object> provider
+    @NotNull LeafProvider<Object> provider
   ) {
     BindingKey<Object> objectKey = convertKeyUnchecked(key);
     UninstalledBinding<?> uninstalled = this.injector.createBindingBuilder().bind(objectKey).toProvider(provider);
     return uninstalled.prepareForInstallation(this.injector);
   }
+
+  /**
+   * Caches the value created for the last injector that requested a value. Values are usually requested from the same
+   * injector over and over again, in which case the value can be re-used without creating or looking it up again.
+   *
+   * @param <V> the type of the cached value.
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  private static final class InjectorBoundCache<V> {
+
+    private final Function<Injector, V> valueFactory;
+
+    // immutable snapshot, safe to publish without synchronization due to the final fields
+    private InjectorBoundValue<V> lastValue;
+
+    /**
+     * Constructs a new cache that uses the given factory to create the values for an injector.
+     *
+     * @param valueFactory the factory for values bound to an injector.
+     */
+    public InjectorBoundCache(@NotNull Function<Injector, V> valueFactory) {
+      this.valueFactory = valueFactory;
+    }
+
+    /**
+     * Get the value for the injector of the given injection context, creating it if the last value was created for a
+     * different injector.
+     *
+     * @param context the context to get the value for.
+     * @return the value for the injector of the given context.
+     */
+    public @NotNull V get(@NotNull InjectionContext context) {
+      // the context must not be captured as it is re-used once the current construction finished
+      Injector injector = context.injector();
+      InjectorBoundValue<V> lastValue = this.lastValue;
+      if (lastValue != null && lastValue.injector == injector) {
+        return lastValue.value;
+      }
+
+      V value = this.valueFactory.apply(injector);
+      this.lastValue = new InjectorBoundValue<>(injector, value);
+      return value;
+    }
+  }
+
+  /**
+   * A value that was created for a specific injector.
+   *
+   * @param <V> the type of the value.
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  private static final class InjectorBoundValue<V> {
+
+    private final Injector injector;
+    private final V value;
+
+    /**
+     * Constructs a new injector bound value.
+     *
+     * @param injector the injector for which the value was created.
+     * @param value    the value created for the injector.
+     */
+    private InjectorBoundValue(@NotNull Injector injector, @NotNull V value) {
+      this.injector = injector;
+      this.value = value;
+    }
+  }
+
+  /**
+   * A provider for the component of an injected provider. The provider of the component binding is resolved lazily
+   * once and re-used until the bindings of the injector change, in which case the component binding is resolved again.
+   *
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  private static final class ComponentProvider implements Provider<Object> {
+
+    private final Injector injector;
+    private final BindingKey<Object> componentKey;
+
+    // immutable snapshot, safe to publish without synchronization due to the final fields
+    private PinnedProvider pinnedProvider;
+
+    /**
+     * Constructs a new component provider.
+     *
+     * @param injector     the injector to resolve the component binding from.
+     * @param componentKey the key of the component binding.
+     */
+    public ComponentProvider(@NotNull Injector injector, @NotNull BindingKey<Object> componentKey) {
+      this.injector = injector;
+      this.componentKey = componentKey;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @Nullable Object get() {
+      // the version must be read before the lookup, a concurrent modification will then invalidate the result
+      long version = BindingSlot.bindingVersion(this.injector);
+      PinnedProvider pinned = this.pinnedProvider;
+      if (pinned == null || pinned.version != version) {
+        pinned = new PinnedProvider(version, this.injector.provider(this.componentKey));
+        this.pinnedProvider = pinned;
+      }
+
+      return pinned.provider.get();
+    }
+  }
+
+  /**
+   * A provider of a component binding that was resolved at a specific binding version.
+   *
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  private static final class PinnedProvider {
+
+    private final long version;
+    private final Provider<Object> provider;
+
+    /**
+     * Constructs a new pinned provider.
+     *
+     * @param version  the binding version of the injector at the time of the lookup.
+     * @param provider the provider of the resolved component binding.
+     */
+    private PinnedProvider(long version, @NotNull Provider<Object> provider) {
+      this.version = version;
+      this.provider = provider;
+    }
+  }
 }
@@ -0,0 +1,239 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.injector;
+
+import dev.derklaro.aerogel.Injector;
+import dev.derklaro.aerogel.MemberInjector;
+import dev.derklaro.aerogel.internal.member.DefaultMemberInjector;
+import dev.derklaro.aerogel.internal.util.MapUtil;
+import dev.derklaro.aerogel.internal.util.SingleFlight;
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A bounded cache of the member injectors created by an injector. Member injectors are cached by the class they inject
+ * and the lookup that was used to access the members of the class, as lookups with different access rights can lead to
+ * different member injectors for the same class.
+ * <p>
+ * Once the cache exceeds its maximum size, the member injectors that were not requested since the last eviction run are
+ * removed from the cache. Member injectors that are still in use by a binding are not affected by an eviction, they are
+ * only no longer shared with new requests.
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+final class MemberInjectorCache {
+
+  private static final int MAX_CACHED_CLASSES = 512;
+
+  private final Injector injector;
+  private final boolean generateInjectors;
+
+  private final Map<Class<?>, CachedMemberInjector[]> cachedMemberInjectors = MapUtil.newConcurrentMap();
+  private final SingleFlight<CacheKey, MemberInjector<?>> memberInjectorFlights = new SingleFlight<>();
+
+  /**
+   * Constructs a new member injector cache.
+   *
+   * @param injector          the injector to create the member injectors for.
+   * @param generateInjectors if the member injectors should be generated, if possible.
+   */
+  public MemberInjectorCache(@NotNull Injector injector, boolean generateInjectors) {
+    this.injector = injector;
+    this.generateInjectors = generateInjectors;
+  }
+
+  /**
+   * Get the member injector for the given class and lookup from this cache, creating a new member injector if none is
+   * cached yet. A new member injector is created only once if multiple threads request it at the same time.
+   *
+   * @param memberHolderClass the class to get the member injector for.
+   * @param lookup            the lookup to use to access the members of the class.
+   * @param <T>               the type of the class.
+   * @return a member injector for the given class and lookup.
+   */
+  @SuppressWarnings("unchecked")
+  public @NotNull <T> MemberInjector<T> memberInjector(
+    @NotNull Class<T> memberHolderClass,
+    @NotNull MethodHandles.Lookup lookup
+  ) {
+    CachedMemberInjector cached = this.findCachedMemberInjector(memberHolderClass, lookup);
+    if (cached != null) {
+      return (MemberInjector<T>) cached.memberInjector;
+    }
+
+    CacheKey cacheKey = new CacheKey(memberHolderClass, lookup);
+    return (MemberInjector<T>) this.memberInjectorFlights.execute(cacheKey, () -> {
+      CachedMemberInjector knownInjector = this.findCachedMemberInjector(memberHolderClass, lookup);
+      if (knownInjector != null) {
+        return knownInjector.memberInjector;
+      }
+
+      MemberInjector<T> newMemberInjector = new DefaultMemberInjector<>(
+        memberHolderClass,
+        this.injector,
+        lookup,
+        this.generateInjectors);
+      CachedMemberInjector newCachedInjector = new CachedMemberInjector(lookup, newMemberInjector);
+      this.cachedMemberInjectors.merge(memberHolderClass, new CachedMemberInjector[]{newCachedInjector}, (old, add) -> {
+        CachedMemberInjector[] merged = Arrays.copyOf(old, old.length + 1);
+        merged[old.length] = newCachedInjector;
+        return merged;
+      });
+
+      this.evictUnusedMemberInjectors();
+      return newMemberInjector;
+    });
+  }
+
+  private @Nullable CachedMemberInjector findCachedMemberInjector(
+    @NotNull Class<?> memberHolderClass,
+    @NotNull MethodHandles.Lookup lookup
+  ) {
+    CachedMemberInjector[] cachedInjectors = this.cachedMemberInjectors.get(memberHolderClass);
+    if (cachedInjectors == null) {
+      return null;
+    }
+
+    for (CachedMemberInjector cachedInjector : cachedInjectors) {
+      if (cachedInjector.matches(lookup)) {
+        // only write the flag if needed, to prevent contention on the field when the injector is requested often
+        if (!cachedInjector.referenced) {
+          cachedInjector.referenced = true;
+        }
+        return cachedInjector;
+      }
+    }
+
+    return null;
+  }
+
+  private void evictUnusedMemberInjectors() {
+    if (this.cachedMemberInjectors.size() <= MAX_CACHED_CLASSES) {
+      return;
+    }
+
+    // remove all classes whose member injectors were not requested since the last eviction run and reset the
+    // referenced flag of the others, these are removed in the next run unless they are requested until then
+    Iterator<CachedMemberInjector[]> iterator = this.cachedMemberInjectors.values().iterator();
+    while (iterator.hasNext()) {
+      boolean referenced = false;
+      for (CachedMemberInjector cachedInjector : iterator.next()) {
+        referenced |= cachedInjector.referenced;
+        cachedInjector.referenced = false;
+      }
+
+      if (!referenced) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * A member injector that was created using a lookup with specific access rights.
+   *
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  private static final class CachedMemberInjector {
+
+    private final Class<?> lookupClass;
+    private final int lookupModes;
+    private final MemberInjector<?> memberInjector;
+
+    private volatile boolean referenced = true;
+
+    /**
+     * Constructs a new cached member injector.
+     *
+     * @param lookup         the lookup that was used to create the member injector.
+     * @param memberInjector the created member injector.
+     */
+    private CachedMemberInjector(@NotNull MethodHandles.Lookup lookup, @NotNull MemberInjector<?> memberInjector) {
+      this.lookupClass = lookup.lookupClass();
+      this.lookupModes = lookup.lookupModes();
+      this.memberInjector = memberInjector;
+    }
+
+    /**
+     * Get if this member injector was created using a lookup that has the same access rights as the given lookup.
+     *
+     * @param lookup the lookup to check.
+     * @return true if this member injector was created using a lookup with the same access rights, false otherwise.
+     */
+    private boolean matches(@NotNull MethodHandles.Lookup lookup) {
+      return this.lookupClass == lookup.lookupClass() && this.lookupModes == lookup.lookupModes();
+    }
+  }
+
+  /**
+   * The key of a member injector creation, consisting of the target class and the access rights of the lookup.
+   *
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  private static final class CacheKey {
+
+    private final Class<?> memberHolderClass;
+    private final Class<?> lookupClass;
+    private final int lookupModes;
+
+    /**
+     * Constructs a new cache key.
+     *
+     * @param memberHolderClass the class to create the member injector for.
+     * @param lookup            the lookup to use to create the member injector.
+     */
+    private CacheKey(@NotNull Class<?> memberHolderClass, @NotNull MethodHandles.Lookup lookup) {
+      this.memberHolderClass = memberHolderClass;
+      this.lookupClass = lookup.lookupClass();
+      this.lookupModes = lookup.lookupModes();
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.memberHolderClass, this.lookupClass, this.lookupModes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey that = (CacheKey) o;
+      return this.memberHolderClass == that.memberHolderClass
+        && this.lookupClass == that.lookupClass
+        && this.lookupModes == that.lookupModes;
+    }
+  }
+}
@@ -0,0 +1,411 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.injector;
+
+import dev.derklaro.aerogel.Injector;
+import dev.derklaro.aerogel.ScopeApplier;
+import dev.derklaro.aerogel.binding.InstalledBinding;
+import dev.derklaro.aerogel.binding.UninstalledBinding;
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import dev.derklaro.aerogel.internal.binding.UninstalledBindingImpl;
+import dev.derklaro.aerogel.internal.context.ContextualBindingResolver;
+import dev.derklaro.aerogel.internal.context.InjectionContext;
+import dev.derklaro.aerogel.internal.member.DefaultMemberInjector;
+import dev.derklaro.aerogel.internal.scope.SingletonScopeApplier;
+import dev.derklaro.aerogel.internal.scope.UnscopedScopeApplier;
+import dev.derklaro.aerogel.internal.util.MapUtil;
+import dev.derklaro.aerogel.registry.Registry;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Eagerly constructs the values of singleton bindings in parallel. Before the construction starts, the dependency graph
+ * of the singletons is computed from the statically known construction dependencies and the injectable members of the
+ * constructed types. Unscoped bindings are constructed as part of the singleton that depends on them, therefore their
+ * dependencies are treated as dependencies of the singleton.
+ * <p>
+ * Singletons are constructed in topological order: a singleton is submitted to the executor as soon as all singletons
+ * it depends on were constructed, which allows independent singletons to be constructed concurrently. Singletons that
+ * are part of a dependency cycle (or depend on one) cannot be ordered, they are constructed one after another once all
+ * other singletons were constructed. A singleton is not constructed if one of its dependencies failed to construct.
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+final class SingletonInitializer {
+
+  private final Injector injector;
+  private final ContextualBindingResolver resolver;
+
+  /**
+   * Constructs a new singleton initializer.
+   *
+   * @param injector the injector to resolve the dependencies of the singletons from.
+   * @param resolver the resolver to use to construct the singleton values.
+   */
+  public SingletonInitializer(@NotNull Injector injector, @NotNull ContextualBindingResolver resolver) {
+    this.injector = injector;
+    this.resolver = resolver;
+  }
+
+  private static boolean singleton(@NotNull InstalledBinding<?> binding) {
+    return binding.scope().orElse(null) == SingletonScopeApplier.INSTANCE;
+  }
+
+  private static boolean unscoped(@NotNull InstalledBinding<?> binding) {
+    ScopeApplier scope = binding.scope().orElse(null);
+    return scope == null || scope == UnscopedScopeApplier.INSTANCE;
+  }
+
+  private static @NotNull List<BindingKey<?>> dependencies(@NotNull InstalledBinding<?> binding) {
+    UninstalledBinding<?> source = binding.asUninstalled();
+    if (!(source instanceof UninstalledBindingImpl<?>)) {
+      return List.of();
+    }
+
+    UninstalledBindingImpl<?> sourceImpl = (UninstalledBindingImpl<?>) source;
+    List<BindingKey<?>> dependencies = new ArrayList<>();
+    List<BindingKey<?>> constructionDependencies = sourceImpl.constructionDependencies();
+    if (constructionDependencies != null) {
+      dependencies.addAll(constructionDependencies);
+    }
+
+    Class<?> constructedType = sourceImpl.constructedType();
+    if (constructedType != null) {
+      try {
+        dependencies.addAll(DefaultMemberInjector.memberDependencies(constructedType));
+      } catch (RuntimeException ignored) {
+        // let the member injection report the issue with the member tree
+      }
+    }
+
+    return dependencies;
+  }
+
+  /**
+   * Constructs the values of all singleton bindings that are registered in the binding registry of the injector or one
+   * of its parent registries. The binding of each key is resolved through the injector, which means that bindings of
+   * parent registries that are shadowed by a binding of the injector are skipped.
+   *
+   * @param executor the executor to construct the singletons on.
+   * @return a future completed with the failures of the singletons that could not be constructed.
+   */
+  @SuppressWarnings("unchecked")
+  public @NotNull CompletableFuture<Map<BindingKey<?>, Throwable>> initializeInstalled(@NotNull Executor executor) {
+    Set<BindingKey<?>> keys = new LinkedHashSet<>();
+    Registry<BindingKey<?>, InstalledBinding<?>> registry = this.injector.bindingRegistry();
+    do {
+      Registry.WithKeyMapping<BindingKey<?>, InstalledBinding<?>> keyedRegistry
+        = (Registry.WithKeyMapping<BindingKey<?>, InstalledBinding<?>>) registry;
+      keys.addAll(keyedRegistry.entries().keySet());
+    } while ((registry = registry.parent().orElse(null)) != null);
+
+    List<InstalledBinding<?>> bindings = new ArrayList<>(keys.size());
+    for (BindingKey<?> key : keys) {
+      this.injector.existingBinding(key).ifPresent(bindings::add);
+    }
+
+    return this.initialize(bindings, new LinkedHashMap<>(), executor);
+  }
+
+  /**
+   * Constructs the values of the singleton bindings for the given keys. Keys that are not bound to a singleton binding
+   * are ignored.
+   *
+   * @param keys     the keys of the singletons to construct.
+   * @param executor the executor to construct the singletons on.
+   * @return a future completed with the failures of the singletons that could not be constructed.
+   */
+  public @NotNull CompletableFuture<Map<BindingKey<?>, Throwable>> initialize(
+    @NotNull Collection<BindingKey<?>> keys,
+    @NotNull Executor executor
+  ) {
+    Map<BindingKey<?>, Throwable> failures = new LinkedHashMap<>();
+    List<InstalledBinding<?>> bindings = new ArrayList<>(keys.size());
+    for (BindingKey<?> key : keys) {
+      try {
+        bindings.add(this.injector.binding(key));
+      } catch (RuntimeException exception) {
+        failures.put(key, exception);
+      }
+    }
+
+    return this.initialize(bindings, failures, executor);
+  }
+
+  private @NotNull CompletableFuture<Map<BindingKey<?>, Throwable>> initialize(
+    @NotNull Collection<InstalledBinding<?>> bindings,
+    @NotNull Map<BindingKey<?>, Throwable> failures,
+    @NotNull Executor executor
+  ) {
+    Map<InstalledBinding<?>, Node> nodes = new IdentityHashMap<>();
+    for (InstalledBinding<?> binding : bindings) {
+      if (singleton(binding) && InjectionContext.sealedValue(binding) == null) {
+        this.node(binding, nodes);
+      }
+    }
+
+    InitializationRun run = new InitializationRun(this.resolver, executor, failures);
+    return run.start(nodes.values());
+  }
+
+  private @NotNull Node node(@NotNull InstalledBinding<?> binding, @NotNull Map<InstalledBinding<?>, Node> nodes) {
+    Node node = nodes.get(binding);
+    if (node == null) {
+      node = new Node(binding);
+      nodes.put(binding, node);
+
+      Set<InstalledBinding<?>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+      visited.add(binding);
+      this.collectDependencies(binding, node, nodes, visited);
+    }
+
+    return node;
+  }
+
+  private void collectDependencies(
+    @NotNull InstalledBinding<?> binding,
+    @NotNull Node node,
+    @NotNull Map<InstalledBinding<?>, Node> nodes,
+    @NotNull Set<InstalledBinding<?>> visited
+  ) {
+    for (BindingKey<?> key : dependencies(binding)) {
+      InstalledBinding<?> dependency;
+      try {
+        dependency = this.injector.binding(key);
+      } catch (RuntimeException exception) {
+        // let the construction of the singleton report the issue with the binding
+        continue;
+      }
+
+      if (!visited.add(dependency)) {
+        continue;
+      }
+
+      if (singleton(dependency)) {
+        // singletons that are already constructed cannot delay the construction
+        if (InjectionContext.sealedValue(dependency) == null) {
+          node.dependencies.add(this.node(dependency, nodes));
+        }
+      } else if (unscoped(dependency)) {
+        this.collectDependencies(dependency, node, nodes, visited);
+      }
+    }
+  }
+
+  /**
+   * A singleton binding in the dependency graph.
+   *
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  private static final class Node {
+
+    private final InstalledBinding<?> binding;
+    private final List<Node> dependencies = new ArrayList<>();
+    private final List<Node> dependents = new ArrayList<>();
+    private final AtomicInteger pendingDependencies = new AtomicInteger();
+
+    private boolean cyclic;
+    private volatile Throwable failure;
+
+    /**
+     * Constructs a new node for the given singleton binding.
+     *
+     * @param binding the singleton binding represented by the node.
+     */
+    private Node(@NotNull InstalledBinding<?> binding) {
+      this.binding = binding;
+    }
+  }
+
+  /**
+   * A single run of the initializer which constructs the singletons of a dependency graph.
+   *
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  private static final class InitializationRun {
+
+    private final Executor executor;
+    private final ContextualBindingResolver resolver;
+    private final Map<BindingKey<?>, Throwable> failures;
+
+    private final List<Node> cyclicNodes = new ArrayList<>();
+    private final AtomicInteger remainingNodes = new AtomicInteger();
+    private final CompletableFuture<Map<BindingKey<?>, Throwable>> result = new CompletableFuture<>();
+
+    /**
+     * Constructs a new initialization run.
+     *
+     * @param resolver        the resolver to use to construct the singleton values.
+     * @param executor        the executor to construct the singletons on.
+     * @param initialFailures the failures that occurred before the run was started.
+     */
+    private InitializationRun(
+      @NotNull ContextualBindingResolver resolver,
+      @NotNull Executor executor,
+      @NotNull Map<BindingKey<?>, Throwable> initialFailures
+    ) {
+      this.resolver = resolver;
+      this.executor = executor;
+      this.failures = MapUtil.newConcurrentMap();
+      this.failures.putAll(initialFailures);
+    }
+
+    public @NotNull CompletableFuture<Map<BindingKey<?>, Throwable>> start(@NotNull Collection<Node> nodes) {
+      List<Node> roots = new ArrayList<>();
+      for (Node node : nodes) {
+        node.pendingDependencies.set(node.dependencies.size());
+        for (Node dependency : node.dependencies) {
+          dependency.dependents.add(node);
+        }
+
+        if (node.dependencies.isEmpty()) {
+          roots.add(node);
+        }
+      }
+
+      // sort the graph topologically, nodes that cannot be sorted are part of or depend on a dependency cycle
+      Map<Node, Integer> pending = new IdentityHashMap<>();
+      Queue<Node> sortable = new ArrayDeque<>(roots);
+      int sortedNodes = 0;
+      while (!sortable.isEmpty()) {
+        Node node = sortable.poll();
+        sortedNodes++;
+        for (Node dependent : node.dependents) {
+          int remaining = pending.getOrDefault(dependent, dependent.dependencies.size()) - 1;
+          pending.put(dependent, remaining);
+          if (remaining == 0) {
+            sortable.add(dependent);
+          }
+        }
+      }
+
+      for (Node node : nodes) {
+        if (pending.getOrDefault(node, node.dependencies.size()) > 0) {
+          node.cyclic = true;
+          this.cyclicNodes.add(node);
+        }
+      }
+
+      this.remainingNodes.set(sortedNodes);
+      if (sortedNodes == 0) {
+        this.finish();
+      } else {
+        for (Node root : roots) {
+          this.submit(root);
+        }
+      }
+
+      return this.result;
+    }
+
+    private void submit(@NotNull Node node) {
+      try {
+        this.executor.execute(() -> {
+          this.construct(node);
+          this.completed(node);
+        });
+      } catch (RejectedExecutionException exception) {
+        this.fail(node, exception);
+        this.completed(node);
+      }
+    }
+
+    private void construct(@NotNull Node node) {
+      for (Node dependency : node.dependencies) {
+        Throwable dependencyFailure = dependency.failure;
+        if (dependencyFailure != null) {
+          this.fail(node, new IllegalStateException(
+            "Dependency " + dependency.binding.mainKey() + " of " + node.binding.mainKey() + " failed to construct",
+            dependencyFailure));
+          return;
+        }
+      }
+
+      try {
+        this.resolver.resolveInstance(node.binding);
+      } catch (Throwable throwable) {
+        this.fail(node, throwable);
+      }
+    }
+
+    private void fail(@NotNull Node node, @NotNull Throwable failure) {
+      node.failure = failure;
+      this.failures.put(node.binding.mainKey(), failure);
+    }
+
+    private void completed(@NotNull Node node) {
+      for (Node dependent : node.dependents) {
+        if (!dependent.cyclic && dependent.pendingDependencies.decrementAndGet() == 0) {
+          this.submit(dependent);
+        }
+      }
+
+      if (this.remainingNodes.decrementAndGet() == 0) {
+        this.finish();
+      }
+    }
+
+    private void finish() {
+      if (this.cyclicNodes.isEmpty()) {
+        this.result.complete(Map.copyOf(this.failures));
+        return;
+      }
+
+      // the nodes in dependency cycles are constructed one after another, in the same way as calling instance()
+      try {
+        this.executor.execute(() -> {
+          for (Node cyclicNode : this.cyclicNodes) {
+            this.construct(cyclicNode);
+          }
+          this.result.complete(Map.copyOf(this.failures));
+        });
+      } catch (RejectedExecutionException exception) {
+        for (Node cyclicNode : this.cyclicNodes) {
+          this.fail(cyclicNode, exception);
+        }
+        this.result.complete(Map.copyOf(this.failures));
+      }
+    }
+  }
+}
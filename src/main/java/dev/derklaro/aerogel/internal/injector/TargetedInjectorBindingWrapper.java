@@ -142,7 +142,7 @@ public boolean supportsKey(@NotNull BindingKey<?> key) {
   static final class DynamicWrapper implements DynamicBinding {
 
     final TargetedInjectorImpl originalInjector;
-    private final DynamicBinding delegate;
+    final DynamicBinding delegate;
 
     public DynamicWrapper(@NotNull TargetedInjectorImpl originalInjector, @NotNull DynamicBinding delegate) {
       this.originalInjector = originalInjector;
@@ -36,16 +36,19 @@
 import dev.derklaro.aerogel.internal.binding.BindingOptionsImpl;
 import dev.derklaro.aerogel.internal.binding.builder.RootBindingBuilderImpl;
 import dev.derklaro.aerogel.internal.context.ContextualBindingResolver;
-import dev.derklaro.aerogel.internal.member.DefaultMemberInjector;
-import dev.derklaro.aerogel.internal.util.MapUtil;
+import dev.derklaro.aerogel.internal.util.RawTypeKeys;
+import dev.derklaro.aerogel.internal.util.SingleFlight;
 import dev.derklaro.aerogel.registry.Registry;
 import io.leangen.geantyref.TypeToken;
 import jakarta.inject.Provider;
 import java.lang.annotation.Annotation;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Type;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -58,8 +61,9 @@ final class TargetedInjectorImpl implements Injector {
   private final Injector nonTargetedInjector;
   private final JitBindingFactory jitBindingFactory;
   private final ContextualBindingResolver contextualBindingResolver;
+  private final MemberInjectorCache memberInjectorCache;
 
-  private final Map<Class<?>, MemberInjector<?>> memberInjectorCache = MapUtil.newConcurrentMap();
+  private final SingleFlight<BindingKey<?>, InstalledBinding<?>> jitBindingFlights = new SingleFlight<>();
 
   TargetedInjectorImpl(
     @NotNull Injector parent,
@@ -74,6 +78,7 @@ final class TargetedInjectorImpl implements Injector {
     this.nonTargetedInjector = nonTargetedInjector;
     this.jitBindingFactory = new JitBindingFactory(this);
     this.contextualBindingResolver = new ContextualBindingResolver(this);
+    this.memberInjectorCache = new MemberInjectorCache(this, injectorOptions.generatedInvokers());
   }
 
   @Override
@@ -93,7 +98,9 @@ final class TargetedInjectorImpl implements Injector {
 
   @Override
   public @NotNull RootBindingBuilder createBindingBuilder() {
-    BindingOptionsImpl standardBindingOptions = new BindingOptionsImpl(this.injectorOptions.memberLookup());
+    BindingOptionsImpl standardBindingOptions = new BindingOptionsImpl(
+      this.injectorOptions.memberLookup(),
+      this.injectorOptions.generatedInvokers());
     return new RootBindingBuilderImpl(standardBindingOptions, this.parent.scopeRegistry());
   }
 
@@ -103,27 +110,17 @@ final class TargetedInjectorImpl implements Injector {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public @NotNull <T> MemberInjector<T> memberInjector(
     @NotNull Class<T> memberHolderClass,
     @Nullable MethodHandles.Lookup givenLookup
   ) {
-    // try to load from cache first
-    MemberInjector<?> cachedMemberInjector = this.memberInjectorCache.get(memberHolderClass);
-    if (cachedMemberInjector != null) {
-      return (MemberInjector<T>) cachedMemberInjector;
-    }
-
-    // create a new member injector
     MethodHandles.Lookup lookup = givenLookup != null ? givenLookup : this.injectorOptions.memberLookup();
-    MemberInjector<T> newMemberInjector = new DefaultMemberInjector<>(memberHolderClass, this, lookup);
-    MemberInjector<?> knownInjector = this.memberInjectorCache.putIfAbsent(memberHolderClass, newMemberInjector);
-    return (MemberInjector<T>) (knownInjector != null ? knownInjector : newMemberInjector);
+    return this.memberInjectorCache.memberInjector(memberHolderClass, lookup);
   }
 
   @Override
   public @Nullable <T> T instance(@NotNull Class<T> type) {
-    BindingKey<T> key = BindingKey.of(type);
+    BindingKey<T> key = RawTypeKeys.keyOf(type);
     return this.instance(key);
   }
 
@@ -147,8 +144,7 @@ final class TargetedInjectorImpl implements Injector {
 
   @Override
   public @NotNull <T> Provider<T> provider(@NotNull BindingKey<T> key) {
-    InstalledBinding<T> binding = this.binding(key);
-    return this.contextualBindingResolver.constructProvider(binding);
+    return this.contextualBindingResolver.provider(key);
   }
 
   @Override
@@ -172,10 +168,21 @@ final class TargetedInjectorImpl implements Injector {
     }
 
     // construct a new jit binding for the type and register it to the non-targeted injector in the hierarchy
-    InstalledBinding<?> jitBinding = this.jitBindingFactory.createJitBinding(key);
-    InstalledBinding<?> wrappedBinding = new TargetedInjectorBindingWrapper.InstalledWrapper<>(this, jitBinding);
-    this.nonTargetedInjector.bindingRegistry().register(key, wrappedBinding);
-    return (InstalledBinding<T>) wrappedBinding;
+    // the binding is only constructed once if multiple threads request the binding at the same time
+    return (InstalledBinding<T>) this.jitBindingFlights.execute(key, () -> {
+      InstalledBinding<?> knownBinding = this.parent.existingBinding(key).orElse(null);
+      if (knownBinding != null) {
+        return knownBinding;
+      }
+
+      InstalledBinding<?> jitBinding = this.jitBindingFactory.createJitBinding(key);
+      InstalledBinding<?> wrappedBinding = new TargetedInjectorBindingWrapper.InstalledWrapper<>(this, jitBinding);
+      this.nonTargetedInjector.bindingRegistry().register(key, wrappedBinding);
+
+      // another injector might have registered a binding for the key in the meantime, use that binding in that case
+      InstalledBinding<?> registeredBinding = this.nonTargetedInjector.bindingRegistry().getDirect(key).orElse(null);
+      return registeredBinding != null ? registeredBinding : wrappedBinding;
+    });
   }
 
   @Override
@@ -191,6 +198,21 @@ final class TargetedInjectorImpl implements Injector {
     return this.parent.existingBinding(key);
   }
 
+  @Override
+  public @NotNull CompletableFuture<Map<BindingKey<?>, Throwable>> initializeSingletons(@NotNull Executor executor) {
+    SingletonInitializer initializer = new SingletonInitializer(this, this.contextualBindingResolver);
+    return initializer.initializeInstalled(executor);
+  }
+
+  @Override
+  public @NotNull CompletableFuture<Map<BindingKey<?>, Throwable>> initializeSingletons(
+    @NotNull Collection<BindingKey<?>> keys,
+    @NotNull Executor executor
+  ) {
+    SingletonInitializer initializer = new SingletonInitializer(this, this.contextualBindingResolver);
+    return initializer.initialize(keys, executor);
+  }
+
   @Override
   public @NotNull Injector installBinding(@NotNull DynamicBinding binding) {
     DynamicBinding wrappedBinding = new TargetedInjectorBindingWrapper.DynamicWrapper(this, binding);
@@ -0,0 +1,107 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.injector;
+
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import dev.derklaro.aerogel.internal.util.MapUtil;
+import java.util.Iterator;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A bounded cache of binding keys that are known to have no binding in an injector. The cache is tied to a version of
+ * the binding registries of the injector, all cached keys are dropped once the version changes. If the cache is full,
+ * an arbitrary cached key is evicted for each newly cached key.
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+final class UnboundKeyCache {
+
+  private static final int MAX_CACHED_KEYS = 512;
+
+  private volatile CachedKeys cachedKeys = new CachedKeys(-1);
+
+  /**
+   * Get if the given key is known to be unbound at the given registry version.
+   *
+   * @param key     the key to check.
+   * @param version the current version of the binding registries.
+   * @return true if the given key is known to be unbound, false otherwise.
+   */
+  public boolean knownUnbound(@NotNull BindingKey<?> key, long version) {
+    CachedKeys cachedKeys = this.cachedKeys;
+    return cachedKeys.version == version && cachedKeys.keys.containsKey(key);
+  }
+
+  /**
+   * Marks the given key as unbound. The given version must be read before the lookup of the key was started, to ensure
+   * that a binding installed during the lookup invalidates the cached result.
+   *
+   * @param key     the key that is unbound.
+   * @param version the version of the binding registries before the key lookup was started.
+   */
+  public void markUnbound(@NotNull BindingKey<?> key, long version) {
+    CachedKeys cachedKeys = this.cachedKeys;
+    if (cachedKeys.version != version) {
+      // the registries were modified, start over with a new set of keys
+      cachedKeys = new CachedKeys(version);
+      this.cachedKeys = cachedKeys;
+    }
+
+    // prevent the cache from growing without bounds when many distinct keys are looked up, evict an arbitrary
+    // key when the cache is full to make room for the new key
+    Map<BindingKey<?>, Boolean> keys = cachedKeys.keys;
+    if (keys.size() >= MAX_CACHED_KEYS) {
+      Iterator<BindingKey<?>> iterator = keys.keySet().iterator();
+      if (iterator.hasNext()) {
+        iterator.next();
+        iterator.remove();
+      }
+    }
+    keys.put(key, Boolean.TRUE);
+  }
+
+  /**
+   * The keys that are known to be unbound at a specific registry version.
+   *
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  private static final class CachedKeys {
+
+    private final long version;
+    private final Map<BindingKey<?>, Boolean> keys = MapUtil.newConcurrentMap();
+
+    /**
+     * Constructs a new, empty set of cached keys.
+     *
+     * @param version the version of the binding registries the keys are cached for.
+     */
+    private CachedKeys(long version) {
+      this.version = version;
+    }
+  }
+}
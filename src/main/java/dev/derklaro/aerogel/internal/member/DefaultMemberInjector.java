@@ -26,10 +26,16 @@
 
 import dev.derklaro.aerogel.Injector;
 import dev.derklaro.aerogel.MemberInjector;
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import dev.derklaro.aerogel.internal.codegen.MemberInjectorGenerator;
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Member;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.apiguardian.api.API;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -46,17 +52,28 @@
   private final Injector injector;
   private final Class<T> targetClass;
 
+  private final Consumer<Object> generatedInjector;
   private final List<MemberInjectionExecutor> memberInjectionExecutors;
 
   public DefaultMemberInjector(
     @NotNull Class<T> targetClass,
     @NotNull Injector injector,
-    @NotNull MethodHandles.Lookup lookup
+    @NotNull MethodHandles.Lookup lookup,
+    boolean generateInjector
   ) {
     this.injector = injector;
     this.targetClass = targetClass;
 
+    // the generated injector is optional, the member injection executors are used if it cannot be generated
     Collection<InjectableMember> injectableMembers = InjectionMemberCache.computeMemberTree(targetClass);
+    this.generatedInjector = generateInjector && !injectableMembers.isEmpty()
+      ? generateInjector(targetClass, injectableMembers, injector, lookup)
+      : null;
+    if (this.generatedInjector != null) {
+      this.memberInjectionExecutors = List.of();
+      return;
+    }
+
     this.memberInjectionExecutors = new ArrayList<>(injectableMembers.size());
     for (InjectableMember injectableMember : injectableMembers) {
       try {
@@ -68,6 +85,49 @@ public DefaultMemberInjector(
     }
   }
 
+  @SuppressWarnings("unchecked")
+  private static @Nullable Consumer<Object> generateInjector(
+    @NotNull Class<?> targetClass,
+    @NotNull Collection<InjectableMember> injectableMembers,
+    @NotNull Injector injector,
+    @NotNull MethodHandles.Lookup lookup
+  ) {
+    List<Member> members = new ArrayList<>(injectableMembers.size());
+    List<Supplier<?>> dependencyProviders = new ArrayList<>();
+    for (InjectableMember injectableMember : injectableMembers) {
+      members.add(injectableMember.member());
+      for (BindingKey<?> dependency : injectableMember.dependencies()) {
+        dependencyProviders.add(new MemberDependencyProvider(injector, dependency));
+      }
+    }
+
+    MethodHandle injectorFactory = MemberInjectorGenerator.generateMemberInjector(targetClass, members, lookup);
+    if (injectorFactory == null) {
+      return null;
+    }
+
+    try {
+      Supplier<?>[] dependencies = dependencyProviders.toArray(Supplier<?>[]::new);
+      return (Consumer<Object>) (Consumer<?>) injectorFactory.invokeExact(dependencies);
+    } catch (Throwable throwable) {
+      return null;
+    }
+  }
+
+  public static @NotNull List<BindingKey<?>> memberDependencies(@NotNull Class<?> targetClass) {
+    // the keys of all bindings that are resolved while injecting the members of the given class
+    List<BindingKey<?>> dependencies = new ArrayList<>();
+    for (InjectableMember injectableMember : InjectionMemberCache.computeMemberTree(targetClass)) {
+      dependencies.addAll(injectableMember.dependencies());
+    }
+    return dependencies;
+  }
+
+  public static boolean requiresMemberInjection(@NotNull Class<?> targetClass) {
+    // the member tree is cached per class, so this check is cheap after the first call for a class
+    return InjectionMemberCache.hasInjectableMembers(targetClass);
+  }
+
   @Override
   public @NotNull Injector injector() {
     return this.injector;
@@ -80,6 +140,19 @@ public DefaultMemberInjector(
 
   @Override
   public void injectMembers(@Nullable T instance) {
+    Consumer<Object> generatedInjector = this.generatedInjector;
+    if (generatedInjector != null) {
+      // generated injectors are only used for types without static members, nothing to do without an instance
+      if (instance != null) {
+        try {
+          generatedInjector.accept(instance);
+        } catch (Throwable throwable) {
+          throw new IllegalStateException("Issue while injecting members in " + this.targetClass, throwable);
+        }
+      }
+      return;
+    }
+
     try {
       for (MemberInjectionExecutor memberInjectionExecutor : this.memberInjectionExecutors) {
         memberInjectionExecutor.executeInjection(instance);
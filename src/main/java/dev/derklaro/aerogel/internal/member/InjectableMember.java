@@ -26,35 +26,25 @@
 
 import dev.derklaro.aerogel.Injector;
 import dev.derklaro.aerogel.binding.key.BindingKey;
-import dev.derklaro.aerogel.internal.context.scope.InjectionContextProvider;
-import dev.derklaro.aerogel.internal.context.scope.InjectionContextScope;
 import dev.derklaro.aerogel.internal.provider.ParameterProviderFactory;
 import dev.derklaro.aerogel.internal.util.MethodHandleUtil;
 import dev.derklaro.aerogel.internal.util.UnreflectionUtil;
-import jakarta.inject.Provider;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.List;
 import org.jetbrains.annotations.NotNull;
 
 abstract class InjectableMember {
 
-  private static @NotNull Provider<?> resolveProviderForKey(@NotNull Injector injector, @NotNull BindingKey<?> key) {
-    // try to get an overridden provider from the current injection scope first before
-    // trying to get a provider from the injector. that way overrides are preserved
-    // when doing member injection rather than being replaced by the usual binding
-    InjectionContextScope currentScope = InjectionContextProvider.provider().currentScope();
-    if (currentScope != null) {
-      Provider<?> overridden = currentScope.context().findOverriddenProvider(key);
-      if (overridden != null) {
-        return overridden;
-      }
-    }
+  @NotNull
+  public abstract Member member();
 
-    return injector.provider(key);
-  }
+  @NotNull
+  public abstract List<BindingKey<?>> dependencies();
 
   @NotNull
   public abstract MemberInjectionExecutor provideInjectionExecutor(
@@ -78,6 +68,16 @@ public InjectableField(@NotNull Field field) {
       this.key = BindingKey.of(field.getGenericType()).selectQualifier(field.getAnnotations());
     }
 
+    @Override
+    public @NotNull Member member() {
+      return this.field;
+    }
+
+    @Override
+    public @NotNull List<BindingKey<?>> dependencies() {
+      return List.of(this.key);
+    }
+
     @Override
     public @NotNull MemberInjectionExecutor provideInjectionExecutor(
       @NotNull Injector injector,
@@ -88,9 +88,9 @@ public InjectableField(@NotNull Field field) {
 
       // resolve the provider for the field and generify the setter method handle
       MethodHandle genericSetter = MethodHandleUtil.generifyFieldSetter(setter, this.isStatic);
+      MemberDependencyProvider fieldProvider = new MemberDependencyProvider(injector, this.key);
       return constructedInstance -> {
         if ((!this.isStatic && constructedInstance != null) || (this.isStatic && this.tracker.markInjected())) {
-          Provider<?> fieldProvider = InjectableMember.resolveProviderForKey(injector, this.key);
           Object fieldValue = fieldProvider.get();
           genericSetter.invokeExact(constructedInstance, fieldValue);
         }
@@ -116,6 +116,16 @@ public InjectableMethod(@NotNull Method method) {
       this.paramKeys = ParameterProviderFactory.resolveParameterKeys(method.getParameters());
     }
 
+    @Override
+    public @NotNull Member member() {
+      return this.method;
+    }
+
+    @Override
+    public @NotNull List<BindingKey<?>> dependencies() {
+      return List.of(this.paramKeys);
+    }
+
     @Override
     public @NotNull MemberInjectionExecutor provideInjectionExecutor(
       @NotNull Injector injector,
@@ -126,27 +136,30 @@ public InjectableMethod(@NotNull Method method) {
 
       // resolve the providers for the parameters & generify the invoke method handle
       MethodHandle genericInvoker = MethodHandleUtil.generifyMethodInvoker(invoker, this.isStatic, true);
+      MemberDependencyProvider[] paramProviders = new MemberDependencyProvider[this.paramKeys.length];
+      for (int index = 0; index < paramProviders.length; index++) {
+        paramProviders[index] = new MemberDependencyProvider(injector, this.paramKeys[index]);
+      }
+
       return constructedInstance -> {
         if ((!this.isStatic && constructedInstance != null) || (this.isStatic && this.tracker.markInjected())) {
-          Object[] params = this.resolveParameterValues(injector);
+          Object[] params = resolveParameterValues(paramProviders);
           genericInvoker.invokeExact(constructedInstance, params);
         }
       };
     }
 
-    private @NotNull Object[] resolveParameterValues(@NotNull Injector injector) {
+    private static @NotNull Object[] resolveParameterValues(@NotNull MemberDependencyProvider[] paramProviders) {
       // no providers, no parameter values
-      int paramKeyCount = this.paramKeys.length;
-      if (paramKeyCount == 0) {
+      int paramCount = paramProviders.length;
+      if (paramCount == 0) {
         return NO_PARAMS;
       }
 
       // resolve the instances for each target parameter
-      Object[] paramInstances = new Object[paramKeyCount];
-      for (int keyIndex = 0; keyIndex < paramKeyCount; keyIndex++) {
-        BindingKey<?> key = this.paramKeys[keyIndex];
-        Provider<?> paramProvider = InjectableMember.resolveProviderForKey(injector, key);
-        paramInstances[keyIndex] = paramProvider.get();
+      Object[] paramInstances = new Object[paramCount];
+      for (int index = 0; index < paramCount; index++) {
+        paramInstances[index] = paramProviders[index].get();
       }
 
       return paramInstances;
@@ -28,6 +28,7 @@
 import java.lang.reflect.Member;
 import java.lang.reflect.Modifier;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import org.apiguardian.api.API;
@@ -45,8 +46,31 @@
 @API(status = API.Status.INTERNAL, since = "2.0")
 final class InjectionMemberCache {
 
-  private static final Map<Member, InjectableMember> STATIC_MEMBER_CACHE = MapUtil.newConcurrentMap();
-  private static final Map<Class<?>, Collection<InjectableMember>> CACHE = MapUtil.newConcurrentMap();
+  // the caches are bound to the classes they describe, allowing the entries to be collected together with
+  // the class loader of the classes. static members are cached by their declaring class
+  private static final ClassValue<Map<Member, InjectableMember>> STATIC_MEMBER_CACHE =
+    new ClassValue<Map<Member, InjectableMember>>() {
+      @Override
+      protected @NotNull Map<Member, InjectableMember> computeValue(@NotNull Class<?> type) {
+        return MapUtil.newConcurrentMap();
+      }
+    };
+  private static final ClassValue<Collection<InjectableMember>> CACHE = new ClassValue<Collection<InjectableMember>>() {
+    @Override
+    protected @NotNull Collection<InjectableMember> computeValue(@NotNull Class<?> type) {
+      if (type == Object.class) {
+        return List.of();
+      }
+
+      // the tree of a class is based on the (cached) tree of its superclass, only the declared members of
+      // the class itself are analysed. the trees of the superclasses are cached in their own class values
+      Class<?> superclass = type.getSuperclass();
+      Collection<InjectableMember> superclassTree = superclass == null ? List.of() : CACHE.get(superclass);
+      MemberTreeProvider provider = new MemberTreeProvider(type, superclassTree);
+      provider.resolveInjectableMembers();
+      return provider.toMemberTree();
+    }
+  };
 
   private InjectionMemberCache() {
     throw new UnsupportedOperationException();
@@ -60,10 +84,11 @@ private InjectionMemberCache() {
       throw new IllegalArgumentException("cache only used for static members");
     }
 
-    InjectableMember cached = STATIC_MEMBER_CACHE.get(member);
+    Map<Member, InjectableMember> declaringClassCache = STATIC_MEMBER_CACHE.get(member.getDeclaringClass());
+    InjectableMember cached = declaringClassCache.get(member);
     if (cached == null) {
       InjectableMember computed = factory.apply(member);
-      InjectableMember registered = STATIC_MEMBER_CACHE.putIfAbsent(member, computed);
+      InjectableMember registered = declaringClassCache.putIfAbsent(member, computed);
       cached = registered != null ? registered : computed;
     }
 
@@ -72,16 +97,10 @@ private InjectionMemberCache() {
 
   @Unmodifiable
   public static @NotNull Collection<InjectableMember> computeMemberTree(@NotNull Class<?> type) {
-    Collection<InjectableMember> tree = CACHE.get(type);
-    if (tree == null) {
-      MemberTreeProvider provider = new MemberTreeProvider(type);
-      provider.resolveInjectableMembers();
-
-      Collection<InjectableMember> computedTree = provider.toMemberTree();
-      Collection<InjectableMember> registeredTree = CACHE.putIfAbsent(type, computedTree);
-      tree = registeredTree != null ? registeredTree : computedTree;
-    }
+    return CACHE.get(type);
+  }
 
-    return tree;
+  public static boolean hasInjectableMembers(@NotNull Class<?> type) {
+    return !computeMemberTree(type).isEmpty();
   }
 }
@@ -0,0 +1,116 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.member;
+
+import dev.derklaro.aerogel.Injector;
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import dev.derklaro.aerogel.internal.binding.BindingSlot;
+import dev.derklaro.aerogel.internal.context.scope.InjectionContextProvider;
+import dev.derklaro.aerogel.internal.context.scope.InjectionContextScope;
+import jakarta.inject.Provider;
+import java.util.function.Supplier;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Provides the values for a single dependency of an injectable member. The provider for the dependency is resolved
+ * from the injector once and re-used until the bindings known to the injector change. Providers that are overridden in
+ * the injection context which is currently constructing a value are always preferred over the resolved provider, that
+ * way overrides are preserved when doing member injection rather than being replaced by the usual binding.
+ * <p>
+ * This type implements {@link Supplier} as it is called from generated member injectors, which can only reference
+ * types that are accessible from the module of the class being injected.
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+final class MemberDependencyProvider implements Supplier<Object> {
+
+  private final Injector injector;
+  private final BindingKey<?> key;
+
+  // immutable snapshot, safe to publish without synchronization due to the final fields
+  private ResolvedProvider resolvedProvider;
+
+  /**
+   * Constructs a new provider for the dependency with the given key.
+   *
+   * @param injector the injector to resolve the provider for the dependency from.
+   * @param key      the key of the dependency.
+   */
+  public MemberDependencyProvider(@NotNull Injector injector, @NotNull BindingKey<?> key) {
+    this.injector = injector;
+    this.key = key;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @Nullable Object get() {
+    InjectionContextScope currentScope = InjectionContextProvider.provider().currentScope();
+    if (currentScope != null) {
+      Provider<?> overridden = currentScope.context().findOverriddenProvider(this.key);
+      if (overridden != null) {
+        return overridden.get();
+      }
+    }
+
+    // the version must be read before the lookup, a concurrent modification will then invalidate the result
+    long version = BindingSlot.bindingVersion(this.injector);
+    ResolvedProvider resolved = this.resolvedProvider;
+    if (resolved == null || resolved.version != version) {
+      resolved = new ResolvedProvider(version, this.injector.provider(this.key));
+      this.resolvedProvider = resolved;
+    }
+
+    return resolved.provider.get();
+  }
+
+  /**
+   * A provider that was resolved from the injector at a specific binding version.
+   *
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  private static final class ResolvedProvider {
+
+    private final long version;
+    private final Provider<?> provider;
+
+    /**
+     * Constructs a new resolved provider.
+     *
+     * @param version  the binding version of the injector at the time of the lookup.
+     * @param provider the resolved provider.
+     */
+    private ResolvedProvider(long version, @NotNull Provider<?> provider) {
+      this.version = version;
+      this.provider = provider;
+    }
+  }
+}
@@ -33,7 +33,6 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -92,13 +91,24 @@ final class MemberTreeProvider {
     }
   };
 
-  private final Class<?> baseClass;
+  private final Class<?> type;
 
   private final Map<Member, InjectableMember> injectableMembers = new LinkedHashMap<>();
   private final Map<MethodSignature, List<Method>> methodsBySignature = new HashMap<>();
 
-  public MemberTreeProvider(@NotNull Class<?> baseClass) {
-    this.baseClass = baseClass;
+  public MemberTreeProvider(@NotNull Class<?> type, @NotNull Collection<InjectableMember> superclassTree) {
+    this.type = type;
+
+    // start from the already computed tree of the superclass, only the members declared in the given type
+    // need to be analysed. all non-static methods in the tree are candidates for being overridden
+    for (InjectableMember injectableMember : superclassTree) {
+      Member member = injectableMember.member();
+      this.injectableMembers.put(member, injectableMember);
+      if (member instanceof Method && !Modifier.isStatic(member.getModifiers())) {
+        Method method = (Method) member;
+        this.methodsBySignature.computeIfAbsent(new MethodSignature(method), $ -> new ArrayList<>()).add(method);
+      }
+    }
   }
 
   private static int extractMethodOrder(@NotNull Method method) {
@@ -125,51 +135,43 @@ private static boolean methodOverriddenBy(@NotNull Method maybeOverride, @NotNul
   }
 
   public void resolveInjectableMembers() {
-    // compute the Hierarchy tree starting from the base class
-    List<Class<?>> hierarchyTree = this.computeHierarchyTree();
-    int startIndex = hierarchyTree.size() - 1;
-
-    for (int i = startIndex; i >= 0; i--) {
-      Class<?> currentType = hierarchyTree.get(i);
-
-      Field[] fields = currentType.getDeclaredFields();
-      Arrays.sort(fields, FIELDS_COMPARATOR);
-      for (Field field : fields) {
-        if (field.isAnnotationPresent(Inject.class)) {
-          this.registerInjectableField(field);
-        }
+    Field[] fields = this.type.getDeclaredFields();
+    Arrays.sort(fields, FIELDS_COMPARATOR);
+    for (Field field : fields) {
+      if (field.isAnnotationPresent(Inject.class)) {
+        this.registerInjectableField(field);
       }
+    }
 
-      Method[] methods = currentType.getDeclaredMethods();
-      Arrays.sort(methods, METHOD_COMPARATOR);
-      for (Method method : methods) {
-        // ignore methods added by the compiler
-        if (method.isSynthetic()
-          || method.getTypeParameters().length > 0
-          || Modifier.isAbstract(method.getModifiers())) {
-          continue;
-        }
+    Method[] methods = this.type.getDeclaredMethods();
+    Arrays.sort(methods, METHOD_COMPARATOR);
+    for (Method method : methods) {
+      // ignore methods added by the compiler
+      if (method.isSynthetic()
+        || method.getTypeParameters().length > 0
+        || Modifier.isAbstract(method.getModifiers())) {
+        continue;
+      }
 
-        if (method.isAnnotationPresent(Inject.class)) {
-          // register static methods as-is; these cannot be overridden higher up in the tree
-          // in case we encounter a non-static method, we need to decide which action to take based on the override status
-          if (Modifier.isStatic(method.getModifiers())) {
-            this.registerInjectableMethod(method);
-          } else {
-            this.replaceOrRegisterMethod(method, false);
-          }
+      if (method.isAnnotationPresent(Inject.class)) {
+        // register static methods as-is; these cannot be overridden higher up in the tree
+        // in case we encounter a non-static method, we need to decide which action to take based on the override status
+        if (Modifier.isStatic(method.getModifiers())) {
+          this.registerInjectableMethod(method);
         } else {
-          // the method is not injectable, remove all injectable super methods
-          this.replaceOrRegisterMethod(method, true);
+          this.replaceOrRegisterMethod(method, false);
         }
+      } else {
+        // the method is not injectable, remove all injectable super methods
+        this.replaceOrRegisterMethod(method, true);
       }
     }
   }
 
   @Unmodifiable
   public @NotNull Collection<InjectableMember> toMemberTree() {
-    Collection<InjectableMember> members = this.injectableMembers.values();
-    return Collections.unmodifiableCollection(members);
+    // the tree is immutable as it might be re-used when computing the trees of subclasses
+    return List.copyOf(this.injectableMembers.values());
   }
 
   private void replaceOrRegisterMethod(@NotNull Method method, boolean forceUnregister) {
@@ -219,17 +221,6 @@ private void registerInjectableMethod(@NotNull Method method) {
     this.injectableMembers.put(method, injectableField);
   }
 
-  private @NotNull List<Class<?>> computeHierarchyTree() {
-    Class<?> type = this.baseClass;
-    List<Class<?>> result = new ArrayList<>();
-    while (type != null && type != Object.class) {
-      result.add(type);
-      type = type.getSuperclass();
-    }
-
-    return result;
-  }
-
   /**
    * A signature that uniquely identifies a method. Takes the name and parameter types into account (changing the return
    * type is not making the method unique).
@@ -26,8 +26,9 @@
 
 import dev.derklaro.aerogel.binding.ProviderWithContext;
 import dev.derklaro.aerogel.binding.key.BindingKey;
+import dev.derklaro.aerogel.internal.binding.BindingSlot;
 import dev.derklaro.aerogel.internal.context.InjectionContext;
-import jakarta.inject.Provider;
+import java.util.List;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -48,23 +49,29 @@ private CascadingProviderFactory(@NotNull BindingKey<? extends T> cascadedTo) {
     return new CascadedProvider<>(this.cascadedTo);
   }
 
+  @Override
+  public @NotNull List<BindingKey<?>> constructionDependencies() {
+    return List.of(this.cascadedTo);
+  }
+
   private static final class CascadedProvider<T> implements ProviderWithContext<T> {
 
-    private final BindingKey<? extends T> cascadedTo;
+    private final BindingSlot<? extends T> targetSlot;
 
     public CascadedProvider(@NotNull BindingKey<? extends T> cascadedTo) {
-      this.cascadedTo = cascadedTo;
+      this.targetSlot = new BindingSlot<>(cascadedTo);
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public @Nullable T get(@NotNull InjectionContext context) {
-      Provider<? extends T> provider = context.injector().provider(this.cascadedTo);
-      return provider.get();
+      // resolve the target binding in the current tree, the slot re-uses the target binding unless the bindings changed
+      return (T) this.targetSlot.resolveValue(context);
     }
 
     @Override
     public @NotNull String toString() {
-      return "Cascaded(" + this.cascadedTo + ")";
+      return "Cascaded(" + this.targetSlot.key() + ")";
     }
   }
 }
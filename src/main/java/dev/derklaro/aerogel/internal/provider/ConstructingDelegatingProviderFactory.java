@@ -41,9 +41,11 @@ private ConstructingDelegatingProviderFactory(@NotNull ProviderFactory<Provider<
 
   public static @NotNull <T> ConstructingDelegatingProviderFactory<T> fromProviderClass(
     @NotNull Class<? extends Provider<? extends T>> provider,
-    @NotNull MethodHandles.Lookup lookup
+    @NotNull MethodHandles.Lookup lookup,
+    boolean generateInvoker
   ) {
-    ProviderFactory<Provider<? extends T>> providerFactory = ConstructorProviderFactory.fromClass(provider, lookup);
+    ProviderFactory<Provider<? extends T>> providerFactory =
+      ConstructorProviderFactory.fromClass(provider, lookup, generateInvoker);
     return new ConstructingDelegatingProviderFactory<>(providerFactory);
   }
 
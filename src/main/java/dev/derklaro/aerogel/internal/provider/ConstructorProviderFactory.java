@@ -25,9 +25,12 @@
 package dev.derklaro.aerogel.internal.provider;
 
 import dev.derklaro.aerogel.binding.ProviderWithContext;
+import dev.derklaro.aerogel.binding.key.BindingKey;
 import dev.derklaro.aerogel.internal.ConstructionException;
 import dev.derklaro.aerogel.internal.PassThroughException;
+import dev.derklaro.aerogel.internal.codegen.InvokerGenerator;
 import dev.derklaro.aerogel.internal.context.InjectionContext;
+import dev.derklaro.aerogel.internal.member.DefaultMemberInjector;
 import dev.derklaro.aerogel.internal.util.MethodHandleUtil;
 import dev.derklaro.aerogel.internal.util.RecordUtil;
 import dev.derklaro.aerogel.internal.util.UnreflectionUtil;
@@ -35,6 +38,7 @@
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Constructor;
+import java.util.List;
 import org.apiguardian.api.API;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -44,31 +48,45 @@
 
   private final Constructor<?> origConstructor;
   private final MethodHandle constructorHandle;
+  private final MethodHandle invokerFactory;
   private final ParameterProviderFactory parameterProvider;
 
   private ConstructorProviderFactory(
     @NotNull Constructor<?> origConstructor,
     @NotNull MethodHandle constructorHandle,
+    @Nullable MethodHandle invokerFactory,
     @NotNull ParameterProviderFactory parameterProvider
   ) {
     this.origConstructor = origConstructor;
     this.constructorHandle = constructorHandle;
+    this.invokerFactory = invokerFactory;
     this.parameterProvider = parameterProvider;
   }
 
   public static @NotNull <T> ConstructorProviderFactory<T> fromConstructor(
     @NotNull Constructor<? extends T> constructor,
-    @NotNull MethodHandles.Lookup lookup
+    @NotNull MethodHandles.Lookup lookup,
+    boolean generateInvoker
   ) {
     MethodHandle directConstructorHandle = UnreflectionUtil.unreflectConstructor(constructor, lookup);
     MethodHandle genericConstructorHandle = MethodHandleUtil.generifyConstructorInvoker(directConstructorHandle);
     ParameterProviderFactory parameterProviderFactory = ParameterProviderFactory.fromConstructor(constructor);
-    return new ConstructorProviderFactory<>(constructor, genericConstructorHandle, parameterProviderFactory);
+
+    // the generated invoker is optional, the generic constructor handle is used if it cannot be generated
+    MethodHandle invokerFactory = generateInvoker
+      ? InvokerGenerator.generateConstructorInvoker(constructor, lookup)
+      : null;
+    return new ConstructorProviderFactory<>(
+      constructor,
+      genericConstructorHandle,
+      invokerFactory,
+      parameterProviderFactory);
   }
 
   public static @NotNull <T> ConstructorProviderFactory<T> fromClass(
     @NotNull Class<? extends T> clazz,
-    @NotNull MethodHandles.Lookup lookup
+    @NotNull MethodHandles.Lookup lookup,
+    boolean generateInvoker
   ) {
     Constructor<?>[] constructors = clazz.getDeclaredConstructors();
 
@@ -113,38 +131,80 @@ private ConstructorProviderFactory(
     }
 
     //noinspection unchecked
-    return fromConstructor((Constructor<T>) match, lookup);
+    return fromConstructor((Constructor<T>) match, lookup, generateInvoker);
   }
 
   @Override
   public @NotNull ProviderWithContext<T> constructProvider() {
-    ProviderWithContext<Object[]> paramProvider = this.parameterProvider.constructProvider();
-    return new ConstructorProvider<>(this.origConstructor, this.constructorHandle, paramProvider);
+    ProviderWithContext<?>[] paramProviders = this.parameterProvider.constructParameterProviders();
+    ProviderWithContext<Object[]> paramProvider = this.parameterProvider.constructProvider(paramProviders);
+    ProviderWithContext<?> invoker = this.constructInvoker(paramProviders);
+    boolean injectMembers = DefaultMemberInjector.requiresMemberInjection(this.origConstructor.getDeclaringClass());
+    return new ConstructorProvider<>(this.origConstructor, this.constructorHandle, invoker, paramProvider, injectMembers);
+  }
+
+  private @Nullable ProviderWithContext<?> constructInvoker(@NotNull ProviderWithContext<?>[] paramProviders) {
+    if (this.invokerFactory == null) {
+      return null;
+    }
+
+    try {
+      return (ProviderWithContext<?>) this.invokerFactory.invokeExact(paramProviders);
+    } catch (Throwable throwable) {
+      throw ConstructionException.of(this.origConstructor, throwable);
+    }
+  }
+
+  @Override
+  public @NotNull List<BindingKey<?>> constructionDependencies() {
+    return this.parameterProvider.parameterKeys();
+  }
+
+  @Override
+  public @NotNull Class<?> constructedType() {
+    return this.origConstructor.getDeclaringClass();
   }
 
   private static final class ConstructorProvider<T> implements ProviderWithContext<T> {
 
     private final Constructor<?> origConstructor;
     private final MethodHandle constructorHandle;
+    private final ProviderWithContext<?> invoker;
     private final ProviderWithContext<Object[]> paramProvider;
+    private final boolean injectMembers;
 
     public ConstructorProvider(
       @NotNull Constructor<?> origConstructor,
       @NotNull MethodHandle constructorHandle,
-      @NotNull ProviderWithContext<Object[]> paramProvider
+      @Nullable ProviderWithContext<?> invoker,
+      @NotNull ProviderWithContext<Object[]> paramProvider,
+      boolean injectMembers
     ) {
       this.origConstructor = origConstructor;
       this.constructorHandle = constructorHandle;
+      this.invoker = invoker;
       this.paramProvider = paramProvider;
+      this.injectMembers = injectMembers;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public @Nullable T get(@NotNull InjectionContext context) {
       try {
-        Object[] paramValues = this.paramProvider.get(context);
-        Object constructedInstance = this.constructorHandle.invokeExact(paramValues);
-        context.requestMemberInjectionSameBinding(constructedInstance);
+        Object constructedInstance;
+        if (this.invoker != null) {
+          // the generated invoker resolves the parameters and calls the constructor directly
+          constructedInstance = this.invoker.get(context);
+        } else {
+          Object[] paramValues = this.paramProvider.get(context);
+          constructedInstance = this.constructorHandle.invokeExact(paramValues);
+        }
+
+        // skip the member injection request if the constructed type has no members to inject
+        if (this.injectMembers) {
+          context.requestMemberInjectionSameBinding(constructedInstance);
+        }
+
         return (T) constructedInstance;
       } catch (PassThroughException exception) {
         // internal marker exception, pass back to the caller
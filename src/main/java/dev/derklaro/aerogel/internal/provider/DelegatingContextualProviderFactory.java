@@ -25,7 +25,9 @@
 package dev.derklaro.aerogel.internal.provider;
 
 import dev.derklaro.aerogel.binding.ProviderWithContext;
+import dev.derklaro.aerogel.binding.key.BindingKey;
 import dev.derklaro.aerogel.internal.context.InjectionContext;
+import java.util.List;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -48,16 +50,29 @@ private DelegatingContextualProviderFactory(@NotNull ProviderWithContext<? exten
     return new DelegatingContextualProvider<>(this.delegate);
   }
 
+  @Override
+  public @Nullable List<BindingKey<?>> constructionDependencies() {
+    // leaf providers never resolve other bindings, the dependencies of other providers are unknown
+    return this.delegate instanceof LeafProvider<?> ? List.of() : null;
+  }
+
   private static final class DelegatingContextualProvider<T> implements ProviderWithContext<T> {
 
     private final ProviderWithContext<? extends T> delegate;
+    private final boolean retainsContext;
 
     public DelegatingContextualProvider(@NotNull ProviderWithContext<? extends T> delegate) {
       this.delegate = delegate;
+      this.retainsContext = !(delegate instanceof NonRetainingProvider<?>);
     }
 
     @Override
     public @Nullable T get(@NotNull InjectionContext context) {
+      // a delegate that is not part of aerogel might keep a reference to the given context
+      if (this.retainsContext) {
+        context.markRetained();
+      }
+
       return this.delegate.get(context);
     }
 
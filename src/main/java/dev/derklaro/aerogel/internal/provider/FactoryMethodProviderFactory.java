@@ -25,14 +25,18 @@
 package dev.derklaro.aerogel.internal.provider;
 
 import dev.derklaro.aerogel.binding.ProviderWithContext;
+import dev.derklaro.aerogel.binding.key.BindingKey;
 import dev.derklaro.aerogel.internal.ConstructionException;
 import dev.derklaro.aerogel.internal.PassThroughException;
+import dev.derklaro.aerogel.internal.codegen.InvokerGenerator;
 import dev.derklaro.aerogel.internal.context.InjectionContext;
+import dev.derklaro.aerogel.internal.member.DefaultMemberInjector;
 import dev.derklaro.aerogel.internal.util.MethodHandleUtil;
 import dev.derklaro.aerogel.internal.util.UnreflectionUtil;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
+import java.util.List;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -40,44 +44,83 @@
 
   private final Method origMethod;
   private final MethodHandle methodHandle;
+  private final MethodHandle invokerFactory;
   private final ParameterProviderFactory parameterProvider;
 
   public FactoryMethodProviderFactory(Method origMethod, MethodHandle methodHandle,
-    ParameterProviderFactory parameterProvider) {
+    MethodHandle invokerFactory, ParameterProviderFactory parameterProvider) {
     this.origMethod = origMethod;
     this.methodHandle = methodHandle;
+    this.invokerFactory = invokerFactory;
     this.parameterProvider = parameterProvider;
   }
 
   public static @NotNull <T> FactoryMethodProviderFactory<T> fromMethod(
     @NotNull Method factoryMethod,
-    @NotNull MethodHandles.Lookup lookup
+    @NotNull MethodHandles.Lookup lookup,
+    boolean generateInvoker
   ) {
     MethodHandle directMethodHandle = UnreflectionUtil.unreflectMethod(factoryMethod, lookup);
     MethodHandle genericMethodHandle = MethodHandleUtil.generifyMethodInvoker(directMethodHandle, true, false);
     ParameterProviderFactory parameterProviderFactory = ParameterProviderFactory.fromMethod(factoryMethod);
-    return new FactoryMethodProviderFactory<>(factoryMethod, genericMethodHandle, parameterProviderFactory);
+
+    // the generated invoker is optional, the generic method handle is used if it cannot be generated
+    MethodHandle invokerFactory = generateInvoker
+      ? InvokerGenerator.generateFactoryMethodInvoker(factoryMethod, lookup)
+      : null;
+    return new FactoryMethodProviderFactory<>(
+      factoryMethod,
+      genericMethodHandle,
+      invokerFactory,
+      parameterProviderFactory);
   }
 
   @Override
   public @NotNull ProviderWithContext<T> constructProvider() {
-    ProviderWithContext<Object[]> paramProvider = this.parameterProvider.constructProvider();
-    return new FactoryMethodProvider<>(this.origMethod, this.methodHandle, paramProvider);
+    ProviderWithContext<?>[] paramProviders = this.parameterProvider.constructParameterProviders();
+    ProviderWithContext<Object[]> paramProvider = this.parameterProvider.constructProvider(paramProviders);
+    ProviderWithContext<?> invoker = this.constructInvoker(paramProviders);
+    return new FactoryMethodProvider<>(this.origMethod, this.methodHandle, invoker, paramProvider);
+  }
+
+  private @Nullable ProviderWithContext<?> constructInvoker(@NotNull ProviderWithContext<?>[] paramProviders) {
+    if (this.invokerFactory == null) {
+      return null;
+    }
+
+    try {
+      return (ProviderWithContext<?>) this.invokerFactory.invokeExact(paramProviders);
+    } catch (Throwable throwable) {
+      throw ConstructionException.of(this.origMethod, throwable);
+    }
+  }
+
+  @Override
+  public @NotNull List<BindingKey<?>> constructionDependencies() {
+    return this.parameterProvider.parameterKeys();
+  }
+
+  @Override
+  public @NotNull Class<?> constructedType() {
+    return this.origMethod.getReturnType();
   }
 
   private static final class FactoryMethodProvider<T> implements ProviderWithContext<T> {
 
     private final Method origMethod;
     private final MethodHandle methodHandle;
+    private final ProviderWithContext<?> invoker;
     private final ProviderWithContext<Object[]> paramProvider;
 
     public FactoryMethodProvider(
       @NotNull Method origMethod,
       @NotNull MethodHandle methodHandle,
+      @Nullable ProviderWithContext<?> invoker,
       @NotNull ProviderWithContext<Object[]> paramProvider
     ) {
       this.origMethod = origMethod;
       this.methodHandle = methodHandle;
+      this.invoker = invoker;
       this.paramProvider = paramProvider;
     }
 
@@ -85,9 +128,20 @@ public FactoryMethodProvider(
     @SuppressWarnings("unchecked")
     public @Nullable T get(@NotNull InjectionContext context) {
       try {
-        Object[] paramValues = this.paramProvider.get(context);
-        Object constructedInstance = this.methodHandle.invokeExact((Object) null, paramValues);
-        context.requestMemberInjectionSameBinding(constructedInstance);
+        Object constructedInstance;
+        if (this.invoker != null) {
+          // the generated invoker resolves the parameters and calls the factory method directly
+          constructedInstance = this.invoker.get(context);
+        } else {
+          Object[] paramValues = this.paramProvider.get(context);
+          constructedInstance = this.methodHandle.invokeExact((Object) null, paramValues);
+        }
+
+        // the returned value might be a subtype of the return type, decide based on the actual value type
+        if (constructedInstance == null || DefaultMemberInjector.requiresMemberInjection(constructedInstance.getClass())) {
+          context.requestMemberInjectionSameBinding(constructedInstance);
+        }
+
         return (T) constructedInstance;
       } catch (PassThroughException exception) {
         // internal marker exception, pass back to the caller
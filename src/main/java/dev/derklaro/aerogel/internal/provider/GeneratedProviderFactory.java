@@ -0,0 +1,112 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.provider;
+
+import dev.derklaro.aerogel.binding.GeneratedFactory;
+import dev.derklaro.aerogel.binding.ProviderWithContext;
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import dev.derklaro.aerogel.internal.ConstructionException;
+import dev.derklaro.aerogel.internal.PassThroughException;
+import dev.derklaro.aerogel.internal.context.InjectionContext;
+import dev.derklaro.aerogel.internal.member.DefaultMemberInjector;
+import java.util.List;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+@API(status = API.Status.INTERNAL, since = "3.0")
+public final class GeneratedProviderFactory<T> implements ProviderFactory<T> {
+
+  private final GeneratedFactory<? extends T> factory;
+  private final ParameterProviderFactory parameterProvider;
+
+  private GeneratedProviderFactory(
+    @NotNull GeneratedFactory<? extends T> factory,
+    @NotNull ParameterProviderFactory parameterProvider
+  ) {
+    this.factory = factory;
+    this.parameterProvider = parameterProvider;
+  }
+
+  public static @NotNull <T> GeneratedProviderFactory<T> fromFactory(@NotNull GeneratedFactory<? extends T> factory) {
+    List<BindingKey<?>> parameterKeys = factory.parameterKeys();
+    ParameterProviderFactory parameterProviderFactory = ParameterProviderFactory.fromKeys(parameterKeys);
+    return new GeneratedProviderFactory<>(factory, parameterProviderFactory);
+  }
+
+  @Override
+  public @NotNull ProviderWithContext<T> constructProvider() {
+    ProviderWithContext<?>[] paramProviders = this.parameterProvider.constructParameterProviders();
+    ProviderWithContext<? extends T> invoker = this.factory.createInvoker(paramProviders);
+    return new GeneratedProvider<>(this.factory, invoker);
+  }
+
+  @Override
+  public @NotNull List<BindingKey<?>> constructionDependencies() {
+    return this.parameterProvider.parameterKeys();
+  }
+
+  @Override
+  public @NotNull Class<?> constructedType() {
+    return this.factory.constructedType();
+  }
+
+  private static final class GeneratedProvider<T> implements ProviderWithContext<T> {
+
+    private final GeneratedFactory<? extends T> factory;
+    private final ProviderWithContext<? extends T> invoker;
+
+    public GeneratedProvider(
+      @NotNull GeneratedFactory<? extends T> factory,
+      @NotNull ProviderWithContext<? extends T> invoker
+    ) {
+      this.factory = factory;
+      this.invoker = invoker;
+    }
+
+    @Override
+    public @Nullable T get(@NotNull InjectionContext context) {
+      try {
+        // the generated invoker resolves the parameters and calls the construction target directly
+        T constructedInstance = this.invoker.get(context);
+        if (constructedInstance == null || DefaultMemberInjector.requiresMemberInjection(constructedInstance.getClass())) {
+          context.requestMemberInjectionSameBinding(constructedInstance);
+        }
+
+        return constructedInstance;
+      } catch (PassThroughException exception) {
+        // internal marker exception, pass back to the caller
+        throw exception;
+      } catch (Throwable throwable) {
+        throw ConstructionException.of(this.factory, throwable);
+      }
+    }
+
+    @Override
+    public @NotNull String toString() {
+      return "Generated(" + this.factory.constructedType() + "(" + this.factory.parameterKeys() + "))";
+    }
+  }
+}
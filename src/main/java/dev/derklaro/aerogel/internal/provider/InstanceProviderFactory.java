@@ -25,7 +25,10 @@
 package dev.derklaro.aerogel.internal.provider;
 
 import dev.derklaro.aerogel.binding.ProviderWithContext;
+import dev.derklaro.aerogel.binding.key.BindingKey;
 import dev.derklaro.aerogel.internal.context.InjectionContext;
+import dev.derklaro.aerogel.internal.member.DefaultMemberInjector;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -47,6 +50,11 @@ private InstanceProviderFactory(@Nullable T instance) {
     return new InstanceProvider<>(this.instance);
   }
 
+  @Override
+  public @NotNull List<BindingKey<?>> constructionDependencies() {
+    return List.of();
+  }
+
   private static final class InstanceProvider<T> implements ProviderWithContext<T> {
 
     @SuppressWarnings("rawtypes")
@@ -58,7 +66,8 @@ private InstanceProviderFactory(@Nullable T instance) {
 
     public InstanceProvider(@Nullable T instance) {
       this.instance = instance;
-      this.membersInjected = Boolean.FALSE;
+      // a null instance might still require injection of static members, which is decided during member injection
+      this.membersInjected = instance != null && !DefaultMemberInjector.requiresMemberInjection(instance.getClass());
     }
 
     @Override
@@ -0,0 +1,43 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.provider;
+
+import dev.derklaro.aerogel.binding.ProviderWithContext;
+import org.apiguardian.api.API;
+
+/**
+ * A provider that is part of aerogel and is known to never keep a reference to the injection context it is called
+ * with. Contexts passed to providers bound using {@code toProvider} are marked as retained, unless the provider
+ * implements this interface.
+ *
+ * @param <T> the type being provided by this provider.
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@FunctionalInterface
+@API(status = API.Status.INTERNAL, since = "3.0")
+public interface NonRetainingProvider<T> extends ProviderWithContext<T> {
+
+}
@@ -24,17 +24,18 @@
 
 package dev.derklaro.aerogel.internal.provider;
 
-import dev.derklaro.aerogel.binding.InstalledBinding;
 import dev.derklaro.aerogel.binding.ProviderWithContext;
 import dev.derklaro.aerogel.binding.key.BindingKey;
+import dev.derklaro.aerogel.internal.binding.BindingSlot;
 import dev.derklaro.aerogel.internal.context.InjectionContext;
-import dev.derklaro.aerogel.internal.context.scope.InjectionContextScope;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.Arrays;
+import java.util.List;
 import org.apiguardian.api.API;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 @API(status = API.Status.INTERNAL, since = "3.0")
 public final class ParameterProviderFactory implements ProviderFactory<Object[]> {
@@ -61,6 +62,11 @@ private ParameterProviderFactory(@NotNull BindingKey<?>[] keys) {
     return new ParameterProviderFactory(paramKeys);
   }
 
+  public static @NotNull ParameterProviderFactory fromKeys(@NotNull List<BindingKey<?>> keys) {
+    BindingKey<?>[] paramKeys = keys.isEmpty() ? NO_KEYS : keys.toArray(BindingKey<?>[]::new);
+    return new ParameterProviderFactory(paramKeys);
+  }
+
   public static @NotNull BindingKey<?>[] resolveParameterKeys(@NotNull Parameter[] parameters) {
     // if there are no parameter types, there is just nothing we need to inject
     int paramCount = parameters.length;
@@ -77,23 +83,43 @@ private ParameterProviderFactory(@NotNull BindingKey<?>[] keys) {
     return keys;
   }
 
+  public @NotNull List<BindingKey<?>> parameterKeys() {
+    return List.of(this.keys);
+  }
+
+  public @NotNull ProviderWithContext<?>[] constructParameterProviders() {
+    int paramCount = this.keys.length;
+    ProviderWithContext<?>[] providers = new ProviderWithContext<?>[paramCount];
+    for (int index = 0; index < paramCount; index++) {
+      providers[index] = new SingleParameterProvider<>(this.keys[index]);
+    }
+    return providers;
+  }
+
   @Override
   public @NotNull ProviderWithContext<Object[]> constructProvider() {
-    return new ParameterProvider(this.keys);
+    ProviderWithContext<?>[] paramProviders = this.constructParameterProviders();
+    return this.constructProvider(paramProviders);
+  }
+
+  public @NotNull ProviderWithContext<Object[]> constructProvider(@NotNull ProviderWithContext<?>[] paramProviders) {
+    return new ParameterProvider(this.keys, paramProviders);
   }
 
   private static final class ParameterProvider implements ProviderWithContext<Object[]> {
 
     private final BindingKey<?>[] keys;
+    private final ProviderWithContext<?>[] paramProviders;
 
-    public ParameterProvider(@NotNull BindingKey<?>[] keys) {
+    public ParameterProvider(@NotNull BindingKey<?>[] keys, @NotNull ProviderWithContext<?>[] paramProviders) {
       this.keys = keys;
+      this.paramProviders = paramProviders;
     }
 
     @Override
     public @NotNull Object[] get(@NotNull InjectionContext context) {
       // no providers, no parameter values
-      int paramKeyCount = this.keys.length;
+      int paramKeyCount = this.paramProviders.length;
       if (paramKeyCount == 0) {
         return NO_PARAMS;
       }
@@ -101,11 +127,7 @@ public ParameterProvider(@NotNull BindingKey<?>[] keys) {
       // resolve the instances for each target parameter
       Object[] paramInstances = new Object[paramKeyCount];
       for (int keyIndex = 0; keyIndex < paramKeyCount; keyIndex++) {
-        BindingKey<?> key = this.keys[keyIndex];
-        InstalledBinding<?> binding = context.binding(key);
-        InjectionContextScope scope = context.enterSubcontextScope(binding);
-        Object paramInstance = scope.executeScoped(() -> scope.context().resolveInstance());
-        paramInstances[keyIndex] = paramInstance;
+        paramInstances[keyIndex] = this.paramProviders[keyIndex].get(context);
       }
 
       return paramInstances;
@@ -116,4 +138,25 @@ public ParameterProvider(@NotNull BindingKey<?>[] keys) {
       return "Params(" + Arrays.toString(this.keys) + ")";
     }
   }
+
+  private static final class SingleParameterProvider<T> implements ProviderWithContext<T> {
+
+    private final BindingSlot<T> bindingSlot;
+
+    public SingleParameterProvider(@NotNull BindingKey<T> key) {
+      this.bindingSlot = new BindingSlot<>(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @Nullable T get(@NotNull InjectionContext context) {
+      // the slot re-uses the binding resolved for the parameter unless the injector bindings changed
+      return (T) this.bindingSlot.resolveValue(context);
+    }
+
+    @Override
+    public @NotNull String toString() {
+      return "Param(" + this.bindingSlot.key() + ")";
+    }
+  }
 }
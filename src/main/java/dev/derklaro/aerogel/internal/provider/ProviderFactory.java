@@ -25,8 +25,11 @@
 package dev.derklaro.aerogel.internal.provider;
 
 import dev.derklaro.aerogel.binding.ProviderWithContext;
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import java.util.List;
 import org.apiguardian.api.API;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 @FunctionalInterface
 @API(status = API.Status.INTERNAL, since = "3.0")
@@ -34,4 +37,14 @@
 
   @NotNull
   ProviderWithContext<V> constructProvider();
+
+  // the keys of all bindings that are resolved while constructing a value, null if they are not statically known
+  default @Nullable List<BindingKey<?>> constructionDependencies() {
+    return null;
+  }
+
+  // the type whose members are injected into constructed values, null if it is not statically known
+  default @Nullable Class<?> constructedType() {
+    return null;
+  }
 }
@@ -0,0 +1,92 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.scope;
+
+import dev.derklaro.aerogel.ScopeApplier;
+import dev.derklaro.aerogel.binding.ProviderWithContext;
+import dev.derklaro.aerogel.internal.context.InjectionContext;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A provider that wraps the provider returned by a scope applier that is not provided by aerogel. The wrapped provider
+ * is user code which might keep a reference to the injection context it is called with, therefore the context is
+ * marked as retained before calling the wrapped provider.
+ *
+ * @param <T> the type being provided by this provider.
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+public final class CustomScopeProvider<T> implements ProviderWithContext<T> {
+
+  private final ProviderWithContext<T> delegate;
+
+  /**
+   * Constructs a new custom scope provider.
+   *
+   * @param delegate the provider returned by the custom scope applier.
+   */
+  private CustomScopeProvider(@NotNull ProviderWithContext<T> delegate) {
+    this.delegate = delegate;
+  }
+
+  /**
+   * Wraps the given provider returned by the given scope applier, if the scope applier is not provided by aerogel.
+   *
+   * @param scopeApplier the scope applier that returned the given provider.
+   * @param provider     the provider returned by the given scope applier.
+   * @param <T>          the type being provided by the given provider.
+   * @return the given provider, wrapped if the scope applier is not provided by aerogel.
+   */
+  public static @NotNull <T> ProviderWithContext<T> wrapIfCustom(
+    @NotNull ScopeApplier scopeApplier,
+    @NotNull ProviderWithContext<T> provider
+  ) {
+    if (scopeApplier == SingletonScopeApplier.INSTANCE || scopeApplier == UnscopedScopeApplier.INSTANCE) {
+      return provider;
+    } else {
+      return new CustomScopeProvider<>(provider);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @Nullable T get(@NotNull InjectionContext context) {
+    context.markRetained();
+    return this.delegate.get(context);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NotNull String toString() {
+    return "CustomScope(" + this.delegate + ")";
+  }
+}
@@ -28,7 +28,6 @@
 import dev.derklaro.aerogel.binding.ProviderWithContext;
 import dev.derklaro.aerogel.binding.key.BindingKey;
 import dev.derklaro.aerogel.internal.context.InjectionContext;
-import dev.derklaro.aerogel.internal.util.NullMask;
 import java.util.List;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -50,12 +49,12 @@ private SingletonScopeApplier() {
     return new SingletonScopeProvider<>(original);
   }
 
-  private static final class SingletonScopeProvider<T> implements ProviderWithContext<T> {
+  private static final class SingletonScopeProvider<T> implements KnownValueProvider<T> {
 
     private final Lock lock;
     private final ProviderWithContext<T> delegate;
 
-    private volatile Object singletonMasked;
+    private volatile SealedValue singletonValue;
 
     public SingletonScopeProvider(@NotNull ProviderWithContext<T> delegate) {
       this.delegate = delegate;
@@ -69,33 +68,34 @@ public SingletonScopeProvider(@NotNull ProviderWithContext<T> delegate) {
       return value;
     }
 
+    @SuppressWarnings("unchecked")
     private @Nullable T getOrConstruct(@NotNull InjectionContext context) {
       // check if the value was already constructed
-      Object constructed = this.singletonMasked;
+      SealedValue constructed = this.singletonValue;
       if (constructed != null) {
-        return this.unmask(constructed);
+        return (T) constructed.value();
       }
 
       this.lock.lock();
       try {
         // doubly checked locking - check if the value is constructed now
-        constructed = this.singletonMasked;
+        constructed = this.singletonValue;
         if (constructed != null) {
-          return this.unmask(constructed);
+          return (T) constructed.value();
         }
 
-        // still not constructed, construct now
+        // still not constructed, construct now and seal the value to allow consumers to use it directly
         T constructedFromDelegate = this.delegate.get(context);
-        this.singletonMasked = NullMask.mask(constructedFromDelegate);
+        this.singletonValue = new SealedValue(constructedFromDelegate);
         return constructedFromDelegate;
       } finally {
         this.lock.unlock();
       }
     }
 
-    @SuppressWarnings("unchecked")
-    private @Nullable T unmask(@NotNull Object val) {
-      return (T) NullMask.unmask(val);
+    @Override
+    public @Nullable SealedValue sealedValue() {
+      return this.singletonValue;
     }
 
     @Override
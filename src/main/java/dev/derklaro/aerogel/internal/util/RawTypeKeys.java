@@ -0,0 +1,65 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.util;
+
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A cache for binding keys of raw types without a qualifier annotation. Requesting an instance by its class is the most
+ * common way to interact with an injector, re-using the key for each request avoids allocating a new key each time.
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+public final class RawTypeKeys {
+
+  // the keys only reference the class they are computed for, which allows the class to be unloaded
+  private static final ClassValue<BindingKey<?>> KEYS = new ClassValue<BindingKey<?>>() {
+    @Override
+    protected @NotNull BindingKey<?> computeValue(@NotNull Class<?> type) {
+      return BindingKey.of(type);
+    }
+  };
+
+  private RawTypeKeys() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get the binding key for the given raw type without a qualifier annotation. Equivalent to
+   * {@link BindingKey#of(Class)}, but returns the same key instance for each call with the same type.
+   *
+   * @param type the raw type to get the binding key for.
+   * @param <T>  the type that is being matched.
+   * @return the binding key for the given raw type without a qualifier annotation.
+   */
+  @SuppressWarnings("unchecked")
+  public static @NotNull <T> BindingKey<T> keyOf(@NotNull Class<T> type) {
+    return (BindingKey<T>) KEYS.get(type);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.internal.util;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Deduplicates concurrent executions of an operation for the same key. The first thread that requests the execution
+ * for a key runs the operation, all other threads requesting an execution for the same key while the operation is
+ * running wait for the result of the running execution instead of executing the operation themselves.
+ *
+ * @param <K> the type of keys that identify an operation.
+ * @param <V> the type of values that are returned by the operations.
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+public final class SingleFlight<K, V> {
+
+  private final Map<K, Flight<V>> runningFlights = MapUtil.newConcurrentMap();
+
+  /**
+   * Executes the given operation for the given key, unless an execution for the key is already running. In that case
+   * the caller waits for the running execution to complete and gets the same result (or exception) as the thread that
+   * executed the operation. The operation should re-check if the result was already computed by a previous execution.
+   *
+   * @param key       the key that identifies the operation.
+   * @param operation the operation to execute if no execution for the given key is running.
+   * @return the result of the operation, either computed by this or another thread.
+   * @throws IllegalStateException if the current thread is already executing the operation for the given key.
+   */
+  public @NotNull V execute(@NotNull K key, @NotNull Supplier<V> operation) {
+    Flight<V> flight = new Flight<>(Thread.currentThread());
+    Flight<V> runningFlight = this.runningFlights.putIfAbsent(key, flight);
+    if (runningFlight != null) {
+      return runningFlight.await(key);
+    }
+
+    try {
+      V result = operation.get();
+      flight.result.complete(result);
+      return result;
+    } catch (Throwable throwable) {
+      flight.result.completeExceptionally(throwable);
+      throw throwable;
+    } finally {
+      this.runningFlights.remove(key, flight);
+    }
+  }
+
+  /**
+   * A single execution of an operation that other threads can wait for.
+   *
+   * @param <V> the type of value returned by the operation.
+   * @author Pasqual Koschmieder
+   * @since 3.0
+   */
+  private static final class Flight<V> {
+
+    private final Thread executingThread;
+    private final CompletableFuture<V> result;
+
+    public Flight(@NotNull Thread executingThread) {
+      this.executingThread = executingThread;
+      this.result = new CompletableFuture<>();
+    }
+
+    public @NotNull V await(@NotNull Object key) {
+      // waiting for the own execution would never complete
+      if (this.executingThread == Thread.currentThread()) {
+        throw new IllegalStateException("Detected recursive execution of operation for " + key);
+      }
+
+      try {
+        return this.result.join();
+      } catch (CompletionException exception) {
+        Throwable cause = exception.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw exception;
+      }
+    }
+  }
+}
@@ -28,6 +28,7 @@
 import java.util.function.Predicate;
 import org.apiguardian.api.API;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * The base implementation of a frozen registry that implements all shared methods between registry types.
@@ -39,7 +40,7 @@
  * @since 3.0
  */
 @API(status = API.Status.INTERNAL, since = "3.0")
-abstract class BaseFrozenRegistryImpl<K, V, R extends Registry<K, V>> implements Registry<K, V> {
+abstract class BaseFrozenRegistryImpl<K, V, R extends Registry<K, V>> implements Registry<K, V>, VersionedRegistry {
 
   protected final R delegate;
 
@@ -69,6 +70,14 @@ protected BaseFrozenRegistryImpl(@NotNull R delegate) {
     return this.delegate.get(key);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @Nullable V getOrNull(@NotNull K key) {
+    return this.delegate.getOrNull(key);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -108,4 +117,13 @@ public void unregister(@NotNull Predicate<V> filter) {
   public int entryCount() {
     return this.delegate.entryCount();
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long version() {
+    // frozen registries are only created by the internal registry implementations, which are all versioned
+    return ((VersionedRegistry) this.delegate).version();
+  }
 }
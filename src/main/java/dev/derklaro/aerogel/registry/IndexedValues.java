@@ -0,0 +1,197 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.registry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable, ordered snapshot of values that are indexed by a registry indexer. If multiple values match a key, the
+ * value that was placed first into the snapshot is returned.
+ *
+ * @param <K> the type of keys that can be used to access the values.
+ * @param <V> the type of values stored in the snapshot.
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+final class IndexedValues<K, V> {
+
+  private static final int[] NO_POSITIONS = new int[0];
+
+  private final long version;
+  private final Object[] values;
+  private final int[] unindexedPositions;
+  private final Map<Object, int[]> indexedPositions;
+
+  /**
+   * Constructs a new indexed values snapshot.
+   *
+   * @param version            the version of the registry at the time the snapshot was taken.
+   * @param values             all values in the snapshot, in lookup order.
+   * @param unindexedPositions the positions of the values that could not be indexed.
+   * @param indexedPositions   the positions of the indexed values, mapped by their index key.
+   */
+  private IndexedValues(
+    long version,
+    @NotNull Object[] values,
+    @NotNull int[] unindexedPositions,
+    @NotNull Map<Object, int[]> indexedPositions
+  ) {
+    this.version = version;
+    this.values = values;
+    this.unindexedPositions = unindexedPositions;
+    this.indexedPositions = indexedPositions;
+  }
+
+  /**
+   * Indexes the given values using the given indexer. If no indexer is given, all values are tested for every key.
+   *
+   * @param version the version of the registry at the time the values were collected.
+   * @param values  the values to index, in lookup order.
+   * @param indexer the indexer to use, null if the values should not be indexed.
+   * @param <K>     the type of keys that can be used to access the values.
+   * @param <V>     the type of values to index.
+   * @return a new snapshot of the given values.
+   */
+  static @NotNull <K, V> IndexedValues<K, V> index(
+    long version,
+    @NotNull Collection<V> values,
+    @Nullable RegistryIndexer<K, V> indexer
+  ) {
+    Object[] valueArray = values.toArray();
+    List<Integer> unindexed = new ArrayList<>();
+    Map<Object, List<Integer>> indexed = new HashMap<>();
+    for (int position = 0; position < valueArray.length; position++) {
+      @SuppressWarnings("unchecked")
+      V value = (V) valueArray[position];
+      Object indexKey = indexer != null ? indexer.valueIndexKey(value) : null;
+      if (indexKey == null) {
+        unindexed.add(position);
+      } else {
+        indexed.computeIfAbsent(indexKey, key -> new ArrayList<>()).add(position);
+      }
+    }
+
+    Map<Object, int[]> indexedPositions = new HashMap<>(indexed.size());
+    for (Map.Entry<Object, List<Integer>> entry : indexed.entrySet()) {
+      indexedPositions.put(entry.getKey(), toPositionArray(entry.getValue()));
+    }
+
+    return new IndexedValues<>(version, valueArray, toPositionArray(unindexed), indexedPositions);
+  }
+
+  /**
+   * Converts the given list of positions into an array of positions.
+   *
+   * @param positions the positions to convert.
+   * @return an array containing the given positions.
+   */
+  private static @NotNull int[] toPositionArray(@NotNull List<Integer> positions) {
+    if (positions.isEmpty()) {
+      return NO_POSITIONS;
+    }
+
+    int[] positionArray = new int[positions.size()];
+    for (int index = 0; index < positionArray.length; index++) {
+      positionArray[index] = positions.get(index);
+    }
+    return positionArray;
+  }
+
+  /**
+   * Get the version of the registry at the time this snapshot was taken.
+   *
+   * @return the version of the registry at the time this snapshot was taken.
+   */
+  public long version() {
+    return this.version;
+  }
+
+  /**
+   * Finds the first value in this snapshot that matches the given key.
+   *
+   * @param key       the key to find the matching value of.
+   * @param keyTester the tester to check if a value matches the given key.
+   * @param indexer   the indexer that was used to create this snapshot, null if no indexer was used.
+   * @return the first value matching the given key, null if no value matches.
+   */
+  @SuppressWarnings("unchecked")
+  public @Nullable V find(
+    @NotNull K key,
+    @NotNull BiPredicate<K, V> keyTester,
+    @Nullable RegistryIndexer<K, V> indexer
+  ) {
+    int limit = this.values.length;
+    int matchPosition = this.findFirstMatch(this.unindexedPositions, key, keyTester, limit);
+    if (indexer != null && !this.indexedPositions.isEmpty()) {
+      for (Object indexKey : indexer.candidateIndexKeys(key)) {
+        int[] positions = this.indexedPositions.get(indexKey);
+        if (positions != null) {
+          // only values placed before the current match need to be tested
+          matchPosition = this.findFirstMatch(positions, key, keyTester, matchPosition);
+        }
+      }
+    }
+
+    return matchPosition < limit ? (V) this.values[matchPosition] : null;
+  }
+
+  /**
+   * Finds the position of the first value at the given positions that matches the given key.
+   *
+   * @param positions the positions of the values to test, in ascending order.
+   * @param key       the key to find the matching value of.
+   * @param keyTester the tester to check if a value matches the given key.
+   * @param limit     the position at which the search should stop.
+   * @return the position of the first matching value, the given limit if no value before the limit matches.
+   */
+  @SuppressWarnings("unchecked")
+  private int findFirstMatch(
+    @NotNull int[] positions,
+    @NotNull K key,
+    @NotNull BiPredicate<K, V> keyTester,
+    int limit
+  ) {
+    for (int position : positions) {
+      if (position >= limit) {
+        break;
+      }
+
+      if (keyTester.test(key, (V) this.values[position])) {
+        return position;
+      }
+    }
+
+    return limit;
+  }
+}
@@ -33,6 +33,7 @@
 import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 /**
@@ -80,7 +81,29 @@ static <K, V> Registry.WithKeyMapping<K, V> createRegistryWithKeys() {
   @NotNull
   @Contract(value = "_ -> new", pure = true)
   static <K, V> Registry.WithoutKeyMapping<K, V> createRegistryWithoutKeys(@NotNull BiPredicate<K, V> keyTester) {
-    return new RegistryWithoutKeyImpl<>(keyTester);
+    return new RegistryWithoutKeyImpl<>(keyTester, null);
+  }
+
+  /**
+   * Creates a new root registry that uses no key bindings when registering values to it. The given key tester is used
+   * to check if a given key matches a registered value when an access operation via key is done. The given indexer is
+   * used to narrow down the values that need to be tested for a key, the registry and all of its child registries use
+   * the given indexer.
+   *
+   * @param keyTester the tester to check if a given key belongs to a registered value.
+   * @param indexer   the indexer to narrow down the values that need to be tested for a key.
+   * @param <K>       the type of keys.
+   * @param <V>       the type of values.
+   * @return a new root value-based registry.
+   */
+  @NotNull
+  @API(status = API.Status.INTERNAL, since = "3.0")
+  @Contract(value = "_, _ -> new", pure = true)
+  static <K, V> Registry.WithoutKeyMapping<K, V> createRegistryWithoutKeys(
+    @NotNull BiPredicate<K, V> keyTester,
+    @NotNull RegistryIndexer<K, V> indexer
+  ) {
+    return new RegistryWithoutKeyImpl<>(keyTester, indexer);
   }
 
   /**
@@ -102,6 +125,21 @@ static <K, V> Registry.WithoutKeyMapping<K, V> createRegistryWithoutKeys(@NotNul
   @NotNull
   Optional<V> get(@NotNull K key);
 
+  /**
+   * Get a value that matches the given key, using the same lookup rules as {@link #get(Object)}. Unlike
+   * {@link #get(Object)} this method returns null if no mapping exists, which allows lookups without the need to
+   * allocate an optional.
+   *
+   * @param key the key to get the mapped value of.
+   * @return the value mapped to the given key, null if no mapping exists.
+   * @see #get(Object)
+   */
+  @Nullable
+  @API(status = API.Status.INTERNAL, since = "3.0")
+  default V getOrNull(@NotNull K key) {
+    return this.get(key).orElse(null);
+  }
+
   /**
    * Get a value that matches the given key in this registry only. If no mapping is present in this registry, an empty
    * optional is returned instead of a lookup in the parent registry.
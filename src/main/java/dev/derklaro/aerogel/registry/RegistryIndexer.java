@@ -0,0 +1,67 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.registry;
+
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An indexer for registries without key mappings which allows the registry to narrow down the values that need to be
+ * tested for a given key. Values are indexed by a single index key. When looking up a key, only values that were indexed
+ * by one of the index keys returned for the key, and values that could not be indexed, are tested against the key.
+ * <p>
+ * Indexers must never exclude a value that matches a key, i.e. if a value matches a key, the index key of the value
+ * must either be null or be contained in the index keys returned for the key. Index keys are only used to narrow down
+ * the values to test, therefore collisions do not cause wrong lookup results.
+ *
+ * @param <K> the type of keys that can be used to access the values in the registry.
+ * @param <V> the type of values stored in the registry.
+ * @author Pasqual Koschmieder
+ * @see Registry#createRegistryWithoutKeys(java.util.function.BiPredicate, RegistryIndexer)
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+public interface RegistryIndexer<K, V> {
+
+  /**
+   * Get the index key of the given value, null if the value cannot be indexed and must be tested for every key.
+   *
+   * @param value the value to get the index key of.
+   * @return the index key of the given value, null if the value cannot be indexed.
+   */
+  @Nullable
+  Object valueIndexKey(@NotNull V value);
+
+  /**
+   * Get the index keys of all values that might match the given key. The returned array must not be modified by the
+   * caller.
+   *
+   * @param key the key to get the candidate index keys of.
+   * @return the index keys of all values that might match the given key.
+   */
+  @NotNull
+  Object[] candidateIndexKeys(@NotNull K key);
+}
@@ -0,0 +1,72 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.registry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The version of a registry that changes every time the registry or one of its ancestor registries is modified. A
+ * modification is pushed down to the versions of all child registries, which makes reading the version of a registry
+ * independent of the depth of the registry chain.
+ *
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+final class RegistryVersion {
+
+  private final AtomicLong version = new AtomicLong();
+  private final WeakChildren<RegistryVersion> children = new WeakChildren<>();
+
+  /**
+   * Constructs a new registry version which is modified every time the given parent version is modified.
+   *
+   * @param parent the version of the parent registry, null if the registry has no parent.
+   */
+  public RegistryVersion(@Nullable RegistryVersion parent) {
+    if (parent != null) {
+      parent.children.add(this);
+    }
+  }
+
+  /**
+   * Get the current version value.
+   *
+   * @return the current version value.
+   */
+  public long get() {
+    return this.version.get();
+  }
+
+  /**
+   * Modifies this version and the versions of all child registries.
+   */
+  public void increment() {
+    this.version.incrementAndGet();
+    this.children.forEach(RegistryVersion::increment);
+  }
+}
@@ -27,6 +27,7 @@
 import dev.derklaro.aerogel.internal.util.MapUtil;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -45,10 +46,19 @@
  * @since 3.0
  */
 @API(status = API.Status.INTERNAL, since = "3.0")
-final class RegistryWithKeyImpl<K, V> implements Registry.WithKeyMapping<K, V> {
+final class RegistryWithKeyImpl<K, V> implements Registry.WithKeyMapping<K, V>, VersionedRegistry {
 
   private final Map<K, V> backingMap;
-  private final Registry.WithKeyMapping<K, V> parent;
+  private final RegistryWithKeyImpl<K, V> parent;
+  private final RegistryVersion version;
+  private final Object modificationLock;
+  // the children that initialized their visible entries, which must be kept up-to-date when this registry changes
+  private final WeakChildren<RegistryWithKeyImpl<K, V>> children = new WeakChildren<>();
+
+  // the entries visible from this registry, the own entries shadowing the entries of all ancestor registries. lazily
+  // initialized on the first lookup of a child registry that misses the child, and shared by all child registries.
+  // the backing map is used directly for root registries, which have no ancestor entries to include
+  private volatile Map<K, V> visibleEntries;
 
   /**
    * Creates a new, empty root registry.
@@ -62,7 +72,7 @@ public RegistryWithKeyImpl() {
    *
    * @param parent the parent registry of this registry.
    */
-  private RegistryWithKeyImpl(@Nullable Registry.WithKeyMapping<K, V> parent) {
+  private RegistryWithKeyImpl(@Nullable RegistryWithKeyImpl<K, V> parent) {
     this(MapUtil.newConcurrentMap(), parent);
   }
 
@@ -72,9 +82,17 @@ private RegistryWithKeyImpl(@Nullable Registry.WithKeyMapping<K, V> parent) {
    * @param backingMap the backing map containing the entries of this registry.
    * @param parent     the parent registry of this registry.
    */
-  private RegistryWithKeyImpl(@NotNull Map<K, V> backingMap, @Nullable Registry.WithKeyMapping<K, V> parent) {
+  private RegistryWithKeyImpl(@NotNull Map<K, V> backingMap, @Nullable RegistryWithKeyImpl<K, V> parent) {
     this.backingMap = backingMap;
     this.parent = parent;
+    if (parent == null) {
+      this.version = new RegistryVersion(null);
+      this.modificationLock = new Object();
+    } else {
+      // all registries in a chain share the same lock, modifications are pushed down to the child registries
+      this.version = new RegistryVersion(parent.version);
+      this.modificationLock = parent.modificationLock;
+    }
   }
 
   /**
@@ -82,7 +100,13 @@ private RegistryWithKeyImpl(@NotNull Map<K, V> backingMap, @Nullable Registry.Wi
    */
   @Override
   public void register(@NotNull K key, @NotNull V value) {
-    this.backingMap.putIfAbsent(key, value);
+    synchronized (this.modificationLock) {
+      V previous = this.backingMap.putIfAbsent(key, value);
+      if (previous == null) {
+        this.pushVisibleEntry(key, value);
+        this.version.increment();
+      }
+    }
   }
 
   /**
@@ -107,18 +131,23 @@ public void register(@NotNull K key, @NotNull V value) {
    */
   @Override
   public @NotNull Optional<V> get(@NotNull K key) {
+    V mapping = this.getOrNull(key);
+    return Optional.ofNullable(mapping);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @Nullable V getOrNull(@NotNull K key) {
     // check current registry first
     V mapping = this.backingMap.get(key);
-    if (mapping != null) {
-      return Optional.of(mapping);
-    }
-
-    // try parent, if present
-    if (this.parent != null) {
-      return this.parent.get(key);
+    if (mapping != null || this.parent == null) {
+      return mapping;
     }
 
-    return Optional.empty();
+    // use the flattened entries visible from the parent registry to avoid walking up the chain
+    return this.parent.visibleEntries().get(key);
   }
 
   /**
@@ -135,7 +164,13 @@ public void register(@NotNull K key, @NotNull V value) {
    */
   @Override
   public void unregisterByKey(@NotNull K key) {
-    this.backingMap.remove(key);
+    synchronized (this.modificationLock) {
+      V removed = this.backingMap.remove(key);
+      if (removed != null) {
+        this.pushVisibleEntry(key, this.ancestorValue(key));
+        this.version.increment();
+      }
+    }
   }
 
   /**
@@ -143,7 +178,7 @@ public void unregisterByKey(@NotNull K key) {
    */
   @Override
   public void unregisterByValue(@NotNull V value) {
-    this.backingMap.values().removeIf(value::equals);
+    this.unregister(value::equals);
   }
 
   /**
@@ -151,7 +186,22 @@ public void unregisterByValue(@NotNull V value) {
    */
   @Override
   public void unregister(@NotNull Predicate<V> filter) {
-    this.backingMap.values().removeIf(filter);
+    synchronized (this.modificationLock) {
+      boolean modified = false;
+      Iterator<Map.Entry<K, V>> iterator = this.backingMap.entrySet().iterator();
+      while (iterator.hasNext()) {
+        Map.Entry<K, V> entry = iterator.next();
+        if (filter.test(entry.getValue())) {
+          iterator.remove();
+          this.pushVisibleEntry(entry.getKey(), this.ancestorValue(entry.getKey()));
+          modified = true;
+        }
+      }
+
+      if (modified) {
+        this.version.increment();
+      }
+    }
   }
 
   /**
@@ -162,6 +212,99 @@ public int entryCount() {
     return this.backingMap.size();
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long version() {
+    return this.version.get();
+  }
+
+  /**
+   * Get the entries visible from this registry. The entries of registries that are nearer to this registry shadow the
+   * entries of registries further up the chain. For registries that have a parent, the entries are collected once and
+   * kept up-to-date when this registry or one of its ancestors is modified.
+   *
+   * @return the entries visible from this registry.
+   */
+  private @NotNull Map<K, V> visibleEntries() {
+    RegistryWithKeyImpl<K, V> parent = this.parent;
+    if (parent == null) {
+      return this.backingMap;
+    }
+
+    Map<K, V> visibleEntries = this.visibleEntries;
+    if (visibleEntries != null) {
+      return visibleEntries;
+    }
+
+    synchronized (this.modificationLock) {
+      visibleEntries = this.visibleEntries;
+      if (visibleEntries != null) {
+        return visibleEntries;
+      }
+
+      // no modifications can happen while holding the lock, the collected entries are consistent
+      visibleEntries = MapUtil.newConcurrentMap();
+      visibleEntries.putAll(parent.visibleEntries());
+      visibleEntries.putAll(this.backingMap);
+
+      // register this registry to receive the modifications of the parent from now on
+      parent.children.add(this);
+      this.visibleEntries = visibleEntries;
+      return visibleEntries;
+    }
+  }
+
+  /**
+   * Get the value that is mapped to the given key in the nearest ancestor registry. Must only be called while holding
+   * the modification lock.
+   *
+   * @param key the key to get the ancestor value of.
+   * @return the value mapped to the given key in the nearest ancestor registry, null if no ancestor has a mapping.
+   */
+  private @Nullable V ancestorValue(@NotNull K key) {
+    for (RegistryWithKeyImpl<K, V> ancestor = this.parent; ancestor != null; ancestor = ancestor.parent) {
+      Map<K, V> visibleEntries = ancestor.visibleEntries;
+      if (visibleEntries != null) {
+        return visibleEntries.get(key);
+      }
+
+      V value = ancestor.backingMap.get(key);
+      if (value != null) {
+        return value;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Pushes the value that is visible for the given key from this registry into the visible entries of this registry
+   * and all child registries. Only the subtrees in which the key is not shadowed by a registry are updated, the entries
+   * of other keys are not touched. Child registries are only tracked once they initialized their visible entries, as
+   * there is nothing to update for the other children. Must only be called while holding the modification lock.
+   *
+   * @param key   the key whose visible value changed.
+   * @param value the value now visible for the key from this registry, null if no value is visible.
+   */
+  private void pushVisibleEntry(@NotNull K key, @Nullable V value) {
+    Map<K, V> visibleEntries = this.visibleEntries;
+    if (visibleEntries != null) {
+      if (value == null) {
+        visibleEntries.remove(key);
+      } else {
+        visibleEntries.put(key, value);
+      }
+    }
+
+    this.children.forEach(child -> {
+      // the mapping of the child shadows the changed value for the child and all of its children
+      if (!child.backingMap.containsKey(key)) {
+        child.pushVisibleEntry(key, value);
+      }
+    });
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -25,12 +25,15 @@
 package dev.derklaro.aerogel.registry;
 
 import dev.derklaro.aerogel.internal.util.MapUtil;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 import org.apiguardian.api.API;
@@ -45,52 +48,66 @@
  * @param <V> the type of values stored in this registry.
  * @author Pasqual Koschmieder
  * @see Registry#createRegistryWithoutKeys(BiPredicate)
+ * @see Registry#createRegistryWithoutKeys(BiPredicate, RegistryIndexer)
  * @since 3.0
  */
 @API(status = API.Status.INTERNAL, since = "3.0")
-final class RegistryWithoutKeyImpl<K, V> implements Registry.WithoutKeyMapping<K, V> {
+final class RegistryWithoutKeyImpl<K, V> implements Registry.WithoutKeyMapping<K, V>, VersionedRegistry {
 
   private final Map<V, Boolean> backingMap;
   private final BiPredicate<K, V> keyTester;
-  private final Registry.WithoutKeyMapping<K, V> parent;
+  private final RegistryIndexer<K, V> indexer;
+  private final RegistryWithoutKeyImpl<K, V> parent;
+  private final RegistryVersion version;
+  private final AtomicLong modificationCounter = new AtomicLong();
+
+  private volatile IndexedValues<K, V> directValues;
+  private volatile IndexedValues<K, V> ancestorValues;
 
   /**
    * Constructs a new, empty root registry.
    *
    * @param keyTester the tester to check if a given key belongs to a registered value.
+   * @param indexer   the indexer to narrow down the values to test for a key, null to test all values.
    */
-  public RegistryWithoutKeyImpl(@NotNull BiPredicate<K, V> keyTester) {
-    this(keyTester, null);
+  public RegistryWithoutKeyImpl(@NotNull BiPredicate<K, V> keyTester, @Nullable RegistryIndexer<K, V> indexer) {
+    this(keyTester, indexer, null);
   }
 
   /**
    * Constructs a new, empty registry that uses the given registry as the parent.
    *
    * @param keyTester the tester to check if a given key belongs to a registered value.
+   * @param indexer   the indexer to narrow down the values to test for a key, null to test all values.
    * @param parent    the parent registry of this registry.
    */
   private RegistryWithoutKeyImpl(
     @NotNull BiPredicate<K, V> keyTester,
-    @Nullable Registry.WithoutKeyMapping<K, V> parent
+    @Nullable RegistryIndexer<K, V> indexer,
+    @Nullable RegistryWithoutKeyImpl<K, V> parent
   ) {
-    this(keyTester, MapUtil.newConcurrentMap(), parent);
+    this(keyTester, indexer, MapUtil.newConcurrentMap(), parent);
   }
 
   /**
    * Creates a new registry that uses the given map as the backing map and the given registry as the parent.
    *
    * @param keyTester  the tester to check if a given key belongs to a registered value.
+   * @param indexer    the indexer to narrow down the values to test for a key, null to test all values.
    * @param backingMap the backing map containing the entries of this registry.
    * @param parent     the parent registry of this registry.
    */
   private RegistryWithoutKeyImpl(
     @NotNull BiPredicate<K, V> keyTester,
+    @Nullable RegistryIndexer<K, V> indexer,
     @NotNull Map<V, Boolean> backingMap,
-    @Nullable Registry.WithoutKeyMapping<K, V> parent
+    @Nullable RegistryWithoutKeyImpl<K, V> parent
   ) {
     this.keyTester = keyTester;
+    this.indexer = indexer;
     this.backingMap = backingMap;
     this.parent = parent;
+    this.version = new RegistryVersion(parent != null ? parent.version : null);
   }
 
   /**
@@ -98,7 +115,10 @@ private RegistryWithoutKeyImpl(
    */
   @Override
   public void register(@NotNull V value) {
-    this.backingMap.putIfAbsent(value, Boolean.TRUE);
+    Boolean previous = this.backingMap.putIfAbsent(value, Boolean.TRUE);
+    if (previous == null) {
+      this.markModified();
+    }
   }
 
   /**
@@ -123,18 +143,24 @@ public void register(@NotNull V value) {
    */
   @Override
   public @NotNull Optional<V> get(@NotNull K key) {
+    V mapping = this.getOrNull(key);
+    return Optional.ofNullable(mapping);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @Nullable V getOrNull(@NotNull K key) {
     // check current registry first
     V mapping = this.getDirectNullable(key);
-    if (mapping != null) {
-      return Optional.of(mapping);
+    if (mapping != null || this.parent == null) {
+      return mapping;
     }
 
-    // try parent, if present
-    if (this.parent != null) {
-      return this.parent.get(key);
-    }
-
-    return Optional.empty();
+    // use the flattened values of all parent registries to avoid walking up the chain
+    IndexedValues<K, V> ancestorValues = this.ancestorValues(this.parent);
+    return ancestorValues.find(key, this.keyTester, this.indexer);
   }
 
   /**
@@ -153,13 +179,44 @@ public void register(@NotNull V value) {
    * @return the value that matches the given key, null if no matching value is present.
    */
   private @Nullable V getDirectNullable(@NotNull K key) {
-    for (V entry : this.backingMap.keySet()) {
-      if (this.keyTester.test(key, entry)) {
-        return entry;
-      }
+    // the version must be read before collecting the values, modifications made while collecting
+    // will then cause the values to be collected again on the next call
+    long version = this.modificationCounter.get();
+    IndexedValues<K, V> directValues = this.directValues;
+    if (directValues == null || directValues.version() != version) {
+      directValues = IndexedValues.index(version, this.backingMap.keySet(), this.indexer);
+      this.directValues = directValues;
     }
 
-    return null;
+    return directValues.find(key, this.keyTester, this.indexer);
+  }
+
+  /**
+   * Get the flattened values of all ancestor registries of this registry. The values of registries that are nearer to
+   * this registry are placed before the values of registries further up the chain. The flattened values are re-used
+   * until any of the ancestor registries is modified.
+   *
+   * @param parent the parent registry of this registry.
+   * @return the flattened values of all ancestor registries of this registry.
+   */
+  private @NotNull IndexedValues<K, V> ancestorValues(@NotNull RegistryWithoutKeyImpl<K, V> parent) {
+    // the version must be read before collecting the values, modifications made while collecting
+    // will then cause the values to be collected again on the next call
+    long parentVersion = parent.version.get();
+    IndexedValues<K, V> ancestorValues = this.ancestorValues;
+    if (ancestorValues != null && ancestorValues.version() == parentVersion) {
+      return ancestorValues;
+    }
+
+    List<V> values = new ArrayList<>(parent.entries());
+    Registry<K, V> ancestor = parent;
+    while ((ancestor = ancestor.parent().orElse(null)) != null) {
+      values.addAll(((Registry.WithoutKeyMapping<K, V>) ancestor).entries());
+    }
+
+    ancestorValues = IndexedValues.index(parentVersion, values, this.indexer);
+    this.ancestorValues = ancestorValues;
+    return ancestorValues;
   }
 
   /**
@@ -167,7 +224,9 @@ public void register(@NotNull V value) {
    */
   @Override
   public void unregisterByKey(@NotNull K key) {
-    this.backingMap.keySet().removeIf(value -> this.keyTester.test(key, value));
+    if (this.backingMap.keySet().removeIf(value -> this.keyTester.test(key, value))) {
+      this.markModified();
+    }
   }
 
   /**
@@ -175,7 +234,10 @@ public void unregisterByKey(@NotNull K key) {
    */
   @Override
   public void unregisterByValue(@NotNull V value) {
-    this.backingMap.remove(value);
+    Boolean removed = this.backingMap.remove(value);
+    if (removed != null) {
+      this.markModified();
+    }
   }
 
   /**
@@ -183,7 +245,9 @@ public void unregisterByValue(@NotNull V value) {
    */
   @Override
   public void unregister(@NotNull Predicate<V> filter) {
-    this.backingMap.keySet().removeIf(filter);
+    if (this.backingMap.keySet().removeIf(filter)) {
+      this.markModified();
+    }
   }
 
   /**
@@ -194,6 +258,23 @@ public int entryCount() {
     return this.backingMap.size();
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long version() {
+    return this.version.get();
+  }
+
+  /**
+   * Marks this registry as modified, invalidating the values that were indexed for this registry and all of its child
+   * registries.
+   */
+  private void markModified() {
+    this.modificationCounter.incrementAndGet();
+    this.version.increment();
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -201,7 +282,7 @@ public int entryCount() {
   public @NotNull Registry.WithoutKeyMapping<K, V> copy() {
     Map<V, Boolean> newBackingMap = MapUtil.newConcurrentMap();
     newBackingMap.putAll(this.backingMap);
-    return new RegistryWithoutKeyImpl<>(this.keyTester, newBackingMap, this.parent);
+    return new RegistryWithoutKeyImpl<>(this.keyTester, this.indexer, newBackingMap, this.parent);
   }
 
   /**
@@ -217,7 +298,7 @@ public int entryCount() {
    */
   @Override
   public @NotNull Registry.WithoutKeyMapping<K, V> createChildRegistry() {
-    return new RegistryWithoutKeyImpl<>(this.keyTester, this);
+    return new RegistryWithoutKeyImpl<>(this.keyTester, this.indexer, this);
   }
 
   /**
@@ -0,0 +1,85 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel.registry;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.apiguardian.api.API;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Weakly holds the child registries (or parts of them) of a registry, to not prevent children that are no longer used
+ * from being garbage collected. References to collected children are removed every time a child is added or the
+ * children are visited, which keeps the amount of tracked references bounded by the amount of reachable children.
+ *
+ * @param <T> the type of children that are tracked.
+ * @author Pasqual Koschmieder
+ * @since 3.0
+ */
+@API(status = API.Status.INTERNAL, since = "3.0")
+final class WeakChildren<T> {
+
+  private final ReferenceQueue<T> collectedChildren = new ReferenceQueue<>();
+  private final Set<Reference<? extends T>> children = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Adds the given child to the tracked children.
+   *
+   * @param child the child to add.
+   */
+  public void add(@NotNull T child) {
+    this.expungeCollectedChildren();
+    this.children.add(new WeakReference<>(child, this.collectedChildren));
+  }
+
+  /**
+   * Calls the given action for each tracked child which was not yet garbage collected.
+   *
+   * @param action the action to call for each child.
+   */
+  public void forEach(@NotNull Consumer<T> action) {
+    this.expungeCollectedChildren();
+    for (Reference<? extends T> reference : this.children) {
+      T child = reference.get();
+      if (child != null) {
+        action.accept(child);
+      }
+    }
+  }
+
+  /**
+   * Removes the references to all children that were garbage collected since the last call to this method.
+   */
+  private void expungeCollectedChildren() {
+    Reference<? extends T> reference;
+    while ((reference = this.collectedChildren.poll()) != null) {
+      this.children.remove(reference);
+    }
+  }
+}
@@ -642,6 +642,23 @@ void testCascadedBindingKeepsCharacteristicsOfCascadedTarget() {
     Assertions.assertSame(instanceA, instanceC);
   }
 
+  @Test
+  void testCascadedBindingFollowsReplacedTargetBinding() {
+    Injector injector = Injector.newInjector();
+    UninstalledBinding<CharSequence> cascadedBinding = injector.createBindingBuilder()
+      .bind(CharSequence.class)
+      .cascadeTo(BindingKey.of(String.class));
+    injector
+      .installBinding(cascadedBinding)
+      .installBinding(injector.createBindingBuilder().bind(String.class).toInstance("Hello"));
+    Assertions.assertEquals("Hello", injector.instance(CharSequence.class));
+    Assertions.assertEquals("Hello", injector.instance(CharSequence.class));
+
+    injector.bindingRegistry().unregisterByKey(BindingKey.of(String.class));
+    injector.installBinding(injector.createBindingBuilder().bind(String.class).toInstance("World"));
+    Assertions.assertEquals("World", injector.instance(CharSequence.class));
+  }
+
   @Test
   @SuppressWarnings("rawtypes")
   void testBindingMultipleKeysToOneBinding() {
@@ -0,0 +1,246 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel;
+
+import dev.derklaro.aerogel.internal.codegen.ClassFileWriter;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ClassFileWriterTest {
+
+  private static final AtomicInteger CLASS_COUNTER = new AtomicInteger();
+  private static final String OBJECT_NAME = ClassFileWriter.internalName(Object.class);
+
+  private static ClassFileWriter newWriter() {
+    String name = ClassFileWriter.internalName(ClassFileWriterTest.class) + "$Generated" + CLASS_COUNTER.incrementAndGet();
+    return new ClassFileWriter(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_SUPER, name, OBJECT_NAME);
+  }
+
+  private static Class<?> defineAndVerify(ClassFileWriter writer) throws Exception {
+    // initializing the class links it, which runs all methods through the verifier
+    Class<?> type = MethodHandles.lookup().defineClass(writer.toByteArray());
+    return Class.forName(type.getName(), true, type.getClassLoader());
+  }
+
+  private static Object invokeStatic(Class<?> type, String name, Class<?>[] paramTypes, Object... args) throws Exception {
+    Method method = type.getMethod(name, paramTypes);
+    return method.invoke(null, args);
+  }
+
+  @Test
+  void testBranchesToNearAndFarTargets() throws Exception {
+    ClassFileWriter writer = newWriter();
+    ClassFileWriter.MethodWriter method = writer.method(
+      ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC,
+      "classify",
+      ClassFileWriter.methodDescriptor(int.class, Object.class, int.class),
+      2);
+    ClassFileWriter.Label nullValue = method.newLabel();
+    ClassFileWriter.Label zeroFlag = method.newLabel();
+    method
+      .loadReference(0)
+      .jumpIfNull(nullValue)
+      .loadLocal(int.class, 1)
+      .jumpIfZero(zeroFlag)
+      .pushInt(1)
+      .returnValue(int.class)
+      .placeLabel(nullValue);
+    // pad the code so that the offset to the second target needs an extended frame
+    for (int index = 0; index < 30; index++) {
+      method.pushString("padding").pop(String.class);
+    }
+    method
+      .pushInt(2)
+      .returnValue(int.class)
+      .placeLabel(zeroFlag)
+      .pushInt(3)
+      .returnValue(int.class)
+      .finish();
+
+    Class<?> type = defineAndVerify(writer);
+    Class<?>[] paramTypes = {Object.class, int.class};
+    Assertions.assertEquals(1, invokeStatic(type, "classify", paramTypes, "value", 1));
+    Assertions.assertEquals(2, invokeStatic(type, "classify", paramTypes, null, 1));
+    Assertions.assertEquals(2, invokeStatic(type, "classify", paramTypes, null, 0));
+    Assertions.assertEquals(3, invokeStatic(type, "classify", paramTypes, "value", 0));
+  }
+
+  @Test
+  void testMultipleJumpsToTheSameTarget() throws Exception {
+    ClassFileWriter writer = newWriter();
+    ClassFileWriter.MethodWriter method = writer.method(
+      ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC,
+      "anyNull",
+      ClassFileWriter.methodDescriptor(boolean.class, Object.class, Object.class),
+      2);
+    ClassFileWriter.Label isNull = method.newLabel();
+    method
+      .loadReference(0)
+      .jumpIfNull(isNull)
+      .loadReference(1)
+      .jumpIfNull(isNull)
+      .pushInt(0)
+      .returnValue(boolean.class)
+      .placeLabel(isNull)
+      .pushInt(1)
+      .returnValue(boolean.class)
+      .finish();
+
+    Class<?> type = defineAndVerify(writer);
+    Class<?>[] paramTypes = {Object.class, Object.class};
+    Assertions.assertEquals(false, invokeStatic(type, "anyNull", paramTypes, "a", "b"));
+    Assertions.assertEquals(true, invokeStatic(type, "anyNull", paramTypes, null, "b"));
+    Assertions.assertEquals(true, invokeStatic(type, "anyNull", paramTypes, "a", null));
+  }
+
+  @Test
+  void testLongAndDoubleSlots() throws Exception {
+    ClassFileWriter writer = newWriter();
+    // (int, long, double, long, Object) uses the slots 0, 1-2, 3-4, 5-6 and 7
+    Class<?>[] paramTypes = {int.class, long.class, double.class, long.class, Object.class};
+    writer
+      .method(
+        ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC,
+        "maxLong",
+        ClassFileWriter.methodDescriptor(long.class, paramTypes),
+        8)
+      .loadLocal(long.class, 1)
+      .loadLocal(long.class, 5)
+      .invokeStatic("java/lang/Math", "max", ClassFileWriter.methodDescriptor(long.class, long.class, long.class), false)
+      .returnValue(long.class)
+      .finish();
+    writer
+      .method(
+        ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC,
+        "doubleSum",
+        ClassFileWriter.methodDescriptor(double.class, paramTypes),
+        8)
+      .loadLocal(long.class, 5)
+      .pop(long.class)
+      .loadLocal(double.class, 3)
+      .loadLocal(double.class, 3)
+      .invokeStatic("java/lang/Double", "sum", ClassFileWriter.methodDescriptor(double.class, double.class, double.class), false)
+      .returnValue(double.class)
+      .finish();
+    writer
+      .method(
+        ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC,
+        "lastValue",
+        ClassFileWriter.methodDescriptor(Object.class, paramTypes),
+        8)
+      .loadLocal(int.class, 0)
+      .pop(int.class)
+      .loadLocal(Object.class, 7)
+      .returnValue(Object.class)
+      .finish();
+
+    Class<?> type = defineAndVerify(writer);
+    Object[] args = {1, 5L, 1.25D, 7L, "last"};
+    Assertions.assertEquals(7L, invokeStatic(type, "maxLong", paramTypes, args));
+    Assertions.assertEquals(2.5D, invokeStatic(type, "doubleSum", paramTypes, args));
+    Assertions.assertEquals("last", invokeStatic(type, "lastValue", paramTypes, args));
+  }
+
+  @Test
+  void testHighestLocalIndexes() throws Exception {
+    ClassFileWriter writer = newWriter();
+
+    // 254 int parameters followed by a reference, the reference is stored in the last possible slot (254)
+    Class<?>[] intParamTypes = new Class<?>[255];
+    Arrays.fill(intParamTypes, int.class);
+    intParamTypes[254] = Object.class;
+    writer
+      .method(
+        ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC,
+        "lastReference",
+        ClassFileWriter.methodDescriptor(Object.class, intParamTypes),
+        255)
+      .loadLocal(int.class, 253)
+      .pop(int.class)
+      .loadReference(254)
+      .returnValue(Object.class)
+      .finish();
+
+    // one int parameter followed by 127 long parameters, the last long is stored in the slots 253 and 254
+    Class<?>[] longParamTypes = new Class<?>[128];
+    Arrays.fill(longParamTypes, long.class);
+    longParamTypes[0] = int.class;
+    writer
+      .method(
+        ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC,
+        "lastLong",
+        ClassFileWriter.methodDescriptor(long.class, longParamTypes),
+        255)
+      .loadLocal(long.class, 253)
+      .returnValue(long.class)
+      .finish();
+
+    Class<?> type = defineAndVerify(writer);
+    Object[] intArgs = new Object[255];
+    for (int index = 0; index < 254; index++) {
+      intArgs[index] = index;
+    }
+    intArgs[254] = "reference";
+    Assertions.assertEquals("reference", invokeStatic(type, "lastReference", intParamTypes, intArgs));
+
+    Object[] longArgs = new Object[128];
+    longArgs[0] = 0;
+    for (int index = 1; index < 128; index++) {
+      longArgs[index] = (long) index;
+    }
+    Assertions.assertEquals(127L, invokeStatic(type, "lastLong", longParamTypes, longArgs));
+  }
+
+  @Test
+  void testWideLocalIndexesAreRejected() {
+    ClassFileWriter.MethodWriter method = newWriter().method(
+      ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC,
+      "wide",
+      ClassFileWriter.methodDescriptor(void.class),
+      0);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> method.loadReference(256));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> method.loadLocal(int.class, 256));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> method.loadLocal(double.class, 300));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> method.loadLocal(long.class, -1));
+  }
+
+  @Test
+  void testJumpToUnplacedLabelIsRejected() {
+    ClassFileWriter.MethodWriter method = newWriter().method(
+      ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC,
+      "unplaced",
+      ClassFileWriter.methodDescriptor(void.class, Object.class),
+      1);
+    method
+      .loadReference(0)
+      .jumpIfNull(method.newLabel())
+      .returnValue(void.class);
+    Assertions.assertThrows(IllegalStateException.class, method::finish);
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Qualifier;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ClassUnloadingTest {
+
+  private static final Set<String> ISOLATED_CLASS_NAMES = Set.of(
+    UnloadableType.class.getName(),
+    UnloadableHolder.class.getName(),
+    UnloadableQualifier.class.getName());
+
+  private static void awaitCollection(WeakReference<?> reference) throws InterruptedException {
+    for (int attempt = 0; attempt < 50 && reference.get() != null; attempt++) {
+      System.gc();
+      Thread.sleep(20);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static WeakReference<ClassLoader> injectInIsolatedLoader(boolean generatedInvokers) throws Exception {
+    ClassLoader loader = new IsolatingClassLoader(ClassUnloadingTest.class.getClassLoader());
+    Class<?> type = loader.loadClass(UnloadableType.class.getName());
+    Class<? extends Annotation> qualifier =
+      (Class<? extends Annotation>) loader.loadClass(UnloadableQualifier.class.getName());
+    Assertions.assertNotSame(UnloadableType.class, type);
+
+    Injector injector = Injector.builder().generatedInvokers(generatedInvokers).build();
+    injector.installBinding(injector.createBindingBuilder().bind(String.class).toInstance("world"));
+    injector.installBinding(injector.createBindingBuilder()
+      .bind(String.class)
+      .qualifiedWith(qualifier)
+      .toInstance("qualified"));
+
+    Object instance = injector.instance(type);
+    Field name = type.getDeclaredField("name");
+    Field qualifiedName = type.getDeclaredField("qualifiedName");
+    Field staticName = type.getDeclaredField("staticName");
+    Assertions.assertEquals("world", name.get(instance));
+    Assertions.assertEquals("qualified", qualifiedName.get(instance));
+    Assertions.assertEquals("world", staticName.get(null));
+
+    return new WeakReference<>(loader);
+  }
+
+  @Test
+  void testDiscardedLoaderIsCollectedAfterInjection() throws Exception {
+    WeakReference<ClassLoader> loaderReference = injectInIsolatedLoader(false);
+    awaitCollection(loaderReference);
+    Assertions.assertNull(loaderReference.get(), "class loader was retained after injection");
+  }
+
+  @Test
+  void testDiscardedLoaderIsCollectedAfterGeneratedInjection() throws Exception {
+    WeakReference<ClassLoader> loaderReference = injectInIsolatedLoader(true);
+    awaitCollection(loaderReference);
+    Assertions.assertNull(loaderReference.get(), "class loader was retained after injection");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testMemberInjectorsOfDiscardedLoadersAreEvictedFromLongLivedInjector() throws Exception {
+    Injector injector = Injector.newInjector();
+    injector.installBinding(injector.createBindingBuilder().bind(String.class).toInstance("world"));
+
+    WeakReference<ClassLoader> firstLoaderReference = null;
+    for (int index = 0; index < 1100; index++) {
+      ClassLoader loader = new IsolatingClassLoader(ClassUnloadingTest.class.getClassLoader());
+      Class<Object> type = (Class<Object>) loader.loadClass(UnloadableHolder.class.getName());
+      Object instance = type.getDeclaredConstructor().newInstance();
+      injector.memberInjector(type).injectMembers(instance);
+      Assertions.assertEquals("world", type.getDeclaredField("name").get(instance));
+
+      if (firstLoaderReference == null) {
+        firstLoaderReference = new WeakReference<>(loader);
+      }
+    }
+
+    // the member injector cache of the injector is bounded, the member injector of the first class must be evicted
+    awaitCollection(firstLoaderReference);
+    Assertions.assertNull(firstLoaderReference.get(), "class loader was retained by the injector");
+  }
+
+  @Qualifier
+  @Retention(RetentionPolicy.RUNTIME)
+  public @interface UnloadableQualifier {
+
+  }
+
+  public static final class UnloadableType {
+
+    @Inject
+    public static String staticName;
+
+    @Inject
+    public String name;
+
+    @Inject
+    @UnloadableQualifier
+    public String qualifiedName;
+  }
+
+  public static final class UnloadableHolder {
+
+    @Inject
+    public String name;
+  }
+
+  private static final class IsolatingClassLoader extends ClassLoader {
+
+    public IsolatingClassLoader(ClassLoader parent) {
+      super(parent);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      if (!ISOLATED_CLASS_NAMES.contains(name)) {
+        return super.loadClass(name, resolve);
+      }
+
+      synchronized (this.getClassLoadingLock(name)) {
+        Class<?> loaded = this.findLoadedClass(name);
+        if (loaded == null) {
+          // define the class again in this loader instead of delegating to the parent
+          String resourceName = name.replace('.', '/') + ".class";
+          try (InputStream stream = this.getParent().getResourceAsStream(resourceName)) {
+            byte[] classBytes = stream.readAllBytes();
+            loaded = this.defineClass(name, classBytes, 0, classBytes.length);
+          } catch (IOException exception) {
+            throw new ClassNotFoundException(name, exception);
+          }
+        }
+
+        return loaded;
+      }
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel;
+
+import dev.derklaro.aerogel.binding.InstalledBinding;
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Timeout;
+
+public class ConcurrentJitBindingTest {
+
+  private static final int THREADS = 16;
+
+  @BeforeEach
+  void resetCounters() {
+    JitSingleton.CONSTRUCTIONS.set(0);
+  }
+
+  @RepeatedTest(25)
+  @Timeout(30)
+  void testConcurrentJitBindingIsCreatedOnce() throws Exception {
+    Injector injector = Injector.newInjector();
+    BindingKey<JitSingleton> key = BindingKey.of(JitSingleton.class);
+
+    List<InstalledBinding<JitSingleton>> bindings = runConcurrently(() -> injector.binding(key));
+    for (InstalledBinding<JitSingleton> binding : bindings) {
+      Assertions.assertSame(bindings.get(0), binding);
+    }
+
+    List<JitSingleton> instances = runConcurrently(() -> injector.instance(JitSingleton.class));
+    for (JitSingleton instance : instances) {
+      Assertions.assertSame(instances.get(0), instance);
+    }
+    Assertions.assertEquals(1, JitSingleton.CONSTRUCTIONS.get());
+  }
+
+  @RepeatedTest(25)
+  @Timeout(30)
+  void testConcurrentJitSingletonIsConstructedOnce() throws Exception {
+    Injector injector = Injector.newInjector();
+    List<JitSingleton> instances = runConcurrently(() -> injector.instance(JitSingleton.class));
+    for (JitSingleton instance : instances) {
+      Assertions.assertSame(instances.get(0), instance);
+    }
+    Assertions.assertEquals(1, JitSingleton.CONSTRUCTIONS.get());
+  }
+
+  @RepeatedTest(25)
+  @Timeout(30)
+  void testConcurrentMemberInjectorIsCreatedOnce() throws Exception {
+    Injector injector = Injector.newInjector();
+    List<MemberInjector<MemberHolder>> memberInjectors = runConcurrently(
+      () -> injector.memberInjector(MemberHolder.class));
+    for (MemberInjector<MemberHolder> memberInjector : memberInjectors) {
+      Assertions.assertSame(memberInjectors.get(0), memberInjector);
+    }
+  }
+
+  @RepeatedTest(25)
+  @Timeout(30)
+  void testConcurrentTargetedJitBindingIsCreatedOnce() throws Exception {
+    Injector injector = Injector.newInjector();
+    Injector targetedInjector = injector.createTargetedInjectorBuilder().build();
+    List<JitSingleton> instances = runConcurrently(() -> targetedInjector.instance(JitSingleton.class));
+    for (JitSingleton instance : instances) {
+      Assertions.assertSame(instances.get(0), instance);
+    }
+    Assertions.assertEquals(1, JitSingleton.CONSTRUCTIONS.get());
+  }
+
+  private static <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      // start all tasks at the same time to maximize the contention
+      CyclicBarrier barrier = new CyclicBarrier(THREADS);
+      List<Future<T>> futures = new ArrayList<>(THREADS);
+      for (int i = 0; i < THREADS; i++) {
+        futures.add(executor.submit(() -> {
+          barrier.await(10, TimeUnit.SECONDS);
+          return task.call();
+        }));
+      }
+
+      List<T> results = new ArrayList<>(THREADS);
+      for (Future<T> future : futures) {
+        results.add(future.get(10, TimeUnit.SECONDS));
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Singleton
+  public static final class JitSingleton {
+
+    static final AtomicInteger CONSTRUCTIONS = new AtomicInteger();
+
+    @Inject
+    public JitSingleton(MemberHolder memberHolder) {
+      CONSTRUCTIONS.incrementAndGet();
+    }
+  }
+
+  public static final class MemberHolder {
+
+    @Inject
+    String someString;
+
+    @Inject
+    public void injectValue(String value) {
+    }
+  }
+}
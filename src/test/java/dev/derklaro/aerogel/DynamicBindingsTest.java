@@ -256,6 +256,97 @@ void testMatchingGenericType() {
     Assertions.assertThrows(IllegalStateException.class, () -> injector.binding(BindingKey.of(mapStringStringType)));
   }
 
+  @Test
+  void testIndexedDynamicBindingsAreResolvedThroughChildInjectors() throws AnnotationFormatException {
+    Injector injector = Injector.newInjector();
+    for (int i = 0; i < 100; i++) {
+      int index = i;
+      DynamicBinding binding = injector.createBindingBuilder().bindDynamically()
+        .matchAnnotation(MemberQualifier.class, qualifier -> qualifier.value().equals("ns" + index))
+        .toKeyedBindingProvider((key, bb) -> bb.toInstance("namespace " + index));
+      injector.installBinding(binding);
+    }
+
+    DynamicBinding superTypeBinding = injector.createBindingBuilder().bindDynamically()
+      .superRawType(CharSequence[].class)
+      .toKeyedBindingProvider((key, bb) -> bb.toInstance(new String[]{"array"}));
+    DynamicBinding opaqueBinding = injector.createBindingBuilder().bindDynamically()
+      .matchType(type -> type == Long.class)
+      .toKeyedBindingProvider((key, bb) -> bb.toInstance(1337L));
+    injector.installBinding(superTypeBinding).installBinding(opaqueBinding);
+
+    Injector child = injector.createChildInjector().createChildInjector();
+    DynamicBinding childBinding = child.createBindingBuilder().bindDynamically()
+      .exactRawType(Integer.class)
+      .toKeyedBindingProvider((key, bb) -> bb.toInstance(42));
+    child.installBinding(childBinding);
+
+    Assertions.assertEquals(42, child.instance(Integer.class));
+    Assertions.assertEquals(1337L, child.instance(Long.class));
+    Assertions.assertArrayEquals(new String[]{"array"}, child.instance(String[].class));
+    Assertions.assertFalse(injector.existingBinding(BindingKey.of(Integer.class)).isPresent());
+
+    for (int i = 0; i < 100; i += 25) {
+      Annotation qualifier = TypeFactory.annotation(MemberQualifier.class, Collections.singletonMap("value", "ns" + i));
+      Assertions.assertEquals("namespace " + i, child.instance(BindingKey.of(String.class).withQualifier(qualifier)));
+    }
+  }
+
+  @Test
+  void testUnboundKeysAreNotCheckedAgainstDynamicBindingsUntilModification() {
+    Injector injector = Injector.newInjector();
+    AtomicInteger predicateCalls = new AtomicInteger();
+    DynamicBinding binding = injector.createBindingBuilder().bindDynamically()
+      .matchType(type -> {
+        predicateCalls.incrementAndGet();
+        return type == Long.class;
+      })
+      .toKeyedBindingProvider((key, bb) -> bb.toInstance(1337L));
+    injector.installBinding(binding);
+
+    BindingKey<String> unboundKey = BindingKey.of(String.class);
+    for (int i = 0; i < 10; i++) {
+      Assertions.assertFalse(injector.existingBinding(unboundKey).isPresent());
+    }
+    Assertions.assertEquals(1, predicateCalls.get());
+
+    // installing a binding must invalidate the known unbound keys
+    injector.installBinding(injector.createBindingBuilder().bind(Integer.class).toInstance(42));
+    Assertions.assertFalse(injector.existingBinding(unboundKey).isPresent());
+    Assertions.assertEquals(2, predicateCalls.get());
+
+    injector.installBinding(injector.createBindingBuilder().bind(unboundKey).toInstance("Hello"));
+    Assertions.assertTrue(injector.existingBinding(unboundKey).isPresent());
+  }
+
+  @Test
+  void testUnboundKeysAreCachedWhenCacheIsFull() throws AnnotationFormatException {
+    Injector injector = Injector.newInjector();
+    AtomicInteger predicateCalls = new AtomicInteger();
+    DynamicBinding binding = injector.createBindingBuilder().bindDynamically()
+      .matchType(type -> {
+        predicateCalls.incrementAndGet();
+        return type == Long.class;
+      })
+      .toKeyedBindingProvider((key, bb) -> bb.toInstance(1337L));
+    injector.installBinding(binding);
+
+    // look up more distinct unbound keys than the cache can hold
+    for (int i = 0; i < 1000; i++) {
+      Annotation qualifier = TypeFactory.annotation(MemberQualifier.class, Collections.singletonMap("value", "k" + i));
+      Assertions.assertFalse(injector.existingBinding(BindingKey.of(String.class).withQualifier(qualifier)).isPresent());
+    }
+    Assertions.assertEquals(1000, predicateCalls.get());
+
+    // new keys must still be cached once the cache is full
+    Annotation qualifier = TypeFactory.annotation(MemberQualifier.class, Collections.singletonMap("value", "new"));
+    BindingKey<String> unboundKey = BindingKey.of(String.class).withQualifier(qualifier);
+    for (int i = 0; i < 10; i++) {
+      Assertions.assertFalse(injector.existingBinding(unboundKey).isPresent());
+    }
+    Assertions.assertEquals(1001, predicateCalls.get());
+  }
+
   // @formatter:off
   @Scope @Retention(RetentionPolicy.SOURCE) public @interface SourceScope {}
   @Scope @Retention(RetentionPolicy.RUNTIME) public @interface ValidScope {}
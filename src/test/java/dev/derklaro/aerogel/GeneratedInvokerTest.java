@@ -0,0 +1,106 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel;
+
+import dev.derklaro.aerogel.internal.codegen.InvokerGenerator;
+import jakarta.inject.Inject;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+@EnabledForJreRange(min = JRE.JAVA_15, disabledReason = "Hidden classes are only supported on Java 15+")
+public class GeneratedInvokerTest {
+
+  private static int factoryCalls;
+
+  @Test
+  void testInvokerIsGeneratedForPrivateConstructor() throws Exception {
+    Constructor<?> constructor = ConstructedType.class.getDeclaredConstructor(String.class, int.class, long.class);
+    Assertions.assertNotNull(InvokerGenerator.generateConstructorInvoker(constructor, MethodHandles.lookup()));
+  }
+
+  @Test
+  void testInvokerIsNotGeneratedWithoutAccess() throws Exception {
+    // java.base does not open its packages, the default method handle invocation must be used
+    Constructor<?> constructor = StringBuilder.class.getDeclaredConstructor(String.class);
+    Assertions.assertNull(InvokerGenerator.generateConstructorInvoker(constructor, MethodHandles.lookup()));
+  }
+
+  @Test
+  void testConstructorInvocationThroughGeneratedInvoker() {
+    Injector injector = Injector.builder().generatedInvokers(true).build();
+    injector.installBinding(injector.createBindingBuilder().bind(String.class).toInstance("world"));
+    injector.installBinding(injector.createBindingBuilder().bind(int.class).toInstance(1234));
+    injector.installBinding(injector.createBindingBuilder().bind(long.class).toInstance(5678L));
+
+    ConstructedType instance = injector.instance(ConstructedType.class);
+    Assertions.assertEquals("world", instance.name);
+    Assertions.assertEquals(1234, instance.count);
+    Assertions.assertEquals(5678L, instance.total);
+    Assertions.assertNotNull(instance.injector);
+  }
+
+  @Test
+  void testFactoryMethodInvocationThroughGeneratedInvoker() throws Exception {
+    Method factoryMethod = GeneratedInvokerTest.class.getDeclaredMethod("computeValue", int.class, double.class);
+    Assertions.assertNotNull(InvokerGenerator.generateFactoryMethodInvoker(factoryMethod, MethodHandles.lookup()));
+
+    Injector injector = Injector.builder().generatedInvokers(true).build();
+    injector.installBinding(injector.createBindingBuilder().bind(int.class).toInstance(12));
+    injector.installBinding(injector.createBindingBuilder().bind(double.class).toInstance(0.5D));
+    injector.installBinding(injector.createBindingBuilder().bind(Long.class).toFactoryMethod(factoryMethod));
+
+    int callsBefore = factoryCalls;
+    Long value = injector.instance(Long.class);
+    Assertions.assertEquals(6L, value);
+    Assertions.assertEquals(callsBefore + 1, factoryCalls);
+  }
+
+  private static long computeValue(int base, double factor) {
+    factoryCalls++;
+    return (long) (base * factor);
+  }
+
+  public static final class ConstructedType {
+
+    private final String name;
+    private final int count;
+    private final long total;
+
+    @Inject
+    private Injector injector;
+
+    @Inject
+    private ConstructedType(String name, int count, long total) {
+      this.name = name;
+      this.count = count;
+      this.total = total;
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel;
+
+import dev.derklaro.aerogel.internal.codegen.MemberInjectorGenerator;
+import jakarta.inject.Inject;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Member;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+@EnabledForJreRange(min = JRE.JAVA_15, disabledReason = "Hidden classes are only supported on Java 15+")
+public class GeneratedMemberInjectorTest {
+
+  @Test
+  void testInjectorIsGeneratedForPrivateMembers() throws Exception {
+    List<Member> members = List.of(
+      InjectedType.class.getDeclaredField("name"),
+      InjectedType.class.getDeclaredMethod("init", int.class, long.class));
+    Assertions.assertNotNull(MemberInjectorGenerator.generateMemberInjector(
+      InjectedType.class,
+      members,
+      MethodHandles.lookup()));
+  }
+
+  @Test
+  void testInjectorIsNotGeneratedForStaticMembers() throws Exception {
+    List<Member> members = List.of(StaticInjectedType.class.getDeclaredField("name"));
+    Assertions.assertNull(MemberInjectorGenerator.generateMemberInjector(
+      StaticInjectedType.class,
+      members,
+      MethodHandles.lookup()));
+  }
+
+  @Test
+  void testMemberInjectionThroughGeneratedInjector() {
+    Injector injector = Injector.builder().generatedInvokers(true).build();
+    injector.installBinding(injector.createBindingBuilder().bind(String.class).toInstance("world"));
+    injector.installBinding(injector.createBindingBuilder().bind(int.class).toInstance(1234));
+    injector.installBinding(injector.createBindingBuilder().bind(long.class).toInstance(5678L));
+
+    InjectedType instance = injector.instance(InjectedType.class);
+    Assertions.assertEquals("world", instance.name);
+    Assertions.assertEquals("world", instance.parentName);
+    Assertions.assertEquals(1234, instance.count);
+    Assertions.assertEquals(5678L, instance.total);
+    Assertions.assertTrue(instance.parentInitialized);
+
+    // the members of the parent class are injected first, fields before methods
+    Assertions.assertEquals("world:world", instance.nameAtInit);
+    Assertions.assertTrue(instance.parentInitializedAtInit);
+
+    // the init method must be called directly from the generated injector
+    Assertions.assertTrue(instance.initCaller.contains("$$AerogelMemberInjector"), instance.initCaller);
+  }
+
+  @Test
+  void testMemberInjectionFallsBackForStaticMembers() {
+    Injector injector = Injector.builder().generatedInvokers(true).build();
+    injector.installBinding(injector.createBindingBuilder().bind(String.class).toInstance("world"));
+
+    StaticInjectedType instance = injector.instance(StaticInjectedType.class);
+    Assertions.assertEquals("world", StaticInjectedType.name);
+    Assertions.assertEquals("world", instance.instanceName);
+  }
+
+  public static class ParentType {
+
+    @Inject
+    String parentName;
+    boolean parentInitialized;
+
+    @Inject
+    protected Object parentInit() {
+      this.parentInitialized = true;
+      return this;
+    }
+  }
+
+  public static final class InjectedType extends ParentType {
+
+    @Inject
+    private String name;
+
+    private int count;
+    private long total;
+    private String nameAtInit;
+    private boolean parentInitializedAtInit;
+    private String initCaller;
+
+    @Inject
+    private void init(int count, long total) {
+      this.count = count;
+      this.total = total;
+      this.nameAtInit = this.parentName + ':' + this.name;
+      this.parentInitializedAtInit = this.parentInitialized;
+      this.initCaller = StackWalker.getInstance(StackWalker.Option.SHOW_HIDDEN_FRAMES)
+        .walk(frames -> frames.skip(1).findFirst().orElseThrow().getClassName());
+    }
+  }
+
+  public static final class StaticInjectedType {
+
+    @Inject
+    private static String name;
+
+    @Inject
+    private String instanceName;
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel;
+
+import dev.derklaro.aerogel.internal.codegen.ProxyGenerator;
+import dev.derklaro.aerogel.internal.context.InjectionTimeProxy;
+import jakarta.inject.Inject;
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+@EnabledForJreRange(min = JRE.JAVA_15, disabledReason = "Hidden classes are only supported on Java 15+")
+public class GeneratedProxyTest {
+
+  @Test
+  void testProxyIsNotGeneratedWithoutAccess() {
+    // java.base does not open its packages, a reflection proxy must be used
+    Assertions.assertNull(ProxyGenerator.generateProxy(List.class, MethodHandles.lookup()));
+  }
+
+  @Test
+  void testProxyIsNotGeneratedForClasses() {
+    Assertions.assertNull(ProxyGenerator.generateProxy(CalculatorImpl.class, MethodHandles.lookup()));
+  }
+
+  @Test
+  void testProxyAccessBeforeDelegateIsSet() {
+    ProxyGenerator.GeneratedProxy generatedProxy = ProxyGenerator.generateProxy(Calculator.class, MethodHandles.lookup());
+    Assertions.assertNotNull(generatedProxy);
+
+    Calculator proxy = (Calculator) generatedProxy.newInstance();
+    Assertions.assertTrue(InjectionTimeProxy.isInjectionTimeProxy(proxy));
+    Assertions.assertThrows(IllegalStateException.class, () -> proxy.add(1, 2));
+    Assertions.assertThrows(IllegalStateException.class, proxy::hashCode);
+  }
+
+  @Test
+  void testProxyDelegatesAllMethods() {
+    ProxyGenerator.GeneratedProxy generatedProxy = ProxyGenerator.generateProxy(Calculator.class, MethodHandles.lookup());
+    Assertions.assertNotNull(generatedProxy);
+
+    CalculatorImpl delegate = new CalculatorImpl();
+    Calculator proxy = (Calculator) generatedProxy.newInstance();
+    generatedProxy.setDelegate(proxy, delegate);
+
+    Assertions.assertEquals(3, proxy.add(1, 2));
+    Assertions.assertEquals(1.5D, proxy.divide(3L, 2.0D));
+    Assertions.assertEquals("1 + 2", proxy.describe("+", 1, 2));
+    Assertions.assertEquals(6, proxy.triple(2));
+    proxy.reset();
+    Assertions.assertTrue(delegate.reset);
+
+    Assertions.assertEquals("calculator", proxy.toString());
+    Assertions.assertEquals(delegate.hashCode(), proxy.hashCode());
+    Assertions.assertTrue(proxy.equals(delegate));
+  }
+
+  @Test
+  void testProxyWithNullDelegateThrowsNullPointerException() {
+    ProxyGenerator.GeneratedProxy generatedProxy = ProxyGenerator.generateProxy(Calculator.class, MethodHandles.lookup());
+    Assertions.assertNotNull(generatedProxy);
+
+    Calculator proxy = (Calculator) generatedProxy.newInstance();
+    generatedProxy.setDelegate(proxy, null);
+    Assertions.assertThrows(NullPointerException.class, () -> proxy.add(1, 2));
+    Assertions.assertThrows(NullPointerException.class, proxy::hashCode);
+  }
+
+  @Test
+  void testProxyDelegateExceptionIsRethrown() {
+    ProxyGenerator.GeneratedProxy generatedProxy = ProxyGenerator.generateProxy(Calculator.class, MethodHandles.lookup());
+    Assertions.assertNotNull(generatedProxy);
+
+    Calculator proxy = (Calculator) generatedProxy.newInstance();
+    generatedProxy.setDelegate(proxy, new CalculatorImpl());
+    Assertions.assertThrows(ArithmeticException.class, () -> proxy.divide(1L, 0.0D));
+  }
+
+  @Test
+  void testProxyTypeIsReused() {
+    Injector injector = Injector.newInjector();
+    Service first = injector.instance(Service.class);
+    Service second = Injector.newInjector().instance(Service.class);
+
+    Assertions.assertTrue(InjectionTimeProxy.isInjectionTimeProxy(first.dependency().service()));
+    Assertions.assertSame(first.dependency().service().getClass(), second.dependency().service().getClass());
+    Assertions.assertSame(first, first.dependency().service().self());
+  }
+
+  public interface BaseCalculator {
+
+    int add(int first, int second);
+
+    default int triple(int value) {
+      return this.add(value, this.add(value, value));
+    }
+  }
+
+  public interface Calculator extends BaseCalculator {
+
+    @Override
+    int add(int first, int second);
+
+    double divide(long dividend, double divisor);
+
+    String describe(String operator, int first, int second);
+
+    void reset();
+  }
+
+  public static final class CalculatorImpl implements Calculator {
+
+    private boolean reset;
+
+    @Override
+    public int add(int first, int second) {
+      return first + second;
+    }
+
+    @Override
+    public double divide(long dividend, double divisor) {
+      if (divisor == 0) {
+        throw new ArithmeticException("division by zero");
+      }
+      return dividend / divisor;
+    }
+
+    @Override
+    public String describe(String operator, int first, int second) {
+      return first + " " + operator + " " + second;
+    }
+
+    @Override
+    public void reset() {
+      this.reset = true;
+    }
+
+    @Override
+    public String toString() {
+      return "calculator";
+    }
+  }
+
+  // @formatter:off
+  @ProvidedBy(ServiceImpl.class) public interface Service { Dependency dependency(); Service self(); }
+  public static final class ServiceImpl implements Service {
+    private final Dependency dependency;
+    @Inject public ServiceImpl(Dependency dependency) { this.dependency = dependency; }
+    @Override public Dependency dependency() { return this.dependency; }
+    @Override public Service self() { return this; }
+  }
+  public static final class Dependency {
+    private final Service service;
+    @Inject public Dependency(Service service) { this.service = service; }
+    public Service service() { return this.service; }
+  }
+  // @formatter:on
+}
@@ -26,9 +26,11 @@
 
 import dev.derklaro.aerogel.binding.DynamicBinding;
 import dev.derklaro.aerogel.binding.InstalledBinding;
+import dev.derklaro.aerogel.binding.ProviderWithContext;
 import dev.derklaro.aerogel.binding.UninstalledBinding;
 import dev.derklaro.aerogel.binding.builder.RootBindingBuilder;
 import dev.derklaro.aerogel.binding.key.BindingKey;
+import dev.derklaro.aerogel.internal.context.InjectionContext;
 import dev.derklaro.aerogel.internal.context.scope.InjectionContextProvider;
 import dev.derklaro.aerogel.internal.context.scope.InjectionContextScope;
 import io.leangen.geantyref.AnnotationFormatException;
@@ -41,8 +43,11 @@
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Type;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -108,8 +113,10 @@ void testMemberInjectionGet() {
     MemberInjector<TestItfImpl> secondMemberInjector = injector.memberInjector(TestItfImpl.class);
     Assertions.assertSame(memberInjector, secondMemberInjector);
 
+    // member injectors are cached per lookup access, lookups from the same class share the member injector
     MemberInjector<TestItfImpl> miWithLookup = injector.memberInjector(TestItfImpl.class, MethodHandles.lookup());
-    Assertions.assertSame(memberInjector, miWithLookup); // lookup isn't allowed to make a difference
+    Assertions.assertNotSame(memberInjector, miWithLookup);
+    Assertions.assertSame(miWithLookup, injector.memberInjector(TestItfImpl.class, MethodHandles.lookup()));
   }
 
   @Test
@@ -345,6 +352,29 @@ void testReconstructOfJitBindingInChildInjectorPrefersChildBindingsWithProvider(
     Assertions.assertEquals("Hello!", childProvider.get().test);
   }
 
+  @Test
+  void testBindingInstalledAfterConstructionIsUsedForParameters() throws AnnotationFormatException {
+    Injector injector = Injector.newInjector();
+    Injector childInjector = injector.createChildInjector();
+
+    Named named = TypeFactory.annotation(Named.class, Collections.singletonMap("value", "test"));
+    BindingKey<String> key = BindingKey.of(String.class).withQualifier(named);
+    UninstalledBinding<String> rootBinding = injector.createBindingBuilder().bind(key).toInstance("World!");
+    injector.installBinding(rootBinding);
+
+    Assertions.assertEquals("World!", childInjector.instance(InjectableClass.class).test);
+    Assertions.assertEquals("World!", childInjector.instance(InjectableClass.class).test);
+
+    UninstalledBinding<String> childBinding = childInjector.createBindingBuilder().bind(key).toInstance("Hello!");
+    childInjector.installBinding(childBinding);
+
+    Assertions.assertEquals("Hello!", childInjector.instance(InjectableClass.class).test);
+    Assertions.assertEquals("World!", injector.instance(InjectableClass.class).test);
+
+    childInjector.bindingRegistry().unregisterByKey(key);
+    Assertions.assertEquals("World!", childInjector.instance(InjectableClass.class).test);
+  }
+
   @Test
   void testReuseOfTargetedInjectorBuilderIsPermitted() {
     Injector injector = Injector.newInjector();
@@ -514,6 +544,273 @@ void testOverriddenProvidersKeptInScopeDuringFullInjectionLifetime() {
     subClassValidator.accept(instance.methodSub);
   }
 
+  @Test
+  void testAcyclicDependenciesAreResolvedWithoutSubcontext() {
+    Injector injector = Injector.newInjector();
+    injector.installBinding(injector.createBindingBuilder().bind(String.class).toInstance("Hello World"));
+
+    // the dependencies are not bound during the first construction, the graph is analysed once they are
+    AcyclicRoot first = injector.instance(AcyclicRoot.class);
+    Assertions.assertFalse(first.dependency.resolvedInRootScope);
+
+    AcyclicRoot second = injector.instance(AcyclicRoot.class);
+    Assertions.assertTrue(second.dependency.resolvedInRootScope);
+    Assertions.assertNotSame(first, second);
+    Assertions.assertNotSame(first.dependency, second.dependency);
+    Assertions.assertNotSame(first.dependency.leaf, second.dependency.leaf);
+    Assertions.assertNotNull(second.dependency.leaf);
+
+    // jit bindings of providers, member injectors and the injector are leafs of the graph
+    Assertions.assertSame(injector, second.injector);
+    Assertions.assertEquals("Hello World", second.stringProvider.get());
+    Assertions.assertNotSame(second.leafProvider.get(), second.leafProvider.get());
+    ProviderHolder holder = new ProviderHolder();
+    second.memberInjector.injectMembers(holder);
+    Assertions.assertEquals("Hello World", holder.stringProvider.get());
+  }
+
+  @Test
+  void testAcyclicGraphsShareSingletonDependencies() {
+    Injector injector = Injector.newInjector();
+    injector.instance(SingletonAcyclicRoot.class);
+
+    SingletonAcyclicRoot first = injector.instance(SingletonAcyclicRoot.class);
+    SingletonAcyclicRoot second = injector.instance(SingletonAcyclicRoot.class);
+    Assertions.assertTrue(first.acyclicDependency.resolvedInRootScope);
+    Assertions.assertNotSame(first, second);
+    Assertions.assertSame(first.dependency, second.dependency);
+    Assertions.assertSame(injector.instance(SingletonTest.class), first.dependency);
+  }
+
+  @Test
+  void testProvidersCalledDuringAcyclicConstructionResolveValues() {
+    Injector injector = Injector.newInjector();
+    injector.instance(EagerProviderRoot.class);
+
+    EagerProviderRoot first = injector.instance(EagerProviderRoot.class);
+    EagerProviderRoot second = injector.instance(EagerProviderRoot.class);
+    Assertions.assertNotNull(first.dependency.leaf);
+    Assertions.assertNotSame(first.dependency, second.dependency);
+    Assertions.assertNotSame(first.dependency.leaf, second.dependency.leaf);
+  }
+
+  @Test
+  void testDependenciesOfOpaqueGraphsAreResolvedInSubcontext() {
+    Injector injector = Injector.newInjector();
+    injector.installBinding(injector.createBindingBuilder()
+      .bind(String.class)
+      .toProvider((Provider<String>) () -> "Hello World"));
+
+    for (int run = 0; run < 2; run++) {
+      OpaqueRoot root = injector.instance(OpaqueRoot.class);
+      Assertions.assertEquals("Hello World", root.value);
+      Assertions.assertNotNull(root.dependency.leaf);
+      Assertions.assertFalse(root.dependency.resolvedInRootScope);
+    }
+  }
+
+  @Test
+  void testInjectionContextsAreReusedBetweenConstructions() {
+    Injector injector = Injector.newInjector();
+    // the first construction registers the jit bindings of the dependencies
+    injector.instance(ContextRecordingRoot.class);
+    ContextRecordingRoot first = injector.instance(ContextRecordingRoot.class);
+    ContextRecordingRoot second = injector.instance(ContextRecordingRoot.class);
+    Assertions.assertNotSame(first, second);
+    Assertions.assertNotSame(first.dependency, second.dependency);
+    Assertions.assertSame(first.dependency.context, second.dependency.context);
+  }
+
+  @Test
+  void testInjectionContextsAreReusedAfterProxiedConstructions() {
+    Injector injector = Injector.newInjector();
+    ProxiedServiceImpl first = Assertions.assertInstanceOf(
+      ProxiedServiceImpl.class,
+      injector.instance(ProxiedService.class));
+    ProxiedServiceImpl second = Assertions.assertInstanceOf(
+      ProxiedServiceImpl.class,
+      injector.instance(ProxiedService.class));
+    Assertions.assertNotSame(first, second);
+    Assertions.assertSame(first.dependency.context, second.dependency.context);
+
+    // each proxy must still be delegated to the service that was constructed in the same tree
+    Assertions.assertNotSame(first, first.dependency.service);
+    Assertions.assertEquals(first.hashCode(), first.dependency.service.hashCode());
+    Assertions.assertNotSame(second, second.dependency.service);
+    Assertions.assertEquals(second.hashCode(), second.dependency.service.hashCode());
+  }
+
+  @Test
+  void testInjectionContextsAreReusedAfterConstructionsWithOverrides() {
+    Injector injector = Injector.newInjector();
+    UninstalledBinding<String> stringBinding = injector.createBindingBuilder()
+      .bind(String.class)
+      .qualifiedWithName("test")
+      .toInstance("Hello World!");
+    injector.installBinding(stringBinding);
+
+    InjectionContextProvider contextProvider = InjectionContextProvider.provider();
+    InstalledBinding<OverridableRoot> rootBinding = injector.binding(BindingKey.of(OverridableRoot.class));
+    Object overriddenContext = null;
+    Object plainContext = null;
+    for (int run = 0; run < 2; run++) {
+      InjectionContextScope scope = contextProvider.enterContextScope(
+        injector,
+        rootBinding,
+        Map.of(stringBinding.mainKey(), () -> "Overridden!"));
+      OverridableRoot overridden = scope.executeScoped(() -> {
+        try {
+          return (OverridableRoot) scope.context().resolveInstance();
+        } finally {
+          scope.context().finishConstruction();
+        }
+      });
+      Assertions.assertNotNull(overridden);
+      Assertions.assertEquals("Overridden!", overridden.dependency.value);
+
+      // the overrides must not leak into the next construction that re-uses the contexts
+      OverridableRoot plain = injector.instance(OverridableRoot.class);
+      Assertions.assertEquals("Hello World!", plain.dependency.value);
+
+      if (run > 0) {
+        Assertions.assertSame(overriddenContext, overridden.dependency.context);
+        Assertions.assertSame(plainContext, plain.dependency.context);
+      }
+      overriddenContext = overridden.dependency.context;
+      plainContext = plain.dependency.context;
+    }
+  }
+
+  @Test
+  void testRetainedInjectionContextsAreNotReused() {
+    Injector injector = Injector.newInjector();
+    AtomicReference<InjectionContext> retainedContext = new AtomicReference<>();
+    injector.installBinding(injector.createBindingBuilder()
+      .bind(String.class)
+      .qualifiedWithName("retained")
+      .toProvider((ProviderWithContext<String>) context -> {
+        retainedContext.set(context);
+        return "retained";
+      }));
+
+    RetainingRoot retaining = injector.instance(RetainingRoot.class);
+    Assertions.assertEquals("retained", retaining.value);
+    InjectionContext retained = retainedContext.get();
+    Assertions.assertNotNull(retained);
+
+    // the contexts of the tree that retained a context must not be re-used
+    injector.instance(ContextRecordingRoot.class);
+    ContextRecordingRoot first = injector.instance(ContextRecordingRoot.class);
+    ContextRecordingRoot second = injector.instance(ContextRecordingRoot.class);
+    Assertions.assertNotSame(retaining.dependency.context, first.dependency.context);
+    Assertions.assertNotSame(retained, first.dependency.context);
+    Assertions.assertSame(first.dependency.context, second.dependency.context);
+
+    // the retained context must still be usable
+    Assertions.assertSame(injector, retained.injector());
+    Assertions.assertNotNull(retained.binding(BindingKey.of(ContextRecordingDependency.class)));
+  }
+
+  @Test
+  void testContextsRetainedByCustomScopesAreNotReused() {
+    Injector injector = Injector.newInjector();
+    AtomicReference<InjectionContext> retainedContext = new AtomicReference<>();
+    ScopeApplier retainingScope = new ScopeApplier() {
+      @Override
+      public @NotNull <T> ProviderWithContext<T> applyScope(
+        @NotNull List<BindingKey<? extends T>> keys,
+        @NotNull ProviderWithContext<T> original
+      ) {
+        return context -> {
+          retainedContext.set(context);
+          return original.get(context);
+        };
+      }
+    };
+    injector.installBinding(injector.createBindingBuilder()
+      .bind(ContextRecordingDependency.class)
+      .scopedWith(retainingScope)
+      .toConstructingSelf());
+
+    ContextRecordingRoot retaining = injector.instance(ContextRecordingRoot.class);
+    InjectionContext retained = retainedContext.get();
+    Assertions.assertSame(retained, retaining.dependency.context);
+
+    ContextRecordingRoot other = Injector.newInjector().instance(ContextRecordingRoot.class);
+    Assertions.assertNotSame(retained, other.dependency.context);
+    Assertions.assertSame(injector, retained.injector());
+  }
+
+  @Test
+  void testProvidersAreStablePerBinding() {
+    Injector injector = Injector.newInjector();
+    BindingKey<SingletonTest> singletonKey = BindingKey.of(SingletonTest.class);
+    Provider<SingletonTest> provider = injector.provider(singletonKey);
+    Assertions.assertSame(provider, injector.provider(singletonKey));
+
+    SingletonTest instance = provider.get();
+    Assertions.assertSame(instance, provider.get());
+    Assertions.assertSame(instance, injector.instance(singletonKey));
+
+    // providers stay bound to their binding when the bindings of the injector change
+    injector.installBinding(injector.createBindingBuilder().bind(String.class).toInstance("Hello World"));
+    Assertions.assertSame(provider, injector.provider(singletonKey));
+    Assertions.assertSame(instance, provider.get());
+
+    BindingKey<AcyclicLeaf> unscopedKey = BindingKey.of(AcyclicLeaf.class);
+    Provider<AcyclicLeaf> unscopedProvider = injector.provider(unscopedKey);
+    Assertions.assertSame(unscopedProvider, injector.provider(unscopedKey));
+    Assertions.assertNotSame(unscopedProvider.get(), unscopedProvider.get());
+  }
+
+  @Test
+  void testProvidersStayStableForSecondaryAndParentKeys() {
+    Injector parent = Injector.newInjector();
+    parent.installBinding(parent.createBindingBuilder()
+      .bind(CharSequence.class)
+      .andBind(String.class)
+      .toInstance("Hello World"));
+    parent.installBinding(parent.createBindingBuilder().bind(Integer.class).toInstance(1234));
+
+    Injector child = parent.createChildInjector();
+    BindingKey<String> secondaryKey = BindingKey.of(String.class);
+    BindingKey<Integer> parentKey = BindingKey.of(Integer.class);
+    Provider<String> secondaryProvider = parent.provider(secondaryKey);
+    Provider<Integer> parentProvider = child.provider(parentKey);
+
+    // bindings that are not registered under their main key in the target registry must not be evicted
+    child.installBinding(child.createBindingBuilder().bind(Long.class).toInstance(5678L));
+    parent.installBinding(parent.createBindingBuilder().bind(Double.class).toInstance(1.5D));
+    Assertions.assertSame(secondaryProvider, parent.provider(secondaryKey));
+    Assertions.assertSame(parentProvider, child.provider(parentKey));
+    Assertions.assertEquals("Hello World", secondaryProvider.get());
+    Assertions.assertEquals(1234, parentProvider.get());
+
+    // a new provider is returned once the key is associated with a different binding
+    child.installBinding(child.createBindingBuilder().bind(Integer.class).toInstance(4321));
+    Provider<Integer> childProvider = child.provider(parentKey);
+    Assertions.assertNotSame(parentProvider, childProvider);
+    Assertions.assertEquals(4321, childProvider.get());
+    Assertions.assertEquals(1234, parentProvider.get());
+  }
+
+  @Test
+  void testJitProvidersFollowReplacedComponentBindings() {
+    Injector injector = Injector.newInjector();
+    injector.installBinding(injector.createBindingBuilder().bind(String.class).toInstance("Hello"));
+
+    ProviderHolder first = injector.instance(ProviderHolder.class);
+    ProviderHolder second = injector.instance(ProviderHolder.class);
+    Assertions.assertNotSame(first, second);
+    Assertions.assertSame(first.stringProvider, second.stringProvider);
+    Assertions.assertSame(first.memberInjector, second.memberInjector);
+    Assertions.assertEquals("Hello", first.stringProvider.get());
+
+    injector.bindingRegistry().unregisterByKey(BindingKey.of(String.class));
+    injector.installBinding(injector.createBindingBuilder().bind(String.class).toInstance("World"));
+    Assertions.assertEquals("World", first.stringProvider.get());
+  }
+
   // @formatter:off
   @ProvidedBy(TestItfImpl.class) public interface TestItf {}
   @ProvidedBy(TestItfImpl.class) public interface ProvidedByNonSubclass {}
@@ -555,5 +852,77 @@ public static final class OverriddenProvidersTestSubClass {
       this.methodTest0 = test0; this.methodTest1 = test1;
     }
   }
+  public static final class AcyclicLeaf {}
+  public static final class AcyclicDependency {
+    private final AcyclicLeaf leaf;
+    private final boolean resolvedInRootScope;
+    @Inject AcyclicDependency(AcyclicLeaf leaf) {
+      this.leaf = leaf;
+      this.resolvedInRootScope = InjectionContextProvider.provider().currentScope().context().root();
+    }
+  }
+  public static final class AcyclicRoot {
+    private final AcyclicDependency dependency;
+    @Inject Injector injector;
+    @Inject Provider<String> stringProvider;
+    @Inject Provider<AcyclicLeaf> leafProvider;
+    @Inject MemberInjector<ProviderHolder> memberInjector;
+    @Inject AcyclicRoot(AcyclicDependency dependency) { this.dependency = dependency; }
+  }
+  public static final class SingletonAcyclicRoot {
+    private final SingletonTest dependency;
+    private final AcyclicDependency acyclicDependency;
+    @Inject SingletonAcyclicRoot(SingletonTest dependency, AcyclicDependency acyclicDependency) {
+      this.dependency = dependency; this.acyclicDependency = acyclicDependency;
+    }
+  }
+  public static final class EagerProviderRoot {
+    private final AcyclicDependency dependency;
+    @Inject EagerProviderRoot(Provider<AcyclicDependency> dependencyProvider) { this.dependency = dependencyProvider.get(); }
+  }
+  public static final class OpaqueRoot {
+    private final String value;
+    private final AcyclicDependency dependency;
+    @Inject OpaqueRoot(String value, AcyclicDependency dependency) {
+      this.value = value; this.dependency = dependency;
+    }
+  }
+  public static final class ProviderHolder {
+    @Inject Provider<String> stringProvider;
+    @Inject MemberInjector<InjectableClass> memberInjector;
+  }
+  public static final class ContextRecordingDependency {
+    private final Object context = InjectionContextProvider.provider().currentScope().context();
+  }
+  public static final class ContextRecordingRoot {
+    private final ContextRecordingDependency dependency;
+    @Inject ContextRecordingRoot(Injector injector, ContextRecordingDependency dependency) { this.dependency = dependency; }
+  }
+  @ProvidedBy(ProxiedServiceImpl.class) public interface ProxiedService {}
+  public static final class ProxiedServiceImpl implements ProxiedService {
+    private final ProxiedDependency dependency;
+    @Inject ProxiedServiceImpl(ProxiedDependency dependency) { this.dependency = dependency; }
+  }
+  public static final class ProxiedDependency {
+    private final Object context = InjectionContextProvider.provider().currentScope().context();
+    private final ProxiedService service;
+    @Inject ProxiedDependency(ProxiedService service) { this.service = service; }
+  }
+  public static final class OverridableDependency {
+    private final Object context = InjectionContextProvider.provider().currentScope().context();
+    private final String value;
+    @Inject OverridableDependency(@Named("test") String value) { this.value = value; }
+  }
+  public static final class OverridableRoot {
+    private final OverridableDependency dependency;
+    @Inject OverridableRoot(OverridableDependency dependency) { this.dependency = dependency; }
+  }
+  public static final class RetainingRoot {
+    private final String value;
+    private final ContextRecordingDependency dependency;
+    @Inject RetainingRoot(@Named("retained") String value, ContextRecordingDependency dependency) {
+      this.value = value; this.dependency = dependency;
+    }
+  }
   // @formatter:on
 }
@@ -71,6 +71,122 @@ void testMemberInjectionRespectsOrder() throws AnnotationFormatException {
     Assertions.assertEquals(5, instance.methodTestE);
   }
 
+  @Test
+  void testMembersOfSubtypesReturnedByFactoryMethodsAreInjected() throws NoSuchMethodException {
+    Injector injector = Injector.newInjector();
+    injector.installBinding(injector.createBindingBuilder().bind(String.class).toInstance("injected"));
+    injector.installBinding(injector.createBindingBuilder()
+      .bind(PlainBase.class)
+      .toFactoryMethod(MemberInjectorTest.class.getDeclaredMethod("createPlainBase")));
+    injector.installBinding(injector.createBindingBuilder()
+      .bind(PlainBaseWithMembers.class)
+      .toInstance(new PlainBaseWithMembers()));
+
+    // the declared return type has no injectable members, but the returned subtype does
+    PlainBase base = injector.instance(PlainBase.class);
+    Assertions.assertInstanceOf(PlainBaseWithMembers.class, base);
+    Assertions.assertEquals("injected", ((PlainBaseWithMembers) base).value);
+
+    PlainBaseWithMembers instance = injector.instance(PlainBaseWithMembers.class);
+    Assertions.assertEquals("injected", instance.value);
+
+    // types without injectable members can still be constructed
+    Assertions.assertNotNull(injector.instance(PlainBase.class));
+    Assertions.assertNotNull(injector.instance(NoMembers.class));
+  }
+
+  @Test
+  void testOverridesAreRespectedWhenSuperclassMembersAreShared() {
+    Injector injector = Injector.newInjector();
+    injector.installBinding(injector.createBindingBuilder().bind(String.class).toInstance("injected"));
+
+    // inject the base class first, the subclasses then re-use the member tree computed for it
+    HandlerBase base = new HandlerBase();
+    injector.memberInjector(HandlerBase.class).injectMembers(base);
+    Assertions.assertEquals("injected", base.value);
+    Assertions.assertEquals(1, base.initCalls);
+    Assertions.assertEquals(1, base.setupCalls);
+
+    NonInjectableOverrideHandler nonInjectable = new NonInjectableOverrideHandler();
+    injector.memberInjector(NonInjectableOverrideHandler.class).injectMembers(nonInjectable);
+    Assertions.assertEquals("injected", nonInjectable.value);
+    Assertions.assertEquals(0, nonInjectable.initCalls);
+    Assertions.assertEquals(1, nonInjectable.setupCalls);
+
+    InjectableOverrideHandler injectable = new InjectableOverrideHandler();
+    injector.memberInjector(InjectableOverrideHandler.class).injectMembers(injectable);
+    Assertions.assertEquals("injected", injectable.value);
+    Assertions.assertEquals("injected", injectable.ownValue);
+    Assertions.assertEquals(1, injectable.initCalls);
+    Assertions.assertEquals(1, injectable.overriddenInitCalls);
+    Assertions.assertEquals(2, injectable.setupCalls);
+  }
+
+  private static PlainBase createPlainBase() {
+    return new PlainBaseWithMembers();
+  }
+
+  public static class NoMembers {
+
+    public String value;
+  }
+
+  public static class PlainBase {
+
+  }
+
+  public static class PlainBaseWithMembers extends PlainBase {
+
+    @Inject
+    public String value;
+  }
+
+  public static class HandlerBase {
+
+    @Inject
+    public String value;
+    int initCalls;
+    int setupCalls;
+
+    @Inject
+    public void init() {
+      this.initCalls++;
+    }
+
+    @Inject
+    private void setup() {
+      this.setupCalls++;
+    }
+  }
+
+  public static final class NonInjectableOverrideHandler extends HandlerBase {
+
+    @Override
+    public void init() {
+      // not injectable, the injectable super method must not be called either
+    }
+  }
+
+  public static final class InjectableOverrideHandler extends HandlerBase {
+
+    @Inject
+    public String ownValue;
+    int overriddenInitCalls;
+
+    @Inject
+    @Override
+    public void init() {
+      super.init();
+      this.overriddenInitCalls++;
+    }
+
+    @Inject
+    private void setup() {
+      // private methods are not overridden, both setup methods must be called
+      this.setupCalls++;
+    }
+  }
+
   // @formatter:off
   public static class MemberInjectableClass {
     private static final AtomicInteger COUNTER = new AtomicInteger();
@@ -25,12 +25,17 @@
 package dev.derklaro.aerogel;
 
 import dev.derklaro.aerogel.registry.Registry;
+import dev.derklaro.aerogel.registry.VersionedRegistry;
 import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 public class RegistryWithKeyMappingTest {
 
+  private static long version(Registry<?, ?> registry) {
+    return ((VersionedRegistry) registry).version();
+  }
+
   @Test
   void testParentRegistryGet() {
     Registry.WithKeyMapping<String, String> registry = Registry.createRegistryWithKeys();
@@ -161,6 +166,29 @@ void testEntryCount() {
     Assertions.assertEquals(1, childRegistry.entryCount());
   }
 
+  @Test
+  void testVersionChangesOnModificationOfRegistryChain() {
+    Registry.WithKeyMapping<String, String> registry = Registry.createRegistryWithKeys();
+    Registry.WithKeyMapping<String, String> childRegistry = registry.createChildRegistry();
+    long initialVersion = version(childRegistry);
+
+    registry.register("hello", "world");
+    long afterParentRegister = version(childRegistry);
+    Assertions.assertNotEquals(initialVersion, afterParentRegister);
+
+    // duplicate registration does not modify the registry
+    registry.register("hello", "test");
+    Assertions.assertEquals(afterParentRegister, version(childRegistry));
+
+    childRegistry.register("test", "child");
+    long afterChildRegister = version(childRegistry);
+    Assertions.assertNotEquals(afterParentRegister, afterChildRegister);
+    Assertions.assertEquals(afterChildRegister, version(childRegistry.freeze()));
+
+    registry.unregisterByKey("hello");
+    Assertions.assertNotEquals(afterChildRegister, version(childRegistry));
+  }
+
   @Test
   void testCopyReturnsNewRegistryWithSameMappings() {
     Registry.WithKeyMapping<String, String> registry = Registry.createRegistryWithKeys();
@@ -194,4 +222,106 @@ void testFrozenRegistryHasAccessToKeysButCannotModify() {
     Registry.WithKeyMapping<String, String> child = frozen.createChildRegistry();
     Assertions.assertDoesNotThrow(() -> child.register("test", "test"));
   }
+
+  @Test
+  void testDeepChildRegistrySeesAncestorModifications() {
+    Registry.WithKeyMapping<String, String> root = Registry.createRegistryWithKeys();
+    root.register("hello", "root");
+    root.register("test", "root");
+
+    Registry.WithKeyMapping<String, String> middle = root.createChildRegistry();
+    middle.register("test", "middle");
+
+    Registry.WithKeyMapping<String, String> leaf = middle.createChildRegistry().createChildRegistry();
+    Assertions.assertEquals("root", leaf.getOrNull("hello"));
+    Assertions.assertEquals("middle", leaf.getOrNull("test"));
+    Assertions.assertNull(leaf.getOrNull("world"));
+
+    root.register("world", "root");
+    Assertions.assertEquals("root", leaf.getOrNull("world"));
+
+    middle.unregisterByKey("test");
+    Assertions.assertEquals("root", leaf.getOrNull("test"));
+    Assertions.assertEquals("root", leaf.get("test").orElse(null));
+
+    root.unregisterByKey("hello");
+    Assertions.assertNull(leaf.getOrNull("hello"));
+    Assertions.assertFalse(leaf.get("hello").isPresent());
+  }
+
+  @Test
+  void testAncestorModificationsRespectShadowingMappings() {
+    Registry.WithKeyMapping<String, String> root = Registry.createRegistryWithKeys();
+    Registry.WithKeyMapping<String, String> middle = root.createChildRegistry();
+    Registry.WithKeyMapping<String, String> leaf = middle.createChildRegistry();
+    Registry.WithKeyMapping<String, String> sibling = middle.createChildRegistry();
+    Assertions.assertNull(leaf.getOrNull("test"));
+
+    // the mapping of the middle registry shadows the mapping registered later in the root registry
+    middle.register("test", "middle");
+    root.register("test", "root");
+    root.register("hello", "root");
+    Assertions.assertEquals("middle", leaf.getOrNull("test"));
+    Assertions.assertEquals("root", leaf.getOrNull("hello"));
+    Assertions.assertEquals("middle", sibling.getOrNull("test"));
+
+    middle.unregister(value -> value.equals("middle"));
+    Assertions.assertEquals("root", leaf.getOrNull("test"));
+    Assertions.assertEquals("root", sibling.getOrNull("test"));
+
+    leaf.register("hello", "leaf");
+    root.unregisterByValue("root");
+    Assertions.assertNull(leaf.getOrNull("test"));
+    Assertions.assertNull(sibling.getOrNull("hello"));
+    Assertions.assertEquals("leaf", leaf.getOrNull("hello"));
+
+    // copies of a registry are also updated when the parent registry changes
+    Registry.WithKeyMapping<String, String> leafCopy = leaf.copy();
+    middle.register("world", "middle");
+    Assertions.assertEquals("middle", leafCopy.getOrNull("world"));
+    Assertions.assertEquals("leaf", leafCopy.getOrNull("hello"));
+  }
+
+  @Test
+  void testNestedChildRegistriesFollowShadowingChanges() {
+    Registry.WithKeyMapping<String, String> root = Registry.createRegistryWithKeys();
+    Registry.WithKeyMapping<String, String> first = root.createChildRegistry();
+    Registry.WithKeyMapping<String, String> second = first.createChildRegistry();
+    Registry.WithKeyMapping<String, String> leaf = second.createChildRegistry();
+    Assertions.assertNull(leaf.getOrNull("test"));
+
+    root.register("test", "root");
+    Assertions.assertEquals("root", leaf.getOrNull("test"));
+
+    first.register("test", "first");
+    Assertions.assertEquals("first", leaf.getOrNull("test"));
+    Assertions.assertEquals("first", second.getOrNull("test"));
+
+    second.register("test", "second");
+    root.unregisterByKey("test");
+    Assertions.assertEquals("second", leaf.getOrNull("test"));
+
+    second.unregisterByKey("test");
+    Assertions.assertEquals("first", leaf.getOrNull("test"));
+
+    first.unregisterByKey("test");
+    Assertions.assertNull(leaf.getOrNull("test"));
+    Assertions.assertNull(second.getOrNull("test"));
+  }
+
+  @Test
+  void testVersionIsNotChangedBySiblingModifications() {
+    Registry.WithKeyMapping<String, String> registry = Registry.createRegistryWithKeys();
+    Registry.WithKeyMapping<String, String> first = registry.createChildRegistry();
+    Registry.WithKeyMapping<String, String> second = registry.createChildRegistry();
+    long parentVersion = version(registry);
+    long secondVersion = version(second);
+
+    first.register("hello", "world");
+    Assertions.assertEquals(parentVersion, version(registry));
+    Assertions.assertEquals(secondVersion, version(second));
+
+    registry.register("test", "world");
+    Assertions.assertNotEquals(secondVersion, version(second));
+  }
 }
@@ -24,18 +24,25 @@
 
 package dev.derklaro.aerogel;
 
+import com.sun.management.ThreadMXBean;
+import dev.derklaro.aerogel.binding.InstalledBinding;
 import dev.derklaro.aerogel.binding.ProviderWithContext;
 import dev.derklaro.aerogel.binding.UninstalledBinding;
 import dev.derklaro.aerogel.binding.key.BindingKey;
+import dev.derklaro.aerogel.internal.context.InjectionTimeProxy;
+import dev.derklaro.aerogel.internal.context.scope.InjectionContextProvider;
+import dev.derklaro.aerogel.internal.context.scope.InjectionContextScope;
 import jakarta.inject.Inject;
+import jakarta.inject.Provider;
 import jakarta.inject.Scope;
 import jakarta.inject.Singleton;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
-import java.lang.reflect.Proxy;
+import java.lang.management.ManagementFactory;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -43,6 +50,7 @@
 import java.util.concurrent.atomic.AtomicInteger;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
@@ -193,6 +201,34 @@ void testNullBoundAsSingleton() {
     Assertions.assertNull(instance2);
   }
 
+  @Test
+  void testConstructedSingletonIsResolvedWithoutAllocations() {
+    Assumptions.assumeTrue(
+      ManagementFactory.getThreadMXBean() instanceof ThreadMXBean,
+      "Thread allocation tracking is not available");
+    ThreadMXBean allocationTrackingBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Assumptions.assumeTrue(allocationTrackingBean.isThreadAllocatedMemoryEnabled());
+
+    Injector injector = Injector.newInjector();
+    ASingletonClass singleton = injector.instance(ASingletonClass.class);
+    for (int i = 0; i < 10_000; i++) {
+      Assertions.assertSame(singleton, injector.instance(ASingletonClass.class));
+    }
+
+    // the jit compiler might allocate on the current thread while the compilation of the path is still in
+    // progress, measure a few rounds until the steady state (which must not allocate) is reached
+    long allocatedBytes = -1;
+    long threadId = Thread.currentThread().getId();
+    for (int round = 0; round < 10 && allocatedBytes != 0; round++) {
+      long allocatedBefore = allocationTrackingBean.getThreadAllocatedBytes(threadId);
+      for (int i = 0; i < 10_000; i++) {
+        injector.instance(ASingletonClass.class);
+      }
+      allocatedBytes = allocationTrackingBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+    }
+    Assertions.assertEquals(0, allocatedBytes);
+  }
+
   @Test
   void testCustomScopeIsAppliedEvenIfOtherScopeIsDefined() {
     Injector injector = Injector.newInjector();
@@ -232,9 +268,9 @@ void testSingletonScopeIsPreservedAndNotReturnsCircularProxies() {
     SomeServiceA serviceA = injector.instance(SomeServiceA.class);
     SomeServiceB serviceB = injector.instance(SomeServiceB.class);
 
-    Assertions.assertFalse(Proxy.isProxyClass(serviceA.getClass()));
-    Assertions.assertFalse(Proxy.isProxyClass(serviceB.getClass()));
-    Assertions.assertTrue(Proxy.isProxyClass(serviceA.serviceB().getClass()));
+    Assertions.assertFalse(InjectionTimeProxy.isInjectionTimeProxy(serviceA));
+    Assertions.assertFalse(InjectionTimeProxy.isInjectionTimeProxy(serviceB));
+    Assertions.assertTrue(InjectionTimeProxy.isInjectionTimeProxy(serviceA.serviceB()));
 
     Assertions.assertEquals(serviceA.serviceB(), serviceB);
     Assertions.assertEquals(serviceB.hashCode(), serviceA.serviceB().hashCode());
@@ -278,17 +314,58 @@ void testConcurrentSingletonConstructDoesNotResultInMultipleProxies() throws Exc
     Assertions.assertSame(instance1.serviceB(), instance2.serviceB());
     Assertions.assertSame(instance1, instance2.serviceB().serviceA());
 
-    Assertions.assertTrue(Proxy.isProxyClass(instance1.serviceB().getClass()));
-    Assertions.assertTrue(Proxy.isProxyClass(instance2.serviceB().getClass()));
+    Assertions.assertTrue(InjectionTimeProxy.isInjectionTimeProxy(instance1.serviceB()));
+    Assertions.assertTrue(InjectionTimeProxy.isInjectionTimeProxy(instance2.serviceB()));
     Assertions.assertSame(instance1.serviceB(), instance2.serviceB());
 
     SomeServiceB serviceB = injector.instance(SomeServiceB.class);
-    Assertions.assertFalse(Proxy.isProxyClass(serviceB.getClass()));
+    Assertions.assertFalse(InjectionTimeProxy.isInjectionTimeProxy(serviceB));
     Assertions.assertEquals(serviceB.hashCode(), instance1.serviceB().hashCode());
     Assertions.assertEquals(serviceB.hashCode(), instance2.serviceB().hashCode());
   }
 
+  @Test
+  void testSealedSingletonIsInjectedUnlessOverridden() {
+    Injector injector = Injector.newInjector();
+    ASingletonClass singleton = injector.instance(ASingletonClass.class);
+    SingletonDependent dependentA = injector.instance(SingletonDependent.class);
+    SingletonDependent dependentB = injector.instance(SingletonDependent.class);
+    Assertions.assertNotSame(dependentA, dependentB);
+    Assertions.assertSame(singleton, dependentA.singleton);
+    Assertions.assertSame(singleton, dependentB.singleton);
+    Assertions.assertSame(singleton, dependentA.singletonProvider.get());
+    Assertions.assertEquals(1, ASingletonClass.COUNTER.get());
+
+    // overrides in the current context must take precedence over the sealed singleton value
+    ASingletonClass overriddenSingleton = new ASingletonClass();
+    InjectionContextProvider contextProvider = InjectionContextProvider.provider();
+    InstalledBinding<SingletonDependent> dependentBinding = injector.binding(BindingKey.of(SingletonDependent.class));
+    InjectionContextScope scope = contextProvider.enterContextScope(
+      injector,
+      dependentBinding,
+      Map.of(BindingKey.of(ASingletonClass.class), () -> overriddenSingleton));
+    SingletonDependent overriddenDependent = scope.executeScoped(() -> {
+      try {
+        return (SingletonDependent) scope.context().resolveInstance();
+      } finally {
+        scope.context().finishConstruction();
+      }
+    });
+    Assertions.assertNotNull(overriddenDependent);
+    Assertions.assertSame(overriddenSingleton, overriddenDependent.singleton);
+    Assertions.assertSame(singleton, injector.instance(SingletonDependent.class).singleton);
+  }
+
   // @formatter:off
+  public static final class SingletonDependent {
+    private final ASingletonClass singleton;
+    private final Provider<ASingletonClass> singletonProvider;
+    @Inject public SingletonDependent(ASingletonClass singleton, Provider<ASingletonClass> singletonProvider) {
+      this.singleton = singleton;
+      this.singletonProvider = singletonProvider;
+    }
+  }
+
   @Singleton @ProvidedBy(BaseSingletonTypeImpl.class)
   public interface BaseSingletonType {}
 
@@ -0,0 +1,193 @@
+/*
+ * This file is part of aerogel, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2021-2024 Pasqual K. and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package dev.derklaro.aerogel;
+
+import dev.derklaro.aerogel.binding.key.BindingKey;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+public class SingletonInitializationTest {
+
+  private static final Queue<Class<?>> CONSTRUCTIONS = new ConcurrentLinkedQueue<>();
+  private static volatile CountDownLatch concurrentConstructionLatch;
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    CONSTRUCTIONS.clear();
+    concurrentConstructionLatch = new CountDownLatch(2);
+    this.executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.executor.shutdownNow();
+  }
+
+  @Test
+  @Timeout(30)
+  void testSingletonsAreConstructedInDependencyOrder() throws Exception {
+    Injector injector = Injector.newInjector();
+    Map<BindingKey<?>, Throwable> failures = injector
+      .initializeSingletons(List.of(BindingKey.of(Root.class)), this.executor)
+      .get(20, TimeUnit.SECONDS);
+    Assertions.assertTrue(failures.isEmpty());
+
+    List<Class<?>> order = List.copyOf(CONSTRUCTIONS);
+    Assertions.assertEquals(4, order.size());
+    Assertions.assertEquals(Leaf.class, order.get(0));
+    Assertions.assertEquals(Root.class, order.get(3));
+
+    // the two middle singletons do not depend on each other and must be constructed concurrently
+    Assertions.assertEquals(0, concurrentConstructionLatch.getCount());
+
+    Root root = injector.instance(Root.class);
+    Assertions.assertSame(root.left.leaf, root.right.leaf);
+    Assertions.assertSame(root.left.leaf, injector.instance(Leaf.class));
+    Assertions.assertEquals(4, CONSTRUCTIONS.size());
+  }
+
+  @Test
+  @Timeout(30)
+  void testFailuresAreReportedPerBinding() throws Exception {
+    Injector injector = Injector.newInjector();
+    BindingKey<String> unboundKey = BindingKey.of(String.class).withQualifier(Named.class);
+    List<BindingKey<?>> keys = List.of(
+      BindingKey.of(FailingDependent.class),
+      BindingKey.of(Leaf.class),
+      unboundKey);
+    Map<BindingKey<?>, Throwable> failures = injector.initializeSingletons(keys, this.executor).get(20, TimeUnit.SECONDS);
+
+    Assertions.assertEquals(3, failures.size());
+    Throwable failingFailure = failures.get(BindingKey.of(Failing.class));
+    Assertions.assertNotNull(failingFailure);
+    Throwable dependentFailure = failures.get(BindingKey.of(FailingDependent.class));
+    Assertions.assertInstanceOf(IllegalStateException.class, dependentFailure);
+    Assertions.assertSame(failingFailure, dependentFailure.getCause());
+    Assertions.assertNotNull(failures.get(unboundKey));
+
+    Assertions.assertEquals(List.of(Leaf.class), List.copyOf(CONSTRUCTIONS));
+  }
+
+  @Test
+  @Timeout(30)
+  void testInstalledSingletonsInDependencyCycleAreConstructed() throws Exception {
+    Injector injector = Injector.newInjector();
+    injector
+      .installBinding(injector.createBindingBuilder().bind(CycleA.class).scopedWithSingleton().toConstructingSelf())
+      .installBinding(injector.createBindingBuilder().bind(CycleB.class).scopedWithSingleton().toConstructingSelf())
+      .installBinding(injector.createBindingBuilder().bind(Leaf.class).toConstructingSelf());
+    Map<BindingKey<?>, Throwable> failures = injector.initializeSingletons(this.executor).get(20, TimeUnit.SECONDS);
+    Assertions.assertTrue(failures.isEmpty());
+    Assertions.assertEquals(3, CONSTRUCTIONS.size());
+
+    CycleA cycleA = injector.instance(CycleA.class);
+    Assertions.assertSame(cycleA, cycleA.cycleB.cycleA);
+    Assertions.assertEquals(3, CONSTRUCTIONS.size());
+  }
+
+  private static void awaitConcurrentConstruction() {
+    CountDownLatch latch = concurrentConstructionLatch;
+    latch.countDown();
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Test
+  @Timeout(30)
+  void testSingletonsOfParentInjectorsAreConstructed() throws Exception {
+    Injector parent = Injector.newInjector();
+    parent.installBinding(parent.createBindingBuilder().bind(Leaf.class).toConstructingSelf());
+    Injector child = parent.createChildInjector();
+    Injector targeted = child.createTargetedInjectorBuilder()
+      .installBinding(child.createBindingBuilder().bind(String.class).toInstance("Hello World"))
+      .build();
+
+    Map<BindingKey<?>, Throwable> failures = targeted.initializeSingletons(this.executor).get(20, TimeUnit.SECONDS);
+    Assertions.assertTrue(failures.isEmpty());
+    Assertions.assertEquals(List.of(Leaf.class), List.copyOf(CONSTRUCTIONS));
+    Assertions.assertSame(parent.instance(Leaf.class), targeted.instance(Leaf.class));
+    Assertions.assertEquals(1, CONSTRUCTIONS.size());
+  }
+
+  // @formatter:off
+  @Singleton public static final class Leaf {
+    @Inject public Leaf() { CONSTRUCTIONS.add(Leaf.class); }
+  }
+  @Singleton public static final class Left {
+    private final Leaf leaf;
+    @Inject public Left(Leaf leaf) { this.leaf = leaf; awaitConcurrentConstruction(); CONSTRUCTIONS.add(Left.class); }
+  }
+  @Singleton public static final class Right {
+    private final Leaf leaf;
+    @Inject public Right(Leaf leaf) { this.leaf = leaf; awaitConcurrentConstruction(); CONSTRUCTIONS.add(Right.class); }
+  }
+  public static final class Middle {
+    private final Right right;
+    @Inject public Middle(Right right) { this.right = right; }
+  }
+  @Singleton public static final class Root {
+    private final Left left;
+    private final Right right;
+    @Inject public Root(Left left, Middle middle) {
+      this.left = left;
+      this.right = middle.right;
+      CONSTRUCTIONS.add(Root.class);
+    }
+  }
+  @Singleton public static final class Failing {
+    @Inject public Failing() { throw new UnsupportedOperationException("failing"); }
+  }
+  @Singleton public static final class FailingDependent {
+    @Inject public FailingDependent(Failing failing) { CONSTRUCTIONS.add(FailingDependent.class); }
+  }
+  public static final class CycleA {
+    @Inject private CycleB cycleB;
+    @Inject public CycleA() { CONSTRUCTIONS.add(CycleA.class); }
+  }
+  public static final class CycleB {
+    @Inject private CycleA cycleA;
+    @Inject public CycleB() { CONSTRUCTIONS.add(CycleB.class); }
+  }
+  // @formatter:on
+}
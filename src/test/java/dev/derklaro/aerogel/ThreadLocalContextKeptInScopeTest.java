@@ -100,6 +100,43 @@ void contextKeptDuringScopedOperations() {
     }
   }
 
+  @Test
+  void subcontextOverridesShadowRootOverrides() {
+    Injector injector = Injector.newInjector();
+    UninstalledBinding<String> worldStringBinding = injector.createBindingBuilder()
+      .bind(String.class)
+      .qualifiedWithName("test")
+      .toInstance("Hello World!");
+    injector.installBinding(worldStringBinding);
+
+    InjectionContextProvider contextProvider = InjectionContextProvider.provider();
+    InstalledBinding<SomeClass> someClassBinding = injector.binding(BindingKey.of(SomeClass.class));
+    InstalledBinding<SomeOtherClass> otherClassBinding = injector.binding(BindingKey.of(SomeOtherClass.class));
+    InjectionContextScope rootScope = contextProvider.enterContextScope(
+      injector,
+      someClassBinding,
+      Collections.singletonMap(worldStringBinding.mainKey(), () -> "Root!"));
+    rootScope.executeScoped(() -> {
+      try {
+        InjectionContextScope overriddenScope = contextProvider.enterContextScope(
+          injector,
+          otherClassBinding,
+          Collections.singletonMap(worldStringBinding.mainKey(), () -> "Sub!"));
+        SomeOtherClass overridden = (SomeOtherClass) overriddenScope.resolveInstanceScoped();
+        Assertions.assertNotNull(overridden);
+        Assertions.assertEquals("Sub!", overridden.world);
+
+        InjectionContextScope siblingScope = contextProvider.enterContextScope(injector, otherClassBinding);
+        SomeOtherClass sibling = (SomeOtherClass) siblingScope.resolveInstanceScoped();
+        Assertions.assertNotNull(sibling);
+        Assertions.assertEquals("Root!", sibling.world);
+        return null;
+      } finally {
+        rootScope.context().finishConstruction();
+      }
+    });
+  }
+
   public static final class SomeClass {
 
     private final String world;